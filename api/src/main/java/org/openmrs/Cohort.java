@@ -10,16 +10,28 @@
 package org.openmrs;
 
 import org.apache.commons.lang3.StringUtils;
+import org.openmrs.util.IntBitmap;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
  * This class represents a list of patientIds.
+ * <p>
+ * The ids of the active members can also be read as an {@link IntBitmap} with
+ * {@link #getActiveMemberBitmap()}. A cohort created from a bitmap with {@link #Cohort(IntBitmap)}
+ * only creates its memberships once they are asked for, until then {@link #contains(Integer)},
+ * {@link #size()}, the active membership checks and the static set operations are answered from
+ * the bitmap. Once a cohort has memberships, bitmaps of their ids are built the first time they
+ * are needed and kept until a membership is added, removed or changed, or starts or ends.
  */
 public class Cohort extends BaseChangeableOpenmrsData {
 	
@@ -33,10 +45,35 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	
 	private Collection<CohortMembership> memberships;
 	
+	/**
+	 * The ids of the members this cohort was created with, only set until its memberships are
+	 * created
+	 */
+	private transient IntBitmap memberBitmap;
+	
+	/**
+	 * The ids of the members built from the memberships, null until they are needed again
+	 */
+	private transient MemberBitmaps memberBitmaps;
+	
 	public Cohort() {
 		memberships = new TreeSet<>();
 	}
 	
+	/**
+	 * Creates a cohort of the patients with the given ids. The memberships, which all start now,
+	 * are only created when they are first asked for, so this is cheap for large cohorts which are
+	 * only combined with other cohorts or checked for members. Like the other constructors this
+	 * does not check whether the database contains patients with the given ids, but
+	 * {@link org.openmrs.api.CohortService#saveCohort(Cohort)} will.
+	 *
+	 * @param memberIds the patient ids of the members
+	 * @since 2.6.0
+	 */
+	public Cohort(IntBitmap memberIds) {
+		this.memberBitmap = memberIds == null ? IntBitmap.EMPTY : memberIds;
+	}
+	
 	/**
 	 * Convenience constructor to create a Cohort object that has an primarykey/internal identifier
 	 * of <code>cohortId</code>
@@ -136,8 +173,10 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	}
 	
 	public boolean contains(Integer patientId) {
-		return getMemberships() != null
-		        && getMemberships().stream().anyMatch(m -> m.getPatientId().equals(patientId) && !m.getVoided());
+		if (isBitmapOnly()) {
+			return patientId != null && memberBitmap.contains(patientId);
+		}
+		return memberships != null && patientId != null && memberBitmaps().nonVoided.contains(patientId);
 	}
 	
 	@Override
@@ -146,8 +185,10 @@ public class Cohort extends BaseChangeableOpenmrsData {
 		if (getName() != null) {
 			sb.append(" name=").append(getName());
 		}
-		if (getMemberships() != null) {
-			sb.append(" size=").append(getMemberships().size());
+		if (isBitmapOnly()) {
+			sb.append(" size=").append(memberBitmap.cardinality());
+		} else if (memberships != null) {
+			sb.append(" size=").append(memberships.size());
 		}
 		return sb.toString();
 	}
@@ -162,6 +203,7 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	public boolean addMembership(CohortMembership cohortMembership) {
 		if (cohortMembership != null) {
 			cohortMembership.setCohort(this);
+			clearMemberBitmaps();
 			return getMemberships().add(cohortMembership);
 		}
 		return false;
@@ -171,9 +213,64 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 * @since 2.1.0
 	 */
 	public boolean removeMembership(CohortMembership cohortMembership) {
+		clearMemberBitmaps();
 		return getMemberships().remove(cohortMembership);
 	}
 	
+	/**
+	 * Returns the ids of the members whose memberships are active now as a bitmap, which can be
+	 * combined with the bitmaps of other cohorts without creating any memberships. The bitmap is
+	 * built from the memberships the first time it is needed and rebuilt once a membership is
+	 * added, removed or changed, or starts or ends, unless this cohort was created from a bitmap and
+	 * its memberships were not created yet, in which case that bitmap is returned.
+	 *
+	 * @return the ids of the active members
+	 * @since 2.6.0
+	 * <strong>Should</strong> only contain the ids of active members
+	 * <strong>Should</strong> be rebuilt after a membership is added
+	 * <strong>Should</strong> reflect memberships changed in place
+	 * <strong>Should</strong> be built once until the memberships change
+	 * <strong>Should</strong> be rebuilt once a membership ends
+	 */
+	public IntBitmap getActiveMemberBitmap() {
+		if (isBitmapOnly()) {
+			return memberBitmap;
+		}
+		if (memberships == null) {
+			return IntBitmap.EMPTY;
+		}
+		return memberBitmaps().active;
+	}
+	
+	/**
+	 * Gets the bitmaps of the member ids, building them if a membership was added, removed or
+	 * changed or has started or ended since they were built
+	 */
+	private MemberBitmaps memberBitmaps() {
+		MemberBitmaps bitmaps = memberBitmaps;
+		long now = System.currentTimeMillis();
+		if (bitmaps == null || now >= bitmaps.activeUntil) {
+			bitmaps = new MemberBitmaps(memberships(), now);
+			memberBitmaps = bitmaps;
+		}
+		return bitmaps;
+	}
+	
+	/**
+	 * Drops the bitmaps of the member ids, called when the memberships or one of them change. This
+	 * is final so that calling it on an uninitialized proxy does not load the cohort.
+	 */
+	final void clearMemberBitmaps() {
+		memberBitmaps = null;
+	}
+	
+	/**
+	 * @return true if this cohort was created from a bitmap and its memberships were not created yet
+	 */
+	private boolean isBitmapOnly() {
+		return memberships == null && memberBitmap != null;
+	}
+	
 	/**
 	 * @since 2.1.0
 	 * @param includeVoided boolean true/false to include/exclude voided memberships
@@ -183,15 +280,32 @@ public class Cohort extends BaseChangeableOpenmrsData {
 		if (includeVoided) {
 			return getMemberships();
 		}
-		return getMemberships().stream().filter(m -> m.getVoided() == includeVoided).collect(Collectors.toList());
+		return memberships().stream().filter(m -> m.getVoided() == includeVoided).collect(Collectors.toList());
 	}
 	
 	/**
 	 * @since 2.1.0
 	 */
 	public Collection<CohortMembership> getMemberships() {
+		return memberships();
+	}
+	
+	/**
+	 * Returns the memberships, creating them first if this cohort was created from a bitmap
+	 */
+	private Collection<CohortMembership> memberships() {
 		if (memberships == null) {
-			memberships = new TreeSet<>();
+			Collection<CohortMembership> created = new TreeSet<>();
+			if (memberBitmap != null) {
+				Date startDate = new Date();
+				memberBitmap.forEachInt(id -> {
+					CohortMembership membership = new CohortMembership(id, startDate);
+					membership.setCohort(this);
+					created.add(membership);
+				});
+				memberBitmap = null;
+			}
+			memberships = created;
 		}
 		return memberships;
 	}
@@ -202,7 +316,7 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 * @return Collection of cohort memberships
 	 */
 	public Collection<CohortMembership> getActiveMemberships(Date asOfDate) {
-		return getMemberships().stream().filter(m -> m.isActive(asOfDate)).collect(Collectors.toList());
+		return memberships().stream().filter(m -> m.isActive(asOfDate)).collect(Collectors.toList());
 	}
 	
 	public Collection<CohortMembership> getActiveMemberships() {
@@ -213,11 +327,14 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 * @since 2.1.0
 	 */
 	public CohortMembership getActiveMembership(Patient patient) {
-		return getMemberships().stream().filter(m -> m.isActive() && m.getPatientId().equals(patient.getPatientId())).findFirst().get();
+		return memberships().stream().filter(m -> m.isActive() && m.getPatientId().equals(patient.getPatientId())).findFirst().get();
 	}
 	
 	public int size() {
-		return getMemberships().stream().filter(m -> !m.getVoided()).collect(Collectors.toList())
+		if (isBitmapOnly()) {
+			return memberBitmap.cardinality();
+		}
+		return memberships().stream().filter(m -> !m.getVoided()).collect(Collectors.toList())
 		        .size();
 	}
 	
@@ -236,19 +353,25 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	// static utility methods
 	
 	/**
-	 * Returns the union of two cohorts
+	 * Returns the union of two cohorts. If both cohorts were created from bitmaps and their
+	 * memberships were not created yet the result is computed on the bitmaps.
 	 *
 	 * @param a The first Cohort
 	 * @param b The second Cohort
 	 * @return Cohort
 	 */
 	public static Cohort union(Cohort a, Cohort b) {
+		if (a != null && b != null && a.isBitmapOnly() && b.isBitmapOnly()) {
+			Cohort ret = new Cohort(a.memberBitmap.or(b.memberBitmap));
+			ret.setName("(" + a.getName() + " + " + b.getName() + ")");
+			return ret;
+		}
 		Cohort ret = new Cohort();
 		if (a != null) {
-			ret.getMemberships().addAll(a.getMemberships());
+			ret.memberships().addAll(a.memberships());
 		}
 		if (b != null) {
-			ret.getMemberships().addAll(b.getMemberships());
+			ret.memberships().addAll(b.memberships());
 		}
 		if (a != null && b != null) {
 			ret.setName("(" + a.getName() + " + " + b.getName() + ")");
@@ -257,35 +380,57 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	}
 	
 	/**
-	 * Returns the intersection of two cohorts, treating null as an empty cohort
+	 * Returns the intersection of two cohorts, treating null as an empty cohort. If both cohorts
+	 * were created from bitmaps and their memberships were not created yet the result is computed
+	 * on the bitmaps, otherwise only the memberships of patients who are members of both cohorts
+	 * are compared.
 	 *
 	 * @param a The first Cohort
 	 * @param b The second Cohort
 	 * @return Cohort
 	 */
 	public static Cohort intersect(Cohort a, Cohort b) {
+		if (a != null && b != null && a.isBitmapOnly() && b.isBitmapOnly()) {
+			Cohort ret = new Cohort(a.memberBitmap.and(b.memberBitmap));
+			ret.setName("(" + a.getName() + " * " + b.getName() + ")");
+			return ret;
+		}
 		Cohort ret = new Cohort();
 		ret.setName("(" + (a == null ? "NULL" : a.getName()) + " * " + (b == null ? "NULL" : b.getName()) + ")");
 		if (a != null && b != null) {
-			ret.getMemberships().addAll(a.getMemberships());
-			ret.getMemberships().retainAll(b.getMemberships());
+			IntBitmap common = a.memberBitmaps().all.and(b.memberBitmaps().all);
+			if (!common.isEmpty()) {
+				a.memberships().stream().filter(m -> common.contains(m.getPatientId())).forEach(ret.memberships()::add);
+				ret.memberships().retainAll(b.memberships());
+			}
 		}
 		return ret;
 	}
 	
 	/**
-	 * Subtracts a cohort from a cohort
+	 * Subtracts a cohort from a cohort. If both cohorts were created from bitmaps and their
+	 * memberships were not created yet the result is computed on the bitmaps, otherwise only the
+	 * memberships of patients who are members of both cohorts are compared.
 	 *
 	 * @param a the original Cohort
 	 * @param b the Cohort to subtract
 	 * @return Cohort
 	 */
 	public static Cohort subtract(Cohort a, Cohort b) {
+		if (a != null && b != null && a.isBitmapOnly() && b.isBitmapOnly()) {
+			Cohort ret = new Cohort(a.memberBitmap.andNot(b.memberBitmap));
+			ret.setName("(" + a.getName() + " - " + b.getName() + ")");
+			return ret;
+		}
 		Cohort ret = new Cohort();
 		if (a != null) {
-			ret.getMemberships().addAll(a.getMemberships());
+			ret.memberships().addAll(a.memberships());
 			if (b != null) {
-				ret.getMemberships().removeAll(b.getMemberships());
+				IntBitmap common = a.memberBitmaps().all.and(b.memberBitmaps().all);
+				if (!common.isEmpty()) {
+					ret.memberships().removeAll(b.memberships().stream().filter(m -> common.contains(m.getPatientId()))
+					        .collect(Collectors.toList()));
+				}
 				ret.setName("(" + a.getName() + " - " + b.getName() + ")");
 			}
 		}
@@ -323,8 +468,11 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 */
 	@Deprecated
 	public Set<Integer> getMemberIds() {
+		if (isBitmapOnly()) {
+			return memberBitmap.toSet();
+		}
 		Set<Integer> memberIds = new TreeSet<>();
-		for (CohortMembership member : getMemberships()) {
+		for (CohortMembership member : memberships()) {
 			memberIds.add(member.getPatientId());
 		}
 		return memberIds;
@@ -336,7 +484,7 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 */
 	@Deprecated
 	public void setMemberIds(Set<Integer> memberIds) {
-		if (getMemberships().isEmpty()) {
+		if (memberships().isEmpty()) {
 			for (Integer id : memberIds) {
 				addMembership(new CohortMembership(id));
 			}
@@ -348,6 +496,17 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	
 	public void setMemberships(Collection<CohortMembership> members) {
 		this.memberships = members;
+		this.memberBitmap = null;
+		this.memberBitmaps = null;
+	}
+	
+	/**
+	 * Creates the memberships of a cohort created from a bitmap before it is serialized, since the
+	 * bitmap itself is not serialized
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		memberships();
+		out.defaultWriteObject();
 	}
 	
 	/**
@@ -379,7 +538,10 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 * @return true if cohort has active membership for the requested patient             
 	 */
 	public boolean hasActiveMembership(int patientId) {
-		return getMemberships().stream().anyMatch(m  -> m.getPatientId() == patientId && m.isActive());
+		if (isBitmapOnly()) {
+			return memberBitmap.contains(patientId);
+		}
+		return memberBitmaps().active.contains(patientId);
 	}
 	
 	/**
@@ -390,6 +552,9 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 * @return  number of active memberships in the cohort
 	 */
 	public int activeMembershipSize() {
+		if (isBitmapOnly()) {
+			return memberBitmap.cardinality();
+		}
 		return getActiveMemberships().size();
 	}
 	
@@ -401,6 +566,62 @@ public class Cohort extends BaseChangeableOpenmrsData {
 	 * @return true if no active cohort exists
 	 **/
 	public boolean hasNoActiveMemberships() {
-		return getActiveMemberships().isEmpty();
+		if (isBitmapOnly()) {
+			return memberBitmap.isEmpty();
+		}
+		return memberBitmaps().active.isEmpty();
+	}
+	
+	/**
+	 * The ids of the members of a cohort, built in one pass over its memberships
+	 */
+	private static final class MemberBitmaps {
+		
+		private final IntBitmap all;
+		
+		private final IntBitmap nonVoided;
+		
+		private final IntBitmap active;
+		
+		/**
+		 * The time at which the next membership starts or ends, until then the active ids stay the
+		 * same
+		 */
+		private final long activeUntil;
+		
+		MemberBitmaps(Collection<CohortMembership> memberships, long now) {
+			Date date = new Date(now);
+			List<Integer> allIds = new ArrayList<>(memberships.size());
+			List<Integer> nonVoidedIds = new ArrayList<>(memberships.size());
+			List<Integer> activeIds = new ArrayList<>(memberships.size());
+			long until = Long.MAX_VALUE;
+			for (CohortMembership membership : memberships) {
+				Integer patientId = membership.getPatientId();
+				if (patientId == null) {
+					continue;
+				}
+				allIds.add(patientId);
+				if (membership.getVoided()) {
+					continue;
+				}
+				nonVoidedIds.add(patientId);
+				if (membership.isActive(date)) {
+					activeIds.add(patientId);
+				}
+				// a membership is active from its start date to its end date, both inclusive
+				Date startDate = membership.getStartDate();
+				if (startDate != null && startDate.getTime() > now) {
+					until = Math.min(until, startDate.getTime());
+				}
+				Date endDate = membership.getEndDate();
+				if (endDate != null && endDate.getTime() >= now) {
+					until = Math.min(until, endDate.getTime() + 1);
+				}
+			}
+			this.all = IntBitmap.of(allIds);
+			this.nonVoided = IntBitmap.of(nonVoidedIds);
+			this.active = IntBitmap.of(activeIds);
+			this.activeUntil = until;
+		}
 	}
 }
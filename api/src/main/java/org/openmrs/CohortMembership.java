@@ -82,7 +82,9 @@ public class CohortMembership extends BaseChangeableOpenmrsData implements Compa
 	}
 	
 	public void setCohort(Cohort cohort) {
+		cohortChanged();
 		this.cohort = cohort;
+		cohortChanged();
 	}
 	
 	public Integer getPatientId() {
@@ -91,6 +93,7 @@ public class CohortMembership extends BaseChangeableOpenmrsData implements Compa
 	
 	public void setPatientId(Integer patientId) {
 		this.patientId = patientId;
+		cohortChanged();
 	}
 	
 	public Date getStartDate() {
@@ -99,6 +102,7 @@ public class CohortMembership extends BaseChangeableOpenmrsData implements Compa
 	
 	public void setStartDate(Date startDate) {
 		 this.startDate = startDate != null ? new Date(startDate.getTime()) : null;
+		cohortChanged();
 	}
 	
 	public Date getEndDate() {
@@ -113,6 +117,25 @@ public class CohortMembership extends BaseChangeableOpenmrsData implements Compa
 	 */
 	public void setEndDate(Date endDate) {
 		this.endDate = endDate != null ? new Date(endDate.getTime()) : null;
+		cohortChanged();
+	}
+	
+	/**
+	 * @see org.openmrs.Voidable#setVoided(java.lang.Boolean)
+	 */
+	@Override
+	public void setVoided(Boolean voided) {
+		super.setVoided(voided);
+		cohortChanged();
+	}
+	
+	/**
+	 * Lets the cohort know that its member ids have to be looked up again
+	 */
+	private void cohortChanged() {
+		if (cohort != null) {
+			cohort.clearMemberBitmaps();
+		}
 	}
 	
 	
@@ -41,7 +41,6 @@ import org.openmrs.api.db.hibernate.search.TermsFilterFactory;
 import org.openmrs.customdatatype.CustomValueDescriptor;
 import org.openmrs.customdatatype.Customizable;
 import org.openmrs.util.LocaleUtility;
-import org.openmrs.util.OpenmrsUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.ObjectUtils;
@@ -126,6 +125,12 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * getCompatibleNames().
 	 */
 	private Map<Locale, List<ConceptName>> compatibleCache;
+	
+	/**
+	 * An index of the non voided names by locale and type, built on-the-fly by {@link #getNameIndex()}
+	 * and discarded whenever the names, or the locale, type or voided flag of one of the names change.
+	 */
+	private transient volatile NameIndex nameIndex;
 
 	private Set<ConceptAttribute> attributes = new LinkedHashSet<>();
 
@@ -447,7 +452,8 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * <strong>Should</strong> return name in broader locale in case none is found in specific one
 	 */
 	public ConceptName getName() {
-		if (getNames().isEmpty()) {
+		NameIndex index = getNameIndex();
+		if (index.names.isEmpty()) {
 			log.debug("there are no names defined for: {}", conceptId);
 			return null;
 		}
@@ -478,14 +484,12 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 			}
 		}
 		
-		for (ConceptName cn : getNames()) {
-			if (cn.isFullySpecifiedName()) {
-				return cn;
-			}
+		if (index.firstFullySpecifiedName != null) {
+			return index.firstFullySpecifiedName;
 		}
 		
-		if (!getSynonyms().isEmpty()) {
-			return getSynonyms().iterator().next();
+		if (index.firstSynonym != null) {
+			return index.firstSynonym;
 		}
 		
 		// we don't expect to get here since every concept name must have at least
@@ -588,7 +592,7 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	public ConceptName getName(Locale locale, boolean exact) {
 		
 		// fail early if this concept has no names defined
-		if (getNames().isEmpty()) {
+		if (getNameIndex().names.isEmpty()) {
 			log.debug("there are no names defined for: {}", conceptId);
 			return null;
 		}
@@ -624,11 +628,10 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 		ConceptName fullySpecifiedName = getFullySpecifiedName(locale);
 		if (fullySpecifiedName != null) {
 			return fullySpecifiedName;
-		} else if (!getSynonyms(locale).isEmpty()) {
-			return getSynonyms(locale).iterator().next();
 		}
 		
-		return null;
+		List<ConceptName> synonyms = getNameIndex().synonymsByLocale.get(locale);
+		return synonyms != null ? synonyms.get(0) : null;
 	}
 	
 	/**
@@ -644,8 +647,9 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 		if (log.isDebugEnabled()) {
 			log.debug("Getting preferred conceptName for locale: " + forLocale);
 		}
+		NameIndex index = getNameIndex();
 		// fail early if this concept has no names defined
-		if (getNames(forLocale).isEmpty()) {
+		if (!index.namesByLocale.containsKey(forLocale)) {
 			log.debug("there are no names defined for concept with id: {} in the locale: {}", conceptId, forLocale);
 			return null;
 		} else if (forLocale == null) {
@@ -653,29 +657,9 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 			return null;
 		}
 		
-		for (ConceptName nameInLocale : getNames(forLocale)) {
-			if (ObjectUtils.nullSafeEquals(nameInLocale.getLocalePreferred(), true)) {
-				return nameInLocale;
-			}
-		}
-		
-		// look for partially locale match - any language matches takes precedence over country matches.
-		ConceptName bestMatch = null;
-		
-		for (ConceptName nameInLocale : getPartiallyCompatibleNames(forLocale)) {
-			if (ObjectUtils.nullSafeEquals(nameInLocale.getLocalePreferred(), true)) {
-				Locale nameLocale = nameInLocale.getLocale();
-				if (forLocale.getLanguage().equals(nameLocale.getLanguage())) {
-					return nameInLocale;
-				} else {
-					bestMatch = nameInLocale;
-				}
-				
-			}
-		}
-		
-		if (bestMatch != null) {
-			return bestMatch;
+		ConceptName preferredName = index.preferredNames.find(forLocale);
+		if (preferredName != null) {
+			return preferredName;
 		}
 		
 		return getFullySpecifiedName(forLocale);
@@ -689,28 +673,11 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * <strong>Should</strong> return the name marked as fully specified for the given locale
 	 */
 	public ConceptName getFullySpecifiedName(Locale locale) {
-		if (locale != null && !getNames(locale).isEmpty()) {
-			//get the first fully specified name, since every concept must have a fully specified name,
-			//then, this loop will have to return a name
-			for (ConceptName conceptName : getNames(locale)) {
-				if (ObjectUtils.nullSafeEquals(conceptName.isFullySpecifiedName(), true)) {
-					return conceptName;
-				}
-			}
-			
-			// look for partially locale match - any language matches takes precedence over country matches.
-			ConceptName bestMatch = null;
-			for (ConceptName conceptName : getPartiallyCompatibleNames(locale)) {
-				if (ObjectUtils.nullSafeEquals(conceptName.isFullySpecifiedName(), true)) {
-					Locale nameLocale = conceptName.getLocale();
-					if (locale.getLanguage().equals(nameLocale.getLanguage())) {
-						return conceptName;
-					}
-					bestMatch = conceptName;
-				}
+		if (locale != null) {
+			NameIndex index = getNameIndex();
+			if (index.namesByLocale.containsKey(locale)) {
+				return index.fullySpecifiedNames.find(locale);
 			}
-			return bestMatch;
-			
 		}
 		return null;
 	}
@@ -724,26 +691,8 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * @return Collection of ConceptNames with the given locale
 	 */
 	public Collection<ConceptName> getNames(Locale locale) {
-		return getNames().stream()
-				.filter(n -> n.getLocale().equals(locale))
-				.collect(Collectors.toSet());
-	}
-	
-	/**
-	 * Returns all names available for locale language "or" country. <br>
-	 * <br>
-	 * 
-	 * @param locale locale for which names should be returned
-	 * @return Collection of ConceptNames with the given locale language or country
-	 */
-	private Collection<ConceptName> getPartiallyCompatibleNames(Locale locale) {
-		String language = locale.getLanguage();
-		String country = locale.getCountry();
-		
-		return getNames().stream()
-				.filter(n -> language.equals(n.getLocale().getLanguage()) || 
-							StringUtils.isNotBlank(country) && country.equals(n.getLocale().getCountry()))
-				.collect(Collectors.toSet());
+		List<ConceptName> namesInLocale = getNameIndex().namesByLocale.get(locale);
+		return namesInLocale != null ? new HashSet<>(namesInLocale) : new HashSet<>();
 	}
 	
 	/**
@@ -758,6 +707,9 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * <strong>Should</strong> exclude incompatible language locales
 	 */
 	public List<ConceptName> getCompatibleNames(Locale desiredLocale) {
+		// getting the name index first clears the cache if the names have changed
+		NameIndex index = getNameIndex();
+		
 		// lazy create the cache
 		List<ConceptName> compatibleNames = null;
 		if (compatibleCache == null) {
@@ -768,7 +720,7 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 		
 		if (compatibleNames == null) {
 			compatibleNames = new ArrayList<>();
-			for (ConceptName possibleName : getNames()) {
+			for (ConceptName possibleName : index.names) {
 				if (LocaleUtility.areCompatible(possibleName.getLocale(), desiredLocale)) {
 					compatibleNames.add(possibleName);
 				}
@@ -842,23 +794,7 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * @return the short name, or null if none has been explicitly set
 	 */
 	public ConceptName getShortNameInLocale(Locale locale) {
-		ConceptName bestMatch = null;
-		if (locale != null && !getShortNames().isEmpty()) {
-			for (ConceptName shortName : getShortNames()) {
-				Locale nameLocale = shortName.getLocale();
-				if (nameLocale.equals(locale)) {
-					return shortName;
-				}
-				// test for partially locale match - any language matches takes precedence over country matches.
-				if (OpenmrsUtil.nullSafeEquals(locale.getLanguage(), nameLocale.getLanguage())) {
-					bestMatch = shortName;
-				} else if (bestMatch == null && StringUtils.isNotBlank(locale.getCountry())
-				        && locale.getCountry().equals(nameLocale.getCountry())) {
-					bestMatch = shortName;
-				}
-			}
-		}
-		return bestMatch;
+		return locale != null ? getNameIndex().shortNames.find(locale) : null;
 	}
 	
 	/**
@@ -867,17 +803,13 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * @return a collection of all short names for this concept
 	 */
 	public Collection<ConceptName> getShortNames() {
-		List<ConceptName> shortNames = new ArrayList<>();
-		if (getNames().isEmpty()) {
+		NameIndex index = getNameIndex();
+		if (index.names.isEmpty()) {
 			if (log.isDebugEnabled()) {
 				log.debug("The Concept with id: " + conceptId + " has no names");
 			}
-		} else {
-			shortNames = getNames().stream()
-							.filter(ConceptName::isShort)
-							.collect(Collectors.toList());
 		}
-		return shortNames;
+		return new ArrayList<>(index.shortNames.all);
 	}
 	
 	/**
@@ -975,13 +907,14 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * @param includeVoided Include voided ConceptNames if true.
 	 */
 	public Collection<ConceptName> getNames(boolean includeVoided) {
+		if (!includeVoided) {
+			return new HashSet<>(getNameIndex().names);
+		}
 		if (names == null) {
 			names = new HashSet<>();
 		}
-
-		return names.stream()
-				.filter(n -> includeVoided || !n.getVoided())
-				.collect(Collectors.toSet());
+		
+		return new HashSet<>(names);
 	}
 	
 	/**
@@ -989,6 +922,7 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 */
 	public void setNames(Collection<ConceptName> names) {
 		this.names = names;
+		invalidateNameIndex();
 	}
 	
 	/**
@@ -1030,10 +964,7 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 					}
 				}
 				names.add(conceptName);
-				if (compatibleCache != null) {
-					// clear the locale cache, forcing it to be rebuilt
-					compatibleCache.clear();
-				}
+				invalidateNameIndex();
 			}
 		}
 	}
@@ -1046,7 +977,11 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 */
 	public boolean removeName(ConceptName conceptName) {
 		if (names != null) {
-			return names.remove(conceptName);
+			boolean removed = names.remove(conceptName);
+			if (removed) {
+				invalidateNameIndex();
+			}
+			return removed;
 		} else {
 			return false;
 		}
@@ -1259,24 +1194,9 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * @return Collection of ConceptNames which are synonyms for the Concept in the given locale
 	 */
 	public Collection<ConceptName> getSynonyms(Locale locale) {
-		
-		List<ConceptName> syns = new ArrayList<>();
-		ConceptName preferredConceptName = null;
-		for (ConceptName possibleSynonymInLoc : getSynonyms()) {
-			if (locale.equals(possibleSynonymInLoc.getLocale())) {
-				if (possibleSynonymInLoc.isPreferred()) {
-					preferredConceptName = possibleSynonymInLoc;
-				} else {
-					syns.add(possibleSynonymInLoc);
-				}
-			}
-		}
-		
-		// Add preferred name first in the list.
-		if (preferredConceptName != null) {
-			syns.add(0, preferredConceptName);
-		}
-		log.debug("returning: " + syns);
+		List<ConceptName> synonyms = getNameIndex().synonymsByLocale.get(locale);
+		List<ConceptName> syns = synonyms != null ? new ArrayList<>(synonyms) : new ArrayList<>();
+		log.debug("returning: {}", syns);
 		return syns;
 	}
 	
@@ -1288,9 +1208,9 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * @since 1.7
 	 */
 	public Collection<ConceptName> getSynonyms() {
-		return getNames().stream()
-				.filter(ConceptName::isSynonym)
-				.collect(Collectors.toSet());
+		Set<ConceptName> synonyms = new HashSet<>();
+		getNameIndex().synonymsByLocale.values().forEach(synonyms::addAll);
+		return synonyms;
 	}
 	
 	/**
@@ -1481,20 +1401,15 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 	 * <strong>Should</strong> return all locales for conceptNames for this concept without duplicates
 	 */
 	public Set<Locale> getAllConceptNameLocales() {
-		if (getNames().isEmpty()) {
+		NameIndex index = getNameIndex();
+		if (index.names.isEmpty()) {
 			if (log.isDebugEnabled()) {
 				log.debug("The Concept with id: " + conceptId + " has no names");
 			}
 			return null;
 		}
 		
-		Set<Locale> locales = new HashSet<>();
-		
-		for (ConceptName cn : getNames()) {
-			locales.add(cn.getLocale());
-		}
-		
-		return locales;
+		return new HashSet<>(index.namesByLocale.keySet());
 	}
 	
 	/**
@@ -1678,5 +1593,148 @@ public class Concept extends BaseOpenmrsObject implements Auditable, Retireable,
 		getAttributes().add(attribute);
 		attribute.setOwner(this);
 	}
-
+	
+	/**
+	 * Gets the index of the non voided names of this concept, building it if the names have changed
+	 * since it was last built.
+	 * 
+	 * @return the name index
+	 */
+	private NameIndex getNameIndex() {
+		if (names == null) {
+			names = new HashSet<>();
+		}
+		NameIndex index = nameIndex;
+		// hibernate sets the names field directly, so also check that the index is for this collection
+		if (index == null || !index.isFor(names)) {
+			if (compatibleCache != null) {
+				compatibleCache.clear();
+			}
+			index = new NameIndex(names);
+			nameIndex = index;
+		}
+		return index;
+	}
+	
+	/**
+	 * Discards the name index and the compatible names cache, called when a name is added or
+	 * removed, or when the locale, type or voided flag of one of the names of this concept changes.
+	 * 
+	 * @since 2.6.0
+	 */
+	void invalidateNameIndex() {
+		nameIndex = null;
+		if (compatibleCache != null) {
+			compatibleCache.clear();
+		}
+	}
+	
+	/**
+	 * The non voided names of a concept by locale and by type, the lookups match the locale exactly
+	 * first, then by language and then by country.
+	 */
+	private static final class NameIndex {
+		
+		private final Collection<ConceptName> source;
+		
+		private final int sourceSize;
+		
+		private final List<ConceptName> names = new ArrayList<>();
+		
+		private final Map<Locale, List<ConceptName>> namesByLocale = new HashMap<>();
+		
+		private final Map<Locale, List<ConceptName>> synonymsByLocale = new HashMap<>();
+		
+		private final LocaleMatches preferredNames = new LocaleMatches();
+		
+		private final LocaleMatches fullySpecifiedNames = new LocaleMatches();
+		
+		private final LocaleMatches shortNames = new LocaleMatches();
+		
+		private ConceptName firstFullySpecifiedName;
+		
+		private ConceptName firstSynonym;
+		
+		NameIndex(Collection<ConceptName> source) {
+			this.source = source;
+			this.sourceSize = source.size();
+			
+			Map<Locale, ConceptName> preferredSynonyms = new HashMap<>();
+			for (ConceptName name : source) {
+				if (Boolean.TRUE.equals(name.getVoided())) {
+					continue;
+				}
+				names.add(name);
+				Locale locale = name.getLocale();
+				namesByLocale.computeIfAbsent(locale, l -> new ArrayList<>()).add(name);
+				
+				if (ObjectUtils.nullSafeEquals(name.getLocalePreferred(), true)) {
+					preferredNames.add(name);
+				}
+				if (name.isFullySpecifiedName()) {
+					if (firstFullySpecifiedName == null) {
+						firstFullySpecifiedName = name;
+					}
+					fullySpecifiedNames.add(name);
+				} else if (name.isShort()) {
+					shortNames.add(name);
+				} else if (name.isSynonym()) {
+					if (firstSynonym == null) {
+						firstSynonym = name;
+					}
+					if (name.isPreferred()) {
+						preferredSynonyms.put(locale, name);
+					} else {
+						synonymsByLocale.computeIfAbsent(locale, l -> new ArrayList<>()).add(name);
+					}
+				}
+			}
+			
+			// the preferred synonym of a locale is sorted first
+			preferredSynonyms.forEach(
+			    (locale, name) -> synonymsByLocale.computeIfAbsent(locale, l -> new ArrayList<>()).add(0, name));
+		}
+		
+		private boolean isFor(Collection<ConceptName> names) {
+			return source == names && sourceSize == names.size();
+		}
+	}
+	
+	/**
+	 * Names of one type by exact locale, by language and by country.
+	 */
+	private static final class LocaleMatches {
+		
+		private final List<ConceptName> all = new ArrayList<>();
+		
+		private final Map<Locale, ConceptName> byLocale = new HashMap<>();
+		
+		private final Map<String, ConceptName> byLanguage = new HashMap<>();
+		
+		private final Map<String, ConceptName> byCountry = new HashMap<>();
+		
+		private void add(ConceptName name) {
+			all.add(name);
+			Locale locale = name.getLocale();
+			if (locale == null) {
+				return;
+			}
+			byLocale.putIfAbsent(locale, name);
+			byLanguage.putIfAbsent(locale.getLanguage(), name);
+			if (StringUtils.isNotBlank(locale.getCountry())) {
+				byCountry.putIfAbsent(locale.getCountry(), name);
+			}
+		}
+		
+		private ConceptName find(Locale locale) {
+			ConceptName match = byLocale.get(locale);
+			if (match == null) {
+				match = byLanguage.get(locale.getLanguage());
+			}
+			if (match == null && StringUtils.isNotBlank(locale.getCountry())) {
+				match = byCountry.get(locale.getCountry());
+			}
+			return match;
+		}
+	}
 }
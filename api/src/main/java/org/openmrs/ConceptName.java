@@ -19,6 +19,8 @@ import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
 import org.apache.lucene.analysis.standard.StandardFilterFactory;
 import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
 import org.codehaus.jackson.annotate.JsonIgnore;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.search.annotations.Analyze;
 import org.hibernate.search.annotations.Analyzer;
 import org.hibernate.search.annotations.AnalyzerDef;
@@ -144,6 +146,7 @@ public class ConceptName extends BaseOpenmrsObject implements Auditable, Voidabl
 	
 	public void setLocale(Locale locale) {
 		this.locale = locale;
+		namesChanged();
 	}
 
 	/**
@@ -210,6 +213,7 @@ public class ConceptName extends BaseOpenmrsObject implements Auditable, Voidabl
 	@Override
 	public void setVoided(Boolean voided) {
 		this.voided = voided;
+		namesChanged();
 	}
 	
 	/**
@@ -305,6 +309,7 @@ public class ConceptName extends BaseOpenmrsObject implements Auditable, Voidabl
 	 */
 	public void setConceptNameType(ConceptNameType conceptNameType) {
 		this.conceptNameType = conceptNameType;
+		namesChanged();
 	}
 	
 	/**
@@ -333,6 +338,25 @@ public class ConceptName extends BaseOpenmrsObject implements Auditable, Voidabl
 	 */
 	public void setLocalePreferred(Boolean localePreferred) {
 		this.localePreferred = localePreferred;
+		namesChanged();
+	}
+	
+	/**
+	 * Tells the concept of this name that the name index it keeps has to be rebuilt, a concept
+	 * that is an uninitialized proxy has not built one yet.
+	 */
+	private void namesChanged() {
+		Concept owner = concept;
+		if (owner instanceof HibernateProxy) {
+			LazyInitializer initializer = ((HibernateProxy) owner).getHibernateLazyInitializer();
+			if (initializer.isUninitialized()) {
+				return;
+			}
+			owner = (Concept) initializer.getImplementation();
+		}
+		if (owner != null) {
+			owner.invalidateNameIndex();
+		}
 	}
 	
 	/**
@@ -13,6 +13,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.openmrs.api.context.UserContext;
 import org.openmrs.util.RoleConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -88,6 +89,7 @@ public class Role extends BaseChangeableOpenmrsMetadata {
 		}
 		if (privilege != null && !containsPrivilege(privileges, privilege.getPrivilege())) {
 			privileges.add(privilege);
+			UserContext.invalidateCachedPrivileges();
 		}
 	}
 	
@@ -106,8 +108,8 @@ public class Role extends BaseChangeableOpenmrsMetadata {
 	 * @param privilege Privilege to remove
 	 */
 	public void removePrivilege(Privilege privilege) {
-		if (privileges != null) {
-			privileges.remove(privilege);
+		if (privileges != null && privileges.remove(privilege)) {
+			UserContext.invalidateCachedPrivileges();
 		}
 	}
 	
@@ -22,6 +22,7 @@ import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
 import org.openmrs.util.LocaleUtility;
 import org.openmrs.util.OpenmrsConstants;
 import org.openmrs.util.OpenmrsUtil;
@@ -272,6 +273,7 @@ public class User extends BaseOpenmrsObject implements java.io.Serializable, Att
 		}
 		if (!roles.contains(role) && role != null) {
 			roles.add(role);
+			UserContext.invalidateCachedPrivileges();
 		}
 		
 		return this;
@@ -284,8 +286,8 @@ public class User extends BaseOpenmrsObject implements java.io.Serializable, Att
 	 * @return this user with the given role removed
 	 */
 	public User removeRole(Role role) {
-		if (roles != null) {
-			roles.remove(role);
+		if (roles != null && roles.remove(role)) {
+			UserContext.invalidateCachedPrivileges();
 		}
 		
 		return this;
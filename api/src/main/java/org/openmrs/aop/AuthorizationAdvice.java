@@ -11,6 +11,9 @@ package org.openmrs.aop;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openmrs.User;
@@ -33,6 +36,11 @@ public class AuthorizationAdvice implements MethodBeforeAdvice {
 	private static final Logger log = LoggerFactory.getLogger(AuthorizationAdvice.class);
         private static final String USER_IS_NOT_AUTHORIZED_TO_ACCESS = "User {} is not authorized to access {}";
 	
+	/**
+	 * The parsed {@link org.openmrs.annotation.Authorized} attributes of every method seen so far
+	 */
+	private final Map<Method, AuthorizedMethod> authorizedMethods = new ConcurrentHashMap<>();
+	
 	/**
 	 * Allows us to check whether a user is authorized to access a particular method.
 	 * 
@@ -55,9 +63,9 @@ public class AuthorizationAdvice implements MethodBeforeAdvice {
 			}
 		}
 		
-		AuthorizedAnnotationAttributes attributes = new AuthorizedAnnotationAttributes();
-		Collection<String> privileges = attributes.getAttributes(method);
-		boolean requireAll = attributes.getRequireAll(method);
+		AuthorizedMethod authorizedMethod = authorizedMethods.computeIfAbsent(method, AuthorizedMethod::new);
+		Collection<String> privileges = authorizedMethod.privileges;
+		boolean requireAll = authorizedMethod.requireAll;
 		
 		// Only execute if the "secure" method has authorization attributes
 		// Iterate through required privileges and return only if the user has
@@ -70,9 +78,10 @@ public class AuthorizationAdvice implements MethodBeforeAdvice {
 					return;
 				}
 				
-				log.debug("User has privilege {}? {}", privilege, Context.hasPrivilege(privilege));
+				boolean hasPrivilege = Context.hasPrivilege(privilege);
+				log.debug("User has privilege {}? {}", privilege, hasPrivilege);
 				
-				if (Context.hasPrivilege(privilege)) {
+				if (hasPrivilege) {
 					if (!requireAll) {
 						// if not all required, the first one that they have
 						// causes them to "pass"
@@ -94,7 +103,7 @@ public class AuthorizationAdvice implements MethodBeforeAdvice {
 				throwUnauthorized(Context.getAuthenticatedUser(), method, privileges);
 			}
 			
-		} else if (attributes.hasAuthorizedAnnotation(method) && !Context.isAuthenticated()) {
+		} else if (authorizedMethod.hasAuthorizedAnnotation && !Context.isAuthenticated()) {
 			throwUnauthorized(Context.getAuthenticatedUser(), method);
 		}
 	}
@@ -135,4 +144,23 @@ public class AuthorizationAdvice implements MethodBeforeAdvice {
 		log.debug(USER_IS_NOT_AUTHORIZED_TO_ACCESS, user, method.getName());
 		throw new APIAuthenticationException(Context.getMessageSourceService().getMessage("error.aunthenticationRequired"));
 	}
+	
+	/**
+	 * The {@link AuthorizedAnnotationAttributes} of a method, parsed once per method
+	 */
+	private static class AuthorizedMethod {
+		
+		private final Collection<String> privileges;
+		
+		private final boolean requireAll;
+		
+		private final boolean hasAuthorizedAnnotation;
+		
+		AuthorizedMethod(Method method) {
+			AuthorizedAnnotationAttributes attributes = new AuthorizedAnnotationAttributes();
+			privileges = Collections.unmodifiableCollection(attributes.getAttributes(method));
+			requireAll = attributes.getRequireAll(method);
+			hasAuthorizedAnnotation = attributes.hasAuthorizedAnnotation(method);
+		}
+	}
 }
@@ -9,14 +9,21 @@
  */
 package org.openmrs.aop;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openmrs.OpenmrsObject;
 import org.openmrs.Retireable;
@@ -38,6 +45,8 @@ import org.openmrs.util.HandlerUtil;
 import org.openmrs.util.Reflect;
 import org.openmrs.validator.ValidateUtil;
 import org.springframework.aop.MethodBeforeAdvice;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.util.StringUtils;
 
 /**
@@ -69,17 +78,27 @@ import org.springframework.util.StringUtils;
  * would then be run twice because both handlers are registered. Be sure to add the
  * {@link org.openmrs.annotation.Handler} annotation (like
  * "@Handler(supports=YourPojoThatHasUniqueSaveNeeds.class)") to your class so that it is picked up
- * by Spring automatically.
+ * by Spring automatically.<br>
+ * <br>
+ * The child collections to recurse into are worked out once per class, see
+ * {@link #getChildCollectionFields(Class)}, and forgotten whenever the spring context is refreshed so
+ * that classes of stopped modules are not kept around.
  *
  * @see RequiredDataHandler
  * @see SaveHandler
  * @see VoidHandler
  * @since 1.5
  */
-public class RequiredDataAdvice implements MethodBeforeAdvice {
+public class RequiredDataAdvice implements MethodBeforeAdvice, ApplicationListener<ContextRefreshedEvent> {
 	
 	private static final String UNABLE_GETTER_METHOD = "unable.getter.method";
 	
+	private static final Reflect OPENMRS_OBJECT_REFLECT = new Reflect(OpenmrsObject.class);
+	
+	private static final MethodType COLLECTION_GETTER_TYPE = MethodType.methodType(Collection.class, Object.class);
+	
+	private static final Map<Class<?>, List<ChildCollectionField>> cachedChildCollectionFields = new ConcurrentHashMap<>();
+	
 	/**
 	 * @see org.springframework.aop.MethodBeforeAdvice#before(java.lang.reflect.Method,
 	 *      java.lang.Object[], java.lang.Object)
@@ -109,9 +128,7 @@ public class RequiredDataAdvice implements MethodBeforeAdvice {
 		if (methodName.startsWith("save") || methodName.startsWith("create")) {
 			
 			// if the first argument is an OpenmrsObject, handle it now
-			Reflect reflect = new Reflect(OpenmrsObject.class);
-			
-			if (reflect.isSuperClass(mainArgument)) {
+			if (OPENMRS_OBJECT_REFLECT.isSuperClass(mainArgument)) {
 				// fail early if the method name is not like saveXyz(Xyz)
 				if (!methodNameEndsWithClassName(method, mainArgument.getClass())) {
 					return;
@@ -264,21 +281,13 @@ public class RequiredDataAdvice implements MethodBeforeAdvice {
 		}
 		alreadyHandled.add(openmrsObject);
 		
-		Reflect reflect = new Reflect(OpenmrsObject.class);
-		List<Field> allInheritedFields = reflect.getInheritedFields(openmrsObjectClass);
-		
 		// loop over all child collections of OpenmrsObjects and recursively save on those
-		for (Field field : allInheritedFields) {
+		for (ChildCollectionField childCollectionField : getChildCollectionFields(openmrsObjectClass)) {
 			
-			// skip field if it's declared independent
-			if (Reflect.isAnnotationPresent(openmrsObjectClass, field.getName(), Independent.class)) {
-				continue;
-			}
-			
-			if (reflect.isCollectionField(field) && !isHandlerMarkedAsDisabled(handlerType, field)) {
+			if (!childCollectionField.isHandlerDisabled(handlerType)) {
 				
 				// the collection we'll be looping over
-				Collection<OpenmrsObject> childCollection = getChildCollection(openmrsObject, field);
+				Collection<OpenmrsObject> childCollection = childCollectionField.get(openmrsObject);
 				
 				if (childCollection != null) {
 					for (Object collectionElement : childCollection) {
@@ -293,6 +302,47 @@ public class RequiredDataAdvice implements MethodBeforeAdvice {
 		
 	}
 	
+	/**
+	 * Gets the fields of the given class that hold collections of {@link OpenmrsObject}s and are
+	 * not marked as {@link Independent}, i.e. the collections that
+	 * {@link #recursivelyHandle(Class, OpenmrsObject, User, Date, String, List)} recurses into. The
+	 * fields are only looked up the first time a class is handled.
+	 *
+	 * @param openmrsObjectClass the class of the object being handled
+	 * @return the child collection fields of the class
+	 */
+	private static List<ChildCollectionField> getChildCollectionFields(Class<? extends OpenmrsObject> openmrsObjectClass) {
+		List<ChildCollectionField> childCollectionFields = cachedChildCollectionFields.get(openmrsObjectClass);
+		if (childCollectionFields == null) {
+			childCollectionFields = new ArrayList<>();
+			for (Field field : OPENMRS_OBJECT_REFLECT.getInheritedFields(openmrsObjectClass)) {
+				// skip field if it's declared independent
+				if (!Reflect.isAnnotationPresent(openmrsObjectClass, field.getName(), Independent.class)
+				        && OPENMRS_OBJECT_REFLECT.isCollectionField(field)) {
+					childCollectionFields.add(new ChildCollectionField(openmrsObjectClass, field));
+				}
+			}
+			childCollectionFields = Collections.unmodifiableList(childCollectionFields);
+			cachedChildCollectionFields.put(openmrsObjectClass, childCollectionFields);
+		}
+		return childCollectionFields;
+	}
+	
+	/**
+	 * Clears the cached child collection fields of all classes
+	 */
+	public static void clearCachedChildCollectionFields() {
+		cachedChildCollectionFields.clear();
+	}
+	
+	/**
+	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+	 */
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		clearCachedChildCollectionFields();
+	}
+	
 	/**
 	 * This method gets a child attribute off of an OpenmrsObject. It usually uses the getter for
 	 * the attribute, but can use the direct field (even if its private) if told to by the
@@ -308,7 +358,7 @@ public class RequiredDataAdvice implements MethodBeforeAdvice {
 	@SuppressWarnings("unchecked")
 	protected static Collection<OpenmrsObject> getChildCollection(OpenmrsObject openmrsObject, Field field) {
 		String fieldName = field.getName();
-		String getterName = "get" + StringUtils.capitalize(fieldName);
+		String getterName = getGetterName(field);
 		
 		try {
 			
@@ -348,6 +398,10 @@ public class RequiredDataAdvice implements MethodBeforeAdvice {
 		}
 	}
 	
+	private static String getGetterName(Field field) {
+		return "get" + StringUtils.capitalize(field.getName());
+	}
+	
 	/**
 	 * Checks the given {@link Class} to see if it A) is a {@link Collection}/{@link Set}/
 	 * {@link List}, and B) contains {@link OpenmrsObject}s
@@ -391,4 +445,82 @@ public class RequiredDataAdvice implements MethodBeforeAdvice {
 		
 		return false;
 	}
+	
+	/**
+	 * A field holding a child collection of some class, along with the handler types that are
+	 * disabled for it and a method handle to read it with
+	 */
+	private static final class ChildCollectionField {
+		
+		private final Field field;
+		
+		private final Class<? extends RequiredDataHandler>[] disabledHandlerTypes;
+		
+		/**
+		 * Reads the collection the same way {@link RequiredDataAdvice#getChildCollection(OpenmrsObject, Field)}
+		 * does, null if it can not be accessed in which case that method is used to report the error
+		 */
+		private final MethodHandle getter;
+		
+		@SuppressWarnings("unchecked")
+		ChildCollectionField(Class<? extends OpenmrsObject> openmrsObjectClass, Field field) {
+			this.field = field;
+			DisableHandlers disableHandlers = field.getAnnotation(DisableHandlers.class);
+			this.disabledHandlerTypes = disableHandlers == null ? new Class[0] : disableHandlers.handlerTypes();
+			this.getter = findGetter(openmrsObjectClass, field);
+		}
+		
+		private static MethodHandle findGetter(Class<? extends OpenmrsObject> openmrsObjectClass, Field field) {
+			try {
+				MethodHandle getter;
+				if (field.isAnnotationPresent(AllowDirectAccess.class)) {
+					// use a copy of the field so that the accessibility of the shared one isn't changed
+					Field accessibleField = field.getDeclaringClass().getDeclaredField(field.getName());
+					accessibleField.setAccessible(true);
+					getter = MethodHandles.lookup().unreflectGetter(accessibleField);
+				} else {
+					getter = MethodHandles.lookup().unreflect(openmrsObjectClass.getMethod(getGetterName(field)));
+				}
+				return getter.asType(COLLECTION_GETTER_TYPE);
+			}
+			catch (ReflectiveOperationException | RuntimeException e) {
+				return null;
+			}
+		}
+		
+		/**
+		 * @see RequiredDataAdvice#isHandlerMarkedAsDisabled(Class, Field)
+		 */
+		boolean isHandlerDisabled(Class<? extends RequiredDataHandler> handlerType) {
+			for (Class<? extends RequiredDataHandler> disabledHandlerType : disabledHandlerTypes) {
+				if (disabledHandlerType.isAssignableFrom(handlerType)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		@SuppressWarnings("unchecked")
+		Collection<OpenmrsObject> get(OpenmrsObject openmrsObject) {
+			if (getter == null) {
+				return getChildCollection(openmrsObject, field);
+			}
+			try {
+				return (Collection<OpenmrsObject>) getter.invokeExact((Object) openmrsObject);
+			}
+			catch (WrongMethodTypeException | ClassCastException e) {
+				throw new APIException(UNABLE_GETTER_METHOD, new Object[] { "run", getGetterName(field), field.getName(),
+				        openmrsObject.getClass() }, e);
+			}
+			catch (RuntimeException | Error e) {
+				// thrown by the getter itself
+				throw e;
+			}
+			catch (Throwable e) {
+				// a checked exception the getter declares
+				throw new APIException(UNABLE_GETTER_METHOD, new Object[] { "run", getGetterName(field), field.getName(),
+				        openmrsObject.getClass() }, e);
+			}
+		}
+	}
 }
@@ -18,6 +18,7 @@ import org.openmrs.Patient;
 import org.openmrs.User;
 import org.openmrs.annotation.Authorized;
 import org.openmrs.api.db.CohortDAO;
+import org.openmrs.util.IntBitmap;
 import org.openmrs.util.PrivilegeConstants;
 
 /**
@@ -290,4 +291,22 @@ public interface CohortService extends OpenmrsService {
 	 */
 	@Authorized({ PrivilegeConstants.GET_PATIENT_COHORTS })
 	List<CohortMembership> getCohortMemberships(Integer patientId, Date activeOnDate, boolean includeVoided);
+	
+	/**
+	 * Gets the ids of the patients with a membership of the given cohort that is active on the
+	 * given date as a bitmap. For a saved cohort the ids are read from the database without
+	 * loading its memberships, so this is much cheaper than {@link Cohort#getActiveMemberBitmap()}
+	 * for large cohorts that have not been loaded yet. A cohort created from the returned bitmap
+	 * with {@link Cohort#Cohort(org.openmrs.util.IntBitmap)} can be saved with
+	 * {@link #saveCohort(Cohort)}.
+	 *
+	 * @since 2.6.0
+	 * @param cohort the cohort
+	 * @param activeOnDate the date the memberships must be active on, defaults to now
+	 * @return the ids of the active members
+	 * <strong>Should</strong> get the ids of the active members of a saved cohort
+	 * <strong>Should</strong> get the ids of the active members of an unsaved cohort
+	 */
+	@Authorized({ PrivilegeConstants.GET_PATIENT_COHORTS })
+	IntBitmap getActiveMemberBitmap(Cohort cohort, Date activeOnDate);
 }
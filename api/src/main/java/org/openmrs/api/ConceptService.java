@@ -644,6 +644,37 @@ public interface ConceptService extends OpenmrsService {
 	@Authorized(PrivilegeConstants.GET_CONCEPTS)
 	public List<ConceptSet> getSetsContainingConcept(Concept concept) throws APIException;
 	
+	/**
+	 * Find all sets that the given concept is a member of, either directly or as a member of a
+	 * nested set
+	 * 
+	 * @param concept the concept to find the sets of
+	 * @return the concept sets containing the given concept, ordered by concept id
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> return the sets containing the concept directly and through nested sets
+	 * <strong>Should</strong> return an empty list if concept id is null
+	 */
+	@Authorized(PrivilegeConstants.GET_CONCEPTS)
+	public List<Concept> getAllSetsContainingConcept(Concept concept) throws APIException;
+	
+	/**
+	 * Checks whether the given concept is a member of the given concept set, either directly or as a
+	 * member of a nested set
+	 * 
+	 * @param concept the concept to look for
+	 * @param conceptSet the concept set to look in
+	 * @return true if the concept is one of the concepts returned by
+	 *         {@link #getConceptsByConceptSet(Concept)} for the set
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> return true for direct and nested members
+	 * <strong>Should</strong> return false for concepts that are not in the set
+	 * <strong>Should</strong> reflect set members changed by saving the concept set
+	 */
+	@Authorized(PrivilegeConstants.GET_CONCEPTS)
+	public boolean isConceptInSet(Concept concept, Concept conceptSet) throws APIException;
+	
 	/**
 	 * Get a List of all concept proposals
 	 * 
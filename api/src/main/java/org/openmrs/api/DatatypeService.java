@@ -36,11 +36,29 @@ public interface DatatypeService extends OpenmrsService {
 	/**
 	 * @param clazz
 	 * @param config
-	 * @return an instantiated {@link CustomDatatype}, with a configuration set
+	 * @return an instantiated {@link CustomDatatype}, with a configuration set, datatypes are cached
+	 *         by class and configuration so the returned instance is shared and must not be
+	 *         reconfigured
 	 * @throws CustomDatatypeException
+	 * <strong>Should</strong> return the same instance for the same class and configuration
 	 */
 	<T extends CustomDatatype<?>> T getDatatype(Class<T> clazz, String config) throws CustomDatatypeException;
 	
+	/**
+	 * Gets a datatype by the name of its class with the given configuration. Datatypes are cached
+	 * by class name and configuration, so the class is only loaded the first time and the returned
+	 * instance is shared and must not be reconfigured.
+	 * 
+	 * @param datatypeClassname the name of the class of the datatype
+	 * @param config the configuration of the datatype, may be null
+	 * @return a configured datatype of the named class
+	 * @throws CustomDatatypeException if the class can not be loaded or instantiated
+	 * @since 2.6.0
+	 * <strong>Should</strong> return the same instance for the same class name and configuration
+	 * <strong>Should</strong> fail for an unknown class name
+	 */
+	CustomDatatype<?> getDatatype(String datatypeClassname, String config) throws CustomDatatypeException;
+	
 	/**
 	 * Gets the default handler for a {@link CustomDatatype}, and sets its configuration
 	 *  
@@ -53,6 +71,21 @@ public interface DatatypeService extends OpenmrsService {
 	 */
 	CustomDatatypeHandler<?, ?> getHandler(CustomDatatype<?> datatype, String handlerConfig);
 	
+	/**
+	 * Gets a handler of the given class with the given configuration. Handlers are cached by class
+	 * and configuration, so the returned instance is shared and must not be reconfigured.
+	 * 
+	 * @param handlerClass the class of the handler
+	 * @param handlerConfig the configuration of the handler, may be null
+	 * @return a configured handler of the given class
+	 * @throws CustomDatatypeException if the handler can not be instantiated
+	 * @since 2.6.0
+	 * <strong>Should</strong> return the same instance for the same class and configuration
+	 */
+	@SuppressWarnings("rawtypes")
+	<H extends CustomDatatypeHandler> H getHandler(Class<H> handlerClass, String handlerConfig)
+	        throws CustomDatatypeException;
+	
 	/**
 	 * @param datatypeClass
 	 * @return all handlers suitable for the given {@link CustomDatatype} class
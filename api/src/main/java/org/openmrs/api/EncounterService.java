@@ -13,6 +13,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.openmrs.Cohort;
 import org.openmrs.Encounter;
@@ -76,6 +77,25 @@ public interface EncounterService extends OpenmrsService {
 	@Authorized( { PrivilegeConstants.ADD_ENCOUNTERS, PrivilegeConstants.EDIT_ENCOUNTERS })
 	public Encounter saveEncounter(Encounter encounter) throws APIException;
 	
+	/**
+	 * Saves many encounters in one go, for example when importing data or submitting a large form.
+	 * Each encounter is saved the same way as by {@link #saveEncounter(Encounter)}, except that the
+	 * encounters and their obs are validated and passed through the save handlers once, when this
+	 * method is called, and new obs are then written straight to the database instead of going
+	 * through {@link org.openmrs.api.ObsService#saveObs(org.openmrs.Obs, String)} one at a time. Edited obs and
+	 * obs holding complex data are still saved through the {@link org.openmrs.api.ObsService}.
+	 *
+	 * @param encounters the encounters to save
+	 * @return the saved encounters in the given order
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> save new encounters with their obs and obs groups
+	 * <strong>Should</strong> void and create new obs when saving encounters
+	 * <strong>Should</strong> fail if an obs is invalid
+	 */
+	@Authorized( { PrivilegeConstants.ADD_ENCOUNTERS, PrivilegeConstants.EDIT_ENCOUNTERS })
+	public List<Encounter> saveEncounters(Collection<Encounter> encounters) throws APIException;
+	
 	/**
 	 * Get encounter by internal identifier
 	 * 
@@ -444,6 +464,32 @@ public interface EncounterService extends OpenmrsService {
 	 */
 	public Map<Integer, List<Encounter>> getAllEncounters(Cohort patients);
 	
+	/**
+	 * Streams the non voided encounters of a cohort of patients ordered by patient, encounter
+	 * datetime and encounterId, without loading them all into memory at once. This is meant for
+	 * exports and reporting jobs over large cohorts, where {@link #getAllEncounters(Cohort)} would
+	 * hold every encounter in memory.
+	 * <p>
+	 * The encounters are read with a forward only cursor, <code>pageSize</code> patients at a time,
+	 * and the hibernate session is flushed and cleared before each page and when the stream is
+	 * closed, so changes made to a returned encounter are not saved unless it is passed to
+	 * {@link #saveEncounter(Encounter)}, and other objects loaded in the session are detached too.
+	 * The stream must be consumed in the same session it was created in and should be closed, e.g.
+	 * with a try-with-resources statement, so that the underlying cursor is released.
+	 *
+	 * @param patients the patients whose encounters to stream, or null for all patients
+	 * @param pageSize the number of patients whose encounters are queried at a time, this is also
+	 *            used as the jdbc fetch size
+	 * @return a sequential stream of encounters
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> stream the encounters of a cohort ordered by patient
+	 * <strong>Should</strong> return the same encounters for any page size
+	 * <strong>Should</strong> fail if the page size is not positive
+	 */
+	@Authorized( { PrivilegeConstants.GET_ENCOUNTERS })
+	public Stream<Encounter> streamAllEncounters(Cohort patients, int pageSize) throws APIException;
+	
 	/**
 	 * Return the number of encounters matching a patient name or patient identifier
 	 * 
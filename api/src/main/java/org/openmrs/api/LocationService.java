@@ -11,6 +11,7 @@ package org.openmrs.api;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.openmrs.Address;
 import org.openmrs.Location;
@@ -367,6 +368,23 @@ public interface LocationService extends OpenmrsService {
 	@Authorized( { PrivilegeConstants.GET_LOCATIONS })
 	public List<Location> getRootLocations(boolean includeRetired);
 	
+	/**
+	 * Returns the ids of all the locations below the given location in the hierarchy, retired ones
+	 * included, without loading the child locations one level at a time. The hierarchy is held in
+	 * memory and kept up to date as locations are saved and purged through this service.
+	 * 
+	 * @param location the location to get the descendants of
+	 * @return the ids of the descendant locations, not including the given location, empty if the
+	 *         location has no children or is not saved
+	 * <strong>Should</strong> return the ids of all descendant locations
+	 * <strong>Should</strong> return an empty set for a location without children
+	 * <strong>Should</strong> reflect a change of parent location
+	 * <strong>Should</strong> not return purged locations
+	 * @since 2.6.0
+	 */
+	@Authorized( { PrivilegeConstants.GET_LOCATIONS })
+	public Set<Integer> getDescendantLocationIds(Location location);
+	
 	/**
 	 * Given an Address object, returns all the possible values for the specified AddressField. This
 	 * method is not implemented in core, but is meant to overridden by implementing modules such as
@@ -12,7 +12,9 @@ package org.openmrs.api;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import org.openmrs.Cohort;
 import org.openmrs.Concept;
 import org.openmrs.ConceptName;
 import org.openmrs.Encounter;
@@ -22,6 +24,8 @@ import org.openmrs.Person;
 import org.openmrs.annotation.Authorized;
 import org.openmrs.api.db.ObsDAO;
 import org.openmrs.obs.ComplexObsHandler;
+import org.openmrs.obs.ObsValue;
+import org.openmrs.parameter.ObsSearchCriteria;
 import org.openmrs.util.OpenmrsConstants.PERSON_TYPE;
 import org.openmrs.util.PrivilegeConstants;
 
@@ -358,6 +362,58 @@ public interface ObsService extends OpenmrsService {
 	        List<Concept> answers, List<PERSON_TYPE> personTypes, List<Location> locations, Integer obsGroupId,
 	        Date fromDate, Date toDate, boolean includeVoidedObs, String accessionNumber) throws APIException;
 	
+	/**
+	 * Streams the non voided observations of a cohort of patients ordered by patient, obsDatetime
+	 * and obsId, without loading them all into memory at once. This is meant for exports and
+	 * reporting jobs over large cohorts, where {@link #getObservations(List, List, List, List, List,
+	 * List, List, Integer, Integer, Date, Date, boolean)} would hold every observation in memory.
+	 * <p>
+	 * The observations are read with a forward only cursor, <code>pageSize</code> patients at a
+	 * time, and the hibernate session is flushed and cleared before each page and when the stream
+	 * is closed, so changes made to a returned observation are not saved unless it is passed to
+	 * {@link #saveObs(Obs, String)}, and other objects loaded in the session are detached too. The
+	 * stream must be consumed in the same session it was created in and should be closed, e.g. with
+	 * a try-with-resources statement, so that the underlying cursor is released.
+	 *
+	 * @param patients the patients whose observations to stream, or null for all patients
+	 * @param pageSize the number of patients whose observations are queried at a time, this is
+	 *            also used as the jdbc fetch size
+	 * @return a sequential stream of observations
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> stream the observations of a cohort ordered by patient
+	 * <strong>Should</strong> stream the observations of all patients if the cohort is null
+	 * <strong>Should</strong> evict streamed observations from the session
+	 * <strong>Should</strong> clear what was loaded with the previous page from the session
+	 */
+	@Authorized(PrivilegeConstants.GET_OBS)
+	public Stream<Obs> streamAllObservations(Cohort patients, int pageSize) throws APIException;
+	
+	/**
+	 * Returns one page of lightweight projections of the observations matching the given criteria,
+	 * newest first, ordered by obsDatetime and obsId. Only the columns of the obs table are read, so
+	 * this is much cheaper than {@link #getObservations(List, List, List, List, List, List, List,
+	 * Integer, Integer, Date, Date, boolean)} for dashboards and summaries over many patients.
+	 * <p>
+	 * The next page is fetched by passing the last value of the previous page to
+	 * {@link org.openmrs.parameter.ObsSearchCriteriaBuilder#setAfter(ObsValue)}, which continues
+	 * right after it instead of counting and skipping the rows of all the previous pages. If the
+	 * criteria ask for the latest observation per person and concept, that is worked out by the
+	 * database along with the rest of the query.
+	 *
+	 * @param criteria the criteria the observations must match
+	 * @param maxResults the maximum number of values to return
+	 * @return the matching values, newest first
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> filter by person and concept ids
+	 * <strong>Should</strong> return the next page after the given value
+	 * <strong>Should</strong> fail if only one of lastObsDatetime and lastObsId is set
+	 * <strong>Should</strong> return only the latest observation per person and concept
+	 */
+	@Authorized(PrivilegeConstants.GET_OBS)
+	public List<ObsValue> getObsValues(ObsSearchCriteria criteria, int maxResults) throws APIException;
+	
 	/**
 	 * This method searches the obs table based on the given <code>searchString</code>.
 	 * 
@@ -347,6 +347,19 @@ public interface OrderService extends OpenmrsService {
 	@Authorized(PrivilegeConstants.ADD_ORDERS)
 	public Long getNextOrderNumberSeedSequenceValue();
 	
+	/**
+	 * Reserves a block of consecutive order number seeds in a single short transaction, the caller
+	 * owns every seed from the returned value up to but excluding the returned value plus count
+	 * 
+	 * @param count the number of seeds to reserve
+	 * @return the first seed of the reserved block
+	 * @since 2.6.0
+	 * <strong>Should</strong> reserve the given number of seeds
+	 * <strong>Should</strong> fail if count is less than one
+	 */
+	@Authorized(PrivilegeConstants.ADD_ORDERS)
+	public Long getNextOrderNumberSeedSequenceValues(int count);
+	
 	/**
 	 * Gets the order matching the specified order number and its previous orders in the ordering
 	 * they occurred, i.e if this order has a previous order, fetch it and if it also has a previous
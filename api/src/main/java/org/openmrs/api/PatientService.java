@@ -491,6 +491,37 @@ public interface PatientService extends OpenmrsService {
 	@Authorized( { PrivilegeConstants.GET_PATIENTS })
 	public List<Patient> getDuplicatePatientsByAttributes(List<String> attributes) throws APIException;
 	
+	/**
+	 * Finds groups of patients that are likely to be the same person. Unlike
+	 * {@link #getDuplicatePatientsByAttributes(List)} this does not query the database for exact
+	 * matches, the patients are grouped by the soundex codes of their preferred given and family
+	 * names, their birthdate and their gender in an index held in memory.
+	 * 
+	 * @return the groups of non voided patients sharing these attributes, each group holds at least
+	 *         two patients
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> group patients with similar sounding names, the same birthdate and the same gender
+	 * <strong>Should</strong> not group patients with different birthdates
+	 * <strong>Should</strong> reflect patients changed by saving them
+	 */
+	@Authorized( { PrivilegeConstants.GET_PATIENTS })
+	public List<List<Patient>> getDuplicatePatientCandidates() throws APIException;
+	
+	/**
+	 * Finds the patients that are likely to be the same person as the given patient, using the same
+	 * index as {@link #getDuplicatePatientCandidates()}. The given patient does not have to be saved,
+	 * so this can be used to warn about duplicates while registering a patient.
+	 * 
+	 * @param patient the patient to find the candidates of
+	 * @return the other non voided patients sharing the attributes of the given patient
+	 * @throws APIException
+	 * @since 2.6.0
+	 * <strong>Should</strong> return the patients sharing the attributes of an unsaved patient
+	 */
+	@Authorized( { PrivilegeConstants.GET_PATIENTS })
+	public List<Patient> getDuplicatePatientCandidates(Patient patient) throws APIException;
+	
 	/**
 	 * Convenience method to join two patients' information into one record.
 	 * <ol>
@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.aopalliance.aop.Advice;
 import org.openmrs.api.APIException;
@@ -79,7 +80,11 @@ public class ServiceContext implements ApplicationContextAware {
 
 	private ApplicationContext applicationContext;
 	
-	private static boolean refreshingContext = false;
+	/**
+	 * Volatile so that {@link #getService(Class)} only has to take the lock below while a refresh is
+	 * running
+	 */
+	private static volatile boolean refreshingContext = false;
 	
 	private static final Object refreshingContextLock = new Object();
 	
@@ -89,8 +94,8 @@ public class ServiceContext implements ApplicationContextAware {
 	 */
 	private boolean useSystemClassLoader = false;
 	
-	// Cached service objects
-	Map<Class, Object> services = new HashMap<>();
+	// Cached service objects, read without a lock by getService
+	Map<Class, Object> services = new ConcurrentHashMap<>();
 	
 	// Advisors added to services by this service
 	Map<Class, Set<Advisor>> addedAdvisors = new HashMap<>();
@@ -673,19 +678,21 @@ public class ServiceContext implements ApplicationContextAware {
 		
 		// if the context is refreshing, wait until it is
 		// done -- otherwise a null service might be returned
-		synchronized (refreshingContextLock) {
-			try {
-				while (refreshingContext) {
-					log.debug("Waiting to get service: {} while the context is being refreshed", cls);
-					
-					refreshingContextLock.wait();
+		if (refreshingContext) {
+			synchronized (refreshingContextLock) {
+				try {
+					while (refreshingContext) {
+						log.debug("Waiting to get service: {} while the context is being refreshed", cls);
+						
+						refreshingContextLock.wait();
+						
+						log.debug("Finished waiting to get service {} while the context was being refreshed", cls);
+					}
 					
-					log.debug("Finished waiting to get service {} while the context was being refreshed", cls);
 				}
-				
-			}
-			catch (InterruptedException e) {
-				log.warn("Refresh lock was interrupted", e);
+				catch (InterruptedException e) {
+					log.warn("Refresh lock was interrupted", e);
+				}
 			}
 		}
 		
@@ -861,9 +868,7 @@ public class ServiceContext implements ApplicationContextAware {
 	 *         doneRefreshingContext()
 	 */
 	public boolean isRefreshingContext() {
-		synchronized (refreshingContextLock) {
-			return refreshingContext;
-		}
+		return refreshingContext;
 	}
 	
 	/**
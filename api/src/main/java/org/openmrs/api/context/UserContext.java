@@ -11,13 +11,17 @@ package org.openmrs.api.context;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openmrs.Location;
+import org.openmrs.Privilege;
 import org.openmrs.PrivilegeListener;
 import org.openmrs.Role;
 import org.openmrs.User;
@@ -30,6 +34,8 @@ import org.openmrs.util.OpenmrsConstants;
 import org.openmrs.util.RoleConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Represents an OpenMRS <code>User Context</code> which stores the current user information. Only
@@ -49,6 +55,13 @@ public class UserContext implements Serializable {
 	 */
 	private static final Logger log = LoggerFactory.getLogger(UserContext.class);
 	
+	/**
+	 * Incremented whenever roles, privileges or users are saved and whenever privileges are added to
+	 * or removed from a role or roles to or from a user, so that every user context recomputes its
+	 * flattened privileges on the next check
+	 */
+	private static final AtomicLong privilegesVersion = new AtomicLong();
+	
 	/**
 	 * User object containing details about the authenticated user
 	 */
@@ -74,6 +87,16 @@ public class UserContext implements Serializable {
 	 */
 	private Role anonymousRole = null;
 	
+	/**
+	 * Flattened privileges of the authenticated user, including those of the authenticated role
+	 */
+	private transient volatile FlattenedPrivileges authenticatedUserPrivileges = null;
+	
+	/**
+	 * Flattened privileges of the anonymous role
+	 */
+	private transient volatile FlattenedPrivileges anonymousPrivileges = null;
+	
 	/**
 	 * User's defined location
 	 */
@@ -112,6 +135,7 @@ public class UserContext implements Serializable {
 		try {
 			authenticated = authenticationScheme.authenticate(credentials);
 			this.user = authenticated.getUser();
+			this.authenticatedUserPrivileges = null;
 			notifyUserSessionListener(this.user, Event.LOGIN, Status.SUCCESS);
 		}
 		catch (ContextAuthenticationException e) {
@@ -140,6 +164,7 @@ public class UserContext implements Serializable {
 		
 		if (user != null) {
 			user = Context.getUserService().getUser(user.getUserId());
+			authenticatedUserPrivileges = null;
 			//update the stored location in the user's session
 			setUserLocation(false);
 		}
@@ -180,6 +205,7 @@ public class UserContext implements Serializable {
 		}
 		
 		this.user = userToBecome;
+		this.authenticatedUserPrivileges = null;
 		
 		//update the user's location
 		setUserLocation(false);
@@ -189,6 +215,24 @@ public class UserContext implements Serializable {
 		return userToBecome;
 	}
 	
+	/**
+	 * Creates a new user context authenticated as the same user as this one, with the same locale
+	 * and location but without any proxy privileges. A user context must not be used by two threads
+	 * at the same time, so work handed off to another thread should run with such a copy.
+	 *
+	 * @return the new user context
+	 * @since 2.6.0
+	 * <strong>Should</strong> authenticate the new context as the same user
+	 * <strong>Should</strong> not copy the proxy privileges
+	 */
+	public UserContext newAuthenticatedContext() {
+		UserContext userContext = new UserContext(authenticationScheme);
+		userContext.user = user;
+		userContext.locale = locale;
+		userContext.locationId = locationId;
+		return userContext;
+	}
+	
 	/**
 	 * @return "active" user who has been authenticated, otherwise <code>null</code>
 	 */
@@ -212,6 +256,7 @@ public class UserContext implements Serializable {
 		log.debug("setting user to null on logout");
 		notifyUserSessionListener(user, Event.LOGOUT, Status.SUCCESS);
 		user = null;
+		authenticatedUserPrivileges = null;
 		locationId = null;
 		locale = null;
 		proxies.clear();
@@ -321,8 +366,7 @@ public class UserContext implements Serializable {
 	public boolean hasPrivilege(String privilege) {
 		
 		// if a user has logged in, check their privileges
-		if (isAuthenticated()
-			&& (getAuthenticatedUser().hasPrivilege(privilege) || getAuthenticatedRole().hasPrivilege(privilege))) {
+		if (isAuthenticated() && getAuthenticatedUserPrivileges().contains(privilege)) {
 			
 			// check user's privileges
 			notifyPrivilegeListeners(getAuthenticatedUser(), privilege, true);
@@ -340,7 +384,7 @@ public class UserContext implements Serializable {
 			}
 		}
 		
-		if (getAnonymousRole().hasPrivilege(privilege)) {
+		if (getAnonymousPrivileges().contains(privilege)) {
 			notifyPrivilegeListeners(getAuthenticatedUser(), privilege, true);
 			return true;
 		}
@@ -350,6 +394,65 @@ public class UserContext implements Serializable {
 		return false;
 	}
 	
+	/**
+	 * Marks the flattened privileges of every user context as stale, this needs to be called after
+	 * roles, privileges or the roles of users have been changed, saved or purged. If a transaction is active
+	 * they are marked as stale again once it has been committed or rolled back, so that privileges
+	 * flattened by other threads before the commit or from changes that were rolled back are not
+	 * kept.
+	 * 
+	 * @since 2.6.0
+	 */
+	public static void invalidateCachedPrivileges() {
+		privilegesVersion.incrementAndGet();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				
+				@Override
+				public void afterCompletion(int status) {
+					privilegesVersion.incrementAndGet();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Gets the privileges of the authenticated user and the authenticated role, flattening them the
+	 * first time they are needed after logging in or after roles or privileges have changed
+	 * 
+	 * @return the flattened privileges
+	 */
+	private FlattenedPrivileges getAuthenticatedUserPrivileges() {
+		FlattenedPrivileges privileges = authenticatedUserPrivileges;
+		User authenticatedUser = getAuthenticatedUser();
+		if (privileges == null || privileges.isStale(authenticatedUser)) {
+			long version = privilegesVersion.get();
+			Set<Role> roles = new HashSet<>(authenticatedUser.getAllRoles());
+			roles.add(getAuthenticatedRole());
+			privileges = new FlattenedPrivileges(version, authenticatedUser, authenticatedUser.isSuperUser(), true,
+				roles);
+			authenticatedUserPrivileges = privileges;
+		}
+		return privileges;
+	}
+	
+	/**
+	 * Gets the flattened privileges of the anonymous role
+	 * 
+	 * @return the flattened privileges
+	 */
+	private FlattenedPrivileges getAnonymousPrivileges() {
+		FlattenedPrivileges privileges = anonymousPrivileges;
+		if (privileges == null || privileges.isStale(null)) {
+			long version = privilegesVersion.get();
+			Role role = getAnonymousRole();
+			privileges = new FlattenedPrivileges(version, null, RoleConstants.SUPERUSER.equals(role.getRole()), false,
+				Collections.singleton(role));
+			anonymousPrivileges = privileges;
+		}
+		return privileges;
+	}
+	
 	/**
 	 * Convenience method to get the Role in the system designed to be given to all users
 	 *
@@ -502,4 +605,61 @@ public class UserContext implements Serializable {
 			userSessionListener.loggedInOrOut(user, event, status);
 		}
 	}
+	
+	/**
+	 * An immutable, case normalized set of privilege names granted by a set of roles, so that
+	 * checking a privilege does not have to walk the privileges of the roles each time. It is
+	 * rebuilt when the authenticated user changes or {@link #invalidateCachedPrivileges()} has been
+	 * called since it was built.
+	 */
+	private static final class FlattenedPrivileges {
+		
+		private final long version;
+		
+		private final User user;
+		
+		private final boolean allPrivileges;
+		
+		private final boolean emptyPrivilege;
+		
+		private final Set<String> privilegeNames;
+		
+		FlattenedPrivileges(long version, User user, boolean allPrivileges, boolean emptyPrivilege,
+		    Collection<Role> roles) {
+			this.version = version;
+			this.user = user;
+			this.allPrivileges = allPrivileges;
+			this.emptyPrivilege = emptyPrivilege;
+			
+			Set<String> names = new HashSet<>();
+			for (Role role : roles) {
+				if (role.getPrivileges() != null) {
+					for (Privilege privilege : role.getPrivileges()) {
+						if (privilege.getPrivilege() != null) {
+							names.add(normalize(privilege.getPrivilege()));
+						}
+					}
+				}
+			}
+			this.privilegeNames = Collections.unmodifiableSet(names);
+		}
+		
+		boolean isStale(User currentUser) {
+			return user != currentUser || version != privilegesVersion.get();
+		}
+		
+		boolean contains(String privilege) {
+			if (allPrivileges) {
+				return true;
+			}
+			if (StringUtils.isEmpty(privilege)) {
+				return emptyPrivilege;
+			}
+			return privilegeNames.contains(normalize(privilege));
+		}
+		
+		private static String normalize(String privilege) {
+			return privilege.toLowerCase(Locale.ROOT);
+		}
+	}
 }
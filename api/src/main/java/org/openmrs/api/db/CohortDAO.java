@@ -113,4 +113,14 @@ public interface CohortDAO {
 	 * @since 2.1.0
 	 */
 	CohortMembership saveCohortMembership(CohortMembership cohortMembership);
+	
+	/**
+	 * Gets the patient ids of the active members of a cohort without loading its memberships
+	 * 
+	 * @param cohortId the id of the cohort
+	 * @param activeOnDate the date the memberships must be active on
+	 * @return the distinct patient ids
+	 * @since 2.6.0
+	 */
+	List<Integer> getActiveMemberIds(Integer cohortId, Date activeOnDate);
 }
@@ -218,6 +218,17 @@ public interface ConceptDAO {
 	 */
 	public List<ConceptSet> getSetsContainingConcept(Concept concept) throws DAOException;
 	
+	/**
+	 * Gets the ids of the members of a concept set, or of all concept sets, without loading the
+	 * concepts themselves
+	 * 
+	 * @param conceptSetId the id of the concept set to get the members of, or null for all sets
+	 * @return rows holding the id of the set, the id of the member and whether the member is a set
+	 *         itself, ordered by set and sort weight
+	 * @since 2.6.0
+	 */
+	public List<Object[]> getConceptSetMemberIds(Integer conceptSetId) throws DAOException;
+	
 	/**
 	 * @see org.openmrs.api.ConceptService#getConceptNumeric(java.lang.Integer)
 	 */
@@ -201,4 +201,16 @@ public interface LocationDAO {
 	 * <strong>Should</strong> ignore null values in location tag list
 	 */
 	List<Location> getLocationsHavingAllTags(List<LocationTag> locationTagIdList);
+
+	/**
+	 * Gets the id of the parent of a location and of its children, or of all locations, without
+	 * loading the locations themselves
+	 *
+	 * @param locationId the id of the location to get the parent of along with its children, or
+	 *            null for all locations
+	 * @return rows holding the id of the location and the id of its parent, which is null for root
+	 *         locations
+	 * @since 2.6.0
+	 */
+	List<Object[]> getLocationParentIds(Integer locationId);
 }
@@ -11,7 +11,9 @@ package org.openmrs.api.db;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.openmrs.Cohort;
 import org.openmrs.Concept;
 import org.openmrs.ConceptName;
 import org.openmrs.Encounter;
@@ -19,6 +21,8 @@ import org.openmrs.Location;
 import org.openmrs.Obs;
 import org.openmrs.Person;
 import org.openmrs.api.ObsService;
+import org.openmrs.obs.ObsValue;
+import org.openmrs.parameter.ObsSearchCriteria;
 import org.openmrs.util.OpenmrsConstants.PERSON_TYPE;
 
 /**
@@ -54,6 +58,16 @@ public interface ObsDAO {
 	        Integer mostRecentN, Integer obsGroupId, Date fromDate, Date toDate, boolean includeVoidedObs,
 	        String accessionNumber) throws DAOException;
 	
+	/**
+	 * @see ObsService#streamAllObservations(Cohort, int)
+	 */
+	public Stream<Obs> streamAllObservations(Cohort patients, int pageSize);
+	
+	/**
+	 * @see org.openmrs.api.ObsService#getObsValues(ObsSearchCriteria, int)
+	 */
+	public List<ObsValue> getObsValues(ObsSearchCriteria searchCriteria, int maxResults);
+	
 	/**
 	 * @see org.openmrs.api.ObsService#getObservationCount(java.util.List, java.util.List,
 	 *      java.util.List, java.util.List, java.util.List, java.util.List, java.lang.Integer,
@@ -104,6 +104,15 @@ public interface OrderDAO {
 	 */
 	public Long getNextOrderNumberSeedSequenceValue();
 	
+	/**
+	 * Reserves the given number of consecutive order number seeds
+	 * 
+	 * @param count the number of seeds to reserve
+	 * @return the first seed of the reserved range
+	 * @since 2.6.0
+	 */
+	public Long getNextOrderNumberSeedSequenceValues(int count);
+	
 	/**
 	 * @see org.openmrs.api.OrderService#getActiveOrders(org.openmrs.Patient, org.openmrs.OrderType,
 	 *      org.openmrs.CareSetting, java.util.Date)
@@ -9,7 +9,9 @@
  */
 package org.openmrs.api.db;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.openmrs.Allergies;
 import org.openmrs.Allergy;
@@ -186,6 +188,17 @@ public interface PatientDAO {
 	 */
 	public List<Patient> getDuplicatePatientsByAttributes(List<String> attributes) throws DAOException;
 	
+	/**
+	 * Streams the attributes the duplicate patient candidates are indexed by, without loading the
+	 * patients themselves. The stream holds an open database cursor and must be closed.
+	 * 
+	 * @param patientIds the ids of the patients to get the attributes of, or null for all patients
+	 * @return rows of patient id, preferred given name, preferred family name, birthdate and gender
+	 *         of the non voided patients
+	 * @since 2.6.0
+	 */
+	public Stream<Object[]> streamDuplicateCandidateAttributes(Collection<Integer> patientIds) throws DAOException;
+	
 	/**
 	 * @see org.openmrs.api.PatientService#isIdentifierInUseByAnotherPatient(PatientIdentifier)
 	 */
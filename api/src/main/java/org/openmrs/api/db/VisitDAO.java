@@ -156,4 +156,19 @@ public interface VisitDAO {
 	 */
 	public Visit getNextVisit(Visit previousVisit, Collection<VisitType> visitTypes, Date maximumStartDate);
 	
+	/**
+	 * Gets a chunk of the active visits which match the specified visit types, ordered by id so that
+	 * all of them can be fetched one chunk at a time
+	 * 
+	 * @param previousVisit the last visit of the previous chunk, or null for the first chunk
+	 * @param visitTypes a collection of visit types to match against
+	 * @param maximumStartDate the visits should have been created before or at this date time
+	 * @param maxResults the maximum number of visits to return
+	 * @return the visits following the previous visit, empty once all have been fetched
+	 * <strong>Should</strong> return the next unvoided active visits matching the specified types and startDate
+	 * @since 2.6.0
+	 */
+	public List<Visit> getNextVisits(Visit previousVisit, Collection<VisitType> visitTypes, Date maximumStartDate,
+	        int maxResults);
+	
 }
@@ -0,0 +1,188 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Criteria;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.openmrs.Cohort;
+
+/**
+ * Iterates over the rows of a criteria query for a cohort of patients with a forward only
+ * {@link ScrollableResults}, so that the rows are never all held in memory at the same time.
+ * <p>
+ * The patient ids of the cohort are sorted and queried in pages of <code>pageSize</code> patients,
+ * which keeps the in clause of each query small and, for drivers that buffer a whole result set on
+ * the client, bounds the rows buffered at any time. The criteria must order the rows by patient.
+ * The session is flushed and cleared before the rows of the next page are read and when the
+ * iterator is closed, so that neither the returned entities nor anything loaded along with them,
+ * such as proxies and collections, accumulate in it. When the rows of all patients are read in one
+ * query this happens every <code>pageSize</code> rows instead. Entities loaded in the session
+ * before are detached as well.
+ * <p>
+ * The query of a page is only run when the iterator reaches it, so the iterator can be consumed
+ * after the service call which created it has returned, as long as it is consumed in the same
+ * session.
+ *
+ * @param <T> the type of the entities returned by the criteria
+ * @since 2.6.0
+ */
+class CohortScrollIterator<T> implements Iterator<T>, AutoCloseable {
+
+	private final SessionFactory sessionFactory;
+
+	private final Iterator<List<Integer>> patientIdPages;
+
+	private final Function<List<Integer>, Criteria> criteriaFactory;
+
+	private final boolean allPatients;
+
+	private final int pageSize;
+
+	private ScrollableResults results;
+
+	private T next;
+
+	private int rowsRead;
+
+	private boolean closed;
+
+	/**
+	 * @param sessionFactory the session factory to run the queries with
+	 * @param patients the patients to iterate over, or null for all patients
+	 * @param pageSize the number of patients to query at a time, also used as the jdbc fetch size
+	 * @param criteriaFactory creates the criteria for a page of patient ids, the ids are null if
+	 *            the rows of all patients are to be returned
+	 */
+	CohortScrollIterator(SessionFactory sessionFactory, Cohort patients, int pageSize,
+	    Function<List<Integer>, Criteria> criteriaFactory) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("The page size must be greater than zero");
+		}
+		this.sessionFactory = sessionFactory;
+		this.pageSize = pageSize;
+		this.criteriaFactory = criteriaFactory;
+		this.allPatients = patients == null;
+		if (patients == null) {
+			patientIdPages = Collections.singletonList((List<Integer>) null).iterator();
+		} else {
+			List<Integer> patientIds = new ArrayList<>(new TreeSet<>(patients.getMemberIds()));
+			List<List<Integer>> pages = new ArrayList<>();
+			for (int start = 0; start < patientIds.size(); start += pageSize) {
+				pages.add(patientIds.subList(start, Math.min(start + pageSize, patientIds.size())));
+			}
+			patientIdPages = pages.iterator();
+		}
+	}
+
+	/**
+	 * Wraps a new iterator in a sequential {@link Stream}, closing the stream closes the underlying
+	 * {@link ScrollableResults}.
+	 *
+	 * @see #CohortScrollIterator(SessionFactory, Cohort, int, Function)
+	 */
+	static <T> Stream<T> stream(SessionFactory sessionFactory, Cohort patients, int pageSize,
+	        Function<List<Integer>, Criteria> criteriaFactory) {
+		CohortScrollIterator<T> iterator = new CohortScrollIterator<>(sessionFactory, patients, pageSize,
+		        criteriaFactory);
+		return StreamSupport
+		        .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+		        .onClose(iterator::close);
+	}
+
+	/**
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean hasNext() {
+		while (next == null && !closed) {
+			if (results == null) {
+				if (!patientIdPages.hasNext()) {
+					return false;
+				}
+				if (rowsRead > 0) {
+					flushAndClear();
+				}
+				Criteria criteria = criteriaFactory.apply(patientIdPages.next());
+				criteria.setCacheMode(CacheMode.IGNORE);
+				criteria.setFetchSize(pageSize);
+				results = criteria.scroll(ScrollMode.FORWARD_ONLY);
+			}
+			if (allPatients && rowsRead >= pageSize) {
+				flushAndClear();
+			}
+			if (results.next()) {
+				next = (T) results.get(0);
+				rowsRead++;
+			} else {
+				results.close();
+				results = null;
+			}
+		}
+		return next != null;
+	}
+
+	/**
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		T current = next;
+		next = null;
+		return current;
+	}
+
+	/**
+	 * Closes the current {@link ScrollableResults} and flushes and clears the session, the iterator
+	 * returns no more elements afterwards
+	 */
+	@Override
+	public void close() {
+		if (results != null) {
+			results.close();
+			results = null;
+		}
+		next = null;
+		if (!closed && rowsRead > 0) {
+			flushAndClear();
+		}
+		closed = true;
+	}
+
+	/**
+	 * Flushes and clears the session, which drops the entities of the rows read so far along with
+	 * everything loaded with them
+	 */
+	private void flushAndClear() {
+		Session session = sessionFactory.getCurrentSession();
+		session.flush();
+		session.clear();
+		rowsRead = 0;
+	}
+}
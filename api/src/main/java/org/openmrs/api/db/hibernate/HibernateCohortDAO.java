@@ -180,4 +180,16 @@ public class HibernateCohortDAO implements CohortDAO {
 		sessionFactory.getCurrentSession().saveOrUpdate(cohortMembership);
 		return cohortMembership;
 	}
+	
+	/**
+	 * @see org.openmrs.api.db.CohortDAO#getActiveMemberIds(Integer, Date)
+	 */
+	@Override
+	public List<Integer> getActiveMemberIds(Integer cohortId, Date activeOnDate) {
+		return sessionFactory.getCurrentSession()
+		        .createQuery("select distinct m.patientId from CohortMembership m where m.cohort.cohortId = :cohortId "
+		                + "and m.voided = false and m.startDate <= :date and (m.endDate is null or m.endDate >= :date)",
+		            Integer.class)
+		        .setParameter("cohortId", cohortId).setParameter("date", activeOnDate).getResultList();
+	}
 }
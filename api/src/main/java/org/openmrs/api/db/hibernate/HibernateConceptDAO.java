@@ -816,31 +816,21 @@ public class HibernateConceptDAO implements ConceptDAO {
 	}
 	
 	/**
-	 * returns a list of n-generations of parents of a concept in a concept set
-	 * 
-	 * @param current
-	 * @return List&lt;Concept&gt;
-	 * @throws DAOException
+	 * @see org.openmrs.api.db.ConceptDAO#getConceptSetMemberIds(java.lang.Integer)
 	 */
+	@Override
 	@SuppressWarnings("unchecked")
-	private List<Concept> getParents(Concept current) throws DAOException {
-		List<Concept> parents = new ArrayList<>();
-		if (current != null) {
-			Query query = sessionFactory.getCurrentSession().createQuery(
-			    "from Concept c join c.conceptSets sets where sets.concept = ?").setEntity(0, current);
-			List<Concept> immedParents = query.list();
-			for (Concept c : immedParents) {
-				parents.addAll(getParents(c));
-			}
-			parents.add(current);
-			if (log.isDebugEnabled()) {
-				log.debug("parents found: ");
-				for (Concept c : parents) {
-					log.debug("id: {}", c.getConceptId());
-				}
-			}	
+	public List<Object[]> getConceptSetMemberIds(Integer conceptSetId) {
+		String hql = "select cs.conceptSet.conceptId, c.conceptId, c.set from ConceptSet cs join cs.concept c";
+		if (conceptSetId != null) {
+			hql += " where cs.conceptSet.conceptId = :conceptSetId";
 		}
-		return parents;
+		Query query = sessionFactory.getCurrentSession().createQuery(
+		    hql + " order by cs.conceptSet.conceptId, cs.sortWeight");
+		if (conceptSetId != null) {
+			query.setInteger("conceptSetId", conceptSetId);
+		}
+		return query.list();
 	}
 	
 	/**
@@ -23,12 +23,16 @@ import org.hibernate.stat.Statistics;
 import org.hibernate.type.StandardBasicTypes;
 import org.openmrs.GlobalProperty;
 import org.openmrs.User;
+import org.openmrs.api.AdministrationService;
 import org.openmrs.api.context.Context;
 import org.openmrs.api.context.ContextAuthenticationException;
 import org.openmrs.api.context.Daemon;
 import org.openmrs.api.db.ContextDAO;
 import org.openmrs.api.db.FullTextSessionFactory;
 import org.openmrs.api.db.UserDAO;
+import org.openmrs.api.db.hibernate.search.JournalingAsyncBackend;
+import org.openmrs.api.db.hibernate.search.PartitionedIndexer;
+import org.openmrs.api.db.hibernate.search.SearchIndexJournal;
 import org.openmrs.util.OpenmrsConstants;
 import org.openmrs.util.OpenmrsUtil;
 import org.openmrs.util.Security;
@@ -41,9 +45,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +70,8 @@ public class HibernateContextDAO implements ContextDAO {
 	
 	private static final Logger log = LoggerFactory.getLogger(HibernateContextDAO.class);
 	
+	private static final int DEFAULT_SEARCH_INDEX_PARTITION_SIZE = 10000;
+	
 	/**
 	 * Hibernate session factory
 	 */
@@ -508,20 +519,67 @@ public class HibernateContextDAO implements ContextDAO {
 	@Override
 	public void setupSearchIndex() {
 		String gp = Context.getAdministrationService().getGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_VERSION, "");
+		boolean interrupted = !getSearchIndexProgress().isEmpty();
+		
+		Path journalDirectory = getSearchIndexJournalDirectory();
+		try {
+			if (interrupted || OpenmrsConstants.SEARCH_INDEX_VERSION.toString().equals(gp)) {
+				// the documents of an interrupted rebuild may only have been written to the journal, so
+				// they are replayed before the rebuild resumes after them
+				SearchIndexJournal.recover(journalDirectory, sessionFactory);
+			} else {
+				// a rebuild from scratch includes any changes left in the journal
+				SearchIndexJournal.deletePending(journalDirectory);
+			}
+		}
+		catch (IOException e) {
+			log.error("Failed to replay the search index changes in {}", journalDirectory, e);
+		}
 		
-		if (!OpenmrsConstants.SEARCH_INDEX_VERSION.toString().equals(gp)) {
-			updateSearchIndex();
+		if (interrupted || !OpenmrsConstants.SEARCH_INDEX_VERSION.toString().equals(gp)) {
+			updateSearchIndex(true);
 		}
 	}
 	
+	/**
+	 * @return the directory the {@link org.openmrs.api.db.hibernate.search.JournalingAsyncBackend}
+	 *         keeps its journals in
+	 */
+	private Path getSearchIndexJournalDirectory() {
+		Object directory = sessionFactory.getProperties().get(
+		    "hibernate.search.default.worker." + JournalingAsyncBackend.JOURNAL_DIRECTORY);
+		if (directory != null) {
+			return Paths.get(directory.toString());
+		}
+		return Paths.get(OpenmrsUtil.getApplicationDataDirectory(), "lucene", "journal");
+	}
+	
 	/**
 	 * @see ContextDAO#updateSearchIndex()
 	 */
 	@Override
 	public void updateSearchIndex() {
+		updateSearchIndex(false);
+	}
+	
+	/**
+	 * @param resume true to resume the types which an interrupted rebuild of the current index
+	 *            version recorded progress for, false to rebuild every type from scratch
+	 */
+	private void updateSearchIndex(boolean resume) {
 		try {
 			log.info("Updating the search index... It may take a few minutes.");
-			fullTextSessionFactory.getFullTextSession().createIndexer().startAndWait();
+			if (!resume) {
+				purgeSearchIndexProgress();
+			}
+			int threads = getPositiveIntegerGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_THREADS, 0);
+			if (threads > 0) {
+				updateSearchIndexInPartitions(threads, getPositiveIntegerGlobalProperty(
+				    OpenmrsConstants.GP_SEARCH_INDEX_PARTITION_SIZE, DEFAULT_SEARCH_INDEX_PARTITION_SIZE));
+			} else {
+				fullTextSessionFactory.getFullTextSession().createIndexer().startAndWait();
+				purgeSearchIndexProgress();
+			}
 			GlobalProperty gp = Context.getAdministrationService().getGlobalPropertyObject(
 			    OpenmrsConstants.GP_SEARCH_INDEX_VERSION);
 			if (gp == null) {
@@ -536,6 +594,88 @@ public class HibernateContextDAO implements ContextDAO {
 		}
 	}
 
+	/**
+	 * Rebuilds the index of every indexed type with a {@link PartitionedIndexer}, recording after
+	 * each completed id range how far the index of the type is complete. A type which has such a
+	 * record for the current index version is not purged but resumed from there, the records are
+	 * removed once all types are done.
+	 */
+	private void updateSearchIndexInPartitions(int threads, int partitionSize) throws InterruptedException {
+		AdministrationService adminService = Context.getAdministrationService();
+		PartitionedIndexer indexer = new PartitionedIndexer(sessionFactory, threads, partitionSize);
+		List<Class<?>> types = new ArrayList<>(fullTextSessionFactory.getFullTextSession().getSearchFactory()
+		        .getIndexedTypes());
+		types.sort(Comparator.comparing(Class::getName));
+		Map<String, Long> progress = getSearchIndexProgress();
+		
+		for (Class<?> type : types) {
+			if (!indexer.supports(type)) {
+				fullTextSessionFactory.getFullTextSession().createIndexer(type).startAndWait();
+				continue;
+			}
+			
+			long startId = progress.getOrDefault(type.getName(), 0L);
+			if (startId == 0) {
+				indexer.purge(type);
+			} else {
+				log.info("Resuming the search index update of {} from id {}", type.getSimpleName(), startId);
+			}
+			String progressProperty = OpenmrsConstants.GP_SEARCH_INDEX_PROGRESS_PREFIX + type.getName();
+			indexer.index(type, startId, id -> adminService.setGlobalProperty(progressProperty,
+			    OpenmrsConstants.SEARCH_INDEX_VERSION + ":" + id));
+		}
+		
+		purgeSearchIndexProgress();
+	}
+	
+	/**
+	 * @return the id up to which an interrupted rebuild completed the index of each type, by the
+	 *         name of the type, ignoring the records of rebuilds of other index versions
+	 */
+	private Map<String, Long> getSearchIndexProgress() {
+		Map<String, Long> progress = new HashMap<>();
+		String versionPrefix = OpenmrsConstants.SEARCH_INDEX_VERSION + ":";
+		for (GlobalProperty gp : Context.getAdministrationService().getGlobalPropertiesByPrefix(
+		    OpenmrsConstants.GP_SEARCH_INDEX_PROGRESS_PREFIX)) {
+			String value = StringUtils.trimToEmpty(gp.getPropertyValue());
+			if (!value.startsWith(versionPrefix)) {
+				continue;
+			}
+			try {
+				progress.put(StringUtils.removeStart(gp.getProperty(), OpenmrsConstants.GP_SEARCH_INDEX_PROGRESS_PREFIX),
+				    Long.parseLong(value.substring(versionPrefix.length())));
+			}
+			catch (NumberFormatException e) {
+				log.warn("Invalid value '{}' for the {} global property, ignoring it", value, gp.getProperty());
+			}
+		}
+		return progress;
+	}
+	
+	private void purgeSearchIndexProgress() {
+		AdministrationService adminService = Context.getAdministrationService();
+		for (GlobalProperty gp : adminService.getGlobalPropertiesByPrefix(OpenmrsConstants.GP_SEARCH_INDEX_PROGRESS_PREFIX)) {
+			adminService.purgeGlobalProperty(gp);
+		}
+	}
+	
+	private int getPositiveIntegerGlobalProperty(String propertyName, int defaultValue) {
+		String value = Context.getAdministrationService().getGlobalProperty(propertyName);
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				int result = Integer.parseInt(value.trim());
+				if (result > 0) {
+					return result;
+				}
+			}
+			catch (NumberFormatException e) {
+				// fall through to the default
+			}
+			log.warn("Invalid value '{}' for the {} global property, using {}", value, propertyName, defaultValue);
+		}
+		return defaultValue;
+	}
+	
 	/**
 	 * @see ContextDAO#updateSearchIndexAsync()
 	 */
@@ -543,6 +683,7 @@ public class HibernateContextDAO implements ContextDAO {
 	public Future<?> updateSearchIndexAsync() {
 		try {
 			log.info("Started asynchronously updating the search index...");
+			purgeSearchIndexProgress();
 			return fullTextSessionFactory.getFullTextSession().createIndexer().start();
 		}
 		catch (Exception e) {
@@ -15,6 +15,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Criteria;
@@ -356,6 +357,24 @@ public class HibernateEncounterDAO implements EncounterDAO {
 		return criteria;
 	}
 	
+	/**
+	 * @see org.openmrs.api.db.EncounterDAO#streamAllEncounters(org.openmrs.Cohort, int)
+	 */
+	@Override
+	public Stream<Encounter> streamAllEncounters(Cohort patients, int pageSize) {
+		return CohortScrollIterator.stream(sessionFactory, patients, pageSize, patientIds -> {
+			Criteria criteria = sessionFactory.getCurrentSession().createCriteria(Encounter.class);
+			if (patientIds != null) {
+				criteria.add(Restrictions.in("patient.personId", patientIds));
+			}
+			criteria.add(Restrictions.eq("voided", false));
+			criteria.addOrder(Order.asc("patient.personId"));
+			criteria.addOrder(Order.asc("encounterDatetime"));
+			criteria.addOrder(Order.asc("encounterId"));
+			return criteria;
+		});
+	}
+	
 	/**
 	 * @see org.openmrs.api.db.EncounterDAO#getCountOfEncounters(java.lang.String,
 	 *      java.lang.Integer, boolean)
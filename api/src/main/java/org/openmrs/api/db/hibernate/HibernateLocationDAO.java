@@ -16,6 +16,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Criteria;
+import org.hibernate.Query;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.MatchMode;
@@ -348,6 +349,23 @@ public class HibernateLocationDAO implements LocationDAO {
 		    Restrictions.eq("retired", false)).add(Subqueries.eq(Long.valueOf(tags.size()), numberOfMatchingTags)).list();
 	}
 	
+	/**
+	 * @see LocationDAO#getLocationParentIds(Integer)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Object[]> getLocationParentIds(Integer locationId) {
+		String hql = "select l.locationId, parent.locationId from Location l left join l.parentLocation parent";
+		if (locationId != null) {
+			hql += " where l.locationId = :locationId or parent.locationId = :locationId";
+		}
+		Query query = sessionFactory.getCurrentSession().createQuery(hql);
+		if (locationId != null) {
+			query.setInteger("locationId", locationId);
+		}
+		return query.list();
+	}
+	
 	/**
 	 * Extract locationTagIds from the list of LocationTag objects provided.
 	 *
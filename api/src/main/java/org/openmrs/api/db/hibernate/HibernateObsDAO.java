@@ -9,8 +9,11 @@
  */
 package org.openmrs.api.db.hibernate;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -19,12 +22,14 @@ import org.hibernate.FlushMode;
 import org.hibernate.SQLQuery;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Property;
 import org.hibernate.criterion.Restrictions;
 import org.hibernate.criterion.Subqueries;
+import org.openmrs.Cohort;
 import org.openmrs.Concept;
 import org.openmrs.ConceptName;
 import org.openmrs.Encounter;
@@ -35,6 +40,8 @@ import org.openmrs.Person;
 import org.openmrs.User;
 import org.openmrs.api.db.DAOException;
 import org.openmrs.api.db.ObsDAO;
+import org.openmrs.obs.ObsValue;
+import org.openmrs.parameter.ObsSearchCriteria;
 import org.openmrs.util.OpenmrsConstants.PERSON_TYPE;
 
 /**
@@ -265,6 +272,100 @@ public class HibernateObsDAO implements ObsDAO {
 		return (Obs) criteria.uniqueResult();
 	}
 	
+	/**
+	 * @see org.openmrs.api.db.ObsDAO#streamAllObservations(org.openmrs.Cohort, int)
+	 */
+	@Override
+	public Stream<Obs> streamAllObservations(Cohort patients, int pageSize) {
+		return CohortScrollIterator.stream(sessionFactory, patients, pageSize, patientIds -> {
+			Criteria criteria = sessionFactory.getCurrentSession().createCriteria(Obs.class);
+			if (patientIds != null) {
+				criteria.add(Restrictions.in("person.personId", patientIds));
+			}
+			criteria.add(Restrictions.eq("voided", false));
+			criteria.addOrder(Order.asc("person.personId"));
+			criteria.addOrder(Order.asc("obsDatetime"));
+			criteria.addOrder(Order.asc("obsId"));
+			return criteria;
+		});
+	}
+	
+	/**
+	 * @see org.openmrs.api.db.ObsDAO#getObsValues(ObsSearchCriteria, int)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<ObsValue> getObsValues(ObsSearchCriteria searchCriteria, int maxResults) {
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(Obs.class, "obs");
+		addObsValueRestrictions(criteria::add, "obs", searchCriteria);
+		
+		if (CollectionUtils.isNotEmpty(searchCriteria.getPersonIds())) {
+			criteria.add(Restrictions.in("obs.personId", searchCriteria.getPersonIds()));
+		}
+		if (CollectionUtils.isNotEmpty(searchCriteria.getConceptIds())) {
+			criteria.add(Restrictions.in("obs.concept.conceptId", searchCriteria.getConceptIds()));
+		}
+		
+		if (searchCriteria.isLatestPerPersonAndConcept()) {
+			// the latest observation is the one for which no later one of the same person and concept matches
+			DetachedCriteria later = DetachedCriteria.forClass(Obs.class, "later");
+			addObsValueRestrictions(later::add, "later", searchCriteria);
+			later.add(Restrictions.eqProperty("later.personId", "obs.personId"));
+			later.add(Restrictions.eqProperty("later.concept.conceptId", "obs.concept.conceptId"));
+			later.add(Restrictions.or(Restrictions.gtProperty("later.obsDatetime", "obs.obsDatetime"), Restrictions.and(
+			    Restrictions.eqProperty("later.obsDatetime", "obs.obsDatetime"), Restrictions.gtProperty("later.obsId",
+			        "obs.obsId"))));
+			later.setProjection(Projections.id());
+			criteria.add(Subqueries.notExists(later));
+		}
+		
+		if (searchCriteria.getLastObsDatetime() != null && searchCriteria.getLastObsId() != null) {
+			Date lastObsDatetime = searchCriteria.getLastObsDatetime();
+			criteria.add(Restrictions.or(Restrictions.lt("obs.obsDatetime", lastObsDatetime), Restrictions.and(
+			    Restrictions.eq("obs.obsDatetime", lastObsDatetime), Restrictions.lt("obs.obsId", searchCriteria
+			            .getLastObsId()))));
+		}
+		
+		criteria.setProjection(Projections.projectionList().add(Projections.property("obs.obsId")).add(
+		    Projections.property("obs.personId")).add(Projections.property("obs.concept.conceptId")).add(
+		    Projections.property("obs.encounter.encounterId")).add(Projections.property("obs.obsDatetime")).add(
+		    Projections.property("obs.valueNumeric")).add(Projections.property("obs.valueCoded.conceptId")).add(
+		    Projections.property("obs.valueDatetime")).add(Projections.property("obs.valueText")));
+		criteria.addOrder(Order.desc("obs.obsDatetime"));
+		criteria.addOrder(Order.desc("obs.obsId"));
+		criteria.setMaxResults(maxResults);
+		
+		List<ObsValue> values = new ArrayList<>();
+		for (Object[] row : (List<Object[]>) criteria.list()) {
+			values.add(new ObsValue((Integer) row[0], (Integer) row[1], (Integer) row[2], (Integer) row[3], (Date) row[4],
+			        (Double) row[5], (Integer) row[6], (Date) row[7], (String) row[8]));
+		}
+		return values;
+	}
+	
+	/**
+	 * Adds the restrictions that apply to both the observations returned by
+	 * {@link #getObsValues(ObsSearchCriteria, int)} and the later observations they are compared
+	 * to when only the latest ones are wanted
+	 */
+	private void addObsValueRestrictions(Consumer<Criterion> restrictions, String alias, ObsSearchCriteria searchCriteria) {
+		if (CollectionUtils.isNotEmpty(searchCriteria.getEncounterIds())) {
+			restrictions.accept(Restrictions.in(alias + ".encounter.encounterId", searchCriteria.getEncounterIds()));
+		}
+		if (CollectionUtils.isNotEmpty(searchCriteria.getLocationIds())) {
+			restrictions.accept(Restrictions.in(alias + ".location.locationId", searchCriteria.getLocationIds()));
+		}
+		if (searchCriteria.getFromDate() != null) {
+			restrictions.accept(Restrictions.ge(alias + ".obsDatetime", searchCriteria.getFromDate()));
+		}
+		if (searchCriteria.getToDate() != null) {
+			restrictions.accept(Restrictions.le(alias + ".obsDatetime", searchCriteria.getToDate()));
+		}
+		if (!searchCriteria.isIncludeVoided()) {
+			restrictions.accept(Restrictions.eq(alias + ".voided", false));
+		}
+	}
+	
 	/**
 	 * @see org.openmrs.api.db.ObsDAO#getSavedStatus(org.openmrs.Obs)
 	 */
@@ -11,21 +11,30 @@ package org.openmrs.api.db.hibernate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.SQLQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Restrictions;
@@ -435,6 +444,52 @@ public class HibernatePatientDAO implements PatientDAO {
 		return patients;
 	}
 
+	/**
+	 * @see org.openmrs.api.db.PatientDAO#streamDuplicateCandidateAttributes(java.util.Collection)
+	 */
+	@Override
+	public Stream<Object[]> streamDuplicateCandidateAttributes(Collection<Integer> patientIds) {
+		String hql = "select p.patientId, pn.givenName, pn.familyName, p.birthdate, p.gender from Patient p "
+		        + "join p.names pn where p.voided = false and pn.voided = false and pn.preferred = true";
+		if (patientIds != null) {
+			if (patientIds.isEmpty()) {
+				return Stream.empty();
+			}
+			hql += " and p.patientId in (:patientIds)";
+		}
+		Query query = sessionFactory.getCurrentSession().createQuery(hql + " order by p.patientId, pn.personNameId");
+		if (patientIds != null) {
+			query.setParameterList("patientIds", patientIds);
+		}
+		query.setFetchSize(1000);
+		query.setReadOnly(true);
+		
+		ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY);
+		Iterator<Object[]> rows = new Iterator<Object[]>() {
+			
+			private Boolean hasNext;
+			
+			@Override
+			public boolean hasNext() {
+				if (hasNext == null) {
+					hasNext = results.next();
+				}
+				return hasNext;
+			}
+			
+			@Override
+			public Object[] next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				hasNext = null;
+				return results.get();
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+		        .onClose(results::close);
+	}
+	
 	private String getDuplicatePatientsSQLString(List<String> attributes) {
 		StringBuilder outerSelect = new StringBuilder("select distinct t1.patient_id from patient t1 ");
 		final String t5 = " = t5.";
@@ -729,21 +784,13 @@ public class HibernatePatientDAO implements PatientDAO {
 		}
 		LuceneQuery<PatientIdentifier> identifierQuery = getPatientIdentifierLuceneQuery(tmpQuery, identifierTypes, matchExactly);
 		
-		long identifiersSize = identifierQuery.resultSize();
-		if (identifiersSize > tmpStart) {
+		List<Integer> patientIds = new ArrayList<>();
+		if (identifierQuery.resultSize() > tmpStart) {
 			ListPart<Object[]> patientIdentifiers = identifierQuery.listPartProjection(tmpStart, tmpLength, "patient.personId");
-			patientIdentifiers.getList().forEach(patientIdentifier -> patients.add(getPatient((Integer) patientIdentifier[0])));
-			
-			tmpLength -= patientIdentifiers.getList().size();
-			tmpStart = 0;
-		} else {
-			tmpStart -= (int) identifiersSize;
+			patientIdentifiers.getList().forEach(patientIdentifier -> patientIds.add((Integer) patientIdentifier[0]));
 		}
 		
-		if (tmpLength == 0) {
-			return patients;
-		}
-		return patients;
+		return getPatientsInOrder(patientIds);
 	}
 	
 	public List<Patient> findPatients(String query, boolean includeVoided, Integer start, Integer length){
@@ -758,23 +805,23 @@ public class HibernatePatientDAO implements PatientDAO {
 		}
 		query = LuceneQuery.escapeQuery(query);
 
-		List<Patient> patients = new LinkedList<>();
-
 		String minChars = Context.getAdministrationService().getGlobalProperty(OpenmrsConstants.GLOBAL_PROPERTY_MIN_SEARCH_CHARACTERS);
 
 		if (minChars == null || !StringUtils.isNumeric(minChars)) {
 			minChars = "" + OpenmrsConstants.GLOBAL_PROPERTY_DEFAULT_MIN_SEARCH_CHARACTERS;
 		}
 		if (query.length() < Integer.valueOf(minChars)) {
-			return patients;
+			return new LinkedList<>();
 		}
 
 		LuceneQuery<PatientIdentifier> identifierQuery = getPatientIdentifierLuceneQuery(query, includeVoided, false);
 
+		// collect the ranked ids of the page first and load all the patients at once afterwards
+		List<Integer> patientIds = new ArrayList<>();
 		long identifiersSize = identifierQuery.resultSize();
 		if (identifiersSize > tmpStart) {
 			ListPart<Object[]> patientIdentifiers = identifierQuery.listPartProjection(tmpStart, tmpLength, "patient.personId");
-			patientIdentifiers.getList().forEach(patientIdentifier -> patients.add(getPatient((Integer) patientIdentifier[0])));
+			patientIdentifiers.getList().forEach(patientIdentifier -> patientIds.add((Integer) patientIdentifier[0]));
 
 			tmpLength -= patientIdentifiers.getList().size();
 			tmpStart = 0;
@@ -783,7 +830,7 @@ public class HibernatePatientDAO implements PatientDAO {
 		}
 
 		if (tmpLength == 0) {
-			return patients;
+			return getPatientsInOrder(patientIds);
 		}
 
 		PersonLuceneQuery personLuceneQuery = new PersonLuceneQuery(sessionFactory);
@@ -792,7 +839,7 @@ public class HibernatePatientDAO implements PatientDAO {
 		long namesSize = nameQuery.resultSize();
 		if (namesSize > tmpStart) {
 			ListPart<Object[]> personNames = nameQuery.listPartProjection(tmpStart, tmpLength, "person.personId");
-			personNames.getList().forEach(personName -> patients.add(getPatient((Integer) personName[0])));
+			personNames.getList().forEach(personName -> patientIds.add((Integer) personName[0]));
 
 			tmpLength -= personNames.getList().size();
 			tmpStart = 0;
@@ -801,18 +848,50 @@ public class HibernatePatientDAO implements PatientDAO {
 		}
 
 		if (tmpLength == 0) {
-			return patients;
+			return getPatientsInOrder(patientIds);
 		}
 
 		LuceneQuery<PersonAttribute> attributeQuery = personLuceneQuery.getPatientAttributeQuery(query, includeVoided, nameQuery);
 		long attributesSize = attributeQuery.resultSize();
 		if (attributesSize > tmpStart) {
 			ListPart<Object[]> personAttributes = attributeQuery.listPartProjection(tmpStart, tmpLength, "person.personId");
-			personAttributes.getList().forEach(personAttribute -> patients.add(getPatient((Integer) personAttribute[0])));
+			personAttributes.getList().forEach(personAttribute -> patientIds.add((Integer) personAttribute[0]));
 		}
 
+		return getPatientsInOrder(patientIds);
+	}
+	
+	/**
+	 * Loads the patients with the given ids along with their identifiers and identifier types in a
+	 * single query, instead of one query per patient. The names are not fetched in the same query,
+	 * which would return a row for every identifier and name of a patient, they are batch loaded by
+	 * their mapping instead.
+	 *
+	 * @param patientIds the ids of the patients in the order they are to be returned
+	 * @return the patients in the order of the given ids, ids without a patient are skipped
+	 */
+	private List<Patient> getPatientsInOrder(List<Integer> patientIds) {
+		List<Patient> patients = new LinkedList<>();
+		if (patientIds.isEmpty()) {
+			return patients;
+		}
+		
+		List<Patient> loaded = sessionFactory.getCurrentSession()
+		        .createQuery("select distinct p from Patient p left join fetch p.identifiers i left join fetch i.identifierType "
+		                + "where p.personId in (:patientIds)", Patient.class)
+		        .setParameterList("patientIds", patientIds).getResultList();
+		Map<Integer, Patient> patientsById = new HashMap<>();
+		loaded.forEach(patient -> patientsById.put(patient.getPatientId(), patient));
+		
+		for (Integer patientId : patientIds) {
+			Patient patient = patientsById.get(patientId);
+			if (patient != null) {
+				patients.add(patient);
+			}
+		}
 		return patients;
 	}
+	
 	private LuceneQuery<PatientIdentifier> getPatientIdentifierLuceneQuery(String query, List<PatientIdentifierType> identifierTypes, boolean matchExactly) {
 		LuceneQuery<PatientIdentifier> patientIdentifierLuceneQuery = getPatientIdentifierLuceneQuery(query, matchExactly);
 		List<Integer> identifierTypeIds = new ArrayList<Integer>();
@@ -288,10 +288,21 @@ public class HibernateVisitDAO implements VisitDAO {
 	 */
 	@Override
 	public Visit getNextVisit(Visit previousVisit, Collection<VisitType> visitTypes, Date maximumStartDate) {
+		List<Visit> visits = getNextVisits(previousVisit, visitTypes, maximumStartDate, 1);
+		return visits.isEmpty() ? null : visits.get(0);
+	}
+	
+	/**
+	 * @see org.openmrs.api.db.VisitDAO#getNextVisits(Visit, Collection, Date, int)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Visit> getNextVisits(Visit previousVisit, Collection<VisitType> visitTypes, Date maximumStartDate,
+	        int maxResults) {
 		Criteria criteria = getCurrentSession().createCriteria(Visit.class);
 		criteria.add(Restrictions.eq("voided", false)).add(
 		    Restrictions.gt("visitId", (previousVisit != null) ? previousVisit.getVisitId() : 0)).addOrder(
-		    Order.asc("visitId")).add(Restrictions.isNull("stopDatetime")).setMaxResults(1);
+		    Order.asc("visitId")).add(Restrictions.isNull("stopDatetime")).setMaxResults(maxResults);
 		if (maximumStartDate != null) {
 			criteria.add(Restrictions.le("startDatetime", maximumStartDate));
 		}
@@ -300,6 +311,6 @@ public class HibernateVisitDAO implements VisitDAO {
 			criteria.add(Restrictions.in("visitType", visitTypes));
 		}
 		
-		return (Visit) criteria.uniqueResult();
+		return criteria.list();
 	}
 }
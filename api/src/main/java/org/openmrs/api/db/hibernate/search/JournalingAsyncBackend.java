@@ -0,0 +1,100 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate.search;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import org.hibernate.search.backend.BackendFactory;
+import org.hibernate.search.backend.spi.Backend;
+import org.hibernate.search.backend.spi.BackendQueueProcessor;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.spi.WorkerBuildContext;
+import org.openmrs.util.OpenmrsUtil;
+
+/**
+ * A Hibernate Search backend which writes index changes on a background thread per index instead
+ * of inside the commit of the transaction that made them, so that saving an indexed entity does
+ * not wait for Lucene.
+ * <p>
+ * The changes of each committed transaction are recorded in a {@link SearchIndexJournal} and put on
+ * a bounded in-memory queue, a transaction which finds the queue full waits for room. The
+ * background thread gathers the queued changes for at most the refresh interval, or until a batch
+ * is full, and writes them to the index with the default local backend in one go, so that a batch
+ * costs a single index commit and every change is searchable within about the refresh interval.
+ * Changes which were recorded but not written when the server stopped are replayed by
+ * {@link SearchIndexJournal#recover(java.nio.file.Path, org.hibernate.SessionFactory)} on startup.
+ * <p>
+ * The backend is enabled by setting <code>hibernate.search.default.worker.backend</code> to the
+ * name of this class, it is configured with the following worker properties:
+ * <ul>
+ * <li><code>journal_directory</code>: where the journals are kept, one sub directory per
+ * index</li>
+ * <li><code>queue_size</code>: the maximum number of transactions waiting to be indexed</li>
+ * <li><code>batch_size</code>: the maximum number of changes written with one index commit</li>
+ * <li><code>refresh_interval</code>: the maximum number of milliseconds a change waits to be
+ * batched with later ones</li>
+ * </ul>
+ *
+ * @since 2.6.0
+ */
+public class JournalingAsyncBackend implements Backend {
+
+	public static final String JOURNAL_DIRECTORY = "journal_directory";
+
+	public static final String QUEUE_SIZE = "queue_size";
+
+	public static final String BATCH_SIZE = "batch_size";
+
+	public static final String REFRESH_INTERVAL = "refresh_interval";
+
+	private Properties properties = new Properties();
+
+	/**
+	 * @see Backend#initialize(Properties, WorkerBuildContext)
+	 */
+	@Override
+	public void initialize(Properties properties, WorkerBuildContext context) {
+		this.properties = properties;
+	}
+
+	/**
+	 * @see Backend#createQueueProcessor(IndexManager, WorkerBuildContext)
+	 */
+	@Override
+	public BackendQueueProcessor createQueueProcessor(IndexManager indexManager, WorkerBuildContext context) {
+		String directory = properties.getProperty(JOURNAL_DIRECTORY,
+		    OpenmrsUtil.getApplicationDataDirectory() + "/lucene/journal");
+		try {
+			SearchIndexJournal journal = new SearchIndexJournal(Paths.get(directory, indexManager.getIndexName()));
+			return new JournalingAsyncQueueProcessor(indexManager.getIndexName(), BackendFactory.createBackend("local",
+			    indexManager, context, properties), journal, getInt(QUEUE_SIZE, 10000), getInt(BATCH_SIZE, 1000),
+			    getInt(REFRESH_INTERVAL, 1000));
+		}
+		catch (IOException e) {
+			throw new SearchException("Unable to open the search index journal in " + directory, e);
+		}
+	}
+
+	private int getInt(String name, int defaultValue) {
+		String value = properties.getProperty(name);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new SearchException("Invalid value '" + value + "' for the " + name + " worker property", e);
+		}
+	}
+}
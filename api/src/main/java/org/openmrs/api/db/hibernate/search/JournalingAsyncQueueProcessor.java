@@ -0,0 +1,240 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.spi.BackendQueueProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The queue processor of the {@link JournalingAsyncBackend} for one index.
+ */
+class JournalingAsyncQueueProcessor implements BackendQueueProcessor {
+
+	private static final Logger log = LoggerFactory.getLogger(JournalingAsyncQueueProcessor.class);
+
+	/**
+	 * How many times writing a set of changes is attempted before they are left for the next server
+	 */
+	static final int MAX_ATTEMPTS = 3;
+
+	private final String indexName;
+
+	private final BackendQueueProcessor delegate;
+
+	private final SearchIndexJournal journal;
+
+	private final BlockingQueue<Changeset> queue;
+
+	private final int batchSize;
+
+	private final long refreshInterval;
+
+	private final Thread writer;
+
+	/**
+	 * Only set while holding the lock of this processor, so that no changes are queued once the
+	 * writer may have stopped
+	 */
+	private volatile boolean closed;
+
+	JournalingAsyncQueueProcessor(String indexName, BackendQueueProcessor delegate, SearchIndexJournal journal,
+	    int queueSize, int batchSize, long refreshInterval) {
+		this.indexName = indexName;
+		this.delegate = delegate;
+		this.journal = journal;
+		this.queue = new ArrayBlockingQueue<>(queueSize);
+		this.batchSize = batchSize;
+		this.refreshInterval = refreshInterval;
+		this.writer = new Thread(this::writeQueuedChanges, "OpenMRS Search Index Writer-" + indexName);
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * @see BackendQueueProcessor#applyWork(List, IndexingMonitor)
+	 */
+	@Override
+	public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
+		// appending and queueing under one lock keeps the journal and the queue in the same order
+		synchronized (this) {
+			if (!closed) {
+				try {
+					Changeset changeset = new Changeset(journal.append(workList), workList, monitor);
+					// waits for room as long as the writer is running to make it
+					while (writer.isAlive()) {
+						if (queue.offer(changeset, 100, TimeUnit.MILLISECONDS)) {
+							return;
+						}
+					}
+					log.error("The index writer of {} has stopped, writing the changes directly", indexName);
+				}
+				catch (IOException e) {
+					log.error("Failed to record index changes in the journal of {}, writing them directly", indexName, e);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+		delegate.applyWork(workList, monitor);
+	}
+
+	/**
+	 * Stream work comes from the mass indexer, which is restarted as a whole rather than resumed, so
+	 * it is written directly
+	 *
+	 * @see BackendQueueProcessor#applyStreamWork(LuceneWork, IndexingMonitor)
+	 */
+	@Override
+	public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor) {
+		delegate.applyStreamWork(singleOperation, monitor);
+	}
+
+	/**
+	 * Writes the changes still queued before closing the index.
+	 *
+	 * @see BackendQueueProcessor#close()
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		try {
+			writer.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		journal.close();
+		delegate.close();
+	}
+
+	private void writeQueuedChanges() {
+		List<Changeset> batch = new ArrayList<>();
+		while (!closed || !queue.isEmpty()) {
+			try {
+				Changeset first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				int works = first.works.size();
+				long waitUntil = first.queuedAt + refreshInterval;
+				while (works < batchSize && !closed) {
+					long wait = waitUntil - System.currentTimeMillis();
+					Changeset next = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : queue.poll();
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+					works += next.works.size();
+				}
+				write(batch);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			finally {
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Writes a batch with as few index commits as possible, changes tracked by different monitors
+	 * are written separately so that each monitor is told about its own documents. Changes which
+	 * can not be written after {@link #MAX_ATTEMPTS} attempts are moved to a pending file of the
+	 * journal, so that the journal can still be trimmed and the changes are replayed by the next
+	 * server.
+	 */
+	private void write(List<Changeset> batch) {
+		List<List<LuceneWork>> groups = new ArrayList<>();
+		List<IndexingMonitor> monitors = new ArrayList<>();
+		for (Changeset changeset : batch) {
+			if (monitors.isEmpty() || changeset.monitor != monitors.get(monitors.size() - 1)) {
+				groups.add(new ArrayList<>());
+				monitors.add(changeset.monitor);
+			}
+			groups.get(groups.size() - 1).addAll(changeset.works);
+		}
+
+		for (int i = 0; i < groups.size(); i++) {
+			if (!write(groups.get(i), monitors.get(i))) {
+				keepPending(groups.get(i));
+			}
+		}
+		journal.markApplied(batch.get(batch.size() - 1).sequence);
+	}
+
+	/**
+	 * @return true if the changes were written, false if all attempts failed
+	 */
+	private boolean write(List<LuceneWork> works, IndexingMonitor monitor) {
+		for (int attempt = 1;; attempt++) {
+			try {
+				delegate.applyWork(works, monitor);
+				return true;
+			}
+			catch (RuntimeException e) {
+				if (attempt >= MAX_ATTEMPTS || Thread.currentThread().isInterrupted()) {
+					log.error("Failed to write {} index changes to {}, they will be replayed after a restart",
+					    works.size(), indexName, e);
+					return false;
+				}
+				log.warn("Failed to write {} index changes to {}, retrying", works.size(), indexName, e);
+			}
+			try {
+				TimeUnit.MILLISECONDS.sleep(Math.max(refreshInterval, 100));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void keepPending(List<LuceneWork> works) {
+		try {
+			journal.keepPending(works);
+		}
+		catch (IOException e) {
+			log.error("Failed to record {} index changes of {} which could not be written, they will be missing from "
+			        + "the index until it is rebuilt", works.size(), indexName, e);
+		}
+	}
+
+	private static class Changeset {
+
+		private final long sequence;
+
+		private final List<LuceneWork> works;
+
+		private final IndexingMonitor monitor;
+
+		private final long queuedAt = System.currentTimeMillis();
+
+		Changeset(long sequence, List<LuceneWork> works, IndexingMonitor monitor) {
+			this.sequence = sequence;
+			this.works = works;
+			this.monitor = monitor;
+		}
+	}
+}
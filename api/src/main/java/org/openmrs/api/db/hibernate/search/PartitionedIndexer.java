@@ -0,0 +1,221 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.openmrs.api.db.DAOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rebuilds the search index of an entity type by splitting the type into partitions of consecutive
+ * ids and indexing the partitions on a pool of threads, each with a session of its own.
+ * <p>
+ * Partitions are indexed in any order, but the caller is told how far the index is complete
+ * without gaps every time that point advances, so that a rebuild which is interrupted can be
+ * resumed from there instead of starting over. Indexing an entity again replaces its documents, so
+ * a resumed rebuild may safely index some entities twice.
+ *
+ * @since 2.6.0
+ */
+public class PartitionedIndexer {
+
+	private static final Logger log = LoggerFactory.getLogger(PartitionedIndexer.class);
+
+	private static final int FLUSH_INTERVAL = 1000;
+
+	private final SessionFactory sessionFactory;
+
+	private final int threads;
+
+	private final int partitionSize;
+
+	/**
+	 * @param sessionFactory the session factory to open the sessions of the threads with
+	 * @param threads the number of partitions to index at the same time
+	 * @param partitionSize the number of consecutive ids in a partition
+	 */
+	public PartitionedIndexer(SessionFactory sessionFactory, int threads, int partitionSize) {
+		if (threads <= 0 || partitionSize <= 0) {
+			throw new IllegalArgumentException("The number of threads and the partition size must be positive");
+		}
+		this.sessionFactory = sessionFactory;
+		this.threads = threads;
+		this.partitionSize = partitionSize;
+	}
+
+	/**
+	 * @param type the indexed type
+	 * @return true if the type has a numeric id, so that it can be split into partitions
+	 */
+	public boolean supports(Class<?> type) {
+		ClassMetadata metadata = sessionFactory.getClassMetadata(type);
+		if (metadata == null || metadata.getIdentifierPropertyName() == null) {
+			return false;
+		}
+		Class<?> idType = metadata.getIdentifierType().getReturnedClass();
+		return idType == Integer.class || idType == Long.class;
+	}
+
+	/**
+	 * Removes all the documents of the given type from the index.
+	 *
+	 * @param type the indexed type
+	 */
+	public void purge(Class<?> type) {
+		try (FullTextSession session = Search.getFullTextSession(sessionFactory.openSession())) {
+			Transaction tx = session.beginTransaction();
+			session.purgeAll(type);
+			session.flushToIndexes();
+			tx.commit();
+		}
+	}
+
+	/**
+	 * Indexes the entities of the given type with ids from the given id onwards.
+	 *
+	 * @param type the indexed type, which must have a numeric id
+	 * @param startId the id to start from, which is 0 unless a previous rebuild is resumed
+	 * @param completedUpTo called on the calling thread with the id up to which (exclusive) all
+	 *            entities have been indexed, every time that id advances
+	 * @return the number of entities indexed
+	 */
+	public long index(Class<?> type, long startId, LongConsumer completedUpTo) {
+		if (!supports(type)) {
+			throw new DAOException("Only types with numeric ids can be indexed in partitions, not " + type.getName());
+		}
+		ClassMetadata metadata = sessionFactory.getClassMetadata(type);
+		String idProperty = metadata.getIdentifierPropertyName();
+		Class<?> idType = metadata.getIdentifierType().getReturnedClass();
+
+		Number maxId;
+		try (FullTextSession session = Search.getFullTextSession(sessionFactory.openSession())) {
+			maxId = (Number) session.createCriteria(type).setProjection(Projections.max(idProperty)).uniqueResult();
+		}
+		if (maxId == null || maxId.longValue() < startId) {
+			completedUpTo.accept(startId);
+			return 0;
+		}
+
+		List<long[]> partitions = partition(startId, maxId.longValue(), partitionSize);
+		log.info("Indexing {} in {} partitions on {} threads", type.getSimpleName(), partitions.size(), threads);
+
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, partitions.size()), runnable -> {
+			Thread thread = new Thread(runnable, "OpenMRS Search Indexer-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			CompletionService<int[]> completion = new ExecutorCompletionService<>(executor);
+			for (int i = 0; i < partitions.size(); i++) {
+				final int partition = i;
+				final long[] range = partitions.get(i);
+				completion.submit(() -> new int[] { partition, indexRange(type, idProperty, idType, range[0], range[1]) });
+			}
+
+			boolean[] done = new boolean[partitions.size()];
+			int completedWithoutGaps = 0;
+			long indexed = 0;
+			for (int i = 0; i < partitions.size(); i++) {
+				int[] result = completion.take().get();
+				done[result[0]] = true;
+				indexed += result[1];
+
+				int before = completedWithoutGaps;
+				while (completedWithoutGaps < done.length && done[completedWithoutGaps]) {
+					completedWithoutGaps++;
+				}
+				if (completedWithoutGaps > before) {
+					completedUpTo.accept(partitions.get(completedWithoutGaps - 1)[1]);
+				}
+				log.info("Indexed {} of {} partitions of {} ({} entities)", i + 1, partitions.size(), type.getSimpleName(),
+				    indexed);
+			}
+			return indexed;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DAOException("Interrupted while indexing " + type.getName(), e);
+		}
+		catch (ExecutionException e) {
+			throw new DAOException("Failed to index " + type.getName(), e.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Splits a range of ids into partitions.
+	 *
+	 * @param startId the first id (inclusive)
+	 * @param maxId the last id (inclusive)
+	 * @param partitionSize the number of ids in a partition
+	 * @return the start (inclusive) and end (exclusive) of each partition, in ascending order
+	 * <strong>Should</strong> cover the whole range without overlaps
+	 */
+	static List<long[]> partition(long startId, long maxId, int partitionSize) {
+		List<long[]> partitions = new ArrayList<>();
+		for (long start = startId; start <= maxId; start += partitionSize) {
+			partitions.add(new long[] { start, Math.min(start + partitionSize, maxId + 1) });
+		}
+		return partitions;
+	}
+
+	private int indexRange(Class<?> type, String idProperty, Class<?> idType, long start, long end) {
+		int count = 0;
+		try (FullTextSession session = Search.getFullTextSession(sessionFactory.openSession())) {
+			session.setHibernateFlushMode(FlushMode.MANUAL);
+			session.setCacheMode(CacheMode.IGNORE);
+			Transaction tx = session.beginTransaction();
+
+			//Scrollable results will avoid loading too many objects in memory
+			ScrollableResults results = session.createCriteria(type)
+			        .add(Restrictions.ge(idProperty, toIdType(start, idType)))
+			        .add(Restrictions.le(idProperty, toIdType(end - 1, idType))).setFetchSize(FLUSH_INTERVAL)
+			        .scroll(ScrollMode.FORWARD_ONLY);
+			while (results.next()) {
+				session.index(results.get(0));
+				if (++count % FLUSH_INTERVAL == 0) {
+					session.flushToIndexes();
+					session.clear();
+				}
+			}
+			session.flushToIndexes();
+			tx.commit();
+		}
+		return count;
+	}
+
+	private static Object toIdType(long id, Class<?> idType) {
+		return idType == Integer.class ? (Object) (int) id : (Object) id;
+	}
+}
@@ -0,0 +1,348 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate.search;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.backend.LuceneWork;
+import org.openmrs.util.OpenmrsClassLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only record, kept on disk, of the index changes that have been handed to the
+ * {@link JournalingAsyncBackend} but not yet written to the index.
+ * <p>
+ * Each change is recorded as a line holding the name of the indexed type and the id of the
+ * entity, or just the type if the change affects the whole type. The lines are appended to
+ * segment files which are deleted once all the changes they hold have been written to the index.
+ * Segment files found when a journal is opened are left over from a server that stopped before
+ * writing them, they are renamed to pending files which {@link #recover(Path, SessionFactory)}
+ * replays by indexing the recorded entities again once the database can be read.
+ * <p>
+ * The lines are flushed to the operating system after every append, so they survive the server
+ * process crashing but not necessarily the machine losing power.
+ *
+ * @since 2.6.0
+ */
+public class SearchIndexJournal implements Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(SearchIndexJournal.class);
+
+	static final String SEGMENT_SUFFIX = ".journal";
+
+	static final String PENDING_SUFFIX = ".pending";
+
+	private static final int MAX_SEGMENT_RECORDS = 10000;
+
+	private static final int FLUSH_INTERVAL = 1000;
+
+	private final Path directory;
+
+	// the segments, guarded by this
+
+	private final Deque<Segment> closedSegments = new ArrayDeque<>();
+
+	private Segment currentSegment;
+
+	private BufferedWriter writer;
+
+	private long nextSequence = 1;
+
+	private int nextPendingFile = 1;
+
+	/**
+	 * Opens the journal in the given directory, creating the directory if needed and turning the
+	 * segments left over from a previous server into pending files.
+	 *
+	 * @param directory the directory holding the segments of one index
+	 * @throws IOException if the directory can not be created or read
+	 * <strong>Should</strong> turn the segments of a previous server into pending files
+	 */
+	public SearchIndexJournal(Path directory) throws IOException {
+		this.directory = directory;
+		Files.createDirectories(directory);
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : files.filter(f -> f.toString().endsWith(SEGMENT_SUFFIX)).collect(Collectors.toList())) {
+				String name = file.getFileName().toString();
+				Path pending = file.resolveSibling(System.currentTimeMillis() + "-"
+				        + StringUtils.removeEnd(name, SEGMENT_SUFFIX) + PENDING_SUFFIX);
+				Files.move(file, pending);
+				log.info("Found index changes which were not written before the server stopped in {}", pending);
+			}
+		}
+	}
+
+	/**
+	 * Records a set of index changes.
+	 *
+	 * @param works the changes
+	 * @return the sequence number of the set, to be passed to {@link #markApplied(long)} once the
+	 *         changes have been written to the index
+	 * @throws IOException if the changes can not be recorded
+	 * <strong>Should</strong> record the type and id of each change
+	 */
+	public synchronized long append(List<LuceneWork> works) throws IOException {
+		if (writer == null) {
+			currentSegment = new Segment(directory.resolve(nextSequence + SEGMENT_SUFFIX));
+			writer = Files.newBufferedWriter(currentSegment.path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+			    StandardOpenOption.APPEND);
+		}
+		currentSegment.records += write(writer, works);
+		writer.flush();
+
+		long sequence = nextSequence++;
+		currentSegment.lastSequence = sequence;
+		if (currentSegment.records >= MAX_SEGMENT_RECORDS) {
+			closeCurrentSegment();
+		}
+		return sequence;
+	}
+
+	/**
+	 * Records a set of changes which could not be written to the index in a pending file of its own,
+	 * so that they are replayed by the next server while the segments holding them can still be
+	 * deleted by {@link #markApplied(long)}.
+	 *
+	 * @param works the changes
+	 * @throws IOException if the changes can not be recorded
+	 * <strong>Should</strong> record the changes in a pending file
+	 */
+	public synchronized void keepPending(List<LuceneWork> works) throws IOException {
+		Path pending = directory.resolve(System.currentTimeMillis() + "-failed-" + nextPendingFile++ + PENDING_SUFFIX);
+		try (BufferedWriter out = Files.newBufferedWriter(pending, StandardCharsets.UTF_8)) {
+			write(out, works);
+		}
+	}
+
+	/**
+	 * @return the number of records written
+	 */
+	private static int write(BufferedWriter out, List<LuceneWork> works) throws IOException {
+		int records = 0;
+		for (LuceneWork work : works) {
+			if (work.getEntityType() == null) {
+				// flush and optimize requests do not change any documents
+				continue;
+			}
+			out.write(work.getEntityType().getName());
+			out.write('\t');
+			out.write(work.getId() != null ? work.getIdInString() : "");
+			out.write('\n');
+			records++;
+		}
+		return records;
+	}
+
+	/**
+	 * Deletes the segments which only hold changes that have been written to the index.
+	 *
+	 * @param sequence the sequence number of the last set of changes written to the index, all the
+	 *            sets before it must have been written too
+	 * <strong>Should</strong> delete the segments once all their changes are applied
+	 */
+	public synchronized void markApplied(long sequence) {
+		if (currentSegment != null && currentSegment.lastSequence <= sequence) {
+			closeCurrentSegment();
+		}
+		while (!closedSegments.isEmpty() && closedSegments.peek().lastSequence <= sequence) {
+			delete(closedSegments.remove().path);
+		}
+	}
+
+	/**
+	 * Closes the journal, the segments holding changes which were not marked as applied are kept so
+	 * that they are replayed by the next server.
+	 */
+	@Override
+	public synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			}
+			catch (IOException e) {
+				log.warn("Failed to close the search index journal segment {}", currentSegment.path, e);
+			}
+			writer = null;
+		}
+	}
+
+	private void closeCurrentSegment() {
+		close();
+		closedSegments.add(currentSegment);
+		currentSegment = null;
+	}
+
+	/**
+	 * Indexes the entities recorded in the pending files below the given directory again and deletes
+	 * the files, entities which no longer exist are removed from the index.
+	 *
+	 * @param directory the directory holding the journals of all the indexes
+	 * @param sessionFactory the session factory to load the entities with
+	 * @return the number of changes replayed
+	 * @throws IOException if the pending files can not be read or deleted
+	 */
+	public static int recover(Path directory, SessionFactory sessionFactory) throws IOException {
+		List<Path> pendingFiles = findPendingFiles(directory);
+		if (pendingFiles.isEmpty()) {
+			return 0;
+		}
+
+		Map<String, Set<String>> idsByType = new LinkedHashMap<>();
+		for (Path file : pendingFiles) {
+			for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+				int tab = line.indexOf('\t');
+				if (tab > 0) {
+					idsByType.computeIfAbsent(line.substring(0, tab), k -> new LinkedHashSet<>()).add(
+					    line.substring(tab + 1));
+				}
+			}
+		}
+
+		int replayed = 0;
+		for (Map.Entry<String, Set<String>> entry : idsByType.entrySet()) {
+			Class<?> type;
+			try {
+				type = OpenmrsClassLoader.getInstance().loadClass(entry.getKey());
+			}
+			catch (ClassNotFoundException e) {
+				log.warn("Skipping the index changes of {} since the class can no longer be found", entry.getKey());
+				continue;
+			}
+			replayed += replay(type, entry.getValue(), sessionFactory);
+		}
+		for (Path file : pendingFiles) {
+			delete(file);
+		}
+		log.info("Replayed {} index changes which were not written before the server stopped", replayed);
+		return replayed;
+	}
+
+	/**
+	 * Deletes the pending files below the given directory without replaying them, which is only
+	 * safe when the whole index has been rebuilt since.
+	 *
+	 * @param directory the directory holding the journals of all the indexes
+	 * @throws IOException if the directory can not be read
+	 */
+	public static void deletePending(Path directory) throws IOException {
+		for (Path file : findPendingFiles(directory)) {
+			delete(file);
+		}
+	}
+
+	private static List<Path> findPendingFiles(Path directory) throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return new ArrayList<>();
+		}
+		try (Stream<Path> files = Files.walk(directory)) {
+			return files.filter(f -> f.toString().endsWith(PENDING_SUFFIX)).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static int replay(Class<?> type, Set<String> ids, SessionFactory sessionFactory) {
+		ClassMetadata metadata = sessionFactory.getClassMetadata(type);
+		if (metadata == null) {
+			return 0;
+		}
+		Class<?> idType = metadata.getIdentifierType().getReturnedClass();
+
+		if (ids.contains("")) {
+			// the whole type was changed, so the whole type is indexed again
+			try (FullTextSession session = Search.getFullTextSession(sessionFactory.openSession())) {
+				session.createIndexer(type).startAndWait();
+				return 1;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return 0;
+			}
+		}
+
+		int count = 0;
+		try (FullTextSession session = Search.getFullTextSession(sessionFactory.openSession())) {
+			session.setHibernateFlushMode(FlushMode.MANUAL);
+			session.setCacheMode(CacheMode.IGNORE);
+			Transaction tx = session.beginTransaction();
+			for (String id : ids) {
+				Serializable typedId = toIdType(id, idType);
+				Object entity = session.get(type, typedId);
+				if (entity == null) {
+					session.purge(type, typedId);
+				} else {
+					session.index(entity);
+				}
+				if (++count % FLUSH_INTERVAL == 0) {
+					session.flushToIndexes();
+					session.clear();
+				}
+			}
+			session.flushToIndexes();
+			tx.commit();
+		}
+		return count;
+	}
+
+	private static Serializable toIdType(String id, Class<?> idType) {
+		if (idType == Integer.class) {
+			return Integer.valueOf(id);
+		} else if (idType == Long.class) {
+			return Long.valueOf(id);
+		}
+		return id;
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException e) {
+			log.warn("Failed to delete the search index journal file {}", file, e);
+		}
+	}
+
+	private static class Segment {
+
+		private final Path path;
+
+		private int records;
+
+		private long lastSequence;
+
+		Segment(Path path) {
+			this.path = path;
+		}
+	}
+}
@@ -77,6 +77,12 @@ public class AdministrationServiceImpl extends BaseOpenmrsService implements Adm
 	
 	private HttpClient implementationIdHttpClient;
 	
+	/**
+	 * Read-through cache for {@link #getGlobalProperty(String)}, it is registered as a
+	 * {@link GlobalPropertyListener} so saved and purged properties are evicted from it
+	 */
+	private GlobalPropertyCache globalPropertyCache;
+	
 	/**
 	 * Default empty constructor
 	 */
@@ -94,6 +100,15 @@ public class AdministrationServiceImpl extends BaseOpenmrsService implements Adm
 	public void setEventListeners(EventListeners eventListeners) {
 		this.eventListeners = eventListeners;
 	}
+	
+	/**
+	 * @param globalPropertyCache the cache to serve global property values from, when null every
+	 *            lookup goes to the database
+	 * @since 2.6.0
+	 */
+	public void setGlobalPropertyCache(GlobalPropertyCache globalPropertyCache) {
+		this.globalPropertyCache = globalPropertyCache;
+	}
 		
 	/**
 	 * Static-ish variable used to cache the system variables. This is not static so that every time
@@ -150,6 +165,10 @@ public class AdministrationServiceImpl extends BaseOpenmrsService implements Adm
 			return null;
 		}
 		
+		if (globalPropertyCache != null) {
+			return globalPropertyCache.get(propertyName, dao::getGlobalProperty);
+		}
+		
 		return dao.getGlobalProperty(propertyName);
 	}
 	
@@ -203,6 +222,9 @@ public class AdministrationServiceImpl extends BaseOpenmrsService implements Adm
 		}
 		gp.setPropertyValue(propertyValue);
 		dao.saveGlobalProperty(gp);
+		if (globalPropertyCache != null) {
+			globalPropertyCache.evict(gp.getProperty());
+		}
 	}
 	
 	/**
@@ -312,7 +334,13 @@ public class AdministrationServiceImpl extends BaseOpenmrsService implements Adm
 			return null;
 		}
 		
-		return dao.executeSQL(sql, selectOnly);
+		List<List<Object>> result = dao.executeSQL(sql, selectOnly);
+		if (!selectOnly && globalPropertyCache != null) {
+			// the statement may have changed global properties behind our back
+			globalPropertyCache.clear();
+		}
+		
+		return result;
 	}
 	
 	/**
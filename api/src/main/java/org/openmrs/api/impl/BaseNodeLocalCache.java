@@ -0,0 +1,249 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Base class of the node-local caches holding a part of the database keyed by entity id, such as a
+ * hierarchy, which is loaded as a whole and then kept up to date one entity at a time.
+ * <p>
+ * The data is loaded with {@link #load(Object)} the first time it is needed. When an entity is
+ * changed through the service owning the cache the service calls {@link #evict(Integer)}, and the
+ * changed entities are passed to {@link #reload(List, Object)} before the data is used again.
+ * Results computed from the data can be memoized in maps created with {@link #newMemo()}, which
+ * are read without locking and cleared on every change.
+ * <p>
+ * The data only ever reflects committed changes, since it is shared by all threads. Entities
+ * evicted within a transaction are reloaded once the transaction has been committed or rolled back,
+ * until then {@link #hasUncommittedChanges()} tells the transaction that made the changes to read
+ * them from the database instead.
+ *
+ * @param <D> the type of the dao the data is loaded with
+ * @since 2.6.0
+ */
+public abstract class BaseNodeLocalCache<D> implements NodeLocalCache {
+
+	private static final int MAX_MEMOIZED = 10000;
+
+	private final Object lock = new Object();
+
+	/**
+	 * The ids of the entities that have to be reloaded before the data is used again
+	 */
+	private final Set<Integer> changedIds = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean loaded;
+
+	/**
+	 * The maps created by {@link #newMemo()}, only written while holding the lock
+	 */
+	private final List<Map<Integer, ?>> memos = new ArrayList<>();
+
+	/**
+	 * Marks the given entity for reloading, immediately if no transaction is active and otherwise
+	 * once the transaction has been committed or rolled back.
+	 *
+	 * @param id the id of the entity that was changed or purged
+	 */
+	public void evict(Integer id) {
+		if (id == null) {
+			return;
+		}
+		UncommittedChanges uncommitted = getUncommittedChanges(true);
+		if (uncommitted == null) {
+			changedIds.add(id);
+		} else {
+			uncommitted.ids.add(id);
+		}
+	}
+
+	/**
+	 * @return true if entities were evicted within the current transaction, which the data does not
+	 *         reflect until the transaction completes
+	 */
+	public boolean hasUncommittedChanges() {
+		return !getUncommittedIds().isEmpty();
+	}
+
+	/**
+	 * @see org.openmrs.api.impl.NodeLocalCache#clear()
+	 */
+	@Override
+	public void clear() {
+		synchronized (lock) {
+			loaded = false;
+			discard();
+			clearMemos();
+		}
+	}
+
+	/**
+	 * Brings the data up to date and reads it while holding the lock.
+	 *
+	 * @param dao the dao to load the data with
+	 * @param reader the function reading the data, it must not return any of the mutable structures
+	 *            holding the data
+	 * @return the result of the reader
+	 */
+	protected final <T> T read(D dao, Supplier<T> reader) {
+		synchronized (lock) {
+			refresh(dao);
+			return reader.get();
+		}
+	}
+
+	/**
+	 * Returns the memoized result for the given id, computing and memoizing it while holding the
+	 * lock if it is not memoized yet.
+	 *
+	 * @param memo a map created with {@link #newMemo()}
+	 * @param id the id to get the result for
+	 * @param dao the dao to load the data with
+	 * @param computer the function computing the result from the data
+	 * @return the result, which must not be modified
+	 */
+	protected final <T> T getMemoized(Map<Integer, T> memo, Integer id, D dao, Function<Integer, T> computer) {
+		T result = loaded && changedIds.isEmpty() ? memo.get(id) : null;
+		if (result == null) {
+			synchronized (lock) {
+				refresh(dao);
+				result = memo.get(id);
+				if (result == null) {
+					result = computer.apply(id);
+					if (memo.size() >= MAX_MEMOIZED) {
+						memo.clear();
+					}
+					memo.put(id, result);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the ids of the entities evicted within the current transaction
+	 */
+	protected final Set<Integer> getUncommittedIds() {
+		UncommittedChanges uncommitted = getUncommittedChanges(false);
+		return uncommitted == null ? Collections.emptySet() : Collections.unmodifiableSet(uncommitted.ids);
+	}
+
+	/**
+	 * Creates a map to memoize results in, to be called while the subclass is constructed
+	 *
+	 * @return the new map
+	 */
+	protected final <T> Map<Integer, T> newMemo() {
+		Map<Integer, T> memo = new ConcurrentHashMap<>();
+		memos.add(memo);
+		return memo;
+	}
+
+	/**
+	 * Loads all the data, called while holding the lock after {@link #discard()}
+	 *
+	 * @param dao the dao to load the data with
+	 */
+	protected abstract void load(D dao);
+
+	/**
+	 * Reloads the data of the given entities, called while holding the lock
+	 *
+	 * @param ids the ids of the entities that were changed or purged
+	 * @param dao the dao to load the data with
+	 */
+	protected abstract void reload(List<Integer> ids, D dao);
+
+	/**
+	 * Discards all the data, called while holding the lock
+	 */
+	protected abstract void discard();
+
+	/**
+	 * Loads all the data if it is not loaded yet, otherwise reloads the entities that have changed
+	 * since the last call
+	 */
+	private void refresh(D dao) {
+		if (!loaded) {
+			// changes made while loading are picked up by the next call
+			changedIds.clear();
+			discard();
+			clearMemos();
+			load(dao);
+			loaded = true;
+		} else if (!changedIds.isEmpty()) {
+			List<Integer> changed = new ArrayList<>(changedIds);
+			// the memos have to be empty before the changes are taken, readers that do not lock rely on
+			// the changes to tell them the memos are stale
+			clearMemos();
+			changedIds.removeAll(changed);
+			reload(changed, dao);
+		}
+	}
+
+	private void clearMemos() {
+		for (Map<Integer, ?> memo : memos) {
+			memo.clear();
+		}
+	}
+
+	/**
+	 * @param create whether to register the changes of the current transaction if there are none yet
+	 * @return the changes of the current transaction or null if no transaction is active
+	 */
+	private UncommittedChanges getUncommittedChanges(boolean create) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		// the synchronizations of a suspended outer transaction are not returned
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof UncommittedChanges && ((UncommittedChanges) synchronization).cache == this) {
+				return (UncommittedChanges) synchronization;
+			}
+		}
+		if (!create) {
+			return null;
+		}
+		UncommittedChanges uncommitted = new UncommittedChanges(this);
+		TransactionSynchronizationManager.registerSynchronization(uncommitted);
+		return uncommitted;
+	}
+
+	/**
+	 * The ids evicted within a transaction, which are marked for reloading once it completes
+	 */
+	private static class UncommittedChanges implements TransactionSynchronization {
+
+		private final BaseNodeLocalCache<?> cache;
+
+		private final Set<Integer> ids = new HashSet<>();
+
+		private UncommittedChanges(BaseNodeLocalCache<?> cache) {
+			this.cache = cache;
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			cache.changedIds.addAll(ids);
+		}
+	}
+}
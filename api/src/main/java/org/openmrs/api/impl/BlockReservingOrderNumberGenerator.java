@@ -0,0 +1,123 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openmrs.api.APIException;
+import org.openmrs.api.OrderContext;
+import org.openmrs.api.OrderNumberGenerator;
+import org.openmrs.api.context.Context;
+import org.openmrs.util.OpenmrsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link OrderNumberGenerator} which reserves blocks of order number seeds from the database and
+ * hands them out from memory, so that the row lock on the
+ * {@link OpenmrsConstants#GP_NEXT_ORDER_NUMBER_SEED} global property is only taken once per block
+ * instead of once per order. The size of a block is read from the
+ * {@link OpenmrsConstants#GP_ORDER_NUMBER_BLOCK_SIZE} global property each time a new block is
+ * reserved.
+ * <p>
+ * To use it set the {@link OpenmrsConstants#GP_ORDER_NUMBER_GENERATOR_BEAN_ID} global property to
+ * <code>blockReservingOrderNumberGenerator</code>. Order numbers are unique across nodes sharing a
+ * database but they are only increasing per node, and the unused numbers of a block are skipped
+ * when the application is restarted.
+ *
+ * @since 2.6.0
+ */
+public class BlockReservingOrderNumberGenerator implements OrderNumberGenerator, NodeLocalCache {
+
+	private static final Logger log = LoggerFactory.getLogger(BlockReservingOrderNumberGenerator.class);
+
+	private static final int DEFAULT_BLOCK_SIZE = 100;
+
+	private volatile Block currentBlock;
+
+	private final Object reserveLock = new Object();
+
+	/**
+	 * @see org.openmrs.api.OrderNumberGenerator#getNewOrderNumber(org.openmrs.api.OrderContext)
+	 */
+	@Override
+	public String getNewOrderNumber(OrderContext orderContext) throws APIException {
+		Long seed = takeFrom(currentBlock);
+		if (seed == null) {
+			synchronized (reserveLock) {
+				// another thread may have reserved a new block while we were waiting
+				seed = takeFrom(currentBlock);
+				if (seed == null) {
+					int blockSize = getBlockSize();
+					long first = Context.getOrderService().getNextOrderNumberSeedSequenceValues(blockSize);
+					log.debug("Reserved order number seeds {} to {}", first, first + blockSize - 1);
+
+					seed = first;
+					currentBlock = new Block(first + 1, first + blockSize);
+				}
+			}
+		}
+
+		return OrderServiceImpl.ORDER_NUMBER_PREFIX + seed;
+	}
+
+	/**
+	 * Drops the block reserved by this node, the seeds left in it are skipped.
+	 *
+	 * @see org.openmrs.api.impl.NodeLocalCache#clear()
+	 */
+	@Override
+	public void clear() {
+		synchronized (reserveLock) {
+			currentBlock = null;
+		}
+	}
+
+	private Long takeFrom(Block block) {
+		if (block == null) {
+			return null;
+		}
+		long seed = block.next.getAndIncrement();
+		return seed < block.end ? seed : null;
+	}
+
+	private int getBlockSize() {
+		String value = Context.getAdministrationService().getGlobalProperty(OpenmrsConstants.GP_ORDER_NUMBER_BLOCK_SIZE);
+		if (value != null) {
+			try {
+				int blockSize = Integer.parseInt(value.trim());
+				if (blockSize > 0) {
+					return blockSize;
+				}
+			}
+			catch (NumberFormatException e) {
+				// fall through to the default
+			}
+			log.warn("Invalid value '{}' for the {} global property, using {}", value,
+			    OpenmrsConstants.GP_ORDER_NUMBER_BLOCK_SIZE, DEFAULT_BLOCK_SIZE);
+		}
+		return DEFAULT_BLOCK_SIZE;
+	}
+
+	/**
+	 * A range of reserved seeds, from next (inclusive) to end (exclusive)
+	 */
+	private static class Block {
+
+		private final AtomicLong next;
+
+		private final long end;
+
+		Block(long next, long end) {
+			this.next = new AtomicLong(next);
+			this.end = end;
+		}
+	}
+}
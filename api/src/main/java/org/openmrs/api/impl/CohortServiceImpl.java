@@ -23,6 +23,7 @@ import org.openmrs.api.APIException;
 import org.openmrs.api.CohortService;
 import org.openmrs.api.context.Context;
 import org.openmrs.api.db.CohortDAO;
+import org.openmrs.util.IntBitmap;
 import org.openmrs.util.OpenmrsUtil;
 import org.openmrs.util.PrivilegeConstants;
 import org.slf4j.Logger;
@@ -279,4 +280,18 @@ public class CohortServiceImpl extends BaseOpenmrsService implements CohortServi
 		}
 		return dao.getCohortMemberships(patientId, activeOnDate, includeVoided);
 	}
+	
+	/**
+	 * @see org.openmrs.api.CohortService#getActiveMemberBitmap(Cohort, Date)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public IntBitmap getActiveMemberBitmap(Cohort cohort, Date activeOnDate) {
+		Date date = activeOnDate == null ? new Date() : activeOnDate;
+		if (cohort.getCohortId() == null) {
+			return IntBitmap.of(cohort.getActiveMemberships(date).stream().map(CohortMembership::getPatientId)
+			        .collect(Collectors.toList()));
+		}
+		return IntBitmap.of(dao.getActiveMemberIds(cohort.getCohortId(), date));
+	}
 }
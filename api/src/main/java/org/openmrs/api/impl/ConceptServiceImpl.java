@@ -11,10 +11,12 @@ package org.openmrs.api.impl;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -22,6 +24,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import org.apache.commons.beanutils.BeanUtils;
@@ -84,6 +87,8 @@ public class ConceptServiceImpl extends BaseOpenmrsService implements ConceptSer
 	
 	private ConceptDAO dao;
 	
+	private ConceptSetClosure conceptSetClosure;
+	
 	private static Concept trueConcept;
 	
 	private static Concept falseConcept;
@@ -101,6 +106,15 @@ public class ConceptServiceImpl extends BaseOpenmrsService implements ConceptSer
 	public void setConceptDAO(ConceptDAO dao) {
 		this.dao = dao;
 	}
+	
+	/**
+	 * @param conceptSetClosure the in memory concept set hierarchy to explode concept sets with, when
+	 *            null the hierarchy is walked in the database
+	 * @since 2.6.0
+	 */
+	public void setConceptSetClosure(ConceptSetClosure conceptSetClosure) {
+		this.conceptSetClosure = conceptSetClosure;
+	}
 
 	/**
 	 * @see org.openmrs.api.ConceptService#saveConcept(org.openmrs.Concept)
@@ -182,7 +196,11 @@ public class ConceptServiceImpl extends BaseOpenmrsService implements ConceptSer
 			concept.setSet(true);
 		}
 
-		return dao.saveConcept(concept);
+		Concept savedConcept = dao.saveConcept(concept);
+		if (conceptSetClosure != null) {
+			conceptSetClosure.evict(savedConcept.getConceptId());
+		}
+		return savedConcept;
 	}
 
 	private void ensureConceptMapTypeIsSet(Concept concept) {
@@ -278,6 +296,12 @@ public class ConceptServiceImpl extends BaseOpenmrsService implements ConceptSer
 			}
 		}
 		
+		if (conceptSetClosure != null && concept.getConceptId() != null) {
+			conceptSetClosure.evict(concept.getConceptId());
+			for (ConceptSet conceptSet : dao.getSetsContainingConcept(concept)) {
+				conceptSetClosure.evict(conceptSet.getConceptSet().getConceptId());
+			}
+		}
 		dao.purgeConcept(concept);
 	}
 	
@@ -734,6 +758,10 @@ public class ConceptServiceImpl extends BaseOpenmrsService implements ConceptSer
 	@Override
 	@Transactional(readOnly = true)
 	public List<Concept> getConceptsByConceptSet(Concept c) {
+		if (isConceptSetClosureUsable() && c.getConceptId() != null) {
+			return getConcepts(conceptSetClosure.getExplodedMemberIds(c.getConceptId(), dao));
+		}
+		
 		Set<Integer> alreadySeen = new HashSet<>();
 		List<Concept> ret = new ArrayList<>();
 		explodeConceptSetHelper(c, ret, alreadySeen);
@@ -753,6 +781,67 @@ public class ConceptServiceImpl extends BaseOpenmrsService implements ConceptSer
 		return dao.getSetsContainingConcept(concept);
 	}
 	
+	/**
+	 * @see org.openmrs.api.ConceptService#getAllSetsContainingConcept(org.openmrs.Concept)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Concept> getAllSetsContainingConcept(Concept concept) {
+		if (concept.getConceptId() == null) {
+			return Collections.emptyList();
+		}
+		if (isConceptSetClosureUsable()) {
+			return getConcepts(conceptSetClosure.getAncestorIds(concept.getConceptId(), dao).toArray());
+		}
+		
+		Map<Integer, Concept> sets = new TreeMap<>();
+		Deque<Concept> toVisit = new ArrayDeque<>();
+		toVisit.add(concept);
+		while (!toVisit.isEmpty()) {
+			for (ConceptSet conceptSet : dao.getSetsContainingConcept(toVisit.remove())) {
+				Concept set = conceptSet.getConceptSet();
+				if (sets.put(set.getConceptId(), set) == null && set.getSet()) {
+					toVisit.add(set);
+				}
+			}
+		}
+		return new ArrayList<>(sets.values());
+	}
+	
+	/**
+	 * @see org.openmrs.api.ConceptService#isConceptInSet(org.openmrs.Concept, org.openmrs.Concept)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public boolean isConceptInSet(Concept concept, Concept conceptSet) {
+		if (concept.getConceptId() == null) {
+			return false;
+		}
+		if (isConceptSetClosureUsable() && conceptSet.getConceptId() != null) {
+			return conceptSetClosure.getDescendantIds(conceptSet.getConceptId(), dao).contains(concept.getConceptId());
+		}
+		return getConceptsByConceptSet(conceptSet).contains(concept);
+	}
+	
+	/**
+	 * The closure does not reflect the concepts saved within the current transaction until it is
+	 * committed, so they are read from the database until then
+	 */
+	private boolean isConceptSetClosureUsable() {
+		return conceptSetClosure != null && !conceptSetClosure.hasUncommittedChanges();
+	}
+	
+	private List<Concept> getConcepts(int[] conceptIds) {
+		List<Concept> concepts = new ArrayList<>(conceptIds.length);
+		for (int conceptId : conceptIds) {
+			Concept concept = dao.getConcept(conceptId);
+			if (concept != null) {
+				concepts.add(concept);
+			}
+		}
+		return concepts;
+	}
+	
 	/**
 	 * @see org.openmrs.api.ConceptService#getConceptProposal(java.lang.Integer)
 	 */
@@ -0,0 +1,222 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.openmrs.Concept;
+import org.openmrs.api.db.ConceptDAO;
+import org.openmrs.util.IntBitmap;
+/**
+ * A node-local copy of the concept set hierarchy, used by {@link ConceptServiceImpl} to explode
+ * concept sets and to find the sets containing a concept without walking the hierarchy in the
+ * database one level at a time.
+ * <p>
+ * The direct members of every concept set are loaded with a single query the first time the
+ * hierarchy is needed and held as arrays of concept ids, along with the reverse edges and the ids
+ * of the members which are sets themselves. When a concept is saved or purged through the
+ * {@link org.openmrs.api.ConceptService} only the members of that concept are reloaded. The
+ * exploded members and the ancestors of a concept are computed from the in memory hierarchy and
+ * memoized until the next change.
+ *
+ * @since 2.6.0
+ */
+public class ConceptSetClosure extends BaseNodeLocalCache<ConceptDAO> {
+
+	private static final int[] NO_IDS = new int[0];
+
+	// the hierarchy, guarded by the lock
+
+	private final Map<Integer, int[]> members = new HashMap<>();
+
+	private final Map<Integer, int[]> containingSets = new HashMap<>();
+
+	private IntBitmap setIds = IntBitmap.EMPTY;
+
+	private final Map<Integer, int[]> explodedMembers = newMemo();
+
+	private final Map<Integer, IntBitmap> descendants = newMemo();
+
+	private final Map<Integer, IntBitmap> ancestors = newMemo();
+
+	/**
+	 * Returns the ids of the members of the given concept set, recursing into the members that are
+	 * sets themselves. The ids are in the same order and include the same duplicates as
+	 * {@link org.openmrs.api.ConceptService#getConceptsByConceptSet(Concept)} has always returned.
+	 *
+	 * @param conceptSetId the id of the concept set to explode
+	 * @param dao the dao to load the hierarchy with
+	 * @return the ids of the members, the returned array must not be modified
+	 */
+	public int[] getExplodedMemberIds(Integer conceptSetId, ConceptDAO dao) {
+		return getMemoized(explodedMembers, conceptSetId, dao, this::explode);
+	}
+
+	/**
+	 * @param conceptSetId the id of the concept set
+	 * @param dao the dao to load the hierarchy with
+	 * @return the ids of the concepts the given set contains directly or through nested sets
+	 */
+	public IntBitmap getDescendantIds(Integer conceptSetId, ConceptDAO dao) {
+		return getMemoized(descendants, conceptSetId, dao, id -> {
+			int[] exploded = explodedMembers.get(id);
+			return IntBitmap.of(exploded != null ? exploded : explode(id));
+		});
+	}
+
+	/**
+	 * @param conceptId the id of the concept
+	 * @param dao the dao to load the hierarchy with
+	 * @return the ids of the concept sets containing the given concept directly or through nested
+	 *         sets
+	 */
+	public IntBitmap getAncestorIds(Integer conceptId, ConceptDAO dao) {
+		return getMemoized(ancestors, conceptId, dao, this::collectAncestors);
+	}
+
+	@Override
+	protected void load(ConceptDAO dao) {
+		addMembers(dao.getConceptSetMemberIds(null));
+	}
+
+	@Override
+	protected void reload(List<Integer> conceptIds, ConceptDAO dao) {
+		for (Integer conceptId : conceptIds) {
+			reloadMembers(conceptId, dao);
+		}
+	}
+
+	@Override
+	protected void discard() {
+		members.clear();
+		containingSets.clear();
+		setIds = IntBitmap.EMPTY;
+	}
+
+	private void reloadMembers(Integer conceptId, ConceptDAO dao) {
+		for (int member : remove(members, conceptId)) {
+			removeValue(containingSets, member, conceptId);
+		}
+
+		Concept concept = dao.getConcept(conceptId);
+		if (concept == null) {
+			// the concept was purged, so it can no longer be a member of any set either
+			for (int set : remove(containingSets, conceptId)) {
+				removeValue(members, set, conceptId);
+			}
+			setIds = setIds.andNot(IntBitmap.of(conceptId));
+			return;
+		}
+
+		IntBitmap self = IntBitmap.of(conceptId);
+		setIds = Boolean.TRUE.equals(concept.getSet()) ? setIds.or(self) : setIds.andNot(self);
+		addMembers(dao.getConceptSetMemberIds(conceptId));
+	}
+
+	/**
+	 * @param rows rows of concept set id, member id and whether the member is a set, grouped by
+	 *            concept set and ordered by sort weight
+	 */
+	private void addMembers(List<Object[]> rows) {
+		Map<Integer, IntStream.Builder> membersBySet = new HashMap<>();
+		Map<Integer, IntStream.Builder> setsByMember = new HashMap<>();
+		List<Integer> memberSets = new ArrayList<>();
+		List<Integer> memberNonSets = new ArrayList<>();
+		for (Object[] row : rows) {
+			Integer set = (Integer) row[0];
+			Integer member = (Integer) row[1];
+			membersBySet.computeIfAbsent(set, k -> IntStream.builder()).add(member);
+			setsByMember.computeIfAbsent(member, k -> IntStream.builder()).add(set);
+			(Boolean.TRUE.equals(row[2]) ? memberSets : memberNonSets).add(member);
+		}
+
+		membersBySet.forEach((set, builder) -> append(members, set, builder.build().toArray()));
+		setsByMember.forEach((member, builder) -> append(containingSets, member, builder.build().toArray()));
+		setIds = setIds.andNot(IntBitmap.of(memberNonSets)).or(IntBitmap.of(memberSets));
+	}
+
+	/**
+	 * Explodes the given set the same way the database backed implementation does, the set itself
+	 * and every nested set are only expanded once
+	 */
+	private int[] explode(int conceptSetId) {
+		IntStream.Builder result = IntStream.builder();
+		explode(conceptSetId, result, new HashSet<>());
+		return result.build().toArray();
+	}
+
+	private void explode(int conceptId, IntStream.Builder result, Set<Integer> alreadySeen) {
+		if (!alreadySeen.add(conceptId)) {
+			return;
+		}
+		for (int member : members.getOrDefault(conceptId, NO_IDS)) {
+			result.add(member);
+			if (setIds.contains(member)) {
+				explode(member, result, alreadySeen);
+			}
+		}
+	}
+
+	/**
+	 * Walks the reverse edges, a set containing the concept only passes its own ancestors on if it
+	 * is flagged as a set, since {@link #explode(int)} only recurses into such members
+	 */
+	private IntBitmap collectAncestors(int conceptId) {
+		Set<Integer> found = new HashSet<>();
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		toVisit.add(conceptId);
+		while (!toVisit.isEmpty()) {
+			for (int set : containingSets.getOrDefault(toVisit.remove(), NO_IDS)) {
+				if (found.add(set) && setIds.contains(set)) {
+					toVisit.add(set);
+				}
+			}
+		}
+		return IntBitmap.of(found);
+	}
+
+	private static int[] remove(Map<Integer, int[]> adjacency, Integer key) {
+		int[] removed = adjacency.remove(key);
+		return removed == null ? NO_IDS : removed;
+	}
+
+	private static void append(Map<Integer, int[]> adjacency, Integer key, int[] values) {
+		int[] existing = adjacency.get(key);
+		if (existing == null) {
+			adjacency.put(key, values);
+		} else {
+			int[] merged = Arrays.copyOf(existing, existing.length + values.length);
+			System.arraycopy(values, 0, merged, existing.length, values.length);
+			adjacency.put(key, merged);
+		}
+	}
+
+	private static void removeValue(Map<Integer, int[]> adjacency, Integer key, int value) {
+		int[] values = adjacency.get(key);
+		if (values == null) {
+			return;
+		}
+		int[] remaining = Arrays.stream(values).filter(v -> v != value).toArray();
+		if (remaining.length == 0) {
+			adjacency.remove(key);
+		} else {
+			adjacency.put(key, remaining);
+		}
+	}
+}
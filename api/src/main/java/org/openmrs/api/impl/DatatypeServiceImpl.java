@@ -12,11 +12,14 @@ package org.openmrs.api.impl;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.openmrs.api.DatatypeService;
 import org.openmrs.api.context.Context;
@@ -38,7 +41,18 @@ public class DatatypeServiceImpl extends BaseOpenmrsService implements DatatypeS
 	
 	private List<Class<? extends CustomDatatypeHandler>> handlerClasses;
 	
-	private transient Map<Class<? extends CustomDatatype>, Class<? extends CustomDatatypeHandler>> prioritizedHandlerClasses;
+	private transient volatile Map<Class<? extends CustomDatatype>, Class<? extends CustomDatatypeHandler>> prioritizedHandlerClasses;
+	
+	/**
+	 * Configured datatypes and handlers keyed by their class or class name and configuration, they
+	 * are shared by all callers so that hydrating attribute values needs no class loading or
+	 * reflection. Since this service is a spring bean the instances are discarded every time modules
+	 * are started or stopped and the context is refreshed.
+	 */
+	private final Map<List<Object>, Object> configuredInstances = new ConcurrentHashMap<>();
+	
+	// the most instances cached, the cache is emptied once there are more
+	private static final int MAX_CONFIGURED_INSTANCES = 1000;
 	
 	private DatatypeDAO dao;
 	
@@ -99,14 +113,16 @@ public class DatatypeServiceImpl extends BaseOpenmrsService implements DatatypeS
 	@Override
 	@Transactional(readOnly = true)
 	public <T extends CustomDatatype<?>> T getDatatype(Class<T> clazz, String config) {
-		try {
-			T dt = clazz.newInstance();
-			dt.setConfiguration(config);
-			return dt;
-		}
-		catch (Exception ex) {
-			throw new CustomDatatypeException("Failed to instantiate " + clazz + " with config " + config, ex);
-		}
+		return getConfiguredInstance(Arrays.asList(clazz, config), () -> {
+			try {
+				T dt = clazz.newInstance();
+				dt.setConfiguration(config);
+				return dt;
+			}
+			catch (Exception ex) {
+				throw new CustomDatatypeException("Failed to instantiate " + clazz + " with config " + config, ex);
+			}
+		});
 	}
 	
 	/**
@@ -157,12 +173,31 @@ public class DatatypeServiceImpl extends BaseOpenmrsService implements DatatypeS
 		return null;
 	}
 	
+	/**
+	 * @see org.openmrs.api.DatatypeService#getDatatype(java.lang.String, java.lang.String)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public CustomDatatype<?> getDatatype(String datatypeClassname, String config) {
+		return getConfiguredInstance(Arrays.asList(datatypeClassname, config), () -> {
+			Class<? extends CustomDatatype<?>> clazz;
+			try {
+				clazz = (Class<? extends CustomDatatype<?>>) Context.loadClass(datatypeClassname);
+			}
+			catch (ClassNotFoundException ex) {
+				throw new CustomDatatypeException("Can't find datatype: " + datatypeClassname, ex);
+			}
+			return getDatatype(clazz, config);
+		});
+	}
+	
 	/**
 	 * @see org.openmrs.api.DatatypeService#getHandler(org.openmrs.customdatatype.CustomDatatype, java.lang.String)
 	 */
 	@Override
 	@Transactional(readOnly = true)
-	public synchronized CustomDatatypeHandler<?, ?> getHandler(CustomDatatype<?> datatype, String handlerConfig) {
+	public CustomDatatypeHandler<?, ?> getHandler(CustomDatatype<?> datatype, String handlerConfig) {
 		if (prioritizedHandlerClasses == null) {
 			prioritizeHandlers();
 		}
@@ -170,15 +205,58 @@ public class DatatypeServiceImpl extends BaseOpenmrsService implements DatatypeS
 		if (clazz == null) {
 			return null;
 		}
-		try {
-			CustomDatatypeHandler<?, ?> ret = clazz.newInstance();
-			ret.setHandlerConfiguration(handlerConfig);
-			return ret;
-		}
-		catch (Exception ex) {
-			throw new CustomDatatypeException("Failed to instantiate handler for " + datatype + " with config "
-			        + handlerConfig, ex);
+		// unlike preferred handlers the default handler of a datatype is always configured, even with null
+		return getConfiguredInstance(Arrays.asList(clazz, handlerConfig, datatype.getClass()), () -> {
+			try {
+				CustomDatatypeHandler<?, ?> handler = clazz.newInstance();
+				handler.setHandlerConfiguration(handlerConfig);
+				return handler;
+			}
+			catch (Exception ex) {
+				throw new CustomDatatypeException("Failed to instantiate handler for " + datatype + " with config "
+				        + handlerConfig, ex);
+			}
+		});
+	}
+	
+	/**
+	 * @see org.openmrs.api.DatatypeService#getHandler(java.lang.Class, java.lang.String)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public <H extends CustomDatatypeHandler> H getHandler(Class<H> handlerClass, String handlerConfig) {
+		return getConfiguredInstance(Arrays.asList(handlerClass, handlerConfig), () -> {
+			try {
+				H handler = handlerClass.newInstance();
+				if (handlerConfig != null) {
+					handler.setHandlerConfiguration(handlerConfig);
+				}
+				return handler;
+			}
+			catch (Exception ex) {
+				throw new CustomDatatypeException("Failed to instantiate " + handlerClass + " with config "
+				        + handlerConfig, ex);
+			}
+		});
+	}
+	
+	/**
+	 * Gets the cached instance with the given key, creating it if there is none yet
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T getConfiguredInstance(List<Object> key, Supplier<T> factory) {
+		T instance = (T) configuredInstances.get(key);
+		if (instance == null) {
+			instance = factory.get();
+			if (configuredInstances.size() >= MAX_CONFIGURED_INSTANCES) {
+				configuredInstances.clear();
+			}
+			T existing = (T) configuredInstances.putIfAbsent(key, instance);
+			if (existing != null) {
+				instance = existing;
+			}
 		}
+		return instance;
 	}
 	
 	/**
@@ -187,15 +265,16 @@ public class DatatypeServiceImpl extends BaseOpenmrsService implements DatatypeS
 	 */
 	private synchronized void prioritizeHandlers() {
 		if (prioritizedHandlerClasses == null) {
-			prioritizedHandlerClasses = new LinkedHashMap<>();
+			Map<Class<? extends CustomDatatype>, Class<? extends CustomDatatypeHandler>> prioritized = new LinkedHashMap<>();
 			for (Class dt : getAllDatatypeClasses()) {
 				List<Class<? extends CustomDatatypeHandler>> handlerClasses = getHandlerClasses(dt);
 				if (handlerClasses == null || handlerClasses.isEmpty()) {
-					prioritizedHandlerClasses.put(dt, null);
+					prioritized.put(dt, null);
 				} else {
-					prioritizedHandlerClasses.put(dt, handlerClasses.get(0));
+					prioritized.put(dt, handlerClasses.get(0));
 				}
 			}
+			prioritizedHandlerClasses = prioritized;
 		}
 	}
 	
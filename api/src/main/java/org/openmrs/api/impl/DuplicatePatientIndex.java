@@ -0,0 +1,313 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.language.Soundex;
+import org.apache.commons.lang3.StringUtils;
+import org.openmrs.Patient;
+import org.openmrs.PersonName;
+import org.openmrs.api.db.PatientDAO;
+
+/**
+ * A node-local index of duplicate patient candidates, used by {@link PatientServiceImpl} to find
+ * patients that are likely to be the same person without grouping the patient tables in the
+ * database.
+ * <p>
+ * Every non voided patient with a preferred given and family name and a birthdate is indexed under
+ * a key made of the soundex codes of both names (the same phonetic encoding the person name search
+ * index uses), the birthdate and the gender, packed into a single long. Patients sharing a key are
+ * duplicate candidates. The index is loaded with one scrolling query the first time it is needed.
+ * When a patient is saved, voided or purged through the {@link org.openmrs.api.PatientService}
+ * only that patient is reloaded.
+ *
+ * @since 2.6.0
+ */
+public class DuplicatePatientIndex extends BaseNodeLocalCache<PatientDAO> {
+
+	private static final long NOT_INDEXED = 0;
+
+	/**
+	 * Set on every valid key so that no valid key equals {@link #NOT_INDEXED}
+	 */
+	private static final long KEY_MARKER = 1L << 54;
+
+	private static final int NAME_CODE_BITS = 15;
+
+	/**
+	 * The number of distinct soundex codes, a letter followed by three digits from 0 to 6
+	 */
+	private static final int SOUNDEX_CODES = 26 * 7 * 7 * 7;
+
+	private static final int BIRTHDATE_BITS = 22;
+
+	private static final LocalDate FIRST_BIRTHDATE = LocalDate.of(1800, 1, 1);
+
+	private static final int RELOAD_BATCH_SIZE = 1000;
+
+	private static final Soundex SOUNDEX = new Soundex();
+
+	// the index, guarded by the lock
+
+	private long[] keysByPatientId = new long[0];
+
+	private final Map<Long, int[]> patientIdsByKey = new HashMap<>();
+
+	/**
+	 * Returns the groups of patients sharing a key.
+	 *
+	 * @param dao the dao to load the index with
+	 * @return the ids of the patients of each group in ascending order, the groups are ordered by
+	 *         their lowest patient id
+	 */
+	public List<int[]> getDuplicateGroups(PatientDAO dao) {
+		Map<Integer, Long> uncommittedKeys = getUncommittedKeys(dao);
+		List<int[]> groups;
+		if (uncommittedKeys.isEmpty()) {
+			groups = read(dao, () -> getGroups(patientIdsByKey));
+		} else {
+			// the arrays are replaced rather than changed, so the copy can share them
+			Map<Long, int[]> patientIdsByKeyCopy = read(dao, () -> new HashMap<>(patientIdsByKey));
+			patientIdsByKeyCopy.replaceAll(
+			    (key, patientIds) -> Arrays.stream(patientIds).filter(id -> !uncommittedKeys.containsKey(id)).toArray());
+			uncommittedKeys.forEach((patientId, key) -> {
+				if (key != NOT_INDEXED) {
+					patientIdsByKeyCopy.merge(key, new int[] { patientId },
+					    (patientIds, added) -> IntStream.concat(Arrays.stream(patientIds), Arrays.stream(added)).toArray());
+				}
+			});
+			groups = getGroups(patientIdsByKeyCopy);
+		}
+		for (int[] group : groups) {
+			Arrays.sort(group);
+		}
+		groups.sort(Comparator.comparingInt(group -> group[0]));
+		return groups;
+	}
+
+	/**
+	 * Returns the ids of the indexed patients sharing the key of the given patient, which does not
+	 * have to be saved.
+	 *
+	 * @param patient the patient to find the candidates of
+	 * @param dao the dao to load the index with
+	 * @return the ids of the other patients in ascending order, empty if the patient does not have
+	 *         all the attributes that are indexed
+	 */
+	public int[] getCandidateIds(Patient patient, PatientDAO dao) {
+		PersonName name = patient.getPersonName();
+		long key = name == null ? NOT_INDEXED
+		        : toKey(name.getGivenName(), name.getFamilyName(), patient.getBirthdate(), patient.getGender());
+		if (key == NOT_INDEXED) {
+			return new int[0];
+		}
+
+		Map<Integer, Long> uncommittedKeys = getUncommittedKeys(dao);
+		int[] patientIds = read(dao, () -> patientIdsByKey.getOrDefault(key, new int[0]));
+		IntStream candidates = IntStream.concat(
+		    Arrays.stream(patientIds).filter(id -> !uncommittedKeys.containsKey(id)),
+		    uncommittedKeys.entrySet().stream().filter(e -> e.getValue() == key).mapToInt(Map.Entry::getKey));
+		Integer self = patient.getPatientId();
+		return candidates.filter(id -> self == null || id != self).sorted().toArray();
+	}
+
+	/**
+	 * Computes the key patients are indexed under.
+	 *
+	 * @param givenName the preferred given name
+	 * @param familyName the preferred family name
+	 * @param birthdate the birthdate
+	 * @param gender the gender
+	 * @return the key or 0 if any of the names or the birthdate is missing
+	 * <strong>Should</strong> match names that sound alike
+	 * <strong>Should</strong> not match different birthdates or genders
+	 */
+	static long toKey(String givenName, String familyName, Date birthdate, String gender) {
+		if (StringUtils.isBlank(givenName) || StringUtils.isBlank(familyName) || birthdate == null) {
+			return NOT_INDEXED;
+		}
+		LocalDate date = Instant.ofEpochMilli(birthdate.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+		long days = ChronoUnit.DAYS.between(FIRST_BIRTHDATE, date);
+		if (days < 0 || days >= 1L << BIRTHDATE_BITS) {
+			return NOT_INDEXED;
+		}
+
+		long key = KEY_MARKER;
+		key |= (long) toNameCode(givenName) << (NAME_CODE_BITS + BIRTHDATE_BITS + 2);
+		key |= (long) toNameCode(familyName) << (BIRTHDATE_BITS + 2);
+		key |= days << 2;
+		key |= toGenderCode(gender);
+		return key;
+	}
+
+	private static int toNameCode(String name) {
+		String code;
+		try {
+			code = SOUNDEX.soundex(name);
+		}
+		catch (IllegalArgumentException e) {
+			// letters outside of the english alphabet can not be encoded
+			code = null;
+		}
+		if (StringUtils.isEmpty(code) || code.charAt(0) < 'A' || code.charAt(0) > 'Z') {
+			int hash = name.trim().toUpperCase(Locale.ROOT).hashCode() & Integer.MAX_VALUE;
+			return SOUNDEX_CODES + hash % ((1 << NAME_CODE_BITS) - SOUNDEX_CODES);
+		}
+		int result = code.charAt(0) - 'A';
+		for (int i = 1; i < 4; i++) {
+			result = result * 7 + (code.charAt(i) - '0');
+		}
+		return result;
+	}
+
+	private static int toGenderCode(String gender) {
+		if (StringUtils.isBlank(gender)) {
+			return 0;
+		}
+		switch (gender.trim().toUpperCase(Locale.ROOT)) {
+			case "M":
+				return 1;
+			case "F":
+				return 2;
+			default:
+				return 3;
+		}
+	}
+
+	@Override
+	protected void load(PatientDAO dao) {
+		try (Stream<Object[]> rows = dao.streamDuplicateCandidateAttributes(null)) {
+			rows.forEach(this::index);
+		}
+	}
+
+	@Override
+	protected void reload(List<Integer> patientIds, PatientDAO dao) {
+		for (Integer patientId : patientIds) {
+			remove(patientId);
+		}
+		forEachRow(patientIds, dao, this::index);
+	}
+
+	@Override
+	protected void discard() {
+		keysByPatientId = new long[0];
+		patientIdsByKey.clear();
+	}
+
+	/**
+	 * Reads the keys of the patients changed within the current transaction from the database, since
+	 * the index does not reflect them until the transaction is committed
+	 *
+	 * @return the keys by patient id, {@link #NOT_INDEXED} for the patients that are not indexed
+	 */
+	private Map<Integer, Long> getUncommittedKeys(PatientDAO dao) {
+		Set<Integer> uncommitted = getUncommittedIds();
+		if (uncommitted.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<Integer, Long> keys = new HashMap<>();
+		for (Integer patientId : uncommitted) {
+			keys.put(patientId, NOT_INDEXED);
+		}
+		forEachRow(new ArrayList<>(uncommitted), dao, row -> {
+			long key = toKey(row);
+			// a patient with more than one preferred name is indexed under the first one
+			if (key != NOT_INDEXED && keys.get(row[0]) == NOT_INDEXED) {
+				keys.put((Integer) row[0], key);
+			}
+		});
+		return keys;
+	}
+
+	private void forEachRow(List<Integer> patientIds, PatientDAO dao, Consumer<Object[]> action) {
+		for (int start = 0; start < patientIds.size(); start += RELOAD_BATCH_SIZE) {
+			List<Integer> batch = patientIds.subList(start, Math.min(start + RELOAD_BATCH_SIZE, patientIds.size()));
+			try (Stream<Object[]> rows = dao.streamDuplicateCandidateAttributes(batch)) {
+				rows.forEach(action);
+			}
+		}
+	}
+
+	private static List<int[]> getGroups(Map<Long, int[]> patientIdsByKey) {
+		List<int[]> groups = new ArrayList<>();
+		for (int[] patientIds : patientIdsByKey.values()) {
+			if (patientIds.length > 1) {
+				groups.add(patientIds.clone());
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * @param row the patient id, preferred given name, preferred family name, birthdate and gender
+	 */
+	private static long toKey(Object[] row) {
+		return toKey((String) row[1], (String) row[2], (Date) row[3], (String) row[4]);
+	}
+
+	private void index(Object[] row) {
+		int patientId = (Integer) row[0];
+		long key = toKey(row);
+		if (key == NOT_INDEXED || getKey(patientId) != NOT_INDEXED) {
+			// a patient with more than one preferred name is indexed under the first one
+			return;
+		}
+		if (patientId >= keysByPatientId.length) {
+			keysByPatientId = Arrays.copyOf(keysByPatientId, Math.max(patientId + 1, keysByPatientId.length * 2));
+		}
+		keysByPatientId[patientId] = key;
+
+		int[] patientIds = patientIdsByKey.get(key);
+		if (patientIds == null) {
+			patientIdsByKey.put(key, new int[] { patientId });
+		} else {
+			int[] added = Arrays.copyOf(patientIds, patientIds.length + 1);
+			added[patientIds.length] = patientId;
+			patientIdsByKey.put(key, added);
+		}
+	}
+
+	private void remove(int patientId) {
+		long key = getKey(patientId);
+		if (key == NOT_INDEXED) {
+			return;
+		}
+		keysByPatientId[patientId] = NOT_INDEXED;
+
+		int[] remaining = Arrays.stream(patientIdsByKey.get(key)).filter(id -> id != patientId).toArray();
+		if (remaining.length == 0) {
+			patientIdsByKey.remove(key);
+		} else {
+			patientIdsByKey.put(key, remaining);
+		}
+	}
+
+	private long getKey(int patientId) {
+		return patientId >= 0 && patientId < keysByPatientId.length ? keysByPatientId[patientId] : NOT_INDEXED;
+	}
+}
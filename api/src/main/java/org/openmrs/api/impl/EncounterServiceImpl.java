@@ -16,6 +16,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -41,6 +42,7 @@ import org.openmrs.api.ObsService;
 import org.openmrs.api.OrderService;
 import org.openmrs.api.context.Context;
 import org.openmrs.api.db.EncounterDAO;
+import org.openmrs.api.db.ObsDAO;
 import org.openmrs.api.handler.EncounterVisitHandler;
 import org.openmrs.parameter.EncounterSearchCriteria;
 import org.openmrs.parameter.EncounterSearchCriteriaBuilder;
@@ -49,6 +51,7 @@ import org.openmrs.util.OpenmrsClassLoader;
 import org.openmrs.util.OpenmrsConstants;
 import org.openmrs.util.OpenmrsUtil;
 import org.openmrs.util.PrivilegeConstants;
+import org.openmrs.validator.ValidateUtil;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -65,6 +68,8 @@ public class EncounterServiceImpl extends BaseOpenmrsService implements Encounte
 	
 	private EncounterDAO dao;
 	
+	private ObsDAO obsDAO;
+	
 	/**
 	 * @see org.openmrs.api.EncounterService#setEncounterDAO(org.openmrs.api.db.EncounterDAO)
 	 */
@@ -73,6 +78,17 @@ public class EncounterServiceImpl extends BaseOpenmrsService implements Encounte
 		this.dao = dao;
 	}
 	
+	/**
+	 * Sets the dao {@link #saveEncounters(Collection)} writes new obs with, if it is not set all obs
+	 * are saved through the {@link ObsService}
+	 * 
+	 * @param obsDAO the obs dao
+	 * @since 2.6.0
+	 */
+	public void setObsDAO(ObsDAO obsDAO) {
+		this.obsDAO = obsDAO;
+	}
+	
 	/**
 	 * @see org.openmrs.api.EncounterService#getEncountersByPatient(java.lang.String, boolean)
 	 */
@@ -93,6 +109,80 @@ public class EncounterServiceImpl extends BaseOpenmrsService implements Encounte
 	@Override
 	public Encounter saveEncounter(Encounter encounter) throws APIException {
 		
+		// do the actual saving to the database
+		saveEncounterAndOrders(encounter);
+		
+		// save the Obs
+		String changeMessage = Context.getMessageSourceService().getMessage("Obs.void.reason.default");
+		ObsService os = Context.getObsService();
+		List<Obs> obsToRemove = new ArrayList<>();
+		List<Obs> obsToAdd = new ArrayList<>();
+		for (Obs o : encounter.getObsAtTopLevel(true)) {
+			if (o.getId() == null) {
+				os.saveObs(o, null);
+			} else {
+				saveExistingObs(o, changeMessage, os, obsToRemove, obsToAdd);
+			}
+		}
+		
+		removeGivenObsAndTheirGroupMembersFromEncounter(obsToRemove, encounter);
+		addGivenObsAndTheirGroupMembersToEncounter(obsToAdd, encounter);
+		
+		saveConditionsAndAllergies(encounter);
+		
+		return encounter;
+	}
+	
+	/**
+	 * @see org.openmrs.api.EncounterService#saveEncounters(Collection)
+	 */
+	@Override
+	public List<Encounter> saveEncounters(Collection<Encounter> encounters) throws APIException {
+		String changeMessage = Context.getMessageSourceService().getMessage("Obs.void.reason.default");
+		ObsService os = Context.getObsService();
+		boolean canAddObs = false;
+		List<Encounter> saved = new ArrayList<>(encounters.size());
+		for (Encounter encounter : encounters) {
+			saveEncounterAndOrders(encounter);
+			
+			// the obs have already passed through the save handlers along with the encounter when
+			// this method was called, so new obs only need to be validated and written
+			List<Obs> newObs = new ArrayList<>();
+			List<Obs> obsToRemove = new ArrayList<>();
+			List<Obs> obsToAdd = new ArrayList<>();
+			for (Obs o : encounter.getObsAtTopLevel(true)) {
+				if (o.getId() != null) {
+					saveExistingObs(o, changeMessage, os, obsToRemove, obsToAdd);
+				} else if (obsDAO == null || hasComplexData(o)) {
+					os.saveObs(o, null);
+				} else {
+					ValidateUtil.validate(o);
+					addObsAndNewGroupMembers(o, newObs);
+				}
+			}
+			if (!newObs.isEmpty() && !canAddObs) {
+				Context.requirePrivilege(PrivilegeConstants.ADD_OBS);
+				canAddObs = true;
+			}
+			for (Obs o : newObs) {
+				obsDAO.saveObs(o);
+			}
+			
+			removeGivenObsAndTheirGroupMembersFromEncounter(obsToRemove, encounter);
+			addGivenObsAndTheirGroupMembersToEncounter(obsToAdd, encounter);
+			
+			saveConditionsAndAllergies(encounter);
+			saved.add(encounter);
+		}
+		return saved;
+	}
+	
+	/**
+	 * Saves the encounter itself along with its visit and its new orders, the part of saving an
+	 * encounter that is the same for {@link #saveEncounter(Encounter)} and
+	 * {@link #saveEncounters(Collection)}
+	 */
+	private void saveEncounterAndOrders(Encounter encounter) {
 		// if authenticated user is not supposed to edit encounter of certain type
 		failIfDeniedToEdit(encounter);
 		
@@ -174,35 +264,60 @@ public class EncounterServiceImpl extends BaseOpenmrsService implements Encounte
 				Context.getOrderService().saveOrder(o, null);
 			}
 		}
-		
-		// save the Obs
-		String changeMessage = Context.getMessageSourceService().getMessage("Obs.void.reason.default");
-		ObsService os = Context.getObsService();
-		List<Obs> obsToRemove = new ArrayList<>();
-		List<Obs> obsToAdd = new ArrayList<>();
-		for (Obs o : encounter.getObsAtTopLevel(true)) {
-			if (o.getId() == null) {
-				os.saveObs(o, null);
-			} else {
-				Obs newObs = os.saveObs(o, changeMessage);
-				//The logic in saveObs evicts the old obs instance, so we need to update the collection
-				//with the newly loaded and voided instance, apparently reloading the encounter
-				//didn't do the tick
-				obsToRemove.add(o);
-				obsToAdd.add(os.getObs(o.getId()));
-				obsToAdd.add(newObs);
-			}
-		}
-
-		removeGivenObsAndTheirGroupMembersFromEncounter(obsToRemove, encounter);
-		addGivenObsAndTheirGroupMembersToEncounter(obsToAdd, encounter);
-		
+	}
+	
+	/**
+	 * Saves an edited obs, which voids it and creates a new obs in its place, and records that the
+	 * encounter has to hold the voided and the new obs instead of the edited one
+	 */
+	private void saveExistingObs(Obs o, String changeMessage, ObsService os, List<Obs> obsToRemove, List<Obs> obsToAdd) {
+		Obs newObs = os.saveObs(o, changeMessage);
+		//The logic in saveObs evicts the old obs instance, so we need to update the collection
+		//with the newly loaded and voided instance, apparently reloading the encounter
+		//didn't do the tick
+		obsToRemove.add(o);
+		obsToAdd.add(os.getObs(o.getId()));
+		obsToAdd.add(newObs);
+	}
+	
+	private void saveConditionsAndAllergies(Encounter encounter) {
 		// save the conditions
 		encounter.getConditions().forEach(Context.getConditionService()::saveCondition);
 		
 		encounter.getAllergies().forEach(Context.getPatientService()::saveAllergy);
-		
-		return encounter;
+	}
+	
+	/**
+	 * Adds the given obs and its unsaved group members to the given list, every obs before its
+	 * members so that the obs group is inserted first
+	 */
+	private void addObsAndNewGroupMembers(Obs obs, List<Obs> newObs) {
+		newObs.add(obs);
+		if (obs.hasGroupMembers(true)) {
+			for (Obs member : obs.getGroupMembers(true)) {
+				if (member.getId() == null) {
+					addObsAndNewGroupMembers(member, newObs);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return whether the given obs or any of its group members holds complex data, which has to be
+	 *         stored by its handler when the obs is saved
+	 */
+	private boolean hasComplexData(Obs obs) {
+		if (obs.getComplexData() != null) {
+			return true;
+		}
+		if (obs.hasGroupMembers(true)) {
+			for (Obs member : obs.getGroupMembers(true)) {
+				if (hasComplexData(member)) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
 	
 	/**
@@ -640,6 +755,15 @@ public class EncounterServiceImpl extends BaseOpenmrsService implements Encounte
 		return dao.getAllEncounters(patients);
 	}
 	
+	/**
+	 * @see org.openmrs.api.EncounterService#streamAllEncounters(org.openmrs.Cohort, int)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Stream<Encounter> streamAllEncounters(Cohort patients, int pageSize) throws APIException {
+		return dao.streamAllEncounters(patients, pageSize);
+	}
+	
 	/**
 	 * @see org.openmrs.api.EncounterService#getEncounters(java.lang.String, java.lang.Integer,
 	 *      java.lang.Integer, boolean)
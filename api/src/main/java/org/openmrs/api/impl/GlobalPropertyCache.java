@@ -0,0 +1,168 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.openmrs.GlobalProperty;
+import org.openmrs.api.GlobalPropertyListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A node-local, read-through cache of global property values keyed by property name. It is used by
+ * {@link AdministrationServiceImpl#getGlobalProperty(String)} so that frequently read properties do
+ * not hit the database on every call.
+ * <p>
+ * Entries are evicted whenever a property is saved or purged through the
+ * {@link org.openmrs.api.AdministrationService} (and again once the surrounding transaction
+ * completes, so that a rolled back change can not leave a stale value behind) and whenever a
+ * {@link GlobalPropertyListener} event is fired for it. Property names are matched case
+ * insensitively, the same way the database lookup matches them. Since the cache is a spring bean
+ * it is discarded along with the rest of the context every time the context is refreshed.
+ *
+ * @since 2.6.0
+ */
+public class GlobalPropertyCache implements GlobalPropertyListener, NodeLocalCache {
+
+	/**
+	 * Marker stored for properties that do not exist, {@link ConcurrentHashMap} does not accept
+	 * null values
+	 */
+	private static final String NULL_VALUE = new String("GLOBAL_PROPERTY_CACHE_NULL_VALUE");
+
+	private final Map<String, String> values = new ConcurrentHashMap<>();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Incremented on every eviction so that a value loaded concurrently with an eviction is not put
+	 * back into the cache
+	 */
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * Returns the cached value of the given property, calling the loader and caching its result if
+	 * the property is not cached yet.
+	 *
+	 * @param propertyName the name of the property to look up
+	 * @param loader the function to use to load the value on a cache miss
+	 * @return the value of the property or null if the property does not exist
+	 */
+	public String get(String propertyName, Function<String, String> loader) {
+		String key = toKey(propertyName);
+		String value = values.get(key);
+		if (value != null) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+			long evictionsBeforeLoad = evictionCount.get();
+			String loaded = loader.apply(propertyName);
+			value = loaded == null ? NULL_VALUE : loaded;
+			if (evictionCount.get() == evictionsBeforeLoad) {
+				values.put(key, value);
+			}
+		}
+
+		return value == NULL_VALUE ? null : value;
+	}
+
+	/**
+	 * Removes the given property from the cache immediately and, if a transaction is active, again
+	 * after it has been committed or rolled back.
+	 *
+	 * @param propertyName the name of the property to remove
+	 */
+	public void evict(String propertyName) {
+		if (propertyName == null) {
+			return;
+		}
+		final String key = toKey(propertyName);
+		remove(key);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(int status) {
+					remove(key);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @see org.openmrs.api.impl.NodeLocalCache#clear()
+	 */
+	@Override
+	public void clear() {
+		evictionCount.incrementAndGet();
+		values.clear();
+	}
+
+	/**
+	 * @return the number of lookups that were served from the cache
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return the number of lookups that had to be loaded from the database
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return the number of properties currently held in the cache
+	 */
+	public int getSize() {
+		return values.size();
+	}
+
+	/**
+	 * @see org.openmrs.api.GlobalPropertyListener#supportsPropertyName(java.lang.String)
+	 */
+	@Override
+	public boolean supportsPropertyName(String propertyName) {
+		return true;
+	}
+
+	/**
+	 * @see org.openmrs.api.GlobalPropertyListener#globalPropertyChanged(org.openmrs.GlobalProperty)
+	 */
+	@Override
+	public void globalPropertyChanged(GlobalProperty newValue) {
+		evict(newValue.getProperty());
+	}
+
+	/**
+	 * @see org.openmrs.api.GlobalPropertyListener#globalPropertyDeleted(java.lang.String)
+	 */
+	@Override
+	public void globalPropertyDeleted(String propertyName) {
+		evict(propertyName);
+	}
+
+	private void remove(String key) {
+		evictionCount.incrementAndGet();
+		values.remove(key);
+	}
+
+	private String toKey(String propertyName) {
+		return propertyName.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openmrs.api.db.LocationDAO;
+import org.openmrs.util.IntBitmap;
+/**
+ * A node-local copy of the location hierarchy, used by {@link LocationServiceImpl} to find the
+ * descendants of a location without loading the child locations one level at a time.
+ * <p>
+ * The parent of every location is loaded with a single query the first time the hierarchy is
+ * needed and held as arrays of child location ids per parent. When a location is saved or purged
+ * through the {@link org.openmrs.api.LocationService} only that location and its children are
+ * reloaded. The descendants of a location are computed from the in memory hierarchy and memoized
+ * until the next change.
+ *
+ * @since 2.6.0
+ */
+public class LocationHierarchyClosure extends BaseNodeLocalCache<LocationDAO> {
+
+	private static final int[] NO_IDS = new int[0];
+
+	// the hierarchy, guarded by the lock
+
+	private final Map<Integer, Integer> parents = new HashMap<>();
+
+	private final Map<Integer, int[]> children = new HashMap<>();
+
+	private final Map<Integer, IntBitmap> descendants = newMemo();
+
+	/**
+	 * @param locationId the id of the location
+	 * @param dao the dao to load the hierarchy with
+	 * @return the ids of the locations below the given location, retired or not, excluding the
+	 *         location itself
+	 */
+	public IntBitmap getDescendantIds(Integer locationId, LocationDAO dao) {
+		return getMemoized(descendants, locationId, dao, this::collectDescendants);
+	}
+
+	@Override
+	protected void load(LocationDAO dao) {
+		addParents(dao.getLocationParentIds(null));
+	}
+
+	@Override
+	protected void reload(List<Integer> locationIds, LocationDAO dao) {
+		for (Integer locationId : locationIds) {
+			// the location and its children are reloaded, so a purged location leaves no edges
+			detach(locationId);
+			for (int child : children.getOrDefault(locationId, NO_IDS)) {
+				detach(child);
+			}
+			addParents(dao.getLocationParentIds(locationId));
+		}
+	}
+
+	@Override
+	protected void discard() {
+		parents.clear();
+		children.clear();
+	}
+
+	/**
+	 * @param rows rows of location id and parent location id, which is null for root locations
+	 */
+	private void addParents(List<Object[]> rows) {
+		for (Object[] row : rows) {
+			Integer locationId = (Integer) row[0];
+			Integer parentId = (Integer) row[1];
+			if (parentId == null || parents.containsKey(locationId)) {
+				continue;
+			}
+			parents.put(locationId, parentId);
+			int[] existing = children.getOrDefault(parentId, NO_IDS);
+			int[] added = Arrays.copyOf(existing, existing.length + 1);
+			added[existing.length] = locationId;
+			children.put(parentId, added);
+		}
+	}
+
+	private void detach(Integer locationId) {
+		Integer parentId = parents.remove(locationId);
+		if (parentId == null) {
+			return;
+		}
+		int[] remaining = Arrays.stream(children.getOrDefault(parentId, NO_IDS)).filter(id -> id != locationId)
+		        .toArray();
+		if (remaining.length == 0) {
+			children.remove(parentId);
+		} else {
+			children.put(parentId, remaining);
+		}
+	}
+
+	/**
+	 * Walks the child edges, a location that is its own ancestor is only visited once
+	 */
+	private IntBitmap collectDescendants(Integer locationId) {
+		Set<Integer> found = new HashSet<>();
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		toVisit.add(locationId);
+		while (!toVisit.isEmpty()) {
+			for (int child : children.getOrDefault(toVisit.remove(), NO_IDS)) {
+				if (found.add(child)) {
+					toVisit.add(child);
+				}
+			}
+		}
+		found.remove(locationId);
+		return IntBitmap.of(found);
+	}
+}
@@ -9,10 +9,14 @@
  */
 package org.openmrs.api.impl;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.openmrs.Address;
@@ -45,6 +49,8 @@ public class LocationServiceImpl extends BaseOpenmrsService implements LocationS
 	
 	private LocationDAO dao;
 	
+	private LocationHierarchyClosure locationHierarchyClosure;
+	
 	/**
 	 * @see org.openmrs.api.LocationService#setLocationDAO(org.openmrs.api.db.LocationDAO)
 	 */
@@ -53,6 +59,15 @@ public class LocationServiceImpl extends BaseOpenmrsService implements LocationS
 		this.dao = dao;
 	}
 	
+	/**
+	 * @param locationHierarchyClosure the in memory location hierarchy to find descendants with, when
+	 *            null the child locations are walked one level at a time
+	 * @since 2.6.0
+	 */
+	public void setLocationHierarchyClosure(LocationHierarchyClosure locationHierarchyClosure) {
+		this.locationHierarchyClosure = locationHierarchyClosure;
+	}
+	
 	/**
 	 * @see org.openmrs.api.LocationService#saveLocation(org.openmrs.Location)
 	 */
@@ -85,7 +100,11 @@ public class LocationServiceImpl extends BaseOpenmrsService implements LocationS
 		
 		CustomDatatypeUtil.saveAttributesIfNecessary(location);
 		
-		return dao.saveLocation(location);
+		Location savedLocation = dao.saveLocation(location);
+		if (locationHierarchyClosure != null) {
+			locationHierarchyClosure.evict(savedLocation.getLocationId());
+		}
+		return savedLocation;
 	}
 	
 	/**
@@ -267,6 +286,14 @@ public class LocationServiceImpl extends BaseOpenmrsService implements LocationS
 	 */
 	@Override
 	public void purgeLocation(Location location) throws APIException {
+		if (locationHierarchyClosure != null && location.getLocationId() != null) {
+			// the child locations are deleted along with the location
+			Set<Integer> descendantIds = getDescendantLocationIds(location);
+			locationHierarchyClosure.evict(location.getLocationId());
+			for (Integer descendantId : descendantIds) {
+				locationHierarchyClosure.evict(descendantId);
+			}
+		}
 		dao.deleteLocation(location);
 	}
 	
@@ -398,6 +425,48 @@ public class LocationServiceImpl extends BaseOpenmrsService implements LocationS
 		return dao.getRootLocations(includeRetired);
 	}
 	
+	/**
+	 * @see org.openmrs.api.LocationService#getDescendantLocationIds(Location)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Set<Integer> getDescendantLocationIds(Location location) throws APIException {
+		if (location.getLocationId() == null) {
+			return new HashSet<>();
+		}
+		if (locationHierarchyClosure == null) {
+			Set<Integer> ids = new HashSet<>();
+			for (Location descendant : location.getDescendantLocations(true)) {
+				ids.add(descendant.getLocationId());
+			}
+			return ids;
+		}
+		if (locationHierarchyClosure.hasUncommittedChanges()) {
+			// the closure does not reflect the locations saved within the current transaction until it is committed
+			return findDescendantLocationIds(location.getLocationId());
+		}
+		return locationHierarchyClosure.getDescendantIds(location.getLocationId(), dao).toSet();
+	}
+	
+	/**
+	 * Walks the child locations in the database one level at a time
+	 */
+	private Set<Integer> findDescendantLocationIds(Integer locationId) {
+		Set<Integer> ids = new HashSet<>();
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		toVisit.add(locationId);
+		while (!toVisit.isEmpty()) {
+			Integer parentId = toVisit.remove();
+			for (Object[] row : dao.getLocationParentIds(parentId)) {
+				if (parentId.equals(row[1]) && ids.add((Integer) row[0])) {
+					toVisit.add((Integer) row[0]);
+				}
+			}
+		}
+		ids.remove(locationId);
+		return ids;
+	}
+	
 	/**
 	 * @see org.openmrs.api.LocationService#getPossibleAddressValues(Address, String)
 	 */
@@ -0,0 +1,27 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+/**
+ * Data from the database held in memory on this node by a service so that it does not have to be
+ * queried again. Since the caches are spring beans they are discarded along with the rest of the
+ * context every time the context is refreshed.
+ *
+ * @since 2.6.0
+ */
+public interface NodeLocalCache {
+	
+	/**
+	 * Discards everything held so that it is loaded again the next time it is needed, this should be
+	 * called after the cached data has been changed without going through the service owning the
+	 * cache
+	 */
+	void clear();
+}
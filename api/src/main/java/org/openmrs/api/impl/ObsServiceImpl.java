@@ -15,7 +15,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import org.openmrs.Cohort;
 import org.openmrs.Concept;
 import org.openmrs.ConceptName;
 import org.openmrs.Encounter;
@@ -33,7 +35,9 @@ import org.openmrs.api.db.ObsDAO;
 import org.openmrs.api.handler.SaveHandler;
 import org.openmrs.obs.ComplexData;
 import org.openmrs.obs.ComplexObsHandler;
+import org.openmrs.obs.ObsValue;
 import org.openmrs.obs.handler.AbstractHandler;
+import org.openmrs.parameter.ObsSearchCriteria;
 import org.openmrs.util.OpenmrsClassLoader;
 import org.openmrs.util.OpenmrsConstants.PERSON_TYPE;
 import org.openmrs.util.OpenmrsUtil;
@@ -402,6 +406,30 @@ public class ObsServiceImpl extends BaseOpenmrsService implements ObsService {
 		    locations, obsGroupId, fromDate, toDate, null, includeVoidedObs, accessionNumber));
 	}
 	
+	/**
+	 * @see org.openmrs.api.ObsService#streamAllObservations(org.openmrs.Cohort, int)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Stream<Obs> streamAllObservations(Cohort patients, int pageSize) throws APIException {
+		return dao.streamAllObservations(patients, pageSize);
+	}
+	
+	/**
+	 * @see org.openmrs.api.ObsService#getObsValues(ObsSearchCriteria, int)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<ObsValue> getObsValues(ObsSearchCriteria criteria, int maxResults) throws APIException {
+		if (maxResults <= 0) {
+			throw new IllegalArgumentException("maxResults must be greater than 0");
+		}
+		if ((criteria.getLastObsDatetime() == null) != (criteria.getLastObsId() == null)) {
+			throw new IllegalArgumentException("lastObsDatetime and lastObsId must either both be set or both be null");
+		}
+		return dao.getObsValues(criteria, maxResults);
+	}
+	
 	/**
 	 * This implementation queries the obs table comparing the given <code>searchString</code> with
 	 * the patient's identifier, encounterId, and obsId
@@ -84,11 +84,13 @@ public class OrderServiceImpl extends BaseOpenmrsService implements OrderService
 	
 	private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
 	
-	private static final String ORDER_NUMBER_PREFIX = "ORD-";
+	static final String ORDER_NUMBER_PREFIX = "ORD-";
 	
 	protected OrderDAO dao;
 	
 	private static OrderNumberGenerator orderNumberGenerator = null;
+	
+	private GlobalPropertyCache globalPropertyCache;
 
 	public OrderServiceImpl() {
 	}
@@ -101,11 +103,20 @@ public class OrderServiceImpl extends BaseOpenmrsService implements OrderService
 		this.dao = dao;
 	}
 	
+	/**
+	 * @param globalPropertyCache the global property cache to evict the order number seed from
+	 *            whenever seeds are reserved
+	 * @since 2.6.0
+	 */
+	public void setGlobalPropertyCache(GlobalPropertyCache globalPropertyCache) {
+		this.globalPropertyCache = globalPropertyCache;
+	}
+	
 	/**
 	 * @see org.openmrs.api.OrderService#saveOrder(org.openmrs.Order, org.openmrs.api.OrderContext)
 	 */
 	@Override
-	public synchronized Order saveOrder(Order order, OrderContext orderContext) throws APIException {
+	public Order saveOrder(Order order, OrderContext orderContext) throws APIException {
 		return saveOrder(order, orderContext, false);
 	}
 	
@@ -142,7 +153,7 @@ public class OrderServiceImpl extends BaseOpenmrsService implements OrderService
 	 * @see org.openmrs.api.OrderService#saveOrder(org.openmrs.Order, org.openmrs.api.OrderContext)
 	 */
 	@Override
-	public synchronized Order saveRetrospectiveOrder(Order order, OrderContext orderContext) {
+	public Order saveRetrospectiveOrder(Order order, OrderContext orderContext) {
 		return saveOrder(order, orderContext, true);
 	}
 
@@ -653,7 +664,33 @@ public class OrderServiceImpl extends BaseOpenmrsService implements OrderService
 	@Override
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
 	public synchronized Long getNextOrderNumberSeedSequenceValue() {
-		return dao.getNextOrderNumberSeedSequenceValue();
+		Long seed = dao.getNextOrderNumberSeedSequenceValue();
+		evictNextOrderNumberSeed();
+		return seed;
+	}
+	
+	/**
+	 * @see org.openmrs.api.OrderService#getNextOrderNumberSeedSequenceValues(int)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public Long getNextOrderNumberSeedSequenceValues(int count) {
+		if (count < 1) {
+			throw new IllegalArgumentException("The number of order number seeds to reserve must be at least 1");
+		}
+		Long seed = dao.getNextOrderNumberSeedSequenceValues(count);
+		evictNextOrderNumberSeed();
+		return seed;
+	}
+	
+	/**
+	 * The dao updates the seed global property directly, so the value cached for it has to be
+	 * dropped just like when it is saved through the administration service
+	 */
+	private void evictNextOrderNumberSeed() {
+		if (globalPropertyCache != null) {
+			globalPropertyCache.evict(OpenmrsConstants.GP_NEXT_ORDER_NUMBER_SEED);
+		}
 	}
 	
 	/**
@@ -90,6 +90,8 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 	
 	private PatientDAO dao;
 	
+	private DuplicatePatientIndex duplicatePatientIndex;
+	
 	/**
 	 * PatientIdentifierValidators registered through spring's applicationContext-service.xml
 	 */
@@ -103,6 +105,15 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 		this.dao = dao;
 	}
 	
+	/**
+	 * @param duplicatePatientIndex the in memory index to find duplicate patient candidates with,
+	 *            when null no candidates are found
+	 * @since 2.6.0
+	 */
+	public void setDuplicatePatientIndex(DuplicatePatientIndex duplicatePatientIndex) {
+		this.duplicatePatientIndex = duplicatePatientIndex;
+	}
+	
 	/**
 	 * Clean up after this class. Set the static var to null so that the classloader can reclaim the
 	 * space.
@@ -133,7 +144,11 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 		setPreferredPatientName(patient);
 		setPreferredPatientAddress(patient);
 
-		return dao.savePatient(patient);
+		Patient savedPatient = dao.savePatient(patient);
+		if (duplicatePatientIndex != null) {
+			duplicatePatientIndex.evict(savedPatient.getPatientId());
+		}
+		return savedPatient;
 	}
 
 	private void requireAppropriatePatientModificationPrivilege(Patient patient) {
@@ -332,7 +347,11 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 		
 		// patient and patientidentifier attributes taken care of by the BaseVoidHandler
 		//call the DAO layer directly to avoid any further AOP around save*
-		return dao.savePatient(patient);
+		Patient voidedPatient = dao.savePatient(patient);
+		if (duplicatePatientIndex != null) {
+			duplicatePatientIndex.evict(voidedPatient.getPatientId());
+		}
+		return voidedPatient;
 	}
 	
 	/**
@@ -354,6 +373,9 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 	 */
 	@Override
 	public void purgePatient(Patient patient) throws APIException {
+		if (duplicatePatientIndex != null) {
+			duplicatePatientIndex.evict(patient.getPatientId());
+		}
 		dao.deletePatient(patient);
 	}
 	
@@ -538,6 +560,49 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 		return dao.getDuplicatePatientsByAttributes(attributes);
 	}
 	
+	/**
+	 * @see org.openmrs.api.PatientService#getDuplicatePatientCandidates()
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<List<Patient>> getDuplicatePatientCandidates() throws APIException {
+		List<List<Patient>> groups = new ArrayList<>();
+		if (duplicatePatientIndex == null) {
+			return groups;
+		}
+		
+		for (int[] patientIds : duplicatePatientIndex.getDuplicateGroups(dao)) {
+			List<Patient> group = getPatients(patientIds);
+			if (group.size() > 1) {
+				groups.add(group);
+			}
+		}
+		return groups;
+	}
+	
+	/**
+	 * @see org.openmrs.api.PatientService#getDuplicatePatientCandidates(org.openmrs.Patient)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Patient> getDuplicatePatientCandidates(Patient patient) throws APIException {
+		if (duplicatePatientIndex == null) {
+			return new ArrayList<>();
+		}
+		return getPatients(duplicatePatientIndex.getCandidateIds(patient, dao));
+	}
+	
+	private List<Patient> getPatients(int[] patientIds) {
+		List<Patient> patients = new ArrayList<>(patientIds.length);
+		for (int patientId : patientIds) {
+			Patient patient = dao.getPatient(patientId);
+			if (patient != null) {
+				patients.add(patient);
+			}
+		}
+		return patients;
+	}
+	
 	/**
 	 * generate a relationship hash for use in mergePatients; follows the convention:
 	 * [relationshipType][A|B][relativeId]
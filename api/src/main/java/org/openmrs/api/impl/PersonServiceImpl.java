@@ -59,6 +59,8 @@ public class PersonServiceImpl extends BaseOpenmrsService implements PersonServi
 	
 	private PersonDAO dao;
 	
+	private DuplicatePatientIndex duplicatePatientIndex;
+	
 	/**
 	 * @see org.openmrs.api.PersonService#setPersonDAO(org.openmrs.api.db.PersonDAO)
 	 */
@@ -67,6 +69,15 @@ public class PersonServiceImpl extends BaseOpenmrsService implements PersonServi
 		this.dao = dao;
 	}
 	
+	/**
+	 * @param duplicatePatientIndex the in memory index of duplicate patient candidates, which has to
+	 *            be told about changes to the names, birthdate and gender of patients
+	 * @since 2.6.0
+	 */
+	public void setDuplicatePatientIndex(DuplicatePatientIndex duplicatePatientIndex) {
+		this.duplicatePatientIndex = duplicatePatientIndex;
+	}
+	
 	/**
 	 * @see org.openmrs.api.PersonService#getSimilarPeople(java.lang.String, java.lang.Integer,
 	 *      java.lang.String)
@@ -291,6 +302,7 @@ public class PersonServiceImpl extends BaseOpenmrsService implements PersonServi
 	@Override
 	public void purgePerson(Person person) throws APIException {
 		dao.deletePerson(person);
+		evictFromDuplicatePatientIndex(person);
 	}
 	
 	/**
@@ -300,7 +312,18 @@ public class PersonServiceImpl extends BaseOpenmrsService implements PersonServi
 	public Person savePerson(Person person) throws APIException {
 		setPreferredPersonName(person);
 		setPreferredPersonAddress(person);
-		return dao.savePerson(person);
+		Person savedPerson = dao.savePerson(person);
+		evictFromDuplicatePatientIndex(savedPerson);
+		return savedPerson;
+	}
+	
+	/**
+	 * Patients are persons with the same id, so any person may be indexed
+	 */
+	private void evictFromDuplicatePatientIndex(Person person) {
+		if (duplicatePatientIndex != null && person != null) {
+			duplicatePatientIndex.evict(person.getPersonId());
+		}
 	}
 
 	private void setPreferredPersonName(Person person) {
@@ -353,7 +376,9 @@ public class PersonServiceImpl extends BaseOpenmrsService implements PersonServi
 			return null;
 		}
 		
-		return dao.savePerson(person);
+		Person voidedPerson = dao.savePerson(person);
+		evictFromDuplicatePatientIndex(voidedPerson);
+		return voidedPerson;
 	}
 	
 	/**
@@ -726,7 +751,9 @@ public class PersonServiceImpl extends BaseOpenmrsService implements PersonServi
 	@Override
 	public PersonName savePersonName(PersonName personName) throws APIException {
 		ValidateUtil.validate(personName.getPerson());
-		return dao.savePersonName(personName);
+		PersonName savedName = dao.savePersonName(personName);
+		evictFromDuplicatePatientIndex(savedName.getPerson());
+		return savedName;
 	}
 	
 	/**
@@ -63,6 +63,11 @@ public class SerializationServiceImpl extends BaseOpenmrsService implements Seri
 			try {
 				Class<?> clazz = Context.loadClass(prop);
 				if (clazz != null && OpenmrsSerializer.class.isAssignableFrom(clazz)) {
+					// prefer the registered instance so that its configuration is not built again
+					OpenmrsSerializer registered = serializerMap == null ? null : serializerMap.get(clazz);
+					if (registered != null) {
+						return registered;
+					}
 					return (OpenmrsSerializer) clazz.newInstance();
 				}
 			}
@@ -19,6 +19,7 @@ import org.openmrs.annotation.Authorized;
 import org.openmrs.annotation.Logging;
 import org.openmrs.api.*;
 import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
 import org.openmrs.api.db.DAOException;
 import org.openmrs.api.db.LoginCredential;
 import org.openmrs.api.db.UserDAO;
@@ -110,7 +111,9 @@ public class UserServiceImpl extends BaseOpenmrsService implements UserService {
 		// TODO Check required fields for user!!
 		OpenmrsUtil.validatePassword(user.getUsername(), password, user.getSystemId());
 		
-		return dao.saveUser(user, password);
+		User savedUser = dao.saveUser(user, password);
+		UserContext.invalidateCachedPrivileges();
+		return savedUser;
 	}
 	
 	/**
@@ -171,7 +174,9 @@ public class UserServiceImpl extends BaseOpenmrsService implements UserService {
 			        + " is already in use.");
 		}
 		
-		return dao.saveUser(user, null);
+		User savedUser = dao.saveUser(user, null);
+		UserContext.invalidateCachedPrivileges();
+		return savedUser;
 	}
 	
 	public User voidUser(User user, String reason) throws APIException {
@@ -245,6 +250,7 @@ public class UserServiceImpl extends BaseOpenmrsService implements UserService {
 		}
 		
 		dao.deletePrivilege(privilege);
+		UserContext.invalidateCachedPrivileges();
 	}
 	
 	/**
@@ -252,7 +258,9 @@ public class UserServiceImpl extends BaseOpenmrsService implements UserService {
 	 */
 	@Override
 	public Privilege savePrivilege(Privilege privilege) throws APIException {
-		return dao.savePrivilege(privilege);
+		Privilege savedPrivilege = dao.savePrivilege(privilege);
+		UserContext.invalidateCachedPrivileges();
+		return savedPrivilege;
 	}
 
 	/**
@@ -291,6 +299,7 @@ public class UserServiceImpl extends BaseOpenmrsService implements UserService {
 		}
 		
 		dao.deleteRole(role);
+		UserContext.invalidateCachedPrivileges();
 	}
 	
 	/**
@@ -306,7 +315,9 @@ public class UserServiceImpl extends BaseOpenmrsService implements UserService {
 		
 		checkPrivileges(role);
 		
-		return dao.saveRole(role);
+		Role savedRole = dao.saveRole(role);
+		UserContext.invalidateCachedPrivileges();
+		return savedRole;
 	}
 	
 	/**
@@ -44,6 +44,11 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class VisitServiceImpl extends BaseOpenmrsService implements VisitService {
 	
+	/**
+	 * The number of visits {@link #stopVisits(Date)} loads and updates at a time
+	 */
+	private static final int STOP_VISITS_CHUNK_SIZE = 500;
+	
 	private VisitDAO dao;
 	
 	/**
@@ -362,20 +367,21 @@ public class VisitServiceImpl extends BaseOpenmrsService implements VisitService
 			return;
 		}
 		
-		int counter = 0;
+		// each chunk is loaded with one query, and the updates are flushed in jdbc batches before the
+		// session is cleared, the visits are still saved one by one so that the interceptors setting
+		// the audit fields and publishing events see every change
 		Date stopDate = new Date();
-		Visit nextVisit = dao.getNextVisit(null, visitTypesToStop, maximumStartDate);
-		while (nextVisit != null) {
-			nextVisit.setStopDatetime(stopDate);
-			dao.saveVisit(nextVisit);
-			if (counter++ > 50) {
-				//ensure changes are persisted to DB before reclaiming memory
-				Context.flushSession();
-				Context.clearSession();
-				counter = 0;
+		List<Visit> visits = dao.getNextVisits(null, visitTypesToStop, maximumStartDate, STOP_VISITS_CHUNK_SIZE);
+		while (!visits.isEmpty()) {
+			for (Visit visit : visits) {
+				visit.setStopDatetime(stopDate);
+				dao.saveVisit(visit);
 			}
-					
-		nextVisit = dao.getNextVisit(nextVisit, visitTypesToStop, maximumStartDate);
+			Context.flushSession();
+			Context.clearSession();
+			
+			visits = dao.getNextVisits(visits.get(visits.size() - 1), visitTypesToStop, maximumStartDate,
+			    STOP_VISITS_CHUNK_SIZE);
 		}
 	}
 	
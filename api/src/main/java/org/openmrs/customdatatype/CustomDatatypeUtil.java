@@ -52,8 +52,7 @@ public class CustomDatatypeUtil {
 	 */
 	public static CustomDatatype<?> getDatatype(String datatypeClassname, String datatypeConfig) {
 		try {
-			Class dtClass = Context.loadClass(datatypeClassname);
-			CustomDatatype<?> ret = (CustomDatatype<?>) Context.getDatatypeService().getDatatype(dtClass, datatypeConfig);
+			CustomDatatype<?> ret = Context.getDatatypeService().getDatatype(datatypeClassname, datatypeConfig);
 			if (ret == null) {
 				throw new CustomDatatypeException("Can't find datatype: " + datatypeClassname);
 			}
@@ -99,11 +98,7 @@ public class CustomDatatypeUtil {
 			try {
 				Class<? extends CustomDatatypeHandler> clazz = (Class<? extends CustomDatatypeHandler>) Context
 				        .loadClass(preferredHandlerClassname);
-				CustomDatatypeHandler handler = clazz.newInstance();
-				if (handlerConfig != null) {
-					handler.setHandlerConfiguration(handlerConfig);
-				}
-				return handler;
+				return Context.getDatatypeService().getHandler(clazz, handlerConfig);
 			}
 			catch (Exception ex) {
 				log.warn("Failed to instantiate and configure preferred handler with class " + preferredHandlerClassname
@@ -9,7 +9,17 @@
  */
 package org.openmrs.hl7;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
 import org.openmrs.api.context.Context;
+import org.openmrs.api.context.Daemon;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.util.OpenmrsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +31,12 @@ import ca.uhn.hl7v2.HL7Exception;
  * table depending on success or failure of the processing. You may, however, set a global property
  * that causes the processor to ignore messages regarding unknown patients from a non-local HL7
  * source. (i.e. those messages neither go to the archive or the error table.)
+ * <p>
+ * If the {@link OpenmrsConstants#GLOBAL_PROPERTY_HL7_PROCESSOR_BATCH_SIZE} global property is
+ * greater than 1 the queue is processed in batches instead: each batch is split by patient across
+ * {@link OpenmrsConstants#GLOBAL_PROPERTY_HL7_PROCESSOR_WORKER_THREADS} threads, and every thread
+ * commits its share of the batch in a single transaction. Entries for the same patient always end
+ * up on the same thread, so they are processed in the order they were received.
  *
  * @version 1.0
  */
@@ -35,6 +51,8 @@ public class HL7InQueueProcessor /* implements Runnable */{
 	
 	private static Integer count = 0;
 	
+	private static final AtomicInteger workerCount = new AtomicInteger();
+	
 	// processor per JVM
 	
 	/**
@@ -108,8 +126,14 @@ public class HL7InQueueProcessor /* implements Runnable */{
 		}
 		try {
 			log.debug("Start processing hl7 in queue");
-			while (processNextHL7InQueue()) {
-				// loop until queue is empty
+			int batchSize = getPositiveGlobalPropertyValue(OpenmrsConstants.GLOBAL_PROPERTY_HL7_PROCESSOR_BATCH_SIZE);
+			if (batchSize > 1) {
+				processHL7InQueueInBatches(batchSize,
+				    getPositiveGlobalPropertyValue(OpenmrsConstants.GLOBAL_PROPERTY_HL7_PROCESSOR_WORKER_THREADS));
+			} else {
+				while (processNextHL7InQueue()) {
+					// loop until queue is empty
+				}
 			}
 			log.debug("Done processing hl7 in queue");
 		}
@@ -118,4 +142,191 @@ public class HL7InQueueProcessor /* implements Runnable */{
 		}
 	}
 	
+	/**
+	 * Processes all pending queue entries, claiming batchSize of them at a time and splitting each
+	 * batch by patient across the given number of threads. Stops early if some entries of a batch
+	 * could not be processed at all, so that they are not claimed over and over again.
+	 *
+	 * @param batchSize the maximum number of entries to claim at a time
+	 * @param workerThreads the number of threads to process a batch with
+	 */
+	private void processHL7InQueueInBatches(int batchSize, int workerThreads) {
+		HL7Service hl7Service = Context.getHL7Service();
+		try {
+			List<HL7InQueue> batch = hl7Service.getNextHL7InQueues(batchSize);
+			while (!batch.isEmpty()) {
+				log.debug("Processing a batch of {} hl7 in queue entries", batch.size());
+				List<List<Integer>> partitions = partitionByPatient(batch, workerThreads);
+				// the entries are loaded again by the threads processing them
+				hl7Service.garbageCollect();
+				
+				int failed;
+				if (partitions.size() == 1) {
+					failed = processBatch(partitions.get(0));
+				} else {
+					AtomicInteger failedCount = new AtomicInteger();
+					List<Thread> workers = new ArrayList<>(partitions.size());
+					for (List<Integer> partition : partitions) {
+						workers.add(startWorker(() -> {
+							try {
+								failedCount.addAndGet(processBatch(partition));
+							}
+							catch (Exception e) {
+								log.error("Unable to process hl7 in queue batch", e);
+								failedCount.addAndGet(partition.size());
+							}
+						}));
+					}
+					for (Thread worker : workers) {
+						worker.join();
+					}
+					failed = failedCount.get();
+				}
+				
+				if (failed > 0) {
+					log.error("{} hl7 in queue entries could not be processed, they will be retried on the next run", failed);
+					return;
+				}
+				batch = hl7Service.getNextHL7InQueues(batchSize);
+			}
+		}
+		catch (InterruptedException e) {
+			log.warn("Interrupted while processing the hl7 in queue");
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Runs the given work in a new thread with its own session and user context, since neither can
+	 * be shared between threads. When called from a daemon thread, e.g. by the scheduled task, the
+	 * worker is a daemon thread too, otherwise it is authenticated as the current user.
+	 *
+	 * @param work the work to run
+	 * @return the started thread
+	 */
+	private Thread startWorker(Runnable work) {
+		if (Daemon.isDaemonThread()) {
+			return Daemon.runInNewDaemonThread(work);
+		}
+		
+		UserContext userContext = Context.getUserContext().newAuthenticatedContext();
+		Thread thread = new Thread(() -> {
+			Context.setUserContext(userContext);
+			Context.openSessionWithCurrentUser();
+			try {
+				// reload the user in the session of this thread
+				Context.refreshAuthenticatedUser();
+				work.run();
+			}
+			finally {
+				Context.closeSessionWithCurrentUser();
+				Context.clearUserContext();
+			}
+		}, "HL7 In Queue Worker-" + workerCount.incrementAndGet());
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+	
+	/**
+	 * Processes the given queue entries in a single transaction, falling back to one transaction
+	 * per entry if that fails, e.g. because one entry violates a database constraint.
+	 *
+	 * @param hl7InQueueIds the ids of the queue entries to process, in the order to process them
+	 * @return the number of entries that could not be processed
+	 */
+	private int processBatch(List<Integer> hl7InQueueIds) {
+		HL7Service hl7Service = Context.getHL7Service();
+		try {
+			List<HL7InQueue> hl7InQueues = new ArrayList<>(hl7InQueueIds.size());
+			for (Integer hl7InQueueId : hl7InQueueIds) {
+				HL7InQueue hl7InQueue = hl7Service.getHL7InQueue(hl7InQueueId);
+				if (hl7InQueue != null) {
+					hl7InQueues.add(hl7InQueue);
+				}
+			}
+			hl7Service.processHL7InQueues(hl7InQueues);
+			// entries that can't be found count as not processed, so draining stops instead of claiming them again
+			return hl7InQueueIds.size() - hl7InQueues.size();
+		}
+		catch (Exception e) {
+			log.warn("Unable to process hl7 in queue batch, processing its entries one at a time", e);
+		}
+		
+		int failed = 0;
+		for (Integer hl7InQueueId : hl7InQueueIds) {
+			// discard whatever the failed transaction left behind in the session
+			hl7Service.garbageCollect();
+			try {
+				HL7InQueue hl7InQueue = hl7Service.getHL7InQueue(hl7InQueueId);
+				if (hl7InQueue == null) {
+					log.warn("Unable to find hl7 in queue (id={})", hl7InQueueId);
+					failed++;
+				} else {
+					hl7Service.processHL7InQueue(hl7InQueue);
+				}
+			}
+			catch (Exception e) {
+				log.error("Unable to process hl7 in queue (id={})", hl7InQueueId, e);
+				failed++;
+			}
+		}
+		return failed;
+	}
+	
+	/**
+	 * Splits the given queue entries into at most partitionCount partitions so that all the entries
+	 * for a patient end up in the same partition, in the order they are given.
+	 *
+	 * @param hl7InQueues the queue entries to split up
+	 * @param partitionCount the maximum number of partitions
+	 * @return the ids of the queue entries in each non empty partition
+	 */
+	static List<List<Integer>> partitionByPatient(List<HL7InQueue> hl7InQueues, int partitionCount) {
+		Map<Integer, List<Integer>> partitions = new LinkedHashMap<>();
+		for (HL7InQueue hl7InQueue : hl7InQueues) {
+			int partition = Math.floorMod(getPatientKey(hl7InQueue.getHL7Data()).hashCode(), partitionCount);
+			partitions.computeIfAbsent(partition, p -> new ArrayList<>()).add(hl7InQueue.getHL7InQueueId());
+		}
+		return new ArrayList<>(partitions.values());
+	}
+	
+	/**
+	 * Gets the id of the first patient identifier in the patient identifier list (PID-3) of a pipe
+	 * encoded hl7 message without parsing the whole message. Only the id component of the first
+	 * repetition is used, so that messages for the same patient that differ in further repetitions,
+	 * the assigning authority or other components get the same key.
+	 *
+	 * @param hl7Data the hl7 message
+	 * @return the id of the first patient identifier or an empty string if the message has no PID
+	 *         segment or is not pipe encoded
+	 */
+	static String getPatientKey(String hl7Data) {
+		String message = StringUtils.trimToEmpty(hl7Data);
+		if (message.length() < 6 || !message.startsWith("MSH")) {
+			return "";
+		}
+		
+		// MSH-1 is the field separator and MSH-2 starts with the component and repetition separators
+		char fieldSeparator = message.charAt(3);
+		char componentSeparator = message.charAt(4);
+		char repetitionSeparator = message.charAt(5);
+		for (String segment : message.split("[\\r\\n]+")) {
+			if (segment.startsWith("PID") && segment.length() > 3 && segment.charAt(3) == fieldSeparator) {
+				String[] fields = StringUtils.splitPreserveAllTokens(segment, fieldSeparator);
+				if (fields.length <= 3) {
+					return "";
+				}
+				String identifier = StringUtils.substringBefore(fields[3], String.valueOf(repetitionSeparator));
+				return StringUtils.substringBefore(identifier, String.valueOf(componentSeparator)).trim();
+			}
+		}
+		return "";
+	}
+	
+	private int getPositiveGlobalPropertyValue(String propertyName) {
+		Integer value = Context.getAdministrationService().getGlobalPropertyValue(propertyName, 1);
+		return Math.max(value, 1);
+	}
+	
 }
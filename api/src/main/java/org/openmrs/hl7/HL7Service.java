@@ -218,6 +218,18 @@ public interface HL7Service extends OpenmrsService {
 	@Authorized(PrivilegeConstants.GET_HL7_IN_QUEUE)
 	public HL7InQueue getNextHL7InQueue() throws APIException;
 	
+	/**
+	 * Get the first pending queue items in the database, in the order they were received
+	 * 
+	 * @param maxResults the maximum number of queue items to return
+	 * @return the first pending queue items
+	 * @since 2.6.0
+	 * <strong>Should</strong> return pending queue items in the order they were received
+	 * <strong>Should</strong> return no more than the given number of queue items
+	 */
+	@Authorized(PrivilegeConstants.GET_HL7_IN_QUEUE)
+	public List<HL7InQueue> getNextHL7InQueues(int maxResults) throws APIException;
+	
 	/**
 	 * Completely delete the hl7 in queue item from the database.
 	 * 
@@ -421,6 +433,21 @@ public interface HL7Service extends OpenmrsService {
 	 */
 	public HL7InQueue processHL7InQueue(HL7InQueue inQueue) throws HL7Exception;
 	
+	/**
+	 * Processes the given {@link HL7InQueue} items one after the other in a single transaction, so
+	 * that the encounters and obs created from all of them are committed together. Each item is
+	 * handled as in {@link #processHL7InQueue(HL7InQueue)}, if the transaction fails as a whole none
+	 * of the items are removed from the queue.
+	 * 
+	 * @param inQueues the {@link HL7InQueue} items to process, in the order to process them
+	 * @return the processed {@link HL7InQueue} items
+	 * @throws HL7Exception
+	 * @since 2.6.0
+	 * <strong>Should</strong> create HL7InArchives after successful parsing
+	 * <strong>Should</strong> create HL7InErrors for the items that failed parsing
+	 */
+	public List<HL7InQueue> processHL7InQueues(List<HL7InQueue> inQueues) throws HL7Exception;
+	
 	/**
 	 * Parses the given string and returns the resulting {@link Message}
 	 * 
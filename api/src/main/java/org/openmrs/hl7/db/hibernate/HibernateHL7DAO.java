@@ -205,6 +205,17 @@ public class HibernateHL7DAO implements HL7DAO {
 		return (HL7InQueue) query.uniqueResult();
 	}
 	
+	/**
+	 * @see org.openmrs.hl7.db.HL7DAO#getNextHL7InQueues(int)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<HL7InQueue> getNextHL7InQueues(int maxResults) throws DAOException {
+		return sessionFactory.getCurrentSession().createQuery(
+		    "from HL7InQueue as hiq where hiq.messageState = ?0 order by HL7InQueueId").setParameter(0,
+		    HL7Constants.HL7_STATUS_PENDING, StandardBasicTypes.INTEGER).setMaxResults(maxResults).list();
+	}
+	
 	/**
 	 * @see org.openmrs.hl7.db.HL7DAO#deleteHL7InQueue(org.openmrs.hl7.HL7InQueue)
 	 */
@@ -26,6 +26,8 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -93,6 +95,12 @@ public class HL7ServiceImpl extends BaseOpenmrsService implements HL7Service {
 	
 	private GenericParser parser;
 	
+	/**
+	 * Copies of the injected parser which are not in use by any thread at the moment, HAPI parsers
+	 * keep per parse state so a parser is never shared by two threads at the same time
+	 */
+	private final Queue<GenericParser> idleParsers = new ConcurrentLinkedQueue<>();
+	
 	private MessageTypeRouter router;
 	
 	/**
@@ -130,6 +138,7 @@ public class HL7ServiceImpl extends BaseOpenmrsService implements HL7Service {
 	 */
 	public void setParser(GenericParser parser) {
 		this.parser = parser;
+		idleParsers.clear();
 	}
 	
 	/**
@@ -311,6 +320,15 @@ public class HL7ServiceImpl extends BaseOpenmrsService implements HL7Service {
 		return dao.getNextHL7InQueue();
 	}
 	
+	/**
+	 * @see org.openmrs.hl7.HL7Service#getNextHL7InQueues(int)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<HL7InQueue> getNextHL7InQueues(int maxResults) throws APIException {
+		return dao.getNextHL7InQueues(maxResults);
+	}
+	
 	/**
 	 * @see org.openmrs.hl7.HL7Service#getHL7InArchiveByState(java.lang.Integer)
 	 */
@@ -765,6 +783,19 @@ public class HL7ServiceImpl extends BaseOpenmrsService implements HL7Service {
 		return hl7InQueue;
 	}
 	
+	/**
+	 * @see org.openmrs.hl7.HL7Service#processHL7InQueues(java.util.List)
+	 */
+	@Override
+	public List<HL7InQueue> processHL7InQueues(List<HL7InQueue> inQueues) throws HL7Exception {
+		List<HL7InQueue> processed = new ArrayList<>(inQueues.size());
+		for (HL7InQueue hl7InQueue : inQueues) {
+			// NOT making a direct call here so that AOP can happen around this method
+			processed.add(Context.getHL7Service().processHL7InQueue(hl7InQueue));
+		}
+		return processed;
+	}
+	
 	/**
 	 * Convenience method to respond to fatal errors by moving the queue entry into an error bin
 	 * prior to aborting
@@ -793,8 +824,17 @@ public class HL7ServiceImpl extends BaseOpenmrsService implements HL7Service {
 		
 		// First, try and parse the message
 		Message message;
+		GenericParser sharedParser = parser;
+		GenericParser pooledParser = borrowParser(sharedParser);
 		try {
-			message = parser.parse(hl7Message);
+			if (pooledParser == sharedParser) {
+				// a subclass provided by a module can't be copied, so it is used by one thread at a time
+				synchronized (sharedParser) {
+					message = sharedParser.parse(hl7Message);
+				}
+			} else {
+				message = pooledParser.parse(hl7Message);
+			}
 		}
 		catch (EncodingNotSupportedException e) {
 			throw new HL7Exception("HL7 encoding not supported", e);
@@ -802,10 +842,40 @@ public class HL7ServiceImpl extends BaseOpenmrsService implements HL7Service {
 		catch (HL7Exception e) {
 			throw new HL7Exception("Error parsing message", e);
 		}
+		finally {
+			if (pooledParser != sharedParser) {
+				idleParsers.offer(pooledParser);
+			}
+		}
 		
 		return message;
 	}
 	
+	/**
+	 * Takes an idle copy of the injected parser, creating a new one sharing the same HAPI context
+	 * if all copies are in use. The copies have to be handed back to {@link #idleParsers} once
+	 * the parsing is done.
+	 *
+	 * @param currentParser the injected parser
+	 * @return a parser that is not used by any other thread, or the injected parser itself if it
+	 *         is not a plain {@link GenericParser}
+	 */
+	private GenericParser borrowParser(GenericParser currentParser) {
+		if (currentParser.getClass() != GenericParser.class) {
+			return currentParser;
+		}
+		
+		GenericParser idleParser = idleParsers.poll();
+		if (idleParser == null) {
+			idleParser = new GenericParser(currentParser.getHapiContext());
+			idleParser.setValidationContext(currentParser.getValidationContext());
+			if (!currentParser.isPipeParserPrimary()) {
+				idleParser.setXMLParserAsPrimary();
+			}
+		}
+		return idleParser;
+	}
+	
 	/**
 	 * @see org.openmrs.hl7.HL7Service#getHL7InArchiveByUuid(java.lang.String)
 	 */
@@ -97,6 +97,8 @@ public final class Module {
 	
 	private String startupErrorMessage = null;
 	
+	private volatile Long startupTime = null;
+	
 	/**
 	 * Simple constructor
 	 *
@@ -764,6 +766,23 @@ public final class Module {
 		this.startupErrorMessage = null;
 	}
 	
+	/**
+	 * @return the number of milliseconds the last start of this module took, or null if it has not
+	 *         been started
+	 * @since 2.6.0
+	 */
+	public Long getStartupTime() {
+		return startupTime;
+	}
+	
+	/**
+	 * @param startupTime the number of milliseconds the last start of this module took
+	 * @since 2.6.0
+	 */
+	public void setStartupTime(Long startupTime) {
+		this.startupTime = startupTime;
+	}
+	
 	@Override
 	public String toString() {
 		if (moduleId == null) {
@@ -38,8 +38,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openmrs.api.APIException;
 import org.openmrs.util.OpenmrsClassLoader;
@@ -57,19 +59,30 @@ public class ModuleClassLoader extends URLClassLoader {
 	
 	private static final Logger log = LoggerFactory.getLogger(ModuleClassLoader.class);
 	
+	static {
+		// classes are loaded under a lock per class name instead of a lock on the whole class loader
+		ClassLoader.registerAsParallelCapable();
+	}
+	
 	private final Module module;
 	
 	private Module[] requiredModules;
 	
 	private Module[] awareOfModules;
 	
+	// the required and aware of modules, in the order classes are looked up in them
+	private volatile Module[] importedModules;
+	
+	// names of the classes this class loader itself does not have, cleared whenever urls are added
+	private final Set<String> classesNotFound = ConcurrentHashMap.newKeySet();
+	
 	private Map<URI, File> libraryCache;
 	
 	private boolean probeParentLoaderLast = true;
 	
 	private Set<String> providedPackages = new LinkedHashSet<>();
 	
-	private boolean disposed = false;
+	private volatile boolean disposed = false;
 	
 	
 	/**
@@ -94,6 +107,7 @@ public class ModuleClassLoader extends URLClassLoader {
 		this.module = module;
 		requiredModules = collectRequiredModuleImports(module);
 		awareOfModules = collectAwareOfModuleImports(module);
+		importedModules = ArrayUtils.addAll(requiredModules, awareOfModules);
 		libraryCache = new WeakHashMap<>();
 	}
 	
@@ -516,6 +530,9 @@ public class ModuleClassLoader extends URLClassLoader {
 		}
 		requiredModules = collectRequiredModuleImports(getModule());
 		awareOfModules = collectAwareOfModuleImports(getModule());
+		importedModules = ArrayUtils.addAll(requiredModules, awareOfModules);
+		// classes missing before may be in the urls that were just added
+		classesNotFound.clear();
 		libraryCache.entrySet().removeIf(uriFileEntry -> uriFileEntry.getValue() == null);
 	}
 	
@@ -529,8 +546,10 @@ public class ModuleClassLoader extends URLClassLoader {
 		}
 		
 		libraryCache.clear();
+		classesNotFound.clear();
 		requiredModules = null;
 		awareOfModules = null;
+		importedModules = null;
 		disposed = true;
 	}
 	
@@ -597,7 +616,7 @@ public class ModuleClassLoader extends URLClassLoader {
 	 * @return Class that has been loaded
 	 * @throws ClassNotFoundException if no class found
 	 */
-	protected synchronized Class<?> loadClass(final String name, final boolean resolve, final ModuleClassLoader requestor,
+	protected Class<?> loadClass(final String name, final boolean resolve, final ModuleClassLoader requestor,
 	        Set<String> seenModules) throws ClassNotFoundException {
 		
 		if (log.isTraceEnabled()) {
@@ -629,18 +648,7 @@ public class ModuleClassLoader extends URLClassLoader {
 			throw new ClassNotFoundException(msg);
 		}
 		
-		// Check if the class has already been loaded by this class loader
-		Class<?> result = findLoadedClass(name);
-		
-		// Try loading the class with this class loader 
-		if (result == null) {
-			try {
-				result = findClass(name);
-			}
-			catch (ClassNotFoundException e) {
-				// Continue trying...
-			}
-		}
+		Class<?> result = findOwnClass(name);
 		
 		// We were able to "find" a class
 		if (result != null) {
@@ -651,6 +659,10 @@ public class ModuleClassLoader extends URLClassLoader {
 		
 		// Look through this module's imports to see if the class
 		// can be loaded from them.
+		Module[] importedModules = this.importedModules;
+		if (importedModules == null || importedModules.length == 0) {
+			throw new ClassNotFoundException(name);
+		}
 		
 		if (seenModules == null) {
 			seenModules = new HashSet<>();
@@ -659,14 +671,6 @@ public class ModuleClassLoader extends URLClassLoader {
 		// Add this module to the list of modules we've tried already
 		seenModules.add(getModule().getModuleId());
 		
-		List<Module> importedModules = new ArrayList<>();
-		if (requiredModules != null) {
-			Collections.addAll(importedModules, requiredModules);
-		}
-		if (awareOfModules != null) {
-			Collections.addAll(importedModules, awareOfModules);
-		}
-		
 		for (Module importedModule : importedModules) {
 			if (seenModules.contains(importedModule.getModuleId())) {
 				continue;
@@ -690,6 +694,34 @@ public class ModuleClassLoader extends URLClassLoader {
 		throw new ClassNotFoundException(name);
 	}
 	
+	/**
+	 * Finds the given class in the urls of this class loader only, remembering the classes that are
+	 * not there so that they are only searched for once
+	 * 
+	 * @param name the name of the class
+	 * @return the class or null if this class loader does not have it
+	 */
+	private Class<?> findOwnClass(final String name) {
+		if (classesNotFound.contains(name)) {
+			return null;
+		}
+		synchronized (getClassLoadingLock(name)) {
+			// Check if the class has already been loaded by this class loader
+			Class<?> result = findLoadedClass(name);
+			
+			// Try loading the class with this class loader
+			if (result == null) {
+				try {
+					result = findClass(name);
+				}
+				catch (ClassNotFoundException e) {
+					classesNotFound.add(name);
+				}
+			}
+			return result;
+		}
+	}
+	
 	/**
 	 * Checking the given class's visibility in this module
 	 *
@@ -78,6 +78,15 @@ public class ModuleConstants {
 	 */
 	public static final String REPOSITORY_FOLDER_RUNTIME_PROPERTY = "module.repository_folder";
 	
+	/**
+	 * Name of the runtime property holding the number of threads used to start the modules at
+	 * startup. Modules that do not depend on each other are started at the same time when it is
+	 * greater than 1, the default is 1 which starts the modules one after the other.
+	 *
+	 * @since 2.6.0
+	 */
+	public static final String RUNTIMEPROPERTY_MODULE_STARTUP_THREADS = "module.startup_threads";
+	
 	/**
 	 * A module message.properties file containing this key mapped to "true" will be allowed to define messages outside of the module's namespace.
 	 *
@@ -29,7 +29,13 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.aopalliance.aop.Advice;
 import org.openmrs.GlobalProperty;
@@ -65,14 +71,17 @@ public class ModuleFactory {
 	
 	private static final Logger log = LoggerFactory.getLogger(ModuleFactory.class);
 	
-	protected static volatile Map<String, Module> loadedModules = new WeakHashMap<>();
+	// the maps are synchronized since modules can be started in parallel while other threads read them
 	
-	protected static volatile Map<String, Module> startedModules = new WeakHashMap<>();
+	protected static volatile Map<String, Module> loadedModules = Collections.synchronizedMap(new WeakHashMap<>());
 	
-	protected static volatile Map<String, List<Extension>> extensionMap = new HashMap<>();
+	protected static volatile Map<String, Module> startedModules = Collections.synchronizedMap(new WeakHashMap<>());
+	
+	protected static volatile Map<String, List<Extension>> extensionMap = Collections.synchronizedMap(new HashMap<>());
 	
 	// maps to keep track of the memory and objects to free/close
-	protected static volatile Map<Module, ModuleClassLoader> moduleClassLoaders = new WeakHashMap<>();
+	protected static volatile Map<Module, ModuleClassLoader> moduleClassLoaders = Collections
+	        .synchronizedMap(new WeakHashMap<>());
 	
 	private static Map<String, Set<ModuleClassLoader>> providedPackages = new ConcurrentHashMap<>();
 	
@@ -83,6 +92,12 @@ public class ModuleFactory {
 	
 	private static volatile Set<String> actualStartupOrder;
 	
+	// guards the changes that span several of the maps above, the extension lists and the startup order
+	private static final Object registryLock = new Object();
+	
+	// serializes the sqldiff and liquibase updates of modules started in parallel
+	private static final Object databaseUpdateLock = new Object();
+	
 	/**
 	 * Add a module (in the form of a jar file) to the list of openmrs modules Returns null if an error
 	 * occurred and/or module was not successfully loaded
@@ -229,6 +244,7 @@ public class ModuleFactory {
 		if (!getLoadedModules().isEmpty()) {
 			
 			List<Module> modules = getModulesThatShouldStart();
+			boolean hasCycles = false;
 			
 			try {
 				modules = getModulesInStartupOrder(modules);
@@ -238,36 +254,164 @@ public class ModuleFactory {
 				log.error(message, ex);
 				notifySuperUsersAboutCyclicDependencies(ex);
 				modules = (List<Module>) ex.getExtraData();
+				hasCycles = true;
 			}
 			
 			// try and start the modules that should be started
+			int threads = getStartupThreads();
+			if (threads > 1 && !hasCycles) {
+				startModulesInParallel(modules, threads);
+			} else {
+				for (Module mod : modules) {
+					startModuleAtStartup(mod);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Starts the given module unless it is already started, skipping over it if its required
+	 * modules are not started
+	 * 
+	 * @param mod the module to start
+	 */
+	private static void startModuleAtStartup(Module mod) {
+		if (mod.isStarted()) {
+			// skip over modules that are already started
+			return;
+		}
+		
+		// Skip module if required ones are not started
+		if (!requiredModulesStarted(mod)) {
+			String message = getFailedToStartModuleMessage(mod);
+			log.error(message);
+			mod.setStartupErrorMessage(message);
+			notifySuperUsersAboutModuleFailure(mod);
+			return;
+		}
+		
+		try {
+			log.debug("starting module: {}", mod.getModuleId());
+			startModule(mod);
+		}
+		catch (Exception e) {
+			log.error("Error while starting module: " + mod.getName(), e);
+			mod.setStartupErrorMessage("Error while starting module", e);
+			notifySuperUsersAboutModuleFailure(mod);
+		}
+	}
+	
+	/**
+	 * Starts the given modules on a pool of threads, a module is started as soon as the modules it
+	 * requires or is aware of have been started (or have failed to start), so modules that do not
+	 * depend on each other are started at the same time. Their database updates are still run one
+	 * module at a time.
+	 * 
+	 * @param modules the modules to start, in startup order
+	 * @param threads the number of modules to start at the same time
+	 */
+	private static void startModulesInParallel(List<Module> modules, int threads) {
+		// for each module the modules being started it has to wait for, and the other way around
+		Map<Module, Set<Module>> waitingFor = new HashMap<>();
+		Map<Module, List<Module>> dependents = new HashMap<>();
+		for (Module mod : modules) {
+			Set<Module> dependencies = new HashSet<>();
+			Set<String> packages = new HashSet<>(mod.getRequiredModules());
+			packages.addAll(mod.getAwareOfModules());
+			for (String modulePackage : packages) {
+				Module dependency = getModuleByPackage(modulePackage);
+				if (dependency != null && !dependency.equals(mod) && modules.contains(dependency)) {
+					dependencies.add(dependency);
+					dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(mod);
+				}
+			}
+			waitingFor.put(mod, dependencies);
+		}
+		
+		log.info("Starting {} modules using {} threads", modules.size(), threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CompletionService<Module> completionService = new ExecutorCompletionService<>(executor);
+		int running = 0;
+		try {
 			for (Module mod : modules) {
-				
-				if (mod.isStarted()) {
-					// skip over modules that are already started
-					continue;
+				if (waitingFor.get(mod).isEmpty()) {
+					completionService.submit(() -> startModuleInNewSession(mod), mod);
+					running++;
 				}
-				
-				// Skip module if required ones are not started
-				if (!requiredModulesStarted(mod)) {
-					String message = getFailedToStartModuleMessage(mod);
-					log.error(message);
-					mod.setStartupErrorMessage(message);
-					notifySuperUsersAboutModuleFailure(mod);
+			}
+			
+			while (running > 0) {
+				Future<Module> done = completionService.take();
+				running--;
+				Module startedModule;
+				try {
+					startedModule = done.get();
+				}
+				catch (ExecutionException e) {
+					// the modules waiting for the failed one are left for the loop below
+					log.error("Error while starting a module", e.getCause());
 					continue;
 				}
 				
-				try {
-					log.debug("starting module: {}", mod.getModuleId());
-					startModule(mod);
-				}
-				catch (Exception e) {
-					log.error("Error while starting module: " + mod.getName(), e);
-					mod.setStartupErrorMessage("Error while starting module", e);
-					notifySuperUsersAboutModuleFailure(mod);
+				for (Module dependent : dependents.getOrDefault(startedModule, Collections.emptyList())) {
+					Set<Module> dependencies = waitingFor.get(dependent);
+					dependencies.remove(startedModule);
+					if (dependencies.isEmpty()) {
+						completionService.submit(() -> startModuleInNewSession(dependent), dependent);
+						running++;
+					}
 				}
 			}
 		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted while starting modules", e);
+			return;
+		}
+		finally {
+			executor.shutdown();
+		}
+		
+		// report the modules that never got their turn because a module they wait for failed badly
+		for (Module mod : modules) {
+			if (!waitingFor.get(mod).isEmpty() && !mod.isStarted() && !mod.hasStartupError()) {
+				startModuleAtStartup(mod);
+			}
+		}
+	}
+	
+	/**
+	 * Runs {@link #startModuleAtStartup(Module)} in a session of its own, for the threads of
+	 * {@link #startModulesInParallel(List, int)}
+	 * 
+	 * @param mod the module to start
+	 */
+	private static void startModuleInNewSession(Module mod) {
+		Context.openSession();
+		try {
+			startModuleAtStartup(mod);
+		}
+		finally {
+			Context.closeSession();
+		}
+	}
+	
+	/**
+	 * @return the number of threads to start modules with at startup, from the
+	 *         {@link ModuleConstants#RUNTIMEPROPERTY_MODULE_STARTUP_THREADS} runtime property
+	 */
+	private static int getStartupThreads() {
+		String threads = Context.getRuntimeProperties().getProperty(ModuleConstants.RUNTIMEPROPERTY_MODULE_STARTUP_THREADS);
+		if (StringUtils.hasText(threads)) {
+			try {
+				return Integer.parseInt(threads.trim());
+			}
+			catch (NumberFormatException e) {
+				log.warn("Invalid value '{}' for the {} runtime property, starting modules one at a time", threads,
+				    ModuleConstants.RUNTIMEPROPERTY_MODULE_STARTUP_THREADS);
+			}
+		}
+		return 1;
 	}
 	
 	/**
@@ -435,16 +579,14 @@ public class ModuleFactory {
 	}
 	
 	/**
-	 * Returns all modules found/loaded into the system (started and not started)
+	 * Returns all modules found/loaded into the system (started and not started). Since 2.6.0 this is
+	 * a copy rather than a live view of {@link #getLoadedModulesMap()}, so that it can be iterated
+	 * while modules are loaded or started by other threads.
 	 * 
 	 * @return <code>Collection&lt;Module&gt;</code> of the modules loaded into the system
 	 */
 	public static Collection<Module> getLoadedModules() {
-		if (getLoadedModulesMap().size() > 0) {
-			return getLoadedModulesMap().values();
-		}
-		
-		return Collections.emptyList();
+		return copyValues(getLoadedModulesMap());
 	}
 	
 	/**
@@ -455,7 +597,11 @@ public class ModuleFactory {
 	 */
 	public static Map<String, Module> getLoadedModulesMap() {
 		if (loadedModules == null) {
-			loadedModules = new WeakHashMap<>();
+			synchronized (registryLock) {
+				if (loadedModules == null) {
+					loadedModules = Collections.synchronizedMap(new WeakHashMap<>());
+				}
+			}
 		}
 		
 		return loadedModules;
@@ -468,40 +614,35 @@ public class ModuleFactory {
 	 * @return map&lt;PackageName, Module&gt;
 	 */
 	public static Map<String, Module> getLoadedModulesMapPackage() {
-		if (loadedModules == null) {
-			loadedModules = new WeakHashMap<>();
-			return loadedModules;
-		}
-		
 		Map<String, Module> map = new WeakHashMap<>();
-		for (Module loadedModule : loadedModules.values()) {
+		for (Module loadedModule : getLoadedModules()) {
 			map.put(loadedModule.getPackageName(), loadedModule);
 		}
 		return map;
 	}
 	
 	/**
-	 * Returns the modules that have been successfully started
+	 * Returns the modules that have been successfully started. Since 2.6.0 this is a copy rather than
+	 * a live view of {@link #getStartedModulesMap()}, so that it can be iterated while modules are
+	 * started or stopped by other threads.
 	 * 
 	 * @return <code>Collection&lt;Module&gt;</code> of the started modules
 	 */
 	public static Collection<Module> getStartedModules() {
-		if (getStartedModulesMap().size() > 0) {
-			return getStartedModulesMap().values();
-		}
-		
-		return Collections.emptyList();
+		return copyValues(getStartedModulesMap());
 	}
 	
 	public static List<Module> getStartedModulesInOrder() {
 		List<Module> modules = new ArrayList<>();
-		if (actualStartupOrder != null) {
-			for (String moduleId : actualStartupOrder) {
-				modules.add(getStartedModulesMap().get(moduleId));
+		synchronized (registryLock) {
+			if (actualStartupOrder != null) {
+				for (String moduleId : actualStartupOrder) {
+					modules.add(getStartedModulesMap().get(moduleId));
+				}
+				return modules;
 			}
-		} else {
-			modules.addAll(getStartedModules());
 		}
+		modules.addAll(getStartedModules());
 		return modules;
 	}
 	
@@ -513,12 +654,26 @@ public class ModuleFactory {
 	 */
 	public static Map<String, Module> getStartedModulesMap() {
 		if (startedModules == null) {
-			startedModules = new WeakHashMap<>();
+			synchronized (registryLock) {
+				if (startedModules == null) {
+					startedModules = Collections.synchronizedMap(new WeakHashMap<>());
+				}
+			}
 		}
 		
 		return startedModules;
 	}
 	
+	/**
+	 * Copies the values of one of the synchronized maps while holding its lock, so that the copy
+	 * can be iterated while modules are started or stopped by other threads
+	 */
+	private static <V> Collection<V> copyValues(Map<?, V> map) {
+		synchronized (map) {
+			return map.isEmpty() ? Collections.emptyList() : new ArrayList<>(map.values());
+		}
+	}
+	
 	/**
 	 * @param moduleId
 	 * @return Module matching module id or null if none
@@ -540,7 +695,7 @@ public class ModuleFactory {
 	 * @return Module matching module package or null if none
 	 */
 	public static Module getModuleByPackage(String modulePackage) {
-		for (Module mod : getLoadedModulesMap().values()) {
+		for (Module mod : getLoadedModules()) {
 			if (mod.getPackageName().equals(modulePackage)) {
 				return mod;
 			}
@@ -641,6 +796,7 @@ public class ModuleFactory {
 		
 		if (module != null) {
 			String moduleId = module.getModuleId();
+			long startTime = System.currentTimeMillis();
 			
 			try {
 				
@@ -656,8 +812,10 @@ public class ModuleFactory {
 				
 				// fire up the classloader for this module
 				ModuleClassLoader moduleClassLoader = new ModuleClassLoader(module, ModuleFactory.class.getClassLoader());
-				getModuleClassLoaderMap().put(module, moduleClassLoader);
-				registerProvidedPackages(moduleClassLoader);
+				synchronized (registryLock) {
+					getModuleClassLoaderMap().put(module, moduleClassLoader);
+					registerProvidedPackages(moduleClassLoader);
+				}
 				
 				// don't load the advice objects into the Context
 				// At startup, the spring context isn't refreshed until all modules
@@ -679,17 +837,19 @@ public class ModuleFactory {
 				
 				// Sort this module's extensions, and merge them into the full extensions map
 				Comparator<Extension> sortOrder = (e1, e2) -> Integer.valueOf(e1.getOrder()).compareTo(e2.getOrder());
-				for (Map.Entry<String, List<Extension>> moduleExtensionEntry : moduleExtensionMap.entrySet()) {
-					// Sort this module's extensions for current extension point
-					List<Extension> sortedModuleExtensions = moduleExtensionEntry.getValue();
-					sortedModuleExtensions.sort(sortOrder);
-					
-					// Get existing extensions, and append the ones from the new module
-					List<Extension> extensions = getExtensionMap().computeIfAbsent(moduleExtensionEntry.getKey(),
-					    k -> new ArrayList<>());
-					for (Extension ext : sortedModuleExtensions) {
-						log.debug("Adding to mapping ext: " + ext.getExtensionId() + " ext.class: " + ext.getClass());
-						extensions.add(ext);
+				synchronized (registryLock) {
+					for (Map.Entry<String, List<Extension>> moduleExtensionEntry : moduleExtensionMap.entrySet()) {
+						// Sort this module's extensions for current extension point
+						List<Extension> sortedModuleExtensions = moduleExtensionEntry.getValue();
+						sortedModuleExtensions.sort(sortOrder);
+						
+						// Get existing extensions, and append the ones from the new module
+						List<Extension> extensions = getExtensionMap().computeIfAbsent(moduleExtensionEntry.getKey(),
+						    k -> new ArrayList<>());
+						for (Extension ext : sortedModuleExtensions) {
+							log.debug("Adding to mapping ext: " + ext.getExtensionId() + " ext.class: " + ext.getClass());
+							extensions.add(ext);
+						}
 					}
 				}
 				
@@ -697,37 +857,43 @@ public class ModuleFactory {
 				// This and the property updates are the only things that can't
 				// be undone at startup, so put these calls after any other
 				// calls that might hinder startup
-				SortedMap<String, String> diffs = SqlDiffFileParser.getSqlDiffs(module);
+				// modules started in parallel must not update the database at the same time, sqldiff
+				// statements would interleave and liquibase would fail to get its changelog lock
+				synchronized (databaseUpdateLock) {
+					SortedMap<String, String> diffs = SqlDiffFileParser.getSqlDiffs(module);
 				
-				try {
-					// this method must check and run queries against the database.
-					// to do this, it must be "authenticated".  Give the current
-					// "user" the proxy privilege so this can be done. ("user" might
-					// be nobody because this is being run at startup)
-					Context.addProxyPrivilege("");
+					try {
+						// this method must check and run queries against the database.
+						// to do this, it must be "authenticated".  Give the current
+						// "user" the proxy privilege so this can be done. ("user" might
+						// be nobody because this is being run at startup)
+						Context.addProxyPrivilege("");
 					
-					for (Map.Entry<String, String> entry : diffs.entrySet()) {
-						String version = entry.getKey();
-						String sql = entry.getValue();
-						if (StringUtils.hasText(sql)) {
-							runDiff(module, version, sql);
+						for (Map.Entry<String, String> entry : diffs.entrySet()) {
+							String version = entry.getKey();
+							String sql = entry.getValue();
+							if (StringUtils.hasText(sql)) {
+								runDiff(module, version, sql);
+							}
 						}
 					}
-				}
-				finally {
-					// take the "authenticated" privilege away from the current "user"
-					Context.removeProxyPrivilege("");
-				}
+					finally {
+						// take the "authenticated" privilege away from the current "user"
+						Context.removeProxyPrivilege("");
+					}
 				
-				// run module's optional liquibase.xml immediately after sqldiff.xml
-				runLiquibase(module);
+					// run module's optional liquibase.xml immediately after sqldiff.xml
+					runLiquibase(module);
+				}
 				
 				// effectively mark this module as started successfully
-				getStartedModulesMap().put(moduleId, module);
-				if (actualStartupOrder == null) {
-					actualStartupOrder = new LinkedHashSet<>();
+				synchronized (registryLock) {
+					getStartedModulesMap().put(moduleId, module);
+					if (actualStartupOrder == null) {
+						actualStartupOrder = new LinkedHashSet<>();
+					}
+					actualStartupOrder.add(moduleId);
 				}
-				actualStartupOrder.add(moduleId);
 				
 				try {
 					// save the state of this module for future restarts
@@ -752,7 +918,9 @@ public class ModuleFactory {
 				// done at initial app startup)
 				if (!module.getPrivileges().isEmpty() || !module.getGlobalProperties().isEmpty()) {
 					log.debug("Updating core dataset");
-					Context.checkCoreDataset();
+					synchronized (registryLock) {
+						Context.checkCoreDataset();
+					}
 					// checkCoreDataset() currently doesn't throw an error. If
 					// it did, it needs to be
 					// caught and the module needs to be stopped and given a
@@ -791,7 +959,9 @@ public class ModuleFactory {
 						skipOverStartedProperty = true;
 					}
 					
-					stopModule(module, skipOverStartedProperty, true);
+					synchronized (registryLock) {
+						stopModule(module, skipOverStartedProperty, true);
+					}
 				}
 				catch (Exception e2) {
 					// this will probably occur about the same place as the
@@ -800,6 +970,8 @@ public class ModuleFactory {
 				}
 			}
 			
+			module.setStartupTime(System.currentTimeMillis() - startTime);
+			log.debug("Starting module {} took {} ms", moduleId, module.getStartupTime());
 		}
 		
 		if (applicationContext != null) {
@@ -821,6 +993,7 @@ public class ModuleFactory {
 			newSet.add(moduleClassLoader);
 			providedPackages.put(providedPackage, newSet);
 		}
+		OpenmrsClassLoader.clearClassesNotFound();
 	}
 	
 	private static void unregisterProvidedPackages(ModuleClassLoader moduleClassLoader) {
@@ -835,6 +1008,7 @@ public class ModuleFactory {
 			
 			providedPackages.put(providedPackage, newSet);
 		}
+		OpenmrsClassLoader.clearClassesNotFound();
 	}
 	
 	public static Set<ModuleClassLoader> getModuleClassLoadersForPackage(String packageName) {
@@ -1088,11 +1262,13 @@ public class ModuleFactory {
 				}
 			}
 			
-			getStartedModulesMap().remove(moduleId);
-			if (actualStartupOrder != null) {
-				actualStartupOrder.remove(moduleId);
-				for (Module depModule : dependentModulesStopped) {
-					actualStartupOrder.remove(depModule.getModuleId());
+			synchronized (registryLock) {
+				getStartedModulesMap().remove(moduleId);
+				if (actualStartupOrder != null) {
+					actualStartupOrder.remove(moduleId);
+					for (Module depModule : dependentModulesStopped) {
+						actualStartupOrder.remove(depModule.getModuleId());
+					}
 				}
 			}
 			
@@ -1134,9 +1310,11 @@ public class ModuleFactory {
 					for (Extension ext : mod.getExtensions()) {
 						String extId = ext.getExtensionId();
 						try {
-							List<Extension> tmpExtensions = getExtensions(extId);
-							tmpExtensions.remove(ext);
-							getExtensionMap().put(extId, tmpExtensions);
+							synchronized (registryLock) {
+								List<Extension> tmpExtensions = getExtensions(extId);
+								tmpExtensions.remove(ext);
+								getExtensionMap().put(extId, tmpExtensions);
+							}
 						}
 						catch (Exception exterror) {
 							log.warn("Error while getting extension: " + ext, exterror);
@@ -1209,13 +1387,12 @@ public class ModuleFactory {
 	}
 	
 	private static ModuleClassLoader removeClassLoader(Module mod) {
-		// create map if it is null
-		getModuleClassLoaderMap();
-		if (!moduleClassLoaders.containsKey(mod)) {
+		ModuleClassLoader moduleClassLoader = getModuleClassLoaderMap().remove(mod);
+		if (moduleClassLoader == null) {
 			log.warn("Module: " + mod.getModuleId() + " does not exist");
 		}
 		
-		return moduleClassLoaders.remove(mod);
+		return moduleClassLoader;
 	}
 	
 	/**
@@ -1231,7 +1408,7 @@ public class ModuleFactory {
 		}
 		
 		// remove from list of loaded modules
-		getLoadedModules().remove(mod);
+		getLoadedModulesMap().values().remove(mod);
 		
 		if (mod != null) {
 			// remove the file from the module repository
@@ -1257,25 +1434,26 @@ public class ModuleFactory {
 		List<Extension> extensions;
 		Map<String, List<Extension>> extensionMap = getExtensionMap();
 		
-		// get all extensions for this exact pointId
-		extensions = extensionMap.get(pointId);
-		if (extensions == null) {
-			extensions = new ArrayList<>();
-		}
-		
-		// if this pointId doesn't contain the separator character, search
-		// for this point prepended with each MEDIA TYPE
-		if (!pointId.contains(Extension.EXTENSION_ID_SEPARATOR)) {
-			for (MEDIA_TYPE mediaType : Extension.MEDIA_TYPE.values()) {
-				
-				// get all extensions for this type and point id
-				List<Extension> tmpExtensions = extensionMap.get(Extension.toExtensionId(pointId, mediaType));
-				
-				// 'extensions' should be a unique list
-				if (tmpExtensions != null) {
-					for (Extension ext : tmpExtensions) {
-						if (!extensions.contains(ext)) {
-							extensions.add(ext);
+		// the extension lists are changed while holding the lock, so a copy is returned
+		synchronized (registryLock) {
+			// get all extensions for this exact pointId
+			extensions = extensionMap.get(pointId);
+			extensions = extensions == null ? new ArrayList<>() : new ArrayList<>(extensions);
+			
+			// if this pointId doesn't contain the separator character, search
+			// for this point prepended with each MEDIA TYPE
+			if (!pointId.contains(Extension.EXTENSION_ID_SEPARATOR)) {
+				for (MEDIA_TYPE mediaType : Extension.MEDIA_TYPE.values()) {
+					
+					// get all extensions for this type and point id
+					List<Extension> tmpExtensions = extensionMap.get(Extension.toExtensionId(pointId, mediaType));
+					
+					// 'extensions' should be a unique list
+					if (tmpExtensions != null) {
+						for (Extension ext : tmpExtensions) {
+							if (!extensions.contains(ext)) {
+								extensions.add(ext);
+							}
 						}
 					}
 				}
@@ -1296,7 +1474,13 @@ public class ModuleFactory {
 	 */
 	public static List<Extension> getExtensions(String pointId, Extension.MEDIA_TYPE type) {
 		String key = Extension.toExtensionId(pointId, type);
-		List<Extension> extensions = getExtensionMap().get(key);
+		List<Extension> extensions;
+		synchronized (registryLock) {
+			extensions = getExtensionMap().get(key);
+			if (extensions != null) {
+				extensions = new ArrayList<>(extensions);
+			}
+		}
 		if (extensions != null) {
 			log.debug("Getting extensions defined by : " + key);
 			return extensions;
@@ -1397,17 +1581,14 @@ public class ModuleFactory {
 	}
 	
 	/**
-	 * Returns all module classloaders This method will not return null
+	 * Returns all module classloaders This method will not return null. Since 2.6.0 this is a copy
+	 * rather than a live view of {@link #getModuleClassLoaderMap()}, so that classes can be looked up
+	 * while modules are started by other threads.
 	 * 
 	 * @return Collection&lt;ModuleClassLoader&gt; all known module classloaders or empty list.
 	 */
 	public static Collection<ModuleClassLoader> getModuleClassLoaders() {
-		Map<Module, ModuleClassLoader> classLoaders = getModuleClassLoaderMap();
-		if (classLoaders.size() > 0) {
-			return classLoaders.values();
-		}
-		
-		return Collections.emptyList();
+		return copyValues(getModuleClassLoaderMap());
 	}
 	
 	/**
@@ -1417,7 +1598,11 @@ public class ModuleFactory {
 	 */
 	public static Map<Module, ModuleClassLoader> getModuleClassLoaderMap() {
 		if (moduleClassLoaders == null) {
-			moduleClassLoaders = new WeakHashMap<>();
+			synchronized (registryLock) {
+				if (moduleClassLoaders == null) {
+					moduleClassLoaders = Collections.synchronizedMap(new WeakHashMap<>());
+				}
+			}
 		}
 		
 		return moduleClassLoaders;
@@ -1430,7 +1615,11 @@ public class ModuleFactory {
 	 */
 	public static Map<String, List<Extension>> getExtensionMap() {
 		if (extensionMap == null) {
-			extensionMap = new WeakHashMap<>();
+			synchronized (registryLock) {
+				if (extensionMap == null) {
+					extensionMap = Collections.synchronizedMap(new WeakHashMap<>());
+				}
+			}
 		}
 		
 		return extensionMap;
@@ -1641,7 +1830,10 @@ public class ModuleFactory {
 		List<String> dependentModules = null;
 		Module module = getModuleById(moduleId);
 		
-		Map<String, Module> startedModules = getStartedModulesMap();
+		Map<String, Module> startedModules;
+		synchronized (getStartedModulesMap()) {
+			startedModules = new HashMap<>(getStartedModulesMap());
+		}
 		String modulePackage = module.getPackageName();
 		
 		for (Entry<String, Module> entry : startedModules.entrySet()) {
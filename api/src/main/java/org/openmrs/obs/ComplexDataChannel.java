@@ -0,0 +1,192 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.obs;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read only view of the file a complex obs is stored in, returned as the data of the
+ * {@link ComplexObsHandler#CHANNEL_VIEW}. Unlike the other views it does not read the file into
+ * memory, callers fetch the byte ranges they need either by transferring them straight to another
+ * channel (which lets the operating system copy them without going through the heap), by mapping
+ * them into memory or by reading them as a stream.
+ * <p>
+ * The underlying {@link FileChannel} is opened when the view is created and must be closed by the
+ * caller once it is done with the data. All reads are positional, so ranges can be fetched in any
+ * order.
+ *
+ * @since 2.6.0
+ */
+public class ComplexDataChannel implements Closeable {
+
+	private final FileChannel channel;
+
+	private ComplexDataChannel(FileChannel channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * Opens the given file for reading.
+	 *
+	 * @param file the file to open
+	 * @return the view of the file
+	 * @throws IOException if the file can not be opened
+	 */
+	public static ComplexDataChannel open(File file) throws IOException {
+		return new ComplexDataChannel(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+	}
+
+	/**
+	 * @return the underlying channel, reading from it through its own position is not safe if other
+	 *         threads use this view at the same time
+	 */
+	public FileChannel getChannel() {
+		return channel;
+	}
+
+	/**
+	 * @return the size of the file in bytes
+	 * @throws IOException
+	 */
+	public long size() throws IOException {
+		return channel.size();
+	}
+
+	/**
+	 * Transfers a range of bytes to the given channel, for example the channel of a servlet response.
+	 *
+	 * @param position the offset of the first byte to transfer
+	 * @param count the maximum number of bytes to transfer, the range is cut off at the end of the file
+	 * @param target the channel to write to
+	 * @return the number of bytes transferred
+	 * @throws IOException
+	 * <strong>Should</strong> transfer the requested range
+	 * <strong>Should</strong> stop at the end of the file
+	 */
+	public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+		long end = end(position, count);
+		long transferred = 0;
+		while (position + transferred < end) {
+			long written = channel.transferTo(position + transferred, end - position - transferred, target);
+			if (written <= 0) {
+				break;
+			}
+			transferred += written;
+		}
+		return transferred;
+	}
+
+	/**
+	 * Maps a range of bytes into memory, the mapping stays valid after this view is closed and is
+	 * released once the returned buffer is garbage collected.
+	 *
+	 * @param position the offset of the first byte to map
+	 * @param count the maximum number of bytes to map, the range is cut off at the end of the file
+	 * @return a read only buffer holding the range
+	 * @throws IOException
+	 * @throws IllegalArgumentException if the position is negative or past the end of the file, the
+	 *             count is negative or the range is larger than {@link Integer#MAX_VALUE} bytes
+	 * <strong>Should</strong> map the requested range
+	 * <strong>Should</strong> fail if the position is past the end of the file
+	 */
+	public MappedByteBuffer map(long position, long count) throws IOException {
+		long end = end(position, count);
+		if (position > channel.size()) {
+			throw new IllegalArgumentException("The position must not be past the end of the file");
+		}
+		if (end - position > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Ranges larger than " + Integer.MAX_VALUE + " bytes can not be mapped");
+		}
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, end - position);
+	}
+
+	/**
+	 * Returns a stream reading a range of bytes, closing the stream does not close this view.
+	 *
+	 * @param position the offset of the first byte to read
+	 * @param count the maximum number of bytes to read, the range is cut off at the end of the file
+	 * @return the stream
+	 * @throws IOException
+	 * <strong>Should</strong> read the requested range
+	 */
+	public InputStream newInputStream(long position, long count) throws IOException {
+		return new RangeInputStream(position, end(position, count));
+	}
+
+	/**
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private long end(long position, long count) throws IOException {
+		if (position < 0 || count < 0) {
+			throw new IllegalArgumentException("The position and count must not be negative");
+		}
+		long size = channel.size();
+		return count > size - Math.min(position, size) ? size : position + count;
+	}
+
+	private class RangeInputStream extends InputStream {
+
+		private long position;
+
+		private final long end;
+
+		RangeInputStream(long position, long end) {
+			this.position = Math.min(position, end);
+			this.end = end;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] single = new byte[1];
+			return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (position >= end) {
+				return -1;
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(b, off, (int) Math.min(len, end - position));
+			int read = channel.read(buffer, position);
+			if (read > 0) {
+				position += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) {
+			long skipped = Math.max(0, Math.min(n, end - position));
+			position += skipped;
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return (int) Math.min(Integer.MAX_VALUE, end - position);
+		}
+	}
+}
@@ -44,6 +44,14 @@ public interface ComplexObsHandler {
 	
 	public static final String URI_VIEW = "URI_VIEW";
 	
+	/**
+	 * View returning a {@link ComplexDataChannel} on the stored data instead of reading it into
+	 * memory, the caller must close it
+	 * 
+	 * @since 2.6.0
+	 */
+	public static final String CHANNEL_VIEW = "CHANNEL_VIEW";
+	
 	/**
 	 * Save a complex obs. This extracts the ComplexData from an Obs, stores it to a location
 	 * determined by the handler, and returns the Obs with the ComplexData nullified.
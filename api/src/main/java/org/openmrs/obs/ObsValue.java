@@ -0,0 +1,94 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.obs;
+
+import java.util.Date;
+
+/**
+ * A lightweight, read only projection of an observation, holding the ids of the objects it refers
+ * to instead of the objects themselves, as returned by
+ * {@link org.openmrs.api.ObsService#getObsValues(org.openmrs.parameter.ObsSearchCriteria, int)}.
+ * It is read straight from the columns of the obs table, so no Obs, Person or Concept is loaded
+ * into the hibernate session.
+ *
+ * @since 2.6.0
+ */
+public class ObsValue {
+	
+	private final Integer obsId;
+	
+	private final Integer personId;
+	
+	private final Integer conceptId;
+	
+	private final Integer encounterId;
+	
+	private final Date obsDatetime;
+	
+	private final Double valueNumeric;
+	
+	private final Integer valueCodedId;
+	
+	private final Date valueDatetime;
+	
+	private final String valueText;
+	
+	public ObsValue(Integer obsId, Integer personId, Integer conceptId, Integer encounterId, Date obsDatetime,
+	    Double valueNumeric, Integer valueCodedId, Date valueDatetime, String valueText) {
+		this.obsId = obsId;
+		this.personId = personId;
+		this.conceptId = conceptId;
+		this.encounterId = encounterId;
+		this.obsDatetime = obsDatetime;
+		this.valueNumeric = valueNumeric;
+		this.valueCodedId = valueCodedId;
+		this.valueDatetime = valueDatetime;
+		this.valueText = valueText;
+	}
+	
+	public Integer getObsId() {
+		return obsId;
+	}
+	
+	public Integer getPersonId() {
+		return personId;
+	}
+	
+	public Integer getConceptId() {
+		return conceptId;
+	}
+	
+	public Integer getEncounterId() {
+		return encounterId;
+	}
+	
+	public Date getObsDatetime() {
+		return obsDatetime;
+	}
+	
+	public Double getValueNumeric() {
+		return valueNumeric;
+	}
+	
+	/**
+	 * @return the id of the coded answer, boolean answers are stored as the true and false concepts
+	 */
+	public Integer getValueCodedId() {
+		return valueCodedId;
+	}
+	
+	public Date getValueDatetime() {
+		return valueDatetime;
+	}
+	
+	public String getValueText() {
+		return valueText;
+	}
+}
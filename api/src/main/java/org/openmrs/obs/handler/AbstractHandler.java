@@ -15,10 +15,14 @@ import java.text.NumberFormat;
 import java.util.Arrays;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openmrs.Obs;
+import org.openmrs.api.APIException;
 import org.openmrs.api.context.Context;
 import org.openmrs.obs.ComplexData;
+import org.openmrs.obs.ComplexDataChannel;
+import org.openmrs.obs.ComplexObsHandler;
 import org.openmrs.util.OpenmrsConstants;
 import org.openmrs.util.OpenmrsUtil;
 import org.slf4j.Logger;
@@ -121,6 +125,56 @@ public class AbstractHandler {
 		return obs;
 	}
 	
+	/**
+	 * Attaches a {@link ComplexDataChannel} on the stored file to the given obs, used by the
+	 * handlers supporting the {@link ComplexObsHandler#CHANNEL_VIEW}.
+	 * 
+	 * @param obs the obs to attach the complex data to
+	 * @param title the title of the complex data
+	 * @return the obs with the complex data filled in
+	 * @throws APIException if the file can not be opened
+	 * @since 2.6.0
+	 */
+	protected Obs getObsWithChannel(Obs obs, String title) throws APIException {
+		File file = getComplexDataFile(obs);
+		ComplexDataChannel channel;
+		try {
+			channel = ComplexDataChannel.open(file);
+		}
+		catch (IOException e) {
+			throw new APIException("Obs.error.while.trying.get.binary.complex", null, e);
+		}
+		
+		try {
+			ComplexData complexData = new ComplexData(title, channel);
+			complexData.setMimeType(OpenmrsUtil.getFileMimeType(file));
+			complexData.setLength(channel.size());
+			obs.setComplexData(complexData);
+		}
+		catch (IOException | RuntimeException e) {
+			// the caller never gets hold of the channel, so it has to be closed here
+			IOUtils.closeQuietly(channel);
+			if (e instanceof RuntimeException) {
+				throw (RuntimeException) e;
+			}
+			throw new APIException("Obs.error.while.trying.get.binary.complex", null, e);
+		}
+		
+		return obs;
+	}
+	
+	/**
+	 * Gets the original name of the file the complex data was uploaded from, stored as the first part
+	 * of the value complex, with commas and spaces removed so that it can be used as a title.
+	 * 
+	 * @param obs the obs holding the complex data
+	 * @return the original file name
+	 * @since 2.6.0
+	 */
+	protected String getOriginalFilename(Obs obs) {
+		return obs.getValueComplex().split("\\|")[0].replace(",", "").replace(" ", "");
+	}
+	
 	/**
 	 * @see org.openmrs.obs.ComplexObsHandler#purgeComplexData(org.openmrs.Obs)
 	 */
@@ -32,7 +32,7 @@ import org.springframework.util.Assert;
 public class BinaryDataHandler extends AbstractHandler implements ComplexObsHandler {
 	
 	/** Views supported by this handler */
-	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW, };
+	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW, ComplexObsHandler.CHANNEL_VIEW };
 	
 	private static final Logger log = LoggerFactory.getLogger(BinaryDataHandler.class);
 	
@@ -45,7 +45,8 @@ public class BinaryDataHandler extends AbstractHandler implements ComplexObsHand
 	}
 	
 	/**
-	 * Currently supports the following views: org.openmrs.obs.ComplexObsHandler#RAW_VIEW
+	 * Currently supports the following views: org.openmrs.obs.ComplexObsHandler#RAW_VIEW and
+	 * org.openmrs.obs.ComplexObsHandler#CHANNEL_VIEW
 	 * 
 	 * @see org.openmrs.obs.ComplexObsHandler#getObs(org.openmrs.Obs, java.lang.String)
 	 */
@@ -70,6 +71,8 @@ public class BinaryDataHandler extends AbstractHandler implements ComplexObsHand
 			catch (IOException e) {
 				log.error("Trying to read file: " + file.getAbsolutePath(), e);
 			}
+		} else if (ComplexObsHandler.CHANNEL_VIEW.equals(view)) {
+			return getObsWithChannel(obs, getOriginalFilename(obs));
 		} else {
 			// No other view supported
 			// NOTE: if adding support for another view, don't forget to update supportedViews list above
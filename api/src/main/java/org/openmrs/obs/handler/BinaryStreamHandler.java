@@ -34,7 +34,7 @@ import org.springframework.util.Assert;
 public class BinaryStreamHandler extends AbstractHandler implements ComplexObsHandler {
 	
 	/** Views supported by this handler */
-	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW, };
+	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW, ComplexObsHandler.CHANNEL_VIEW };
 	
 	private static final Logger log = LoggerFactory.getLogger(BinaryStreamHandler.class);
 	
@@ -64,9 +64,7 @@ public class BinaryStreamHandler extends AbstractHandler implements ComplexObsHa
 		if (ComplexObsHandler.RAW_VIEW.equals(view)) {
 			try {
 				file = getComplexDataFile(obs);
-				String[] names = obs.getValueComplex().split("\\|");
-				String originalFilename = names[0];
-				originalFilename = originalFilename.replace(",", "").replace(" ", "");
+				String originalFilename = getOriginalFilename(obs);
 				
 				if (file.exists()) {
 					FileInputStream fileInputStream = new FileInputStream(file);
@@ -78,6 +76,8 @@ public class BinaryStreamHandler extends AbstractHandler implements ComplexObsHa
 			catch (Exception e) {
 				throw new APIException("Obs.error.while.trying.get.binary.complex", null, e);
 			}
+		} else if (ComplexObsHandler.CHANNEL_VIEW.equals(view)) {
+			return getObsWithChannel(obs, getOriginalFilename(obs));
 		} else {
 			// No other view supported
 			// NOTE: if adding support for another view, don't forget to update supportedViews list above
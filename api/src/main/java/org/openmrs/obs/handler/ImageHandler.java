@@ -44,7 +44,7 @@ import org.slf4j.LoggerFactory;
 public class ImageHandler extends AbstractHandler implements ComplexObsHandler {
 	
 	/** Views supported by this handler */
-	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW };
+	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW, ComplexObsHandler.CHANNEL_VIEW };
 	
 	private static final Logger log = LoggerFactory.getLogger(ImageHandler.class);
 	
@@ -109,6 +109,9 @@ public class ImageHandler extends AbstractHandler implements ComplexObsHandler {
 			complexData.setMimeType(mimeType);	
 			
 			obs.setComplexData(complexData);
+		} else if (ComplexObsHandler.CHANNEL_VIEW.equals(view)) {
+			// the image is not decoded, so large images can be streamed in ranges
+			return getObsWithChannel(obs, file.getName());
 		} else {
 			// No other view supported
 			// NOTE: if adding support for another view, don't forget to update supportedViews list above
@@ -35,7 +35,7 @@ import org.slf4j.LoggerFactory;
 public class MediaHandler extends AbstractHandler implements ComplexObsHandler {
 	
 	/** Views supported by this handler */
-	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW, };
+	private static final String[] supportedViews = { ComplexObsHandler.RAW_VIEW, ComplexObsHandler.CHANNEL_VIEW };
 	
 	private static final Logger log = LoggerFactory.getLogger(MediaHandler.class);
 	
@@ -55,9 +55,7 @@ public class MediaHandler extends AbstractHandler implements ComplexObsHandler {
 		// Raw media
 		if (ComplexObsHandler.RAW_VIEW.equals(view)) {
 			try {
-				String[] names = obs.getValueComplex().split("\\|");
-				String originalFilename = names[0];
-				originalFilename = originalFilename.replace(",", "").replace(" ", "");
+				String originalFilename = getOriginalFilename(obs);
 				
 				FileInputStream mediaStream = new FileInputStream(file);
 				ComplexData complexData = new ComplexData(originalFilename, mediaStream);
@@ -73,6 +71,8 @@ public class MediaHandler extends AbstractHandler implements ComplexObsHandler {
 			catch (FileNotFoundException e) {
 				log.error("Trying to create media file stream from " + file.getAbsolutePath(), e);
 			}
+		} else if (ComplexObsHandler.CHANNEL_VIEW.equals(view)) {
+			return getObsWithChannel(obs, getOriginalFilename(obs));
 		}
 		// No other view supported
 		// NOTE: if adding support for another view, don't forget to update supportedViews list above
@@ -0,0 +1,157 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.parameter;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * The search parameter object for {@link org.openmrs.api.ObsService#getObsValues(ObsSearchCriteria, int)}.
+ * Unlike the other observation queries it filters by ids, so that the persons, concepts, encounters
+ * and locations do not have to be loaded first. A convenience interface for building instances is
+ * provided by {@link ObsSearchCriteriaBuilder}.
+ * @since 2.6.0
+ * @see ObsSearchCriteriaBuilder
+ */
+public class ObsSearchCriteria {
+	
+	private Collection<Integer> personIds;
+	
+	private Collection<Integer> conceptIds;
+	
+	private Collection<Integer> encounterIds;
+	
+	private Collection<Integer> locationIds;
+	
+	private Date fromDate;
+	
+	private Date toDate;
+	
+	private boolean includeVoided = false;
+	
+	private boolean latestPerPersonAndConcept = false;
+	
+	private Date lastObsDatetime;
+	
+	private Integer lastObsId;
+	
+	public ObsSearchCriteria() {
+	}
+	
+	/**
+	 * @return the ids of the persons the observations must be for, null or empty for all persons
+	 */
+	public Collection<Integer> getPersonIds() {
+		return personIds;
+	}
+	
+	public void setPersonIds(Collection<Integer> personIds) {
+		this.personIds = personIds;
+	}
+	
+	/**
+	 * @return the ids of the questions of the observations, null or empty for all questions
+	 */
+	public Collection<Integer> getConceptIds() {
+		return conceptIds;
+	}
+	
+	public void setConceptIds(Collection<Integer> conceptIds) {
+		this.conceptIds = conceptIds;
+	}
+	
+	/**
+	 * @return the ids of the encounters the observations must belong to, null or empty for any
+	 */
+	public Collection<Integer> getEncounterIds() {
+		return encounterIds;
+	}
+	
+	public void setEncounterIds(Collection<Integer> encounterIds) {
+		this.encounterIds = encounterIds;
+	}
+	
+	/**
+	 * @return the ids of the locations the observations must have been made at, null or empty for any
+	 */
+	public Collection<Integer> getLocationIds() {
+		return locationIds;
+	}
+	
+	public void setLocationIds(Collection<Integer> locationIds) {
+		this.locationIds = locationIds;
+	}
+	
+	/**
+	 * @return the minimum obsDatetime (inclusive)
+	 */
+	public Date getFromDate() {
+		return fromDate;
+	}
+	
+	public void setFromDate(Date fromDate) {
+		this.fromDate = fromDate;
+	}
+	
+	/**
+	 * @return the maximum obsDatetime (inclusive)
+	 */
+	public Date getToDate() {
+		return toDate;
+	}
+	
+	public void setToDate(Date toDate) {
+		this.toDate = toDate;
+	}
+	
+	public boolean isIncludeVoided() {
+		return includeVoided;
+	}
+	
+	public void setIncludeVoided(boolean includeVoided) {
+		this.includeVoided = includeVoided;
+	}
+	
+	/**
+	 * @return whether only the latest matching observation of each person for each concept should
+	 *         be returned
+	 */
+	public boolean isLatestPerPersonAndConcept() {
+		return latestPerPersonAndConcept;
+	}
+	
+	public void setLatestPerPersonAndConcept(boolean latestPerPersonAndConcept) {
+		this.latestPerPersonAndConcept = latestPerPersonAndConcept;
+	}
+	
+	/**
+	 * @return the obsDatetime of the last observation of the previous page, null for the first page; must
+	 *         be set together with lastObsId
+	 */
+	public Date getLastObsDatetime() {
+		return lastObsDatetime;
+	}
+	
+	public void setLastObsDatetime(Date lastObsDatetime) {
+		this.lastObsDatetime = lastObsDatetime;
+	}
+	
+	/**
+	 * @return the obsId of the last observation of the previous page, null for the first page; must
+	 *         be set together with lastObsDatetime
+	 */
+	public Integer getLastObsId() {
+		return lastObsId;
+	}
+	
+	public void setLastObsId(Integer lastObsId) {
+		this.lastObsId = lastObsId;
+	}
+}
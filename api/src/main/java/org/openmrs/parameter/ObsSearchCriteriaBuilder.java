@@ -0,0 +1,92 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.parameter;
+
+import java.util.Collection;
+import java.util.Date;
+
+import org.openmrs.obs.ObsValue;
+
+/**
+ * A convenience builder for {@link ObsSearchCriteria}. Create a builder, set
+ * its properties to desired values and finally call {@link #build()}
+ * to create the actual search criteria instance.
+ * @since 2.6.0
+ * @see ObsSearchCriteria
+ */
+public class ObsSearchCriteriaBuilder {
+	
+	private final ObsSearchCriteria criteria;
+	
+	public ObsSearchCriteriaBuilder() {
+		criteria = new ObsSearchCriteria();
+	}
+	
+	public ObsSearchCriteriaBuilder setPersonIds(Collection<Integer> personIds) {
+		criteria.setPersonIds(personIds);
+		return this;
+	}
+	
+	public ObsSearchCriteriaBuilder setConceptIds(Collection<Integer> conceptIds) {
+		criteria.setConceptIds(conceptIds);
+		return this;
+	}
+	
+	public ObsSearchCriteriaBuilder setEncounterIds(Collection<Integer> encounterIds) {
+		criteria.setEncounterIds(encounterIds);
+		return this;
+	}
+	
+	public ObsSearchCriteriaBuilder setLocationIds(Collection<Integer> locationIds) {
+		criteria.setLocationIds(locationIds);
+		return this;
+	}
+	
+	public ObsSearchCriteriaBuilder setFromDate(Date fromDate) {
+		criteria.setFromDate(fromDate);
+		return this;
+	}
+	
+	public ObsSearchCriteriaBuilder setToDate(Date toDate) {
+		criteria.setToDate(toDate);
+		return this;
+	}
+	
+	public ObsSearchCriteriaBuilder setIncludeVoided(boolean includeVoided) {
+		criteria.setIncludeVoided(includeVoided);
+		return this;
+	}
+	
+	public ObsSearchCriteriaBuilder setLatestPerPersonAndConcept(boolean latestPerPersonAndConcept) {
+		criteria.setLatestPerPersonAndConcept(latestPerPersonAndConcept);
+		return this;
+	}
+	
+	/**
+	 * Continues the search after the given observation, which should be the last one of the
+	 * previous page
+	 * 
+	 * @param last the last observation of the previous page
+	 * @return this builder instance
+	 * @throws IllegalArgumentException if the observation has no obsDatetime or obsId
+	 */
+	public ObsSearchCriteriaBuilder setAfter(ObsValue last) {
+		if (last == null || last.getObsDatetime() == null || last.getObsId() == null) {
+			throw new IllegalArgumentException("The last observation must have an obsDatetime and an obsId");
+		}
+		criteria.setLastObsDatetime(last.getObsDatetime());
+		criteria.setLastObsId(last.getObsId());
+		return this;
+	}
+	
+	public ObsSearchCriteria build() {
+		return criteria;
+	}
+}
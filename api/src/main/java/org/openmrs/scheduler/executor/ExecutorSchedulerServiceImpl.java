@@ -0,0 +1,273 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.scheduler.executor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openmrs.scheduler.SchedulerConstants;
+import org.openmrs.scheduler.SchedulerException;
+import org.openmrs.scheduler.SchedulerUtil;
+import org.openmrs.scheduler.Task;
+import org.openmrs.scheduler.TaskDefinition;
+import org.openmrs.scheduler.TaskFactory;
+import org.openmrs.scheduler.tasks.ProcessHL7InQueueTask;
+import org.openmrs.scheduler.tasks.SendEmailTask;
+import org.openmrs.scheduler.timer.TimerSchedulerServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Scheduler service that triggers all scheduled tasks from one bounded
+ * {@link ScheduledThreadPoolExecutor} instead of a JDK timer thread per task, so that at most
+ * {@link #setPoolSize(int) poolSize} tasks execute at the same time. Tasks that mostly wait on
+ * other systems, like sending emails or processing the hl7 queue, are handed off to a separate pool
+ * of {@link #setIoPoolSize(int) ioPoolSize} threads so that they do not hold up the other tasks.
+ * <p>
+ * A task is never run twice at the same time, a run that becomes due while the previous one is
+ * still executing is skipped. An exception thrown by a task is logged and reported but does not
+ * cancel its later runs. The number, duration and outcome of the runs of every scheduled task are
+ * available from {@link #getTaskStatistics(Integer)}.
+ * <p>
+ * The task definitions are stored the same way as by the {@link TimerSchedulerServiceImpl}, this
+ * implementation can be used by setting it as the class of the schedulerServiceTarget bean.
+ *
+ * @since 2.6.0
+ */
+@Transactional
+public class ExecutorSchedulerServiceImpl extends TimerSchedulerServiceImpl {
+	
+	private static final Logger log = LoggerFactory.getLogger(ExecutorSchedulerServiceImpl.class);
+	
+	private final Map<Integer, ExecutorSchedulerTask> scheduledTasks = new ConcurrentHashMap<>();
+	
+	private int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+	
+	private int ioPoolSize = 8;
+	
+	private Set<String> ioBoundTaskClasses = new HashSet<>(Arrays.asList(SendEmailTask.class.getName(),
+	    ProcessHL7InQueueTask.class.getName()));
+	
+	private ScheduledThreadPoolExecutor executor;
+	
+	private ThreadPoolExecutor ioExecutor;
+	
+	/**
+	 * @param poolSize the maximum number of tasks executing at the same time, not counting the ones
+	 *            running on the io pool
+	 */
+	public void setPoolSize(int poolSize) {
+		this.poolSize = poolSize;
+	}
+	
+	/**
+	 * @param ioPoolSize the maximum number of io bound tasks executing at the same time
+	 */
+	public void setIoPoolSize(int ioPoolSize) {
+		this.ioPoolSize = ioPoolSize;
+	}
+	
+	/**
+	 * @param ioBoundTaskClasses the names of the task classes to run on the io pool
+	 */
+	public void setIoBoundTaskClasses(Set<String> ioBoundTaskClasses) {
+		this.ioBoundTaskClasses = ioBoundTaskClasses;
+	}
+	
+	/**
+	 * Shutdown hook for the scheduler, stops all tasks and the thread pools.
+	 * 
+	 * @see TimerSchedulerServiceImpl#onShutdown()
+	 */
+	@Override
+	public void onShutdown() {
+		try {
+			super.onShutdown();
+		}
+		finally {
+			synchronized (this) {
+				if (executor != null) {
+					executor.shutdownNow();
+					executor = null;
+				}
+				if (ioExecutor != null) {
+					ioExecutor.shutdownNow();
+					ioExecutor = null;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @see org.openmrs.scheduler.SchedulerService#scheduleTask(TaskDefinition)
+	 * <strong>Should</strong> keep running a task that throws an exception
+	 */
+	@Override
+	public Task scheduleTask(TaskDefinition taskDefinition) throws SchedulerException {
+		Task clientTask = null;
+		if (taskDefinition != null) {
+			
+			// Cancel any existing run of the same task definition
+			ExecutorSchedulerTask schedulerTask = scheduledTasks.remove(taskDefinition.getId());
+			if (schedulerTask != null) {
+				log.info("Shutting down the existing instance of this task to avoid conflicts!!");
+				schedulerTask.shutdown();
+			}
+			
+			try {
+				clientTask = TaskFactory.getInstance().createInstance(taskDefinition);
+				
+				// if we were unable to get a class, just quit
+				if (clientTask != null) {
+					boolean ioBound = ioBoundTaskClasses.contains(taskDefinition.getTaskClass());
+					schedulerTask = new ExecutorSchedulerTask(clientTask, ioBound ? getIoExecutor() : null);
+					taskDefinition.setTaskInstance(clientTask);
+					
+					long repeatInterval = 0;
+					if (taskDefinition.getRepeatInterval() != null) {
+						repeatInterval = taskDefinition.getRepeatInterval() * SchedulerConstants.SCHEDULER_MILLIS_PER_SECOND;
+					}
+					
+					long delay = SchedulerConstants.SCHEDULER_DEFAULT_DELAY;
+					if (taskDefinition.getStartTime() != null) {
+						// the start time is most likely in the past, so start at the next execution time after now
+						Date nextTime = SchedulerUtil.getNextExecution(taskDefinition);
+						log.info("Starting task ... the task will execute for the first time at " + nextTime);
+						delay = Math.max(0, nextTime.getTime() - System.currentTimeMillis());
+					}
+					
+					ScheduledFuture<?> future;
+					if (repeatInterval > 0) {
+						future = getExecutor().scheduleAtFixedRate(schedulerTask, delay, repeatInterval,
+						    TimeUnit.MILLISECONDS);
+					} else {
+						log.info("Starting one-shot task");
+						future = getExecutor().schedule(schedulerTask, delay, TimeUnit.MILLISECONDS);
+					}
+					schedulerTask.setFuture(future);
+					
+					log.debug("Registering executor task for task " + taskDefinition.getId());
+					scheduledTasks.put(taskDefinition.getId(), schedulerTask);
+					
+					taskDefinition.setStarted(true);
+					saveTaskDefinition(taskDefinition);
+				}
+			}
+			catch (Exception e) {
+				log.error("Failed to schedule task " + taskDefinition.getName(), e);
+				throw new SchedulerException("Failed to schedule task", e);
+			}
+		}
+		return clientTask;
+	}
+	
+	/**
+	 * @see org.openmrs.scheduler.SchedulerService#shutdownTask(TaskDefinition)
+	 */
+	@Override
+	public void shutdownTask(TaskDefinition taskDefinition) throws SchedulerException {
+		if (taskDefinition != null) {
+			ExecutorSchedulerTask schedulerTask = scheduledTasks.remove(taskDefinition.getId());
+			if (schedulerTask != null) {
+				schedulerTask.shutdown();
+			}
+			
+			taskDefinition.setStarted(false);
+			saveTaskDefinition(taskDefinition);
+		}
+	}
+	
+	/**
+	 * @see org.openmrs.scheduler.SchedulerService#getScheduledTasks()
+	 */
+	@Override
+	public Collection<TaskDefinition> getScheduledTasks() {
+		List<TaskDefinition> list = new ArrayList<>();
+		for (Integer id : scheduledTasks.keySet()) {
+			TaskDefinition task = getTask(id);
+			if (task != null) {
+				list.add(task);
+			}
+		}
+		return list;
+	}
+	
+	/**
+	 * @see org.openmrs.scheduler.SchedulerService#getStatus(Integer)
+	 */
+	@Override
+	public String getStatus(Integer id) {
+		ExecutorSchedulerTask scheduledTask = scheduledTasks.get(id);
+		if (scheduledTask != null) {
+			if (scheduledTask.isRunning()) {
+				return "Currently executing";
+			}
+			ScheduledFuture<?> future = scheduledTask.getFuture();
+			if (future != null && !future.isDone()) {
+				return "Scheduled to execute at "
+				        + new Date(System.currentTimeMillis() + future.getDelay(TimeUnit.MILLISECONDS));
+			}
+		}
+		return "Not Running";
+	}
+	
+	/**
+	 * @param id the id of a scheduled task definition
+	 * @return the statistics of the runs of the task since it was scheduled, null if it is not
+	 *         scheduled
+	 * <strong>Should</strong> count the runs and failures of a task
+	 */
+	public TaskRunStatistics getTaskStatistics(Integer id) {
+		ExecutorSchedulerTask scheduledTask = scheduledTasks.get(id);
+		return scheduledTask == null ? null : scheduledTask.getStatistics();
+	}
+	
+	private synchronized ScheduledThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			executor = new ScheduledThreadPoolExecutor(poolSize, newThreadFactory("OpenMRS Scheduler-"));
+			executor.setRemoveOnCancelPolicy(true);
+		}
+		return executor;
+	}
+	
+	private synchronized Executor getIoExecutor() {
+		if (ioExecutor == null) {
+			ioExecutor = new ThreadPoolExecutor(ioPoolSize, ioPoolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+			        newThreadFactory("OpenMRS Scheduler IO-"));
+			ioExecutor.allowCoreThreadTimeOut(true);
+		}
+		return ioExecutor;
+	}
+	
+	private static ThreadFactory newThreadFactory(String namePrefix) {
+		AtomicInteger threadCount = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
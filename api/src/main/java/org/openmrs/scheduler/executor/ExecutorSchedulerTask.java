@@ -0,0 +1,174 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.scheduler.executor;
+
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openmrs.api.context.Daemon;
+import org.openmrs.scheduler.SchedulerUtil;
+import org.openmrs.scheduler.Task;
+import org.openmrs.scheduler.timer.TimerSchedulerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a task scheduled by the {@link ExecutorSchedulerServiceImpl}. A run that is due while the
+ * previous one is still executing is skipped instead of being queued up behind it, exceptions
+ * thrown by the task are recorded rather than cancelling its later runs, and the number, duration
+ * and outcome of the runs are kept as {@link TaskRunStatistics}.
+ * <p>
+ * This extends {@link TimerSchedulerTask} since only scheduler tasks may execute tasks through
+ * {@link Daemon#executeScheduledTask(Task)}.
+ *
+ * @since 2.6.0
+ */
+public class ExecutorSchedulerTask extends TimerSchedulerTask {
+	
+	private static final Logger log = LoggerFactory.getLogger(ExecutorSchedulerTask.class);
+	
+	private final Task task;
+	
+	/**
+	 * The executor the task is run on, null to run it on the scheduler thread that triggered it
+	 */
+	private final Executor executor;
+	
+	private final AtomicBoolean running = new AtomicBoolean();
+	
+	private volatile ScheduledFuture<?> future;
+	
+	// the statistics, guarded by this
+	
+	private long runs;
+	
+	private long failures;
+	
+	private long skippedRuns;
+	
+	private long totalDurationMillis;
+	
+	private long lastDurationMillis;
+	
+	private Date lastStartTime;
+	
+	private Exception lastFailure;
+	
+	/**
+	 * @param task the task to run
+	 * @param executor the executor to run the task on, or null to run it on the scheduler thread
+	 */
+	public ExecutorSchedulerTask(Task task, Executor executor) {
+		super(task);
+		this.task = task;
+		this.executor = executor;
+	}
+	
+	/**
+	 * Starts a run of the task unless the previous run is still executing.
+	 * 
+	 * @see java.lang.Runnable#run()
+	 * <strong>Should</strong> skip a run while the previous one is executing
+	 * <strong>Should</strong> record failed runs
+	 */
+	@Override
+	public void run() {
+		if (!running.compareAndSet(false, true)) {
+			log.debug("Skipping a run of task {}, the previous run is still executing", task.getClass());
+			synchronized (this) {
+				skippedRuns++;
+			}
+			return;
+		}
+		
+		if (executor == null) {
+			execute();
+			return;
+		}
+		try {
+			executor.execute(this::execute);
+		}
+		catch (RejectedExecutionException e) {
+			log.warn("Skipping a run of task {}, no thread is available to run it", task.getClass());
+			synchronized (this) {
+				skippedRuns++;
+			}
+			running.set(false);
+		}
+	}
+	
+	private void execute() {
+		Date startTime = new Date();
+		long start = System.nanoTime();
+		Exception failure = null;
+		try {
+			Daemon.executeScheduledTask(task);
+		}
+		catch (Exception e) {
+			failure = e;
+			log.error("Task [" + task.getClass() + "] failed due to exception [" + e.getClass().getName() + "]", e);
+			SchedulerUtil.sendSchedulerError(e);
+		}
+		finally {
+			long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			synchronized (this) {
+				runs++;
+				if (failure != null) {
+					failures++;
+				}
+				totalDurationMillis += duration;
+				lastDurationMillis = duration;
+				lastStartTime = startTime;
+				lastFailure = failure;
+			}
+			running.set(false);
+		}
+	}
+	
+	/**
+	 * @return whether a run of the task is executing right now
+	 */
+	public boolean isRunning() {
+		return running.get();
+	}
+	
+	/**
+	 * @return the statistics of the runs so far
+	 */
+	public synchronized TaskRunStatistics getStatistics() {
+		return new TaskRunStatistics(runs, failures, skippedRuns, totalDurationMillis, lastDurationMillis, lastStartTime,
+		        lastFailure);
+	}
+	
+	public ScheduledFuture<?> getFuture() {
+		return future;
+	}
+	
+	public void setFuture(ScheduledFuture<?> future) {
+		this.future = future;
+	}
+	
+	/**
+	 * Cancels the later runs of the task and invokes the task's shutdown() callback method.
+	 * 
+	 * @see TimerSchedulerTask#shutdown()
+	 */
+	@Override
+	public void shutdown() {
+		if (future != null) {
+			future.cancel(false);
+		}
+		super.shutdown();
+	}
+}
@@ -0,0 +1,94 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.scheduler.executor;
+
+import java.util.Date;
+
+/**
+ * A snapshot of how often and how long a task scheduled by the {@link ExecutorSchedulerServiceImpl}
+ * has run since it was scheduled.
+ *
+ * @since 2.6.0
+ */
+public class TaskRunStatistics {
+	
+	private final long runs;
+	
+	private final long failures;
+	
+	private final long skippedRuns;
+	
+	private final long totalDurationMillis;
+	
+	private final long lastDurationMillis;
+	
+	private final Date lastStartTime;
+	
+	private final Exception lastFailure;
+	
+	public TaskRunStatistics(long runs, long failures, long skippedRuns, long totalDurationMillis, long lastDurationMillis,
+	    Date lastStartTime, Exception lastFailure) {
+		this.runs = runs;
+		this.failures = failures;
+		this.skippedRuns = skippedRuns;
+		this.totalDurationMillis = totalDurationMillis;
+		this.lastDurationMillis = lastDurationMillis;
+		this.lastStartTime = lastStartTime;
+		this.lastFailure = lastFailure;
+	}
+	
+	/**
+	 * @return the number of completed runs, including the failed ones
+	 */
+	public long getRuns() {
+		return runs;
+	}
+	
+	/**
+	 * @return the number of runs that threw an exception
+	 */
+	public long getFailures() {
+		return failures;
+	}
+	
+	/**
+	 * @return the number of times the task was due while the previous run was still executing, and
+	 *         was therefore not started
+	 */
+	public long getSkippedRuns() {
+		return skippedRuns;
+	}
+	
+	public long getTotalDurationMillis() {
+		return totalDurationMillis;
+	}
+	
+	public long getLastDurationMillis() {
+		return lastDurationMillis;
+	}
+	
+	public long getAverageDurationMillis() {
+		return runs == 0 ? 0 : totalDurationMillis / runs;
+	}
+	
+	/**
+	 * @return when the last completed run started, null if the task has not completed a run yet
+	 */
+	public Date getLastStartTime() {
+		return lastStartTime;
+	}
+	
+	/**
+	 * @return the exception thrown by the last completed run, null if it succeeded
+	 */
+	public Exception getLastFailure() {
+		return lastFailure;
+	}
+}
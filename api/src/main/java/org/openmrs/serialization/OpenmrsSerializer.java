@@ -9,6 +9,12 @@
  */
 package org.openmrs.serialization;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+import org.apache.commons.io.IOUtils;
+
 /**
  * Implementations of this interface provide serialization implementations for OpenMRS.
  */
@@ -30,4 +36,41 @@ public interface OpenmrsSerializer {
 	 * @return hydrated object of the appropriate type
 	 */
 	public <T> T deserialize(String serializedObject, Class<? extends T> clazz) throws SerializationException;
+	
+	/**
+	 * Serialize the given object straight to a writer, so that large objects do not have to be held
+	 * in memory as a string as well. Implementations that can write incrementally should override
+	 * this, the default writes the result of {@link #serialize(Object)}.
+	 * 
+	 * @param o - the object to serialize
+	 * @param writer - the writer to serialize to, it is not closed
+	 * @since 2.6.0
+	 */
+	default void serialize(Object o, Writer writer) throws SerializationException {
+		try {
+			writer.write(serialize(o));
+		}
+		catch (IOException e) {
+			throw new SerializationException("Unable to write serialized object", e);
+		}
+	}
+	
+	/**
+	 * Deserialize the contents of the given reader into a full object. Implementations that can read
+	 * incrementally should override this, the default reads the whole contents and calls
+	 * {@link #deserialize(String, Class)}.
+	 * 
+	 * @param reader - the reader to deserialize from, it is not closed
+	 * @param clazz - The class to deserialize the Object into
+	 * @return hydrated object of the appropriate type
+	 * @since 2.6.0
+	 */
+	default <T> T deserialize(Reader reader, Class<? extends T> clazz) throws SerializationException {
+		try {
+			return deserialize(IOUtils.toString(reader), clazz);
+		}
+		catch (IOException e) {
+			throw new SerializationException("Unable to read serialized object", e);
+		}
+	}
 }
@@ -0,0 +1,155 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.serialization;
+
+import java.io.Reader;
+import java.io.Writer;
+
+import org.openmrs.ImplementationId;
+import org.openmrs.util.OpenmrsClassLoader;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.XStreamException;
+
+/**
+ * A variant of the {@link SimpleXStreamSerializer} that does not build and configure an XStream
+ * instance of its own. All instances share one fully configured XStream, which is created the first
+ * time it is needed and kept until the {@link OpenmrsClassLoader} is replaced, so that the
+ * converters and the class metadata XStream caches are reused by every serialization instead of
+ * being looked up again for each new serializer. A configured XStream is thread safe, so the shared
+ * instance can be used by any number of threads at the same time.
+ * <p>
+ * Since the XStream instance is shared it can not be customized. In addition to rejecting proxies,
+ * it only deserializes the basic java types XStream allows by default and the types in the
+ * <code>org.openmrs</code> packages (which includes the modules), anything else should be
+ * serialized with the {@link SimpleXStreamSerializer}.
+ *
+ * @since 2.6.0
+ */
+public class SharedXStreamSerializer implements OpenmrsSerializer {
+
+	private static final String[] ALLOWED_TYPES = { "org.openmrs.**" };
+
+	private static final Object lock = new Object();
+
+	/**
+	 * The shared xstream object, only replaced while holding the lock
+	 */
+	private static volatile SharedXStream shared;
+
+	/**
+	 * @see OpenmrsSerializer#serialize(Object)
+	 * <strong>Should</strong> not serialize proxies
+	 */
+	@Override
+	public String serialize(Object o) throws SerializationException {
+		try {
+			return getSharedXStream().toXML(o);
+		}
+		catch (XStreamException e) {
+			throw new SerializationException("Unable to serialize object", e);
+		}
+	}
+
+	/**
+	 * @see OpenmrsSerializer#serialize(Object, Writer)
+	 */
+	@Override
+	public void serialize(Object o, Writer writer) throws SerializationException {
+		try {
+			getSharedXStream().toXML(o, writer);
+		}
+		catch (XStreamException e) {
+			throw new SerializationException("Unable to serialize object", e);
+		}
+	}
+
+	/**
+	 * @see OpenmrsSerializer#deserialize(String, Class)
+	 * <strong>Should</strong> deserialize what the simple xstream serializer wrote
+	 * <strong>Should</strong> not deserialize proxies
+	 * <strong>Should</strong> not deserialize types that are not allowed
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T deserialize(String serializedObject, Class<? extends T> clazz) throws SerializationException {
+		try {
+			return (T) getSharedXStream().fromXML(serializedObject);
+		}
+		catch (XStreamException e) {
+			throw new SerializationException("Unable to deserialize class: " + clazz.getName(), e);
+		}
+	}
+
+	/**
+	 * @see OpenmrsSerializer#deserialize(Reader, Class)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T deserialize(Reader reader, Class<? extends T> clazz) throws SerializationException {
+		try {
+			return (T) getSharedXStream().fromXML(reader);
+		}
+		catch (XStreamException e) {
+			throw new SerializationException("Unable to deserialize class: " + clazz.getName(), e);
+		}
+	}
+
+	/**
+	 * Discards the shared XStream instance, this is called when the {@link OpenmrsClassLoader} is
+	 * destroyed so that the classes of the old class loader can be garbage collected.
+	 */
+	public static void destroyInstance() {
+		synchronized (lock) {
+			shared = null;
+		}
+	}
+
+	/**
+	 * @return the shared XStream instance, configured with the current {@link OpenmrsClassLoader}
+	 * <strong>Should</strong> return the same instance until the class loader changes
+	 */
+	static XStream getSharedXStream() {
+		ClassLoader classLoader = OpenmrsClassLoader.getInstance();
+		SharedXStream current = shared;
+		if (current == null || current.classLoader != classLoader) {
+			synchronized (lock) {
+				current = shared;
+				if (current == null || current.classLoader != classLoader) {
+					current = new SharedXStream(classLoader, createXStream(classLoader));
+					shared = current;
+				}
+			}
+		}
+		return current.xstream;
+	}
+
+	private static XStream createXStream(ClassLoader classLoader) {
+		XStream xstream = new XStream();
+		xstream.setClassLoader(classLoader);
+		xstream.registerConverter(new SimpleXStreamSerializer.OpenmrsDynamicProxyConverter(), XStream.PRIORITY_VERY_HIGH);
+		xstream.useAttributeFor(ImplementationId.class, "implementationId");
+		XStream.setupDefaultSecurity(xstream);
+		xstream.allowTypesByWildcard(ALLOWED_TYPES);
+		return xstream;
+	}
+
+	private static class SharedXStream {
+
+		private final ClassLoader classLoader;
+
+		private final XStream xstream;
+
+		SharedXStream(ClassLoader classLoader, XStream xstream) {
+			this.classLoader = classLoader;
+			this.xstream = xstream;
+		}
+	}
+}
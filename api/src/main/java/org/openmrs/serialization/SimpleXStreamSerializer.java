@@ -9,6 +9,9 @@
  */
 package org.openmrs.serialization;
 
+import java.io.Reader;
+import java.io.Writer;
+
 import org.openmrs.ImplementationId;
 import org.openmrs.Patient;
 
@@ -111,6 +114,35 @@ public class SimpleXStreamSerializer implements OpenmrsSerializer {
 		}
 	}
 	
+	/**
+	 * @see OpenmrsSerializer#serialize(Object, Writer)
+	 * <strong>Should</strong> write the same xml as serialize
+	 */
+	@Override
+	public void serialize(Object o, Writer writer) throws SerializationException {
+		try {
+			xstream.toXML(o, writer);
+		}
+		catch (XStreamException e) {
+			throw new SerializationException("Unable to serialize object", e);
+		}
+	}
+	
+	/**
+	 * @see OpenmrsSerializer#deserialize(Reader, Class)
+	 * <strong>Should</strong> read what serialize wrote
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T deserialize(Reader reader, Class<? extends T> clazz) throws SerializationException {
+		try {
+			return (T) xstream.fromXML(reader);
+		}
+		catch (XStreamException e) {
+			throw new SerializationException("Unable to deserialize class: " + clazz.getName(), e);
+		}
+	}
+	
 	/**
 	 * An instance of this converter needs to be registered with a higher priority than the rest so
 	 * that it's called early in the converter chain. This way, we can make sure we never get to
@@ -118,7 +150,7 @@ public class SimpleXStreamSerializer implements OpenmrsSerializer {
 	 *
 	 * @see <a href="http://tinyurl.com/ord2rry">this blog</a>
 	 */
-	private class OpenmrsDynamicProxyConverter extends DynamicProxyConverter {
+	static class OpenmrsDynamicProxyConverter extends DynamicProxyConverter {
 		
 		OpenmrsDynamicProxyConverter() {
 			super(null);
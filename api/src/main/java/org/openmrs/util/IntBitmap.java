@@ -0,0 +1,525 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable, compressed set of ints, laid out the same way as a roaring bitmap. The values are
+ * split into chunks by their upper 16 bits, and each chunk stores its lower 16 bits either as a
+ * sorted <code>char[]</code> when it holds at most {@value #MAX_ARRAY_SIZE} values or as a 65536
+ * bit <code>long[]</code> bitmap otherwise. Sparse sets therefore cost two bytes per value and
+ * dense sets, such as the ids of most patients in a database, about one bit per possible value.
+ * <p>
+ * {@link #and(IntBitmap)}, {@link #or(IntBitmap)} and {@link #andNot(IntBitmap)} work a chunk at a
+ * time on the sorted arrays or the bitmap words, without boxing any values, and
+ * {@link #contains(int)} is a binary search over the chunks followed by a lookup in one chunk.
+ * Values are iterated in unsigned order, which is ascending order for non negative values.
+ *
+ * @since 2.6.0
+ */
+public final class IntBitmap implements Iterable<Integer>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The maximum number of values of a chunk stored as a sorted array, larger chunks are stored as
+	 * bitmaps, which take the same 8kB as an array of this size
+	 */
+	static final int MAX_ARRAY_SIZE = 4096;
+
+	private static final int BITMAP_WORDS = 1024;
+
+	public static final IntBitmap EMPTY = new IntBitmap(new int[0], new Object[0]);
+
+	/**
+	 * The upper 16 bits of the values of each chunk, in ascending order
+	 */
+	private final int[] keys;
+
+	/**
+	 * The lower 16 bits of the values of each chunk, either a sorted char[] or a long[] bitmap
+	 */
+	private final Object[] chunks;
+
+	private final int cardinality;
+
+	private IntBitmap(int[] keys, Object[] chunks) {
+		this.keys = keys;
+		this.chunks = chunks;
+		int total = 0;
+		for (Object chunk : chunks) {
+			total += cardinality(chunk);
+		}
+		this.cardinality = total;
+	}
+
+	/**
+	 * Creates a bitmap holding the given values, duplicates are ignored
+	 *
+	 * @param values the values to add
+	 * @return the bitmap
+	 */
+	public static IntBitmap of(int... values) {
+		if (values == null || values.length == 0) {
+			return EMPTY;
+		}
+		int[] sorted = values.clone();
+		Arrays.sort(sorted);
+		// negative values sort first but their upper 16 bits are the largest unsigned keys
+		int firstNonNegative = 0;
+		while (firstNonNegative < sorted.length && sorted[firstNonNegative] < 0) {
+			firstNonNegative++;
+		}
+		if (firstNonNegative > 0 && firstNonNegative < sorted.length) {
+			int[] rotated = new int[sorted.length];
+			System.arraycopy(sorted, firstNonNegative, rotated, 0, sorted.length - firstNonNegative);
+			System.arraycopy(sorted, 0, rotated, sorted.length - firstNonNegative, firstNonNegative);
+			sorted = rotated;
+		}
+
+		int[] keys = new int[sorted.length];
+		Object[] chunks = new Object[sorted.length];
+		char[] lows = new char[sorted.length];
+		int chunkCount = 0;
+		int start = 0;
+		while (start < sorted.length) {
+			int key = sorted[start] >>> 16;
+			int size = 0;
+			int end = start;
+			while (end < sorted.length && sorted[end] >>> 16 == key) {
+				char low = (char) sorted[end];
+				if (size == 0 || lows[size - 1] != low) {
+					lows[size++] = low;
+				}
+				end++;
+			}
+			keys[chunkCount] = key;
+			chunks[chunkCount++] = size <= MAX_ARRAY_SIZE ? Arrays.copyOf(lows, size) : toBitmap(lows, size);
+			start = end;
+		}
+		return new IntBitmap(Arrays.copyOf(keys, chunkCount), Arrays.copyOf(chunks, chunkCount));
+	}
+
+	/**
+	 * Creates a bitmap holding the given values, duplicates and nulls are ignored
+	 *
+	 * @param values the values to add
+	 * @return the bitmap
+	 */
+	public static IntBitmap of(Collection<Integer> values) {
+		if (values == null || values.isEmpty()) {
+			return EMPTY;
+		}
+		return of(values.stream().filter(v -> v != null).mapToInt(Integer::intValue).toArray());
+	}
+
+	/**
+	 * @param value the value to look up
+	 * @return true if the bitmap holds the value
+	 */
+	public boolean contains(int value) {
+		int index = Arrays.binarySearch(keys, value >>> 16);
+		return index >= 0 && contains(chunks[index], (char) value);
+	}
+
+	/**
+	 * @return the number of values in the bitmap
+	 */
+	public int cardinality() {
+		return cardinality;
+	}
+
+	/**
+	 * @return true if the bitmap holds no values
+	 */
+	public boolean isEmpty() {
+		return cardinality == 0;
+	}
+
+	/**
+	 * @param other the bitmap to intersect with
+	 * @return a bitmap holding the values that are in both this and the other bitmap
+	 */
+	public IntBitmap and(IntBitmap other) {
+		int[] newKeys = new int[Math.min(keys.length, other.keys.length)];
+		Object[] newChunks = new Object[newKeys.length];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < keys.length && j < other.keys.length) {
+			if (keys[i] < other.keys[j]) {
+				i++;
+			} else if (keys[i] > other.keys[j]) {
+				j++;
+			} else {
+				Object chunk = and(chunks[i], other.chunks[j]);
+				if (chunk != null) {
+					newKeys[count] = keys[i];
+					newChunks[count++] = chunk;
+				}
+				i++;
+				j++;
+			}
+		}
+		return create(newKeys, newChunks, count);
+	}
+
+	/**
+	 * @param other the bitmap to unite with
+	 * @return a bitmap holding the values that are in this or the other bitmap
+	 */
+	public IntBitmap or(IntBitmap other) {
+		int[] newKeys = new int[keys.length + other.keys.length];
+		Object[] newChunks = new Object[newKeys.length];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < keys.length || j < other.keys.length) {
+			if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+				newKeys[count] = keys[i];
+				newChunks[count++] = chunks[i++];
+			} else if (i == keys.length || keys[i] > other.keys[j]) {
+				newKeys[count] = other.keys[j];
+				newChunks[count++] = other.chunks[j++];
+			} else {
+				newKeys[count] = keys[i];
+				newChunks[count++] = or(chunks[i++], other.chunks[j++]);
+			}
+		}
+		return create(newKeys, newChunks, count);
+	}
+
+	/**
+	 * @param other the bitmap to subtract
+	 * @return a bitmap holding the values that are in this but not in the other bitmap
+	 */
+	public IntBitmap andNot(IntBitmap other) {
+		int[] newKeys = new int[keys.length];
+		Object[] newChunks = new Object[newKeys.length];
+		int count = 0;
+		int j = 0;
+		for (int i = 0; i < keys.length; i++) {
+			while (j < other.keys.length && other.keys[j] < keys[i]) {
+				j++;
+			}
+			Object chunk = j < other.keys.length && other.keys[j] == keys[i] ? andNot(chunks[i], other.chunks[j])
+			        : chunks[i];
+			if (chunk != null) {
+				newKeys[count] = keys[i];
+				newChunks[count++] = chunk;
+			}
+		}
+		return create(newKeys, newChunks, count);
+	}
+
+	/**
+	 * Passes every value of the bitmap to the given consumer, in unsigned order
+	 *
+	 * @param consumer the consumer to call
+	 */
+	public void forEachInt(IntConsumer consumer) {
+		for (int i = 0; i < keys.length; i++) {
+			int high = keys[i] << 16;
+			Object chunk = chunks[i];
+			if (chunk instanceof char[]) {
+				for (char low : (char[]) chunk) {
+					consumer.accept(high | low);
+				}
+			} else {
+				long[] words = (long[]) chunk;
+				for (int w = 0; w < words.length; w++) {
+					long word = words[w];
+					while (word != 0) {
+						consumer.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+						word &= word - 1;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the values of the bitmap, in unsigned order
+	 */
+	public int[] toArray() {
+		int[] values = new int[cardinality];
+		int[] index = new int[1];
+		forEachInt(value -> values[index[0]++] = value);
+		return values;
+	}
+
+	/**
+	 * @return a new mutable set holding the values of the bitmap
+	 */
+	public Set<Integer> toSet() {
+		Set<Integer> values = new TreeSet<>();
+		forEachInt(values::add);
+		return values;
+	}
+
+	/**
+	 * @return a sequential stream of the values of the bitmap, in unsigned order
+	 */
+	public IntStream stream() {
+		return StreamSupport.intStream(Spliterators.spliterator(iterator(), cardinality,
+		    Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+	}
+
+	/**
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		int[] values = toArray();
+		return new PrimitiveIterator.OfInt() {
+
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < values.length;
+			}
+
+			@Override
+			public int nextInt() {
+				if (next >= values.length) {
+					throw new NoSuchElementException();
+				}
+				return values[next++];
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof IntBitmap)) {
+			return false;
+		}
+		IntBitmap other = (IntBitmap) obj;
+		if (cardinality != other.cardinality || !Arrays.equals(keys, other.keys)) {
+			return false;
+		}
+		// chunks are always stored in the same form for the same values
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i] instanceof char[] ? !(other.chunks[i] instanceof char[])
+			        || !Arrays.equals((char[]) chunks[i], (char[]) other.chunks[i])
+			        : !(other.chunks[i] instanceof long[]) || !Arrays.equals((long[]) chunks[i], (long[]) other.chunks[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = Arrays.hashCode(keys);
+		for (Object chunk : chunks) {
+			hash = 31 * hash + (chunk instanceof char[] ? Arrays.hashCode((char[]) chunk) : Arrays.hashCode((long[]) chunk));
+		}
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		return "IntBitmap cardinality=" + cardinality;
+	}
+
+	private static IntBitmap create(int[] keys, Object[] chunks, int count) {
+		if (count == 0) {
+			return EMPTY;
+		}
+		return new IntBitmap(Arrays.copyOf(keys, count), Arrays.copyOf(chunks, count));
+	}
+
+	private static int cardinality(Object chunk) {
+		if (chunk instanceof char[]) {
+			return ((char[]) chunk).length;
+		}
+		int count = 0;
+		for (long word : (long[]) chunk) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	private static boolean contains(Object chunk, char low) {
+		if (chunk instanceof char[]) {
+			return Arrays.binarySearch((char[]) chunk, low) >= 0;
+		}
+		return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+	}
+
+	private static long[] toBitmap(char[] lows, int size) {
+		long[] words = new long[BITMAP_WORDS];
+		for (int i = 0; i < size; i++) {
+			words[lows[i] >>> 6] |= 1L << lows[i];
+		}
+		return words;
+	}
+
+	/**
+	 * Stores the given bitmap words in the smallest form, returns null if no bit is set
+	 */
+	private static Object compact(long[] words) {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		if (count == 0) {
+			return null;
+		}
+		if (count > MAX_ARRAY_SIZE) {
+			return words;
+		}
+		char[] lows = new char[count];
+		int index = 0;
+		for (int w = 0; w < words.length; w++) {
+			long word = words[w];
+			while (word != 0) {
+				lows[index++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+				word &= word - 1;
+			}
+		}
+		return lows;
+	}
+
+	private static Object and(Object a, Object b) {
+		if (a instanceof long[] && b instanceof long[]) {
+			long[] x = (long[]) a;
+			long[] y = (long[]) b;
+			long[] words = new long[BITMAP_WORDS];
+			for (int w = 0; w < BITMAP_WORDS; w++) {
+				words[w] = x[w] & y[w];
+			}
+			return compact(words);
+		}
+		if (a instanceof char[] && b instanceof char[]) {
+			char[] x = (char[]) a;
+			char[] y = (char[]) b;
+			char[] lows = new char[Math.min(x.length, y.length)];
+			int count = 0;
+			int i = 0;
+			int j = 0;
+			while (i < x.length && j < y.length) {
+				if (x[i] < y[j]) {
+					i++;
+				} else if (x[i] > y[j]) {
+					j++;
+				} else {
+					lows[count++] = x[i];
+					i++;
+					j++;
+				}
+			}
+			return count == 0 ? null : Arrays.copyOf(lows, count);
+		}
+		char[] array = (char[]) (a instanceof char[] ? a : b);
+		return filter(array, (long[]) (a instanceof long[] ? a : b), true);
+	}
+
+	private static Object or(Object a, Object b) {
+		if (a instanceof char[] && b instanceof char[]) {
+			char[] x = (char[]) a;
+			char[] y = (char[]) b;
+			char[] lows = new char[x.length + y.length];
+			int count = 0;
+			int i = 0;
+			int j = 0;
+			while (i < x.length || j < y.length) {
+				if (j == y.length || (i < x.length && x[i] < y[j])) {
+					lows[count++] = x[i++];
+				} else if (i == x.length || x[i] > y[j]) {
+					lows[count++] = y[j++];
+				} else {
+					lows[count++] = x[i++];
+					j++;
+				}
+			}
+			return count <= MAX_ARRAY_SIZE ? Arrays.copyOf(lows, count) : toBitmap(lows, count);
+		}
+		if (a instanceof long[] && b instanceof long[]) {
+			long[] x = (long[]) a;
+			long[] y = (long[]) b;
+			long[] words = new long[BITMAP_WORDS];
+			for (int w = 0; w < BITMAP_WORDS; w++) {
+				words[w] = x[w] | y[w];
+			}
+			return words;
+		}
+		long[] words = ((long[]) (a instanceof long[] ? a : b)).clone();
+		for (char low : (char[]) (a instanceof char[] ? a : b)) {
+			words[low >>> 6] |= 1L << low;
+		}
+		return words;
+	}
+
+	private static Object andNot(Object a, Object b) {
+		if (a instanceof char[] && b instanceof char[]) {
+			char[] x = (char[]) a;
+			char[] y = (char[]) b;
+			char[] lows = new char[x.length];
+			int count = 0;
+			int j = 0;
+			for (char low : x) {
+				while (j < y.length && y[j] < low) {
+					j++;
+				}
+				if (j == y.length || y[j] != low) {
+					lows[count++] = low;
+				}
+			}
+			return count == 0 ? null : Arrays.copyOf(lows, count);
+		}
+		if (a instanceof char[]) {
+			return filter((char[]) a, (long[]) b, false);
+		}
+		long[] words = ((long[]) a).clone();
+		if (b instanceof long[]) {
+			long[] y = (long[]) b;
+			for (int w = 0; w < BITMAP_WORDS; w++) {
+				words[w] &= ~y[w];
+			}
+		} else {
+			for (char low : (char[]) b) {
+				words[low >>> 6] &= ~(1L << low);
+			}
+		}
+		return compact(words);
+	}
+
+	/**
+	 * Returns the values of the array which are (or are not) set in the bitmap, or null if none are
+	 */
+	private static Object filter(char[] array, long[] bitmap, boolean keepSet) {
+		char[] lows = new char[array.length];
+		int count = 0;
+		for (char low : array) {
+			if (((bitmap[low >>> 6] & (1L << low)) != 0) == keepSet) {
+				lows[count++] = low;
+			}
+		}
+		return count == 0 ? null : Arrays.copyOf(lows, count);
+	}
+}
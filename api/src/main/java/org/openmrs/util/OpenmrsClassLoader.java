@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openmrs.api.APIException;
@@ -41,6 +42,7 @@ import org.openmrs.module.ModuleFactory;
 import org.openmrs.module.ModuleUtil;
 import org.openmrs.scheduler.SchedulerException;
 import org.openmrs.scheduler.SchedulerService;
+import org.openmrs.serialization.SharedXStreamSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +56,11 @@ public class OpenmrsClassLoader extends URLClassLoader {
 	
 	private static Logger log = LoggerFactory.getLogger(OpenmrsClassLoader.class);
 	
+	static {
+		// classes are loaded under a lock per class name instead of a lock on the whole class loader
+		ClassLoader.registerAsParallelCapable();
+	}
+	
 	private static File libCacheFolder;
 	
 	private static boolean libCacheFolderInitialized = false;
@@ -67,6 +74,18 @@ public class OpenmrsClassLoader extends URLClassLoader {
 	 */
 	private Map<String, WeakReference<Class<?>>> cachedClasses = new ConcurrentHashMap<>();
 	
+	/**
+	 * Names of the classes which neither the module class loaders nor the parent class loader could
+	 * load, cleared whenever a module class loader is added or removed.
+	 */
+	private final Set<String> classesNotFound = ConcurrentHashMap.newKeySet();
+	
+	// incremented each time classesNotFound is cleared
+	private final AtomicInteger classesNotFoundVersion = new AtomicInteger();
+	
+	// the most class names remembered as not found, the names are forgotten once there are more
+	private static final int MAX_CLASSES_NOT_FOUND = 10000;
+	
 	// suffix of the OpenMRS required library cache folder
 	private static final String LIBCACHESUFFIX = ".openmrs-lib-cache";
 	
@@ -137,37 +156,24 @@ public class OpenmrsClassLoader extends URLClassLoader {
 	 * <strong>Should</strong> not load class from cache if class loader has been disposed
 	 * <strong>Should</strong> load class from parent first
 	 * <strong>Should</strong> load class if two module class loaders have same packages
+	 * <strong>Should</strong> not look for a missing class again until the module class loaders change
 	 */
 	@Override
-	public synchronized Class<?> loadClass(String name, final boolean resolve) throws ClassNotFoundException {
+	public Class<?> loadClass(String name, final boolean resolve) throws ClassNotFoundException {
 		// Check if the class has already been requested from this class loader
 		Class<?> c = getCachedClass(name);
 		if (c == null) {
-			// We do not try to load classes using this.findClass on purpose.
-			// All classes are loaded by web container or by module class loaders.
-			
-			// First try loading from modules such that we allow modules to load
-			// different versions of the same libraries that may already be used
-			// by core or the web container. An example is the chartsearch module
-			// which uses different versions of lucene and solr from core
-			String packageName = StringUtils.substringBeforeLast(name, ".");
-			Set<ModuleClassLoader> moduleClassLoaders = ModuleFactory.getModuleClassLoadersForPackage(packageName);
-			for (ModuleClassLoader moduleClassLoader : moduleClassLoaders) {
-				try {
-					c = moduleClassLoader.loadClass(name);
-					break;
-				}
-				catch (ClassNotFoundException e) {
-					// Continue trying...
-				}
+			if (classesNotFound.contains(name)) {
+				throw new ClassNotFoundException(name);
 			}
 			
-			if (c == null) {
-				// Finally try loading from web container
-				c = getParent().loadClass(name);
+			synchronized (getClassLoadingLock(name)) {
+				c = getCachedClass(name);
+				if (c == null) {
+					c = loadClassFromModulesOrParent(name);
+					cacheClass(name, c);
+				}
 			}
-			
-			cacheClass(name, c);
 		}
 		
 		if (resolve) {
@@ -177,6 +183,58 @@ public class OpenmrsClassLoader extends URLClassLoader {
 		return c;
 	}
 	
+	private Class<?> loadClassFromModulesOrParent(String name) throws ClassNotFoundException {
+		int version = classesNotFoundVersion.get();
+		
+		// We do not try to load classes using this.findClass on purpose.
+		// All classes are loaded by web container or by module class loaders.
+		
+		// First try loading from modules such that we allow modules to load
+		// different versions of the same libraries that may already be used
+		// by core or the web container. An example is the chartsearch module
+		// which uses different versions of lucene and solr from core
+		String packageName = StringUtils.substringBeforeLast(name, ".");
+		Set<ModuleClassLoader> moduleClassLoaders = ModuleFactory.getModuleClassLoadersForPackage(packageName);
+		for (ModuleClassLoader moduleClassLoader : moduleClassLoaders) {
+			try {
+				return moduleClassLoader.loadClass(name);
+			}
+			catch (ClassNotFoundException e) {
+				// Continue trying...
+			}
+		}
+		
+		try {
+			// Finally try loading from web container
+			return getParent().loadClass(name);
+		}
+		catch (ClassNotFoundException e) {
+			if (classesNotFound.size() >= MAX_CLASSES_NOT_FOUND) {
+				classesNotFound.clear();
+			}
+			classesNotFound.add(name);
+			// forget the name again if a module class loader was added or removed during the lookup
+			if (version != classesNotFoundVersion.get()) {
+				classesNotFound.remove(name);
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * Forgets the classes which could not be loaded, called when a module class loader is added or
+	 * removed since the module may have them.
+	 * 
+	 * @since 2.6.0
+	 */
+	public static void clearClassesNotFound() {
+		OpenmrsClassLoader instance = OpenmrsClassLoaderHolder.INSTANCE;
+		if (instance != null) {
+			instance.classesNotFoundVersion.incrementAndGet();
+			instance.classesNotFound.clear();
+		}
+	}
+	
 	private Class<?> getCachedClass(String name) {
 		WeakReference<Class<?>> ref = cachedClasses.get(name);
 		if (ref != null) {
@@ -379,6 +437,8 @@ public class OpenmrsClassLoader extends URLClassLoader {
 		
 		OpenmrsClassScanner.destroyInstance();
 		
+		SharedXStreamSerializer.destroyInstance();
+		
 		OpenmrsClassLoaderHolder.INSTANCE = null;
 	}
 	
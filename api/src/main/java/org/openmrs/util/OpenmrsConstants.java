@@ -349,6 +349,20 @@ public final class OpenmrsConstants {
 	
 	public static final String GLOBAL_PROPERTY_IGNORE_MISSING_NONLOCAL_PATIENTS = "hl7_processor.ignore_missing_patient_non_local";
 	
+	/**
+	 * Specifies how many hl7 inbound queue entries the hl7 processor claims and commits at a time
+	 * 
+	 * @since 2.6.0
+	 */
+	public static final String GLOBAL_PROPERTY_HL7_PROCESSOR_BATCH_SIZE = "hl7_processor.batch_size";
+	
+	/**
+	 * Specifies how many threads the hl7 processor uses to process a batch of queue entries
+	 * 
+	 * @since 2.6.0
+	 */
+	public static final String GLOBAL_PROPERTY_HL7_PROCESSOR_WORKER_THREADS = "hl7_processor.worker_threads";
+	
 	public static final String GLOBAL_PROPERTY_TRUE_CONCEPT = "concept.true";
 	
 	public static final String GLOBAL_PROPERTY_FALSE_CONCEPT = "concept.false";
@@ -582,6 +596,13 @@ public final class OpenmrsConstants {
 	
 	public static final String GP_ORDER_NUMBER_GENERATOR_BEAN_ID = "order.orderNumberGeneratorBeanId";
 	
+	/**
+	 * Specifies how many order numbers the block reserving order number generator reserves at a time
+	 * 
+	 * @since 2.6.0
+	 */
+	public static final String GP_ORDER_NUMBER_BLOCK_SIZE = "order.orderNumberBlockSize";
+	
 	/**
 	 * Specifies the uuid of the concept set where its members represent the possible drug routes
 	 */
@@ -602,6 +623,32 @@ public final class OpenmrsConstants {
 	 */
 	public static final String GP_SEARCH_INDEX_VERSION = "search.indexVersion";
 	
+	/**
+	 * Specifies how many threads rebuild the search index, when set the index is rebuilt one id range
+	 * of each type at a time and an interrupted rebuild resumes where it stopped at the next startup
+	 * 
+	 * @since 2.6.0
+	 */
+	public static final String GP_SEARCH_INDEX_THREADS = "search.indexThreads";
+	
+	/**
+	 * Specifies how many consecutive ids make up an id range when the search index is rebuilt on
+	 * several threads
+	 * 
+	 * @since 2.6.0
+	 */
+	public static final String GP_SEARCH_INDEX_PARTITION_SIZE = "search.indexPartitionSize";
+	
+	/**
+	 * The prefix of the global properties which record, per indexed type, the id up to which a
+	 * rebuild of the search index on several threads has completed. The value is the index version
+	 * and the id separated by a colon, so that a record left by a rebuild of another index version is
+	 * ignored.
+	 * 
+	 * @since 2.6.0
+	 */
+	public static final String GP_SEARCH_INDEX_PROGRESS_PREFIX = "search.indexProgress.";
+	
 	/**
 	 * Indicates the version of the search index. The index will be rebuilt, if the version changes.
 	 * 
@@ -888,6 +935,14 @@ public final class OpenmrsConstants {
 		        "If true, hl7 messages for patients that are not found and are non-local will silently be dropped/ignored",
 		        BooleanDatatype.class, null));
 		
+		props.add(new GlobalProperty(GLOBAL_PROPERTY_HL7_PROCESSOR_BATCH_SIZE, "1",
+		        "Number of hl7 inbound queue entries that are claimed and committed together by the hl7 processor, "
+		                + "1 processes the queue one entry at a time"));
+		
+		props.add(new GlobalProperty(GLOBAL_PROPERTY_HL7_PROCESSOR_WORKER_THREADS, "1",
+		        "Number of threads the hl7 processor uses to process a batch of queue entries when the batch size is "
+		                + "greater than 1, entries for the same patient are always processed in order by the same thread"));
+		
 		props
 		        .add(new GlobalProperty(
 		                GLOBAL_PROPERTY_SHOW_PATIENT_NAME,
@@ -1018,6 +1073,14 @@ public final class OpenmrsConstants {
 		props.add(new GlobalProperty(GP_SEARCH_INDEX_VERSION, "",
 		        "Indicates the index version. If it is blank, the index needs to be rebuilt."));
 		
+		props.add(new GlobalProperty(GP_SEARCH_INDEX_THREADS, "",
+		        "The number of threads rebuilding the search index one id range at a time, an interrupted rebuild "
+		                + "resumes where it stopped at the next startup. If it is blank, the index is rebuilt with the "
+		                + "default mass indexer"));
+		
+		props.add(new GlobalProperty(GP_SEARCH_INDEX_PARTITION_SIZE, "10000",
+		        "The number of consecutive ids in each id range when the search index is rebuilt on several threads"));
+		
 		props.add(new GlobalProperty(GLOBAL_PROPERTY_ALLOW_OVERLAPPING_VISITS, "true",
 		        "true/false whether or not to allow visits of a given patient to overlap", BooleanDatatype.class, null));
 		
@@ -1041,6 +1104,10 @@ public final class OpenmrsConstants {
 		props.add(new GlobalProperty(GP_ORDER_NUMBER_GENERATOR_BEAN_ID, "",
 		        "Specifies spring bean id of the order generator to use when assigning order numbers"));
 		
+		props.add(new GlobalProperty(GP_ORDER_NUMBER_BLOCK_SIZE, "100",
+		        "Specifies how many order numbers are reserved at a time when the order number generator is set to "
+		                + "blockReservingOrderNumberGenerator, unused numbers of a block are skipped after a restart"));
+		
 		props.add(new GlobalProperty(GP_DRUG_ROUTES_CONCEPT_UUID, "",
 		        "Specifies the uuid of the concept set where its members represent the possible drug routes"));
 		
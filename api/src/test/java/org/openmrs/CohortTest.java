@@ -11,6 +11,7 @@ package org.openmrs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.SimpleDateFormat;
@@ -27,6 +28,7 @@ import java.util.Set;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.openmrs.util.IntBitmap;
 
 /**
  * Behavior-driven tests of the Cohort class.
@@ -336,4 +338,139 @@ public class CohortTest {
 		assertFalse(cohort.hasNoActiveMemberships());
 		
 	}
+	
+	@Test
+	public void getActiveMemberBitmap_shouldOnlyContainTheIdsOfActiveMembers() {
+		Calendar calendar = Calendar.getInstance();
+		calendar.add(Calendar.DAY_OF_YEAR, -1);
+		Date yesterday = calendar.getTime();
+		
+		Cohort cohort = new Cohort(3);
+		cohort.addMembership(new CohortMembership(7));
+		CohortMembership voided = new CohortMembership(8);
+		voided.setVoided(true);
+		cohort.addMembership(voided);
+		CohortMembership ended = new CohortMembership(9);
+		ended.setEndDate(yesterday);
+		cohort.addMembership(ended);
+		
+		assertEquals(IntBitmap.of(7), cohort.getActiveMemberBitmap());
+	}
+	
+	@Test
+	public void getActiveMemberBitmap_shouldBeRebuiltAfterAMembershipIsAdded() {
+		Cohort cohort = new Cohort(3);
+		cohort.addMember(7);
+		assertEquals(IntBitmap.of(7), cohort.getActiveMemberBitmap());
+		
+		cohort.addMember(8);
+		
+		assertEquals(IntBitmap.of(7, 8), cohort.getActiveMemberBitmap());
+		assertTrue(cohort.hasActiveMembership(8));
+	}
+	
+	@Test
+	public void getActiveMemberBitmap_shouldReflectMembershipsChangedInPlace() {
+		Calendar calendar = Calendar.getInstance();
+		calendar.add(Calendar.DAY_OF_YEAR, -1);
+		Date yesterday = calendar.getTime();
+		
+		Cohort cohort = new Cohort(3);
+		cohort.addMember(7);
+		cohort.addMember(8);
+		assertEquals(IntBitmap.of(7, 8), cohort.getActiveMemberBitmap());
+		assertEquals(2, cohort.activeMembershipSize());
+		
+		for (CohortMembership membership : cohort.getActiveMemberships()) {
+			if (membership.getPatientId() == 7) {
+				membership.setEndDate(yesterday);
+			} else {
+				membership.setVoided(true);
+			}
+		}
+		
+		assertEquals(IntBitmap.EMPTY, cohort.getActiveMemberBitmap());
+		assertFalse(cohort.hasActiveMembership(7));
+		assertEquals(0, cohort.activeMembershipSize());
+		assertTrue(cohort.hasNoActiveMemberships());
+	}
+	
+	@Test
+	public void getActiveMemberBitmap_shouldBeBuiltOnceUntilTheMembershipsChange() {
+		Cohort cohort = new Cohort(3);
+		cohort.addMember(7);
+		IntBitmap bitmap = cohort.getActiveMemberBitmap();
+		assertSame(bitmap, cohort.getActiveMemberBitmap());
+		
+		CohortMembership membership = new CohortMembership(8);
+		cohort.addMembership(membership);
+		assertEquals(IntBitmap.of(7, 8), cohort.getActiveMemberBitmap());
+		
+		cohort.removeMembership(membership);
+		assertEquals(IntBitmap.of(7), cohort.getActiveMemberBitmap());
+	}
+	
+	@Test
+	public void getActiveMemberBitmap_shouldBeRebuiltOnceAMembershipEnds() throws InterruptedException {
+		Cohort cohort = new Cohort(3);
+		cohort.addMember(7);
+		CohortMembership ending = new CohortMembership(8);
+		ending.setEndDate(new Date(System.currentTimeMillis() + 50));
+		cohort.addMembership(ending);
+		assertEquals(IntBitmap.of(7, 8), cohort.getActiveMemberBitmap());
+		
+		Thread.sleep(100);
+		
+		assertEquals(IntBitmap.of(7), cohort.getActiveMemberBitmap());
+		assertFalse(cohort.hasActiveMembership(8));
+		assertTrue(cohort.contains(8));
+	}
+	
+	@Test
+	public void setOperations_shouldOnlyCompareTheMembershipsOfCommonMembers() {
+		Cohort a = new Cohort(3);
+		a.addMember(1);
+		CohortMembership shared = new CohortMembership(2);
+		a.addMembership(shared);
+		Cohort b = new Cohort(4);
+		b.getMemberships().add(shared);
+		b.addMember(3);
+		
+		assertEquals(new HashSet<>(Arrays.asList(2)), Cohort.intersect(a, b).getMemberIds());
+		assertEquals(new HashSet<>(Arrays.asList(1)), Cohort.subtract(a, b).getMemberIds());
+		assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), Cohort.union(a, b).getMemberIds());
+		assertTrue(Cohort.intersect(a, new Cohort(IntBitmap.of(1))).getMemberships().isEmpty());
+	}
+	
+	@Test
+	public void constructorWithBitmap_shouldAnswerFromTheBitmapAndCreateMembershipsWhenAskedFor() {
+		Cohort cohort = new Cohort(IntBitmap.of(7, 8, 9));
+		
+		assertEquals(3, cohort.size());
+		assertTrue(cohort.contains(8));
+		assertFalse(cohort.contains(10));
+		assertEquals(3, cohort.activeMembershipSize());
+		
+		Collection<CohortMembership> memberships = cohort.getMemberships();
+		assertEquals(3, memberships.size());
+		assertTrue(memberships.stream().allMatch(m -> m.getCohort() == cohort && m.isActive()));
+		
+		cohort.addMember(10);
+		assertEquals(4, cohort.size());
+		assertEquals(IntBitmap.of(7, 8, 9, 10), cohort.getActiveMemberBitmap());
+	}
+	
+	@Test
+	public void setOperations_shouldBeComputedOnTheBitmapsOfCohortsCreatedFromBitmaps() {
+		Cohort a = new Cohort(IntBitmap.of(1, 2, 3));
+		a.setName("a");
+		Cohort b = new Cohort(IntBitmap.of(3, 4));
+		b.setName("b");
+		
+		assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), Cohort.union(a, b).getMemberIds());
+		assertEquals(new HashSet<>(Arrays.asList(3)), Cohort.intersect(a, b).getMemberIds());
+		assertEquals(new HashSet<>(Arrays.asList(1, 2)), Cohort.subtract(a, b).getMemberIds());
+		assertEquals("(a + b)", Cohort.union(a, b).getName());
+		assertEquals(4, Cohort.union(a, b).getMemberships().size());
+	}
 }
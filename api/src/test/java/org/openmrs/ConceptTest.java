@@ -1209,4 +1209,69 @@ public class ConceptTest extends BaseContextSensitiveTest {
 		assertThat(concept.getSetMembers(), hasItem(setMember3));
 		assertThat(concept.getSetMembers().size(), is(3));
 	}
+	
+	/**
+	 * @see Concept#getShortNameInLocale(Locale)
+	 */
+	@Test
+	public void getShortNameInLocale_shouldReflectNamesAddedAndRemovedAfterALookup() {
+		Concept concept = new Concept();
+		concept.addName(new ConceptName("fully specified", Locale.ENGLISH));
+		assertNull(concept.getShortNameInLocale(Locale.ENGLISH));
+		
+		ConceptName shortName = new ConceptName("short", Locale.ENGLISH);
+		shortName.setConceptNameType(ConceptNameType.SHORT);
+		concept.addName(shortName);
+		assertEquals(shortName, concept.getShortNameInLocale(Locale.ENGLISH));
+		assertEquals(shortName, concept.getShortNameInLocale(Locale.UK));
+		
+		concept.removeName(shortName);
+		assertNull(concept.getShortNameInLocale(Locale.ENGLISH));
+	}
+	
+	/**
+	 * @see Concept#getPreferredName(Locale)
+	 */
+	@Test
+	public void getPreferredName_shouldReflectChangesToTheNamesOfTheConcept() {
+		Concept concept = new Concept();
+		ConceptName fullySpecifiedName = new ConceptName("fully specified", Locale.ENGLISH);
+		ConceptName synonym = new ConceptName("synonym", Locale.ENGLISH);
+		concept.addName(fullySpecifiedName);
+		concept.addName(synonym);
+		assertEquals(fullySpecifiedName, concept.getPreferredName(Locale.ENGLISH));
+		assertEquals(1, concept.getSynonyms(Locale.ENGLISH).size());
+		
+		synonym.setLocalePreferred(true);
+		assertEquals(synonym, concept.getPreferredName(Locale.ENGLISH));
+		
+		synonym.setVoided(true);
+		assertEquals(fullySpecifiedName, concept.getPreferredName(Locale.ENGLISH));
+		assertThat(concept.getSynonyms(Locale.ENGLISH), is(empty()));
+		
+		fullySpecifiedName.setLocale(Locale.FRENCH);
+		assertNull(concept.getPreferredName(Locale.ENGLISH));
+		assertEquals(fullySpecifiedName, concept.getFullySpecifiedName(Locale.FRENCH));
+	}
+	
+	/**
+	 * @see Concept#setNames(Collection)
+	 */
+	@Test
+	public void setNames_shouldReplaceTheNamesUsedByTheLookups() {
+		Concept concept = new Concept();
+		concept.addName(new ConceptName("old name", Locale.ENGLISH));
+		assertEquals("old name", concept.getName(Locale.ENGLISH).getName());
+		
+		ConceptName newName = new ConceptName("new name", Locale.ENGLISH);
+		newName.setConceptNameType(ConceptNameType.FULLY_SPECIFIED);
+		newName.setConcept(concept);
+		List<ConceptName> names = new ArrayList<>();
+		names.add(newName);
+		concept.setNames(names);
+		
+		assertEquals(newName, concept.getName(Locale.ENGLISH));
+		assertEquals(newName, concept.getName());
+		assertEquals(1, concept.getNames(Locale.ENGLISH).size());
+	}
 }
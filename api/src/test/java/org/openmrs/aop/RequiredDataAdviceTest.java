@@ -9,6 +9,7 @@
  */
 package org.openmrs.aop;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -171,6 +172,71 @@ public class RequiredDataAdviceTest extends BaseContextMockTest {
 		assertThrows(APIException.class, () -> RequiredDataAdvice.getChildCollection(oo, ClassWithBadGetter.class.getDeclaredField("locations")));
 	}
 	
+	/**
+	 * @see RequiredDataAdvice#recursivelyHandle(Class, OpenmrsObject, org.openmrs.User, java.util.Date,
+	 *      String, List)
+	 */
+	@Test
+	public void recursivelyHandle_shouldHandleChildCollectionsThatAreAccessedDirectly() {
+		Map<String, SaveHandler> saveHandlers = new HashMap<>();
+		saveHandlers.put("saveHandler", saveHandler);
+		when(applicationContext.getBeansOfType(SaveHandler.class)).thenReturn(saveHandlers);
+		
+		MiniOpenmrsObject oo = new MiniOpenmrsObject();
+		Location location = new Location(1);
+		oo.setLocations(Arrays.asList(location));
+		
+		RequiredDataAdvice.recursivelyHandle(SaveHandler.class, oo, null, null, null, null);
+		RequiredDataAdvice.recursivelyHandle(SaveHandler.class, oo, null, null, null, null);
+		
+		verify(saveHandler, times(2)).handle(eq(location), Matchers.anyObject(), Matchers.anyObject(), Matchers.any());
+	}
+	
+	/**
+	 * @see RequiredDataAdvice#recursivelyHandle(Class, OpenmrsObject, org.openmrs.User, java.util.Date,
+	 *      String, List)
+	 */
+	@Test
+	public void recursivelyHandle_shouldThrowAPIExceptionIfAChildCollectionHasNoGetter() {
+		ClassWithBadGetter oo = new ClassWithBadGetter();
+		oo.setMyLocations(new HashSet<>());
+		assertThrows(APIException.class,
+		    () -> RequiredDataAdvice.recursivelyHandle(SaveHandler.class, oo, null, null, null, null));
+	}
+	
+	/**
+	 * @see RequiredDataAdvice#recursivelyHandle(Class, OpenmrsObject, org.openmrs.User, java.util.Date,
+	 *      String, List)
+	 */
+	@Test
+	public void recursivelyHandle_shouldRethrowRuntimeExceptionsThrownByAChildCollectionGetter() {
+		IllegalStateException thrown = assertThrows(IllegalStateException.class,
+		    () -> RequiredDataAdvice.recursivelyHandle(SaveHandler.class, new ClassWithFailingGetter(), null, null, null,
+		        null));
+		assertEquals("locations are not loaded", thrown.getMessage());
+	}
+	
+	/**
+	 * Class with a child collection getter that fails
+	 */
+	public class ClassWithFailingGetter extends BaseOpenmrsObject {
+		
+		private Set<Location> locations;
+		
+		public Set<Location> getLocations() {
+			throw new IllegalStateException("locations are not loaded");
+		}
+		
+		@Override
+		public Integer getId() {
+			return null;
+		}
+		
+		@Override
+		public void setId(Integer id) {
+		}
+	}
+	
 	/**
 	 * A class that has normal fields and non{@link OpenmrsObject} on it.
 	 */
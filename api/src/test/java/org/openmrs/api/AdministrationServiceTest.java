@@ -37,6 +37,7 @@ import org.openmrs.GlobalProperty;
 import org.openmrs.ImplementationId;
 import org.openmrs.User;
 import org.openmrs.api.context.Context;
+import org.openmrs.api.impl.GlobalPropertyCache;
 import org.openmrs.customdatatype.datatype.BooleanDatatype;
 import org.openmrs.customdatatype.datatype.DateDatatype;
 import org.openmrs.messagesource.MutableMessageSource;
@@ -475,6 +476,40 @@ public class AdministrationServiceTest extends BaseContextSensitiveTest {
 		assertEquals(1234.54, retValue);
 	}
 	
+	@Test
+	public void getGlobalProperty_shouldServeRepeatedLookupsFromTheCache() {
+		executeDataSet(ADMIN_INITIAL_DATA_XML);
+		GlobalPropertyCache cache = applicationContext.getBean("globalPropertyCache", GlobalPropertyCache.class);
+		
+		assertEquals("correct-value", adminService.getGlobalProperty("a_valid_gp_key"));
+		long misses = cache.getMissCount();
+		long hits = cache.getHitCount();
+		assertEquals("correct-value", adminService.getGlobalProperty("a_valid_gp_key"));
+		
+		assertEquals(misses, cache.getMissCount());
+		assertEquals(hits + 1, cache.getHitCount());
+	}
+	
+	@Test
+	public void purgeGlobalProperty_shouldEvictThePropertyFromTheCache() {
+		executeDataSet(ADMIN_INITIAL_DATA_XML);
+		assertEquals("correct-value", adminService.getGlobalProperty("a_valid_gp_key"));
+		
+		adminService.purgeGlobalProperty(adminService.getGlobalPropertyObject("a_valid_gp_key"));
+		
+		assertNull(adminService.getGlobalProperty("a_valid_gp_key"));
+	}
+	
+	@Test
+	public void updateGlobalProperty_shouldEvictThePropertyFromTheCache() {
+		executeDataSet(ADMIN_INITIAL_DATA_XML);
+		assertEquals("correct-value", adminService.getGlobalProperty("a_valid_gp_key"));
+		
+		adminService.updateGlobalProperty("a_valid_gp_key", "updated-value");
+		
+		assertEquals("updated-value", adminService.getGlobalProperty("A_VALID_GP_KEY"));
+	}
+	
 	@Test
 	public void getGlobalProperty_shouldGetPropertyInCaseInsensitiveWay() {
 		executeDataSet("org/openmrs/api/include/AdministrationServiceTest-globalproperties.xml");
@@ -34,6 +34,7 @@ import org.openmrs.Patient;
 import org.openmrs.User;
 import org.openmrs.api.context.Context;
 import org.openmrs.test.jupiter.BaseContextSensitiveTest;
+import org.openmrs.util.IntBitmap;
 
 /**
  * Tests methods in the CohortService class TODO add all the rest of the tests
@@ -729,4 +730,42 @@ public class CohortServiceTest extends BaseContextSensitiveTest {
 		List<CohortMembership> memberships = service.getCohortMemberships(6, longAgo, false);
 		assertThat(memberships.size(), is(0));
 	}
+	
+	@Test
+	public void getActiveMemberBitmap_shouldGetTheIdsOfTheActiveMembersOfASavedCohort() throws Exception {
+		executeDataSet(COHORT_XML);
+		Cohort cohort = service.getCohort(2);
+		
+		assertEquals(IntBitmap.of(6), service.getActiveMemberBitmap(cohort, null));
+		assertEquals(IntBitmap.EMPTY,
+		    service.getActiveMemberBitmap(cohort, DateUtils.parseDate("1999-12-31", "yyyy-MM-dd")));
+		assertEquals(IntBitmap.of(6),
+		    service.getActiveMemberBitmap(cohort, DateUtils.parseDate("2000-06-01", "yyyy-MM-dd")));
+	}
+	
+	@Test
+	public void getActiveMemberBitmap_shouldGetTheIdsOfTheActiveMembersOfAnUnsavedCohort() {
+		Cohort cohort = new Cohort();
+		cohort.addMember(7);
+		CohortMembership voided = new CohortMembership(8);
+		voided.setVoided(true);
+		cohort.addMembership(voided);
+		
+		assertEquals(IntBitmap.of(7), service.getActiveMemberBitmap(cohort, null));
+	}
+	
+	@Test
+	public void saveCohort_shouldSaveACohortCreatedFromABitmap() {
+		Cohort cohort = new Cohort(IntBitmap.of(2, 7));
+		cohort.setName("bitmap cohort");
+		cohort.setDescription("created from a bitmap");
+		
+		service.saveCohort(cohort);
+		Context.flushSession();
+		Context.clearSession();
+		
+		Cohort saved = service.getCohort(cohort.getCohortId());
+		assertEquals(2, saved.getMemberships().size());
+		assertEquals(IntBitmap.of(2, 7), service.getActiveMemberBitmap(saved, null));
+	}
 }
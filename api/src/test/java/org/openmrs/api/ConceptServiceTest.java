@@ -77,7 +77,9 @@ import org.openmrs.Patient;
 import org.openmrs.Person;
 import org.openmrs.User;
 import org.openmrs.api.context.Context;
+import org.openmrs.api.db.ConceptDAO;
 import org.openmrs.api.db.DAOException;
+import org.openmrs.api.impl.ConceptSetClosure;
 import org.openmrs.customdatatype.datatype.FreeTextDatatype;
 import org.openmrs.test.jupiter.BaseContextSensitiveTest;
 import org.openmrs.util.ConceptMapTypeComparator;
@@ -111,6 +113,12 @@ public class ConceptServiceTest extends BaseContextSensitiveTest {
 
 	@Autowired
 	CacheManager cacheManager;
+	
+	@Autowired
+	private ConceptSetClosure conceptSetClosure;
+	
+	@Autowired
+	private ConceptDAO conceptDAO;
 
 	// For testing concept lookups by static constant
 	private static final String TEST_CONCEPT_CONSTANT_ID = "3";
@@ -1602,6 +1610,77 @@ public class ConceptServiceTest extends BaseContextSensitiveTest {
 		assertThat(conceptSet, containsInAnyOrder(hasId(2), hasId(3), hasId(4), hasId(5), hasId(6)));
 	}
 	
+	/**
+	 * @see ConceptService#getAllSetsContainingConcept(Concept)
+	 */
+	@Test
+	public void getAllSetsContainingConcept_shouldReturnTheSetsContainingTheConceptDirectlyAndThroughNestedSets() {
+		executeDataSet(GET_CONCEPTS_BY_SET_XML);
+		
+		List<Concept> sets = conceptService.getAllSetsContainingConcept(conceptService.getConcept(6));
+		
+		assertThat(sets, contains(hasId(1), hasId(3), hasId(4)));
+		assertThat(conceptService.getAllSetsContainingConcept(new Concept()), is(empty()));
+	}
+	
+	/**
+	 * @see ConceptService#isConceptInSet(Concept, Concept)
+	 */
+	@Test
+	public void isConceptInSet_shouldReturnTrueForDirectAndNestedMembers() {
+		executeDataSet(GET_CONCEPTS_BY_SET_XML);
+		
+		assertTrue(conceptService.isConceptInSet(conceptService.getConcept(2), conceptService.getConcept(1)));
+		assertTrue(conceptService.isConceptInSet(conceptService.getConcept(6), conceptService.getConcept(1)));
+		assertFalse(conceptService.isConceptInSet(conceptService.getConcept(1), conceptService.getConcept(3)));
+		assertFalse(conceptService.isConceptInSet(conceptService.getConcept(2), conceptService.getConcept(3)));
+	}
+	
+	/**
+	 * @see ConceptService#isConceptInSet(Concept, Concept)
+	 */
+	@Test
+	public void isConceptInSet_shouldReflectSetMembersChangedBySavingTheConceptSet() {
+		executeDataSet(GET_CONCEPTS_BY_SET_XML);
+		Concept set = conceptService.getConcept(1);
+		Concept nestedSet = conceptService.getConcept(4);
+		Concept member = conceptService.getConcept(6);
+		assertTrue(conceptService.isConceptInSet(member, set));
+		
+		nestedSet.getConceptSets().clear();
+		conceptService.saveConcept(nestedSet);
+		Concept newSet = conceptService.getConcept(5);
+		newSet.addSetMember(member);
+		conceptService.saveConcept(newSet);
+		
+		assertFalse(conceptService.isConceptInSet(member, nestedSet));
+		assertTrue(conceptService.isConceptInSet(member, newSet));
+		assertTrue(conceptService.isConceptInSet(member, set));
+		assertThat(conceptService.getAllSetsContainingConcept(member), contains(hasId(1), hasId(3), hasId(5)));
+		assertThat(conceptService.getConceptsByConceptSet(set),
+		    containsInAnyOrder(hasId(2), hasId(3), hasId(4), hasId(5), hasId(6)));
+	}
+	
+	/**
+	 * @see ConceptService#getConceptsByConceptSet(Concept)
+	 */
+	@Test
+	public void getConceptsByConceptSet_shouldNotShareSetMembersSavedWithinATransactionBeforeItCompletes() {
+		executeDataSet(GET_CONCEPTS_BY_SET_XML);
+		Concept set = conceptService.getConcept(5);
+		Concept member = conceptService.getConcept(6);
+		assertThat(conceptService.getConceptsByConceptSet(set), not(hasItem(member)));
+		
+		set.addSetMember(member);
+		conceptService.saveConcept(set);
+		
+		assertTrue(conceptSetClosure.hasUncommittedChanges());
+		assertThat(conceptService.getConceptsByConceptSet(set), hasItem(member));
+		assertTrue(conceptService.isConceptInSet(member, set));
+		// other transactions keep getting the committed members from the closure
+		assertFalse(conceptSetClosure.getDescendantIds(5, conceptDAO).contains(6));
+	}
+	
 	/**
 	 * @see ConceptService#saveConceptStopWord(org.openmrs.ConceptStopWord)
 	 */
@@ -10,15 +10,20 @@
 package org.openmrs.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 import org.openmrs.api.context.Context;
 import org.openmrs.attribute.handler.DateDatatypeHandler;
 import org.openmrs.attribute.handler.LocationDatatypeHandler;
 import org.openmrs.customdatatype.CustomDatatype;
+import org.openmrs.customdatatype.CustomDatatypeException;
 import org.openmrs.customdatatype.CustomDatatypeUtil;
 import org.openmrs.customdatatype.datatype.DateDatatype;
 import org.openmrs.customdatatype.datatype.LocationDatatype;
+import org.openmrs.customdatatype.datatype.RegexValidatedTextDatatype;
 import org.openmrs.test.jupiter.BaseContextSensitiveTest;
 
 public class DatatypeServiceTest extends BaseContextSensitiveTest {
@@ -42,4 +47,53 @@ public class DatatypeServiceTest extends BaseContextSensitiveTest {
 		CustomDatatype locationDatatype = CustomDatatypeUtil.getDatatype(LocationDatatype.class.getName(), null);
 		assertEquals(LocationDatatypeHandler.class, service.getHandler(locationDatatype, null).getClass());
 	}
+	
+	/**
+	 * @see DatatypeService#getDatatype(Class,String)
+	 */
+	@Test
+	public void getDatatype_shouldReturnTheSameInstanceForTheSameClassAndConfiguration() {
+		DatatypeService service = Context.getDatatypeService();
+		RegexValidatedTextDatatype datatype = service.getDatatype(RegexValidatedTextDatatype.class, "[a-z]+");
+		
+		assertSame(datatype, service.getDatatype(RegexValidatedTextDatatype.class, "[a-z]+"));
+		assertNotSame(datatype, service.getDatatype(RegexValidatedTextDatatype.class, "[0-9]+"));
+		datatype.validate("abc");
+	}
+	
+	/**
+	 * @see DatatypeService#getDatatype(String,String)
+	 */
+	@Test
+	public void getDatatype_shouldReturnTheSameInstanceForTheSameClassNameAndConfiguration() {
+		DatatypeService service = Context.getDatatypeService();
+		CustomDatatype<?> datatype = service.getDatatype(RegexValidatedTextDatatype.class.getName(), "[a-z]+");
+		
+		assertSame(datatype, service.getDatatype(RegexValidatedTextDatatype.class.getName(), "[a-z]+"));
+		assertSame(datatype, CustomDatatypeUtil.getDatatype(RegexValidatedTextDatatype.class.getName(), "[a-z]+"));
+		assertNotSame(datatype, service.getDatatype(RegexValidatedTextDatatype.class.getName(), "[0-9]+"));
+	}
+	
+	/**
+	 * @see DatatypeService#getDatatype(String,String)
+	 */
+	@Test
+	public void getDatatype_shouldFailForAnUnknownClassName() {
+		assertThrows(CustomDatatypeException.class,
+		    () -> Context.getDatatypeService().getDatatype("org.openmrs.NoSuchDatatype", null));
+	}
+	
+	/**
+	 * @see DatatypeService#getHandler(Class,String)
+	 */
+	@Test
+	public void getHandler_shouldReturnTheSameInstanceForTheSameClassAndConfiguration() {
+		DatatypeService service = Context.getDatatypeService();
+		DateDatatypeHandler handler = service.getHandler(DateDatatypeHandler.class, null);
+		
+		assertSame(handler, service.getHandler(DateDatatypeHandler.class, null));
+		assertSame(handler, CustomDatatypeUtil.getHandler(
+		    CustomDatatypeUtil.getDatatype(DateDatatype.class.getName(), null), DateDatatypeHandler.class.getName(), null));
+		assertNotSame(handler, service.getHandler(DateDatatypeHandler.class, "config"));
+	}
 }
@@ -30,12 +30,17 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -1748,6 +1753,65 @@ public class EncounterServiceTest extends BaseContextSensitiveTest {
 		assertEquals(3, allEncounters.get(7).size());
 	}
 	
+	/**
+	 * @see EncounterService#streamAllEncounters(Cohort, int)
+	 */
+	@Test
+	public void streamAllEncounters_shouldStreamTheEncountersOfACohortOrderedByPatient() {
+		Cohort cohort = new Cohort();
+		cohort.addMember(7);
+		cohort.addMember(2);
+		Set<Integer> expected = new HashSet<>();
+		Context.getEncounterService().getAllEncounters(cohort).values()
+		        .forEach(encounters -> encounters.forEach(e -> expected.add(e.getEncounterId())));
+		
+		List<Encounter> streamed;
+		try (Stream<Encounter> encounters = Context.getEncounterService().streamAllEncounters(cohort, 100)) {
+			streamed = encounters.collect(Collectors.toList());
+		}
+		
+		assertEquals(expected, streamed.stream().map(Encounter::getEncounterId).collect(Collectors.toSet()));
+		assertEquals(expected.size(), streamed.size());
+		for (int i = 1; i < streamed.size(); i++) {
+			Encounter previous = streamed.get(i - 1);
+			Encounter encounter = streamed.get(i);
+			int byPatient = previous.getPatient().getPatientId().compareTo(encounter.getPatient().getPatientId());
+			assertTrue(byPatient < 0
+			        || (byPatient == 0 && !previous.getEncounterDatetime().after(encounter.getEncounterDatetime())));
+		}
+	}
+	
+	/**
+	 * @see EncounterService#streamAllEncounters(Cohort, int)
+	 */
+	@Test
+	public void streamAllEncounters_shouldReturnTheSameEncountersForAnyPageSize() {
+		Cohort cohort = new Cohort();
+		cohort.addMember(2);
+		cohort.addMember(7);
+		cohort.addMember(999);
+		
+		List<Integer> onePage;
+		try (Stream<Encounter> encounters = Context.getEncounterService().streamAllEncounters(cohort, 100)) {
+			onePage = encounters.map(Encounter::getEncounterId).collect(Collectors.toList());
+		}
+		List<Integer> manyPages;
+		try (Stream<Encounter> encounters = Context.getEncounterService().streamAllEncounters(cohort, 1)) {
+			manyPages = encounters.map(Encounter::getEncounterId).collect(Collectors.toList());
+		}
+		
+		assertFalse(onePage.isEmpty());
+		assertEquals(onePage, manyPages);
+	}
+	
+	/**
+	 * @see EncounterService#streamAllEncounters(Cohort, int)
+	 */
+	@Test
+	public void streamAllEncounters_shouldFailIfThePageSizeIsNotPositive() {
+		assertThrows(IllegalArgumentException.class, () -> Context.getEncounterService().streamAllEncounters(null, 0));
+	}
+	
 	/**
 	 * @see EncounterService#getEncounters(Patient, Location, Date, Date, java.util.Collection,
 	 *      java.util.Collection, java.util.Collection, java.util.Collection, java.util.Collection,
@@ -2265,6 +2329,88 @@ public class EncounterServiceTest extends BaseContextSensitiveTest {
 		assertEquals(1, encounter.getAllObs().size());
 	}
 	
+	/**
+	 * @see EncounterService#saveEncounters(Collection)
+	 */
+	@Test
+	public void saveEncounters_shouldSaveNewEncountersWithTheirObsAndObsGroups() {
+		EncounterService es = Context.getEncounterService();
+		Concept concept = Context.getConceptService().getConcept(1);
+		List<Encounter> encounters = new ArrayList<>();
+		List<Obs> children = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Encounter enc = buildEncounter();
+			Obs groupObs = new Obs();
+			groupObs.setConcept(concept);
+			Obs childObs = new Obs();
+			childObs.setConcept(concept);
+			childObs.setValueNumeric(50d + i);
+			groupObs.addGroupMember(childObs);
+			enc.addObs(groupObs);
+			Obs obs = new Obs();
+			obs.setConcept(concept);
+			obs.setValueNumeric(10d + i);
+			enc.addObs(obs);
+			encounters.add(enc);
+			children.add(childObs);
+		}
+		
+		List<Encounter> saved = es.saveEncounters(encounters);
+		Context.flushSession();
+		Context.clearSession();
+		
+		assertEquals(encounters, saved);
+		for (int i = 0; i < saved.size(); i++) {
+			Encounter enc = es.getEncounter(saved.get(i).getEncounterId());
+			assertEquals(3, enc.getAllObs().size());
+			assertEquals(2, enc.getObsAtTopLevel(false).size());
+			Obs child = Context.getObsService().getObs(children.get(i).getObsId());
+			assertEquals(enc, child.getEncounter());
+			assertNotNull(child.getObsGroup());
+			assertNotNull(child.getCreator());
+			assertEquals(enc.getPatient().getPersonId(), child.getPersonId());
+			assertEquals(enc.getEncounterDatetime(), child.getObsDatetime());
+			assertEquals(50d + i, child.getValueNumeric(), 0);
+		}
+	}
+	
+	/**
+	 * @see EncounterService#saveEncounters(Collection)
+	 */
+	@Test
+	public void saveEncounters_shouldVoidAndCreateNewObsWhenSavingEncounters() {
+		EncounterService es = Context.getEncounterService();
+		Encounter encounter = buildEncounter();
+		Obs obs = new Obs();
+		obs.setConcept(Context.getConceptService().getConcept(1));
+		obs.setValueNumeric(50d);
+		encounter.addObs(obs);
+		es.saveEncounters(Collections.singletonList(encounter));
+		int oldObsId = obs.getObsId();
+		
+		obs.setValueNumeric(100d);
+		es.saveEncounters(Collections.singletonList(encounter));
+		encounter = es.getEncounter(encounter.getEncounterId());
+		
+		assertNotEquals(oldObsId, encounter.getAllObs().iterator().next().getId().intValue());
+		assertEquals(2, encounter.getAllObs(true).size());
+		assertEquals(1, encounter.getAllObs().size());
+	}
+	
+	/**
+	 * @see EncounterService#saveEncounters(Collection)
+	 */
+	@Test
+	public void saveEncounters_shouldFailIfAnObsIsInvalid() {
+		Encounter encounter = buildEncounter();
+		Obs obs = new Obs();
+		obs.setConcept(Context.getConceptService().getConcept(1));
+		encounter.addObs(obs);
+		
+		assertThrows(APIException.class,
+		    () -> Context.getEncounterService().saveEncounters(Collections.singletonList(encounter)));
+	}
+	
 	/**
 	 * @see EncounterService#voidEncounter(Encounter, String)
 	 */
@@ -18,10 +18,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -271,6 +274,65 @@ public class LocationServiceTest extends BaseContextSensitiveTest {
 		assertEquals(2, locations.size());
 	}
 	
+	/**
+	 * @see LocationService#getDescendantLocationIds(Location)
+	 */
+	@Test
+	public void getDescendantLocationIds_shouldReturnTheIdsOfAllDescendantLocations() {
+		LocationService ls = Context.getLocationService();
+		Location location = ls.getLocation(1);
+		
+		Set<Integer> expected = new HashSet<>();
+		for (Location descendant : location.getDescendantLocations(true)) {
+			expected.add(descendant.getLocationId());
+		}
+		
+		assertEquals(new HashSet<>(Arrays.asList(2, 3, 4, 7)), ls.getDescendantLocationIds(location));
+		assertEquals(expected, ls.getDescendantLocationIds(location));
+	}
+	
+	/**
+	 * @see LocationService#getDescendantLocationIds(Location)
+	 */
+	@Test
+	public void getDescendantLocationIds_shouldReturnAnEmptySetForALocationWithoutChildren() {
+		assertTrue(Context.getLocationService().getDescendantLocationIds(new Location(2)).isEmpty());
+	}
+	
+	/**
+	 * @see LocationService#getDescendantLocationIds(Location)
+	 */
+	@Test
+	public void getDescendantLocationIds_shouldReflectAChangeOfParentLocation() {
+		LocationService ls = Context.getLocationService();
+		assertEquals(new HashSet<>(Arrays.asList(4, 7)), ls.getDescendantLocationIds(ls.getLocation(3)));
+		
+		Location location = ls.getLocation(4);
+		location.setParentLocation(ls.getLocation(2));
+		ls.saveLocation(location);
+		
+		assertEquals(Collections.singleton(7), ls.getDescendantLocationIds(ls.getLocation(3)));
+		assertEquals(Collections.singleton(4), ls.getDescendantLocationIds(ls.getLocation(2)));
+		assertEquals(new HashSet<>(Arrays.asList(2, 3, 4, 7)), ls.getDescendantLocationIds(ls.getLocation(1)));
+	}
+	
+	/**
+	 * @see LocationService#getDescendantLocationIds(Location)
+	 */
+	@Test
+	public void getDescendantLocationIds_shouldNotReturnPurgedLocations() {
+		LocationService ls = Context.getLocationService();
+		Location location = new Location();
+		location.setName("Test Level B Child Location 2");
+		location.setParentLocation(ls.getLocation(2));
+		ls.saveLocation(location);
+		assertTrue(ls.getDescendantLocationIds(ls.getLocation(1)).contains(location.getLocationId()));
+		
+		ls.purgeLocation(location);
+		
+		assertEquals(new HashSet<>(Arrays.asList(2, 3, 4, 7)), ls.getDescendantLocationIds(ls.getLocation(1)));
+	}
+	
 	/**
 	 * @see LocationService#getAllLocations(null)
 	 */
@@ -35,13 +35,19 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
+import org.openmrs.Cohort;
 import org.openmrs.Concept;
 import org.openmrs.ConceptName;
 import org.openmrs.ConceptProposal;
@@ -55,9 +61,12 @@ import org.openmrs.api.context.Context;
 import org.openmrs.api.impl.ObsServiceImpl;
 import org.openmrs.obs.ComplexData;
 import org.openmrs.obs.ComplexObsHandler;
+import org.openmrs.obs.ObsValue;
 import org.openmrs.obs.handler.BinaryDataHandler;
 import org.openmrs.obs.handler.ImageHandler;
 import org.openmrs.obs.handler.TextHandler;
+import org.openmrs.parameter.ObsSearchCriteria;
+import org.openmrs.parameter.ObsSearchCriteriaBuilder;
 import org.openmrs.test.jupiter.BaseContextSensitiveTest;
 import org.openmrs.util.DateUtil;
 import org.openmrs.util.OpenmrsConstants;
@@ -80,6 +89,9 @@ public class ObsServiceTest extends BaseContextSensitiveTest {
 	
 	@Autowired
 	private ObsService obsService;
+	
+	@Autowired
+	private SessionFactory sessionFactory;
 
 	
 	/**
@@ -1165,6 +1177,194 @@ public class ObsServiceTest extends BaseContextSensitiveTest {
 		assertEquals(2, count.intValue());
 	}
 	
+	/**
+	 * @see ObsService#streamAllObservations(Cohort, int)
+	 */
+	@Test
+	public void streamAllObservations_shouldStreamTheObservationsOfACohortOrderedByPatient() {
+		Cohort cohort = new Cohort();
+		cohort.addMember(7);
+		cohort.addMember(8);
+		List<Person> people = Arrays.asList(new Person(7), new Person(8));
+		List<Obs> expected = Context.getObsService().getObservations(people, null, null, null, null, null, null, null,
+		    null, null, null, false);
+		
+		List<Obs> streamed;
+		try (Stream<Obs> obs = Context.getObsService().streamAllObservations(cohort, 1)) {
+			streamed = obs.collect(Collectors.toList());
+		}
+		
+		assertFalse(streamed.isEmpty());
+		assertEquals(expected.stream().map(Obs::getObsId).collect(Collectors.toSet()),
+		    streamed.stream().map(Obs::getObsId).collect(Collectors.toSet()));
+		assertEquals(expected.size(), streamed.size());
+		for (int i = 1; i < streamed.size(); i++) {
+			Obs previous = streamed.get(i - 1);
+			Obs obs = streamed.get(i);
+			int byPerson = previous.getPerson().getPersonId().compareTo(obs.getPerson().getPersonId());
+			assertTrue(byPerson < 0 || (byPerson == 0 && !previous.getObsDatetime().after(obs.getObsDatetime())));
+		}
+	}
+	
+	/**
+	 * @see ObsService#streamAllObservations(Cohort, int)
+	 */
+	@Test
+	public void streamAllObservations_shouldStreamTheObservationsOfAllPatientsIfTheCohortIsNull() {
+		long count;
+		try (Stream<Obs> obs = Context.getObsService().streamAllObservations(null, 10)) {
+			count = obs.count();
+		}
+		
+		assertEquals(Context.getObsService().getObservationCount(null, null, null, null, null, null, null, null, null,
+		    false, null).longValue(), count);
+	}
+	
+	/**
+	 * @see ObsService#streamAllObservations(Cohort, int)
+	 */
+	@Test
+	public void streamAllObservations_shouldEvictStreamedObservationsFromTheSession() {
+		Cohort cohort = new Cohort();
+		cohort.addMember(7);
+		
+		List<Obs> streamed;
+		try (Stream<Obs> obs = Context.getObsService().streamAllObservations(cohort, 10)) {
+			streamed = obs.collect(Collectors.toList());
+		}
+		
+		assertTrue(streamed.size() > 1);
+		for (Obs obs : streamed) {
+			assertFalse(sessionFactory.getCurrentSession().contains(obs));
+		}
+	}
+	
+	/**
+	 * @see ObsService#streamAllObservations(Cohort, int)
+	 */
+	@Test
+	public void streamAllObservations_shouldClearWhatWasLoadedWithThePreviousPageFromTheSession() {
+		Person patient = Context.getPersonService().getPerson(7);
+		
+		try (Stream<Obs> stream = Context.getObsService().streamAllObservations(null, 2)) {
+			Iterator<Obs> obs = stream.iterator();
+			List<Obs> firstPage = Arrays.asList(obs.next(), obs.next());
+			for (Obs loaded : firstPage) {
+				Hibernate.initialize(loaded.getConcept());
+				assertTrue(sessionFactory.getCurrentSession().contains(loaded));
+			}
+			
+			Obs next = obs.next();
+			
+			assertTrue(sessionFactory.getCurrentSession().contains(next));
+			for (Obs loaded : firstPage) {
+				assertFalse(sessionFactory.getCurrentSession().contains(loaded));
+				assertFalse(sessionFactory.getCurrentSession().contains(loaded.getConcept()));
+			}
+			assertFalse(sessionFactory.getCurrentSession().contains(patient));
+		}
+	}
+	
+	/**
+	 * @see ObsService#getObsValues(ObsSearchCriteria, int)
+	 */
+	@Test
+	public void getObsValues_shouldFilterByPersonAndConceptIds() {
+		List<Obs> expected = Context.getObsService().getObservations(Collections.singletonList(new Person(7)), null,
+		    null, null, null, null, null, null, null, null, null, false);
+		Integer conceptId = expected.get(0).getConcept().getConceptId();
+		
+		List<ObsValue> values = Context.getObsService().getObsValues(
+		    new ObsSearchCriteriaBuilder().setPersonIds(Collections.singletonList(7)).build(), 1000);
+		List<ObsValue> byConcept = Context.getObsService().getObsValues(new ObsSearchCriteriaBuilder()
+		        .setPersonIds(Collections.singletonList(7)).setConceptIds(Collections.singletonList(conceptId)).build(),
+		    1000);
+		
+		assertEquals(expected.stream().map(Obs::getObsId).collect(Collectors.toSet()),
+		    values.stream().map(ObsValue::getObsId).collect(Collectors.toSet()));
+		assertEquals(expected.size(), values.size());
+		assertEquals(expected.stream().filter(o -> o.getConcept().getConceptId().equals(conceptId)).count(),
+		    byConcept.size());
+		for (ObsValue value : byConcept) {
+			Obs obs = Context.getObsService().getObs(value.getObsId());
+			assertEquals(7, value.getPersonId().intValue());
+			assertEquals(conceptId, value.getConceptId());
+			assertEquals(obs.getValueNumeric(), value.getValueNumeric());
+			assertEquals(obs.getValueCoded() == null ? null : obs.getValueCoded().getConceptId(), value.getValueCodedId());
+			assertEquals(obs.getValueText(), value.getValueText());
+		}
+	}
+	
+	/**
+	 * @see ObsService#getObsValues(ObsSearchCriteria, int)
+	 */
+	@Test
+	public void getObsValues_shouldReturnTheNextPageAfterTheGivenValue() {
+		ObsSearchCriteria criteria = new ObsSearchCriteriaBuilder().setPersonIds(Arrays.asList(7, 8)).build();
+		List<ObsValue> all = Context.getObsService().getObsValues(criteria, 1000);
+		
+		List<ObsValue> paged = new ArrayList<>();
+		List<ObsValue> page = Context.getObsService().getObsValues(criteria, 2);
+		while (!page.isEmpty()) {
+			assertTrue(page.size() <= 2);
+			paged.addAll(page);
+			criteria = new ObsSearchCriteriaBuilder().setPersonIds(Arrays.asList(7, 8)).setAfter(page.get(page.size() - 1))
+			        .build();
+			page = Context.getObsService().getObsValues(criteria, 2);
+		}
+		
+		assertTrue(all.size() > 2);
+		assertEquals(all.stream().map(ObsValue::getObsId).collect(Collectors.toList()),
+		    paged.stream().map(ObsValue::getObsId).collect(Collectors.toList()));
+		for (int i = 1; i < all.size(); i++) {
+			assertFalse(all.get(i).getObsDatetime().after(all.get(i - 1).getObsDatetime()));
+		}
+	}
+	
+	/**
+	 * @see ObsService#getObsValues(ObsSearchCriteria, int)
+	 */
+	@Test
+	public void getObsValues_shouldFailIfOnlyOneOfLastObsDatetimeAndLastObsIdIsSet() {
+		ObsSearchCriteria criteria = new ObsSearchCriteriaBuilder().setPersonIds(Arrays.asList(7, 8)).build();
+		criteria.setLastObsId(10);
+		assertThrows(IllegalArgumentException.class, () -> Context.getObsService().getObsValues(criteria, 10));
+		
+		criteria.setLastObsId(null);
+		criteria.setLastObsDatetime(new Date());
+		assertThrows(IllegalArgumentException.class, () -> Context.getObsService().getObsValues(criteria, 10));
+		
+		ObsValue withoutDatetime = new ObsValue(10, 7, 5089, null, null, null, null, null, null);
+		assertThrows(IllegalArgumentException.class, () -> new ObsSearchCriteriaBuilder().setAfter(withoutDatetime));
+	}
+	
+	/**
+	 * @see ObsService#getObsValues(ObsSearchCriteria, int)
+	 */
+	@Test
+	public void getObsValues_shouldReturnOnlyTheLatestObservationPerPersonAndConcept() {
+		List<Obs> all = Context.getObsService().getObservations(Arrays.asList(new Person(7), new Person(8)), null, null,
+		    null, null, null, null, null, null, null, null, false);
+		Map<String, Obs> expected = new HashMap<>();
+		for (Obs obs : all) {
+			String key = obs.getPersonId() + "-" + obs.getConcept().getConceptId();
+			Obs latest = expected.get(key);
+			if (latest == null || obs.getObsDatetime().after(latest.getObsDatetime())
+			        || (obs.getObsDatetime().equals(latest.getObsDatetime()) && obs.getObsId() > latest.getObsId())) {
+				expected.put(key, obs);
+			}
+		}
+		
+		List<ObsValue> latest = Context.getObsService().getObsValues(
+		    new ObsSearchCriteriaBuilder().setPersonIds(Arrays.asList(7, 8)).setLatestPerPersonAndConcept(true).build(),
+		    1000);
+		
+		assertTrue(expected.size() < all.size());
+		assertEquals(expected.values().stream().map(Obs::getObsId).collect(Collectors.toSet()),
+		    latest.stream().map(ObsValue::getObsId).collect(Collectors.toSet()));
+		assertEquals(expected.size(), latest.size());
+	}
+	
 	/**
 	 * @see ObsService#getObservations(List,List,List,List,List,List,List,Integer,Integer,Date,Date,boolean)
 	 * @see ObsService#getObservations(List,List,List,List,List,List,List,Integer,Integer,Date,Date,boolean,String)
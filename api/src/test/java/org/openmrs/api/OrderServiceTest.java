@@ -73,6 +73,9 @@ import org.openmrs.util.DateUtil;
 import org.openmrs.util.OpenmrsConstants;
 import org.openmrs.util.PrivilegeConstants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.lang.reflect.Field;
 import java.text.DateFormat;
@@ -87,6 +90,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -146,6 +150,9 @@ public class OrderServiceTest extends BaseContextSensitiveTest {
 	@Autowired
 	private MessageSourceService messageSourceService;
 	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
 	@BeforeEach
 	public void setUp(){
 		executeDataSet(ORDER_ATTRIBUTES);
@@ -1539,6 +1546,84 @@ public class OrderServiceTest extends BaseContextSensitiveTest {
 		assertEquals(expectedOrderNumber, order.getOrderNumber());
 	}
 
+	/**
+	 * @see OrderService#getNextOrderNumberSeedSequenceValues(int)
+	 */
+	@Test
+	public void getNextOrderNumberSeedSequenceValues_shouldReserveTheGivenNumberOfSeeds() {
+		String seed = inNewTransaction(() -> adminService.getGlobalProperty(OpenmrsConstants.GP_NEXT_ORDER_NUMBER_SEED));
+		try {
+			Long first = orderService.getNextOrderNumberSeedSequenceValues(5);
+			assertEquals(Long.valueOf(seed), first);
+			assertEquals(String.valueOf(first + 5), adminService.getGlobalProperty(OpenmrsConstants.GP_NEXT_ORDER_NUMBER_SEED));
+			assertEquals(first + 5, (long) orderService.getNextOrderNumberSeedSequenceValue());
+		}
+		finally {
+			restoreNextOrderNumberSeed(seed);
+		}
+	}
+	
+	/**
+	 * @see OrderService#getNextOrderNumberSeedSequenceValues(int)
+	 */
+	@Test
+	public void getNextOrderNumberSeedSequenceValues_shouldFailIfCountIsLessThanOne() {
+		assertThrows(IllegalArgumentException.class, () -> orderService.getNextOrderNumberSeedSequenceValues(0));
+	}
+	
+	/**
+	 * @see OrderService#saveOrder(org.openmrs.Order, OrderContext)
+	 */
+	@Test
+	public void saveOrder_shouldAssignOrderNumbersFromReservedBlocksIfConfigured() {
+		String seed = inNewTransaction(() -> adminService.getGlobalProperty(OpenmrsConstants.GP_NEXT_ORDER_NUMBER_SEED));
+		adminService.setGlobalProperty(OpenmrsConstants.GP_ORDER_NUMBER_GENERATOR_BEAN_ID,
+			"blockReservingOrderNumberGenerator");
+		adminService.setGlobalProperty(OpenmrsConstants.GP_ORDER_NUMBER_BLOCK_SIZE, "2");
+		try {
+			Set<String> orderNumbers = new HashSet<>();
+			for (int i = 0; i < 3; i++) {
+				Order order = new TestOrder();
+				order.setPatient(patientService.getPatient(7));
+				order.setConcept(conceptService.getConcept(5497));
+				order.setOrderer(providerService.getProvider(1));
+				order.setCareSetting(orderService.getCareSetting(1));
+				order.setOrderType(orderService.getOrderType(2));
+				order.setEncounter(encounterService.getEncounter(3));
+				order.setDateActivated(new Date());
+				orderNumbers.add(orderService.saveOrder(order, null).getOrderNumber());
+			}
+			
+			long first = Long.parseLong(seed);
+			assertThat(orderNumbers, containsInAnyOrder("ORD-" + first, "ORD-" + (first + 1), "ORD-" + (first + 2)));
+			assertEquals(String.valueOf(first + 4), adminService.getGlobalProperty(OpenmrsConstants.GP_NEXT_ORDER_NUMBER_SEED));
+		}
+		finally {
+			// rolling the generator GP back does not notify the order service, so reset the generator
+			// for the other tests explicitly
+			adminService.setGlobalProperty(OpenmrsConstants.GP_ORDER_NUMBER_GENERATOR_BEAN_ID, "");
+			// the reserved blocks were committed in their own transactions
+			restoreNextOrderNumberSeed(seed);
+		}
+	}
+
+	/**
+	 * Seeds are reserved in their own transactions, so they are committed even though the test is
+	 * rolled back
+	 */
+	private void restoreNextOrderNumberSeed(String seed) {
+		inNewTransaction(() -> {
+			adminService.setGlobalProperty(OpenmrsConstants.GP_NEXT_ORDER_NUMBER_SEED, seed);
+			return null;
+		});
+	}
+	
+	private <T> T inNewTransaction(Supplier<T> action) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return template.execute(status -> action.get());
+	}
+	
 	/**
 	 * @see OrderService#saveOrder(org.openmrs.Order, OrderContext)
 	 */
@@ -223,6 +223,59 @@ public class PatientServiceTest extends BaseContextSensitiveTest {
 		return patient;
 	}
 	
+	/**
+	 * @see PatientService#getDuplicatePatientCandidates(Patient)
+	 */
+	@Test
+	public void getDuplicatePatientCandidates_shouldReturnThePatientsSharingTheAttributesOfAnUnsavedPatient() {
+		Patient patient = new Patient();
+		patient.addName(new PersonName("Horatio", null, "Hornblauer"));
+		patient.setBirthdate(patientService.getPatient(2).getBirthdate());
+		patient.setGender("M");
+		
+		List<Patient> candidates = patientService.getDuplicatePatientCandidates(patient);
+		
+		assertEquals(1, candidates.size());
+		assertEquals(2, candidates.get(0).getPatientId());
+		
+		patient.setGender("F");
+		assertTrue(patientService.getDuplicatePatientCandidates(patient).isEmpty());
+	}
+	
+	/**
+	 * @see PatientService#getDuplicatePatientCandidates()
+	 */
+	@Test
+	public void getDuplicatePatientCandidates_shouldReflectPatientsChangedBySavingThem() {
+		Patient horatio = patientService.getPatient(2);
+		assertTrue(getDuplicateCandidateGroup(horatio).isEmpty());
+		
+		Patient patient = patientService.getPatient(7);
+		patient.getPersonName().setGivenName("Horatyo");
+		patient.getPersonName().setFamilyName("Hornblauer");
+		patient.setBirthdate(horatio.getBirthdate());
+		patient.setGender("M");
+		patientService.savePatient(patient);
+		
+		assertEquals(Arrays.asList(horatio, patient), getDuplicateCandidateGroup(horatio));
+		assertEquals(Collections.singletonList(patient), patientService.getDuplicatePatientCandidates(horatio));
+		
+		patient.setBirthdate(new Date());
+		patientService.savePatient(patient);
+		
+		assertTrue(getDuplicateCandidateGroup(horatio).isEmpty());
+		assertTrue(patientService.getDuplicatePatientCandidates(horatio).isEmpty());
+	}
+	
+	private List<Patient> getDuplicateCandidateGroup(Patient patient) {
+		for (List<Patient> group : patientService.getDuplicatePatientCandidates()) {
+			if (group.contains(patient)) {
+				return group;
+			}
+		}
+		return Collections.emptyList();
+	}
+	
 	@Test
 	public void shouldCreatePatient() throws Exception {
 		executeDataSet(CREATE_PATIENT_XML);
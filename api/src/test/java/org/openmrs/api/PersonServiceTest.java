@@ -2242,6 +2242,33 @@ public class PersonServiceTest extends BaseContextSensitiveTest {
 		assertTrue(address.getPreferred());
 	}
 	
+	/**
+	 * @see PersonService#savePerson(Person)
+	 * @see PersonService#savePersonName(PersonName)
+	 * @see PersonService#voidPerson(Person, String)
+	 */
+	@Test
+	public void savePerson_shouldUpdateTheDuplicateCandidatesOfThePatient() {
+		PatientService patientService = Context.getPatientService();
+		Patient horatio = patientService.getPatient(2);
+		Patient patient = patientService.getPatient(7);
+		assertThat(patientService.getDuplicatePatientCandidates(horatio), is(empty()));
+		
+		patient.setBirthdate(horatio.getBirthdate());
+		patient.setGender("M");
+		personService.savePerson(patient);
+		PersonName name = patient.getPersonName();
+		name.setGivenName("Horatyo");
+		name.setFamilyName("Hornblauer");
+		personService.savePersonName(name);
+		
+		assertThat(patientService.getDuplicatePatientCandidates(horatio), contains(patient));
+		
+		personService.voidPerson(patient, "duplicate");
+		
+		assertThat(patientService.getDuplicatePatientCandidates(horatio), is(empty()));
+	}
+	
 	/**
 	 * Creates a new Global Property to lock person attribute types by setting its value
 	 * @param propertyValue value for person attribute types locked GP
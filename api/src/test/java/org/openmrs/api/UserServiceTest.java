@@ -55,6 +55,7 @@ import org.openmrs.util.PrivilegeConstants;
 import org.openmrs.util.RoleConstants;
 import org.openmrs.util.Security;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.transaction.TestTransaction;
 
 /**
  * TODO add more tests to cover the methods in <code>UserService</code>
@@ -1135,6 +1136,82 @@ public class UserServiceTest extends BaseContextSensitiveTest {
 		});
 	}
 
+	@Test
+	public void saveRole_shouldRefreshThePrivilegesOfAuthenticatedUsersWithTheRole() throws IllegalAccessException {
+		Role role = new Role("my role");
+		role.setDescription("my role");
+		User currentUser = new User();
+		currentUser.addRole(role);
+		
+		withCurrentUserAs(currentUser, () -> assertFalse(Context.hasPrivilege("custom privilege")));
+		
+		Privilege myPrivilege = userService.savePrivilege(new Privilege("custom privilege", "custom privilege"));
+		role.addPrivilege(myPrivilege);
+		userService.saveRole(role);
+		
+		withCurrentUserAs(currentUser, () -> assertTrue(Context.hasPrivilege("Custom Privilege")));
+	}
+
+	@Test
+	public void saveRole_shouldRefreshThePrivilegesOfAuthenticatedUsersAgainOnceTheTransactionCompletes()
+	        throws IllegalAccessException {
+		Role role = new Role("my role");
+		role.setDescription("my role");
+		User currentUser = new User();
+		currentUser.addRole(role);
+		Privilege myPrivilege = userService.savePrivilege(new Privilege("custom privilege", "custom privilege"));
+		role.addPrivilege(myPrivilege);
+		userService.saveRole(role);
+		withCurrentUserAs(currentUser, () -> assertTrue(Context.hasPrivilege("custom privilege")));
+		
+		// the transaction is rolled back, taking the saved role with it
+		role.removePrivilege(myPrivilege);
+		role.addPrivilege(new Privilege("other privilege", "other privilege"));
+		TestTransaction.end();
+		try {
+			withCurrentUserAs(currentUser, () -> {
+				assertFalse(Context.hasPrivilege("custom privilege"));
+				assertTrue(Context.hasPrivilege("other privilege"));
+			});
+		}
+		finally {
+			TestTransaction.start();
+		}
+	}
+	
+	@Test
+	public void hasPrivilege_shouldReflectRolesAndPrivilegesChangedWithoutSavingThem() throws IllegalAccessException {
+		Role role = new Role("my role");
+		User currentUser = new User();
+		currentUser.addRole(new Role("other role"));
+		withCurrentUserAs(currentUser, () -> assertFalse(Context.hasPrivilege("custom privilege")));
+		
+		currentUser.addRole(role);
+		role.addPrivilege(new Privilege("custom privilege", "custom privilege"));
+		withCurrentUserAs(currentUser, () -> assertTrue(Context.hasPrivilege("custom privilege")));
+		
+		currentUser.removeRole(role);
+		withCurrentUserAs(currentUser, () -> assertFalse(Context.hasPrivilege("custom privilege")));
+	}
+	
+	@Test
+	public void hasPrivilege_shouldNotGrantAPrivilegeSwappedForAnotherOneWithoutSavingTheRole()
+	        throws IllegalAccessException {
+		Role role = new Role("my role");
+		Privilege customPrivilege = new Privilege("custom privilege", "custom privilege");
+		role.addPrivilege(customPrivilege);
+		User currentUser = new User();
+		currentUser.addRole(role);
+		withCurrentUserAs(currentUser, () -> assertTrue(Context.hasPrivilege("custom privilege")));
+		
+		role.removePrivilege(customPrivilege);
+		role.addPrivilege(new Privilege("other privilege", "other privilege"));
+		withCurrentUserAs(currentUser, () -> {
+			assertFalse(Context.hasPrivilege("custom privilege"));
+			assertTrue(Context.hasPrivilege("other privilege"));
+		});
+	}
+	
 	@Test
 	public void saveRole_shouldThrowErrorWhenCurrentUserLacksPrivilegeAssignedToRole() throws IllegalAccessException {
 		Role adminRole = new Role("my role");
@@ -26,6 +26,7 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -874,6 +875,22 @@ public class VisitServiceTest extends BaseContextSensitiveTest {
 		assertTrue(activeVisitCount == 0, "Not all active unvoided vists were closed");
 	}
 	
+	@Test
+	public void stopVisits_shouldOnlyCloseVisitsStartedOnOrBeforeTheMaximumStartDateAndSetTheAuditFields() {
+		executeDataSet("org/openmrs/api/include/VisitServiceTest-includeVisitsAndTypeToAutoClose.xml");
+		Date maximumStartDate = new GregorianCalendar(2005, Calendar.JANUARY, 4, 12, 0).getTime();
+		
+		visitService.stopVisits(maximumStartDate);
+		
+		Visit stopped = visitService.getVisit(106);
+		assertNotNull(stopped.getStopDatetime());
+		assertNotNull(stopped.getChangedBy());
+		assertNotNull(stopped.getDateChanged());
+		assertNull(visitService.getVisit(103).getStopDatetime());
+		assertNull(visitService.getVisit(104).getStopDatetime());
+		assertNull(visitService.getVisit(105).getStopDatetime());
+	}
+	
 	/**
 	 * @see VisitService#saveVisit(Visit)
 	 */
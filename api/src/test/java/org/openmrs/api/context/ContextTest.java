@@ -13,12 +13,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
@@ -34,6 +36,7 @@ import org.openmrs.api.handler.ExistingOrNewVisitAssignmentHandler;
 import org.openmrs.test.jupiter.BaseContextSensitiveTest;
 import org.openmrs.util.LocaleUtility;
 import org.openmrs.util.OpenmrsConstants;
+import org.openmrs.util.PrivilegeConstants;
 import org.springframework.validation.Validator;
 
 /**
@@ -272,4 +275,66 @@ public class ContextTest extends BaseContextSensitiveTest {
 		
 		Context.logout();
 	}
+	
+	/**
+	 * @see UserContext#newAuthenticatedContext()
+	 */
+	@Test
+	public void newAuthenticatedContext_shouldAuthenticateTheNewContextAsTheSameUser() {
+		UserContext userContext = Context.getUserContext();
+		userContext.setLocale(Locale.FRENCH);
+		userContext.setLocation(Context.getLocationService().getLocation(2));
+		
+		UserContext copy = userContext.newAuthenticatedContext();
+		
+		assertNotSame(userContext, copy);
+		assertEquals(userContext.getAuthenticatedUser(), copy.getAuthenticatedUser());
+		assertEquals(Locale.FRENCH, copy.getLocale());
+		assertEquals(Integer.valueOf(2), copy.getLocationId());
+		assertTrue(copy.hasPrivilege(PrivilegeConstants.GET_HL7_IN_QUEUE));
+	}
+	
+	/**
+	 * @see UserContext#newAuthenticatedContext()
+	 */
+	@Test
+	public void newAuthenticatedContext_shouldNotCopyTheProxyPrivileges() {
+		Context.logout();
+		UserContext userContext = Context.getUserContext();
+		userContext.addProxyPrivilege(PrivilegeConstants.GET_HL7_IN_QUEUE);
+		try {
+			UserContext copy = userContext.newAuthenticatedContext();
+			
+			assertFalse(copy.isAuthenticated());
+			assertFalse(copy.hasPrivilege(PrivilegeConstants.GET_HL7_IN_QUEUE));
+		}
+		finally {
+			userContext.removeProxyPrivilege(PrivilegeConstants.GET_HL7_IN_QUEUE);
+		}
+	}
+	
+	/**
+	 * @see ServiceContext#getService(Class)
+	 */
+	@Test
+	public void getService_shouldWaitWhileTheContextIsRefreshing() throws Exception {
+		ServiceContext serviceContext = ServiceContext.getInstance();
+		AtomicReference<Object> service = new AtomicReference<>();
+		Thread thread = new Thread(() -> service.set(serviceContext.getService(PatientService.class)));
+		
+		serviceContext.startRefreshingContext();
+		try {
+			thread.start();
+			thread.join(200);
+			assertTrue(thread.isAlive());
+			assertNull(service.get());
+		}
+		finally {
+			serviceContext.doneRefreshingContext();
+		}
+		
+		thread.join(5000);
+		assertFalse(serviceContext.isRefreshingContext());
+		assertNotNull(service.get());
+	}
 }
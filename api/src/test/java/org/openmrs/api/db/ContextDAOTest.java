@@ -13,25 +13,39 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.LinkedHashSet;
 import java.util.Properties;
 import java.util.Set;
 
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openmrs.GlobalProperty;
+import org.openmrs.PersonName;
 import org.openmrs.User;
 import org.openmrs.UserSessionListener;
 import org.openmrs.api.UserService;
 import org.openmrs.api.context.Context;
 import org.openmrs.api.context.ContextAuthenticationException;
 import org.openmrs.api.db.hibernate.HibernateContextDAO;
+import org.openmrs.api.db.hibernate.search.JournalingAsyncBackend;
 import org.openmrs.test.jupiter.BaseContextSensitiveTest;
+import org.openmrs.util.OpenmrsConstants;
+import org.openmrs.util.OpenmrsUtil;
 import org.springframework.stereotype.Component;
 
 /**
@@ -345,6 +359,97 @@ public class ContextDAOTest extends BaseContextSensitiveTest {
 		assertNotNull(properties.getProperty("hibernate.key"));
 	}
 	
+	/**
+	 * @see ContextDAO#updateSearchIndex()
+	 */
+	@Test
+	public void updateSearchIndex_shouldRebuildFromScratchIgnoringTheProgressOfAnInterruptedRebuild() {
+		Context.getAdministrationService().setGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_THREADS, "2");
+		Context.getAdministrationService().setGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_PARTITION_SIZE, "2");
+		setSearchIndexProgress(PersonName.class, OpenmrsConstants.SEARCH_INDEX_VERSION + ":1000000");
+		int indexed = countIndexed(PersonName.class);
+		purgeIndex(PersonName.class);
+		
+		dao.updateSearchIndex();
+		
+		assertEquals(indexed, countIndexed(PersonName.class));
+		assertThat(Context.getAdministrationService().getGlobalPropertiesByPrefix(
+		    OpenmrsConstants.GP_SEARCH_INDEX_PROGRESS_PREFIX), empty());
+	}
+	
+	/**
+	 * @see ContextDAO#setupSearchIndex()
+	 */
+	@Test
+	public void setupSearchIndex_shouldResumeAnInterruptedRebuildOfTheCurrentIndexVersion() throws Exception {
+		Context.getAdministrationService().setGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_THREADS, "2");
+		Context.getAdministrationService().setGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_PARTITION_SIZE, "2");
+		setSearchIndexProgress(PersonName.class, OpenmrsConstants.SEARCH_INDEX_VERSION + ":1000000");
+		int indexed = countIndexed(PersonName.class);
+		purgeIndex(PersonName.class);
+		// a person name the interrupted rebuild only wrote to the journal
+		Path pending = getJournalDirectory().resolve("test").resolve("1-1.pending");
+		Files.createDirectories(pending.getParent());
+		Files.write(pending, (PersonName.class.getName() + "\t2\n").getBytes(StandardCharsets.UTF_8));
+		
+		try {
+			dao.setupSearchIndex();
+			
+			// the recorded progress is past the last person name, so only the journaled one is indexed
+			assertFalse(Files.exists(pending), pending.toString());
+			assertEquals(1, countIndexed(PersonName.class));
+			assertThat(Context.getAdministrationService().getGlobalPropertiesByPrefix(
+			    OpenmrsConstants.GP_SEARCH_INDEX_PROGRESS_PREFIX), empty());
+		}
+		finally {
+			dao.updateSearchIndexForType(PersonName.class);
+		}
+		assertEquals(indexed, countIndexed(PersonName.class));
+	}
+	
+	/**
+	 * @see ContextDAO#setupSearchIndex()
+	 */
+	@Test
+	public void setupSearchIndex_shouldIgnoreTheProgressOfARebuildOfAnotherIndexVersion() {
+		Context.getAdministrationService().setGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_THREADS, "2");
+		Context.getAdministrationService().setGlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_VERSION, "");
+		setSearchIndexProgress(PersonName.class, (OpenmrsConstants.SEARCH_INDEX_VERSION - 1) + ":1000000");
+		int indexed = countIndexed(PersonName.class);
+		purgeIndex(PersonName.class);
+		
+		dao.setupSearchIndex();
+		
+		assertEquals(indexed, countIndexed(PersonName.class));
+	}
+	
+	private void setSearchIndexProgress(Class<?> type, String progress) {
+		Context.getAdministrationService().saveGlobalProperty(
+		    new GlobalProperty(OpenmrsConstants.GP_SEARCH_INDEX_PROGRESS_PREFIX + type.getName(), progress));
+	}
+	
+	private int countIndexed(Class<?> type) {
+		FullTextSession session = Search.getFullTextSession(getSessionFactory().getCurrentSession());
+		return session.createFullTextQuery(new MatchAllDocsQuery(), type).getResultSize();
+	}
+	
+	private void purgeIndex(Class<?> type) {
+		FullTextSession session = Search.getFullTextSession(getSessionFactory().getCurrentSession());
+		session.purgeAll(type);
+		session.flushToIndexes();
+	}
+	
+	private Path getJournalDirectory() {
+		Object directory = getSessionFactory().getProperties().get(
+		    "hibernate.search.default.worker." + JournalingAsyncBackend.JOURNAL_DIRECTORY);
+		return directory != null ? Paths.get(directory.toString())
+		        : Paths.get(OpenmrsUtil.getApplicationDataDirectory(), "lucene", "journal");
+	}
+	
+	private SessionFactory getSessionFactory() {
+		return (SessionFactory) applicationContext.getBean("sessionFactory");
+	}
+	
 	@Component("testUserSessionListener")
 	public static class TestUserSessionListener implements UserSessionListener {
 		public Set<String> logins = new LinkedHashSet<>();
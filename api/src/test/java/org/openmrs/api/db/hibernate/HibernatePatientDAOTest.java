@@ -17,6 +17,7 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.sql.Date;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -291,4 +292,31 @@ public class HibernatePatientDAOTest extends BaseContextSensitiveTest {
 		// then
 		assertThat(duplicatePatients.size(), equalTo(2));
 	}
+
+	@Test
+	public void getPatients_shouldReturnEveryPageOfASearchInRankedOrder() {
+		List<Patient> all = hibernatePatientDao.getPatients("Hor", false, 0, null);
+		List<Patient> paged = new ArrayList<>();
+		for (int start = 0; start < all.size(); start++) {
+			paged.addAll(hibernatePatientDao.getPatients("Hor", false, start, 1));
+		}
+
+		assertEquals(all.size(), hibernatePatientDao.getCountOfPatients("Hor").intValue());
+		assertEquals(all, paged);
+	}
+
+	@Test
+	public void getCountOfPatients_shouldReflectNamesSavedAfterASearchInTheSameSession() {
+		List<Patient> patients = hibernatePatientDao.getPatients("Hor", false, 0, 1);
+		assertEquals(1, patients.size());
+		Long total = hibernatePatientDao.getCountOfPatients("Hor", false);
+
+		PersonName name = new PersonName("Horace", null, "Smith");
+		hibernatePatientDao.getPatient(7).addName(name);
+		hibernatePersonDAO.savePersonName(name);
+		Context.flushSession();
+		updateSearchIndex();
+
+		assertEquals(total + 1, hibernatePatientDao.getCountOfPatients("Hor", false).longValue());
+	}
 }
@@ -0,0 +1,170 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.spi.BackendQueueProcessor;
+import org.hibernate.search.spi.impl.PojoIndexedTypeIdentifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openmrs.PersonName;
+
+/**
+ * Tests {@link JournalingAsyncQueueProcessor}.
+ */
+public class JournalingAsyncQueueProcessorTest {
+
+	@TempDir
+	public Path directory;
+
+	private final RecordingProcessor delegate = new RecordingProcessor();
+
+	private JournalingAsyncQueueProcessor processor;
+
+	@AfterEach
+	public void closeProcessor() {
+		if (processor != null) {
+			processor.close();
+		}
+	}
+
+	@Test
+	public void applyWork_shouldWriteTheQueuedChangesInOneBatchAndTrimTheJournal() throws Exception {
+		processor = createProcessor(200);
+		IndexingMonitor monitor = documents -> {};
+
+		processor.applyWork(Collections.singletonList(deletePersonName(1)), monitor);
+		processor.applyWork(Collections.singletonList(deletePersonName(2)), monitor);
+		processor.applyWork(Collections.singletonList(deletePersonName(3)), monitor);
+
+		waitFor(() -> delegate.written.size() == 3);
+		assertEquals(1, delegate.calls.get());
+		waitFor(() -> list(SearchIndexJournal.SEGMENT_SUFFIX).isEmpty());
+	}
+
+	@Test
+	public void applyWork_shouldRetryAFailedWrite() throws Exception {
+		processor = createProcessor(50);
+		delegate.failures.set(JournalingAsyncQueueProcessor.MAX_ATTEMPTS - 1);
+
+		processor.applyWork(Collections.singletonList(deletePersonName(1)), null);
+
+		waitFor(() -> delegate.written.size() == 1);
+		waitFor(() -> list(SearchIndexJournal.SEGMENT_SUFFIX).isEmpty());
+		assertTrue(list(SearchIndexJournal.PENDING_SUFFIX).isEmpty());
+	}
+
+	@Test
+	public void applyWork_shouldKeepChangesThatCanNotBeWrittenPendingAndKeepTrimmingTheJournal() throws Exception {
+		processor = createProcessor(50);
+		delegate.failures.set(JournalingAsyncQueueProcessor.MAX_ATTEMPTS);
+
+		processor.applyWork(Collections.singletonList(deletePersonName(1)), null);
+		waitFor(() -> list(SearchIndexJournal.PENDING_SUFFIX).size() == 1);
+		processor.applyWork(Collections.singletonList(deletePersonName(2)), null);
+
+		waitFor(() -> delegate.written.size() == 1);
+		waitFor(() -> list(SearchIndexJournal.SEGMENT_SUFFIX).isEmpty());
+		List<Path> pending = list(SearchIndexJournal.PENDING_SUFFIX);
+		assertEquals(1, pending.size());
+		assertEquals(Collections.singletonList("org.openmrs.PersonName\t1"),
+		    Files.readAllLines(pending.get(0), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void close_shouldWriteTheQueuedChangesAndWriteLaterChangesDirectly() throws Exception {
+		processor = createProcessor(500);
+
+		processor.applyWork(Arrays.asList(deletePersonName(1), deletePersonName(2)), null);
+		processor.close();
+		assertEquals(2, delegate.written.size());
+
+		processor.applyWork(Collections.singletonList(deletePersonName(3)), null);
+		assertEquals(3, delegate.written.size());
+		processor = null;
+	}
+
+	private JournalingAsyncQueueProcessor createProcessor(long refreshInterval) throws IOException {
+		return new JournalingAsyncQueueProcessor("test", delegate, new SearchIndexJournal(directory), 10, 100,
+		        refreshInterval);
+	}
+
+	private LuceneWork deletePersonName(int id) {
+		return new DeleteLuceneWork(id, String.valueOf(id), new PojoIndexedTypeIdentifier(PersonName.class));
+	}
+
+	private List<Path> list(String suffix) {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(f -> f.toString().endsWith(suffix)).collect(Collectors.toList());
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < timeout, "Timed out waiting for the index writer");
+			TimeUnit.MILLISECONDS.sleep(20);
+		}
+	}
+
+	/**
+	 * Records the changes it is asked to write, failing as many times as it is told to first
+	 */
+	private static class RecordingProcessor implements BackendQueueProcessor {
+
+		private final List<LuceneWork> written = new CopyOnWriteArrayList<>();
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private final AtomicInteger failures = new AtomicInteger();
+
+		@Override
+		public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
+			if (failures.getAndDecrement() > 0) {
+				throw new IllegalStateException("Failed to write to the index");
+			}
+			calls.incrementAndGet();
+			written.addAll(new ArrayList<>(workList));
+		}
+
+		@Override
+		public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor) {
+			written.add(singleOperation);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,150 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmrs.GlobalProperty;
+import org.openmrs.Person;
+import org.openmrs.PersonName;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.db.DAOException;
+import org.openmrs.test.jupiter.BaseContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Tests {@link PartitionedIndexer}.
+ */
+public class PartitionedIndexerTest extends BaseContextSensitiveTest {
+
+	@Autowired
+	private SessionFactory sessionFactory;
+
+	private PartitionedIndexer indexer;
+
+	@BeforeEach
+	public void createIndexer() {
+		indexer = new PartitionedIndexer(sessionFactory, 3, 2);
+	}
+
+	@Test
+	public void partition_shouldCoverTheWholeRangeWithoutOverlaps() {
+		List<long[]> partitions = PartitionedIndexer.partition(0, 25, 10);
+
+		assertEquals(3, partitions.size());
+		assertArrayEquals(new long[] { 0, 10 }, partitions.get(0));
+		assertArrayEquals(new long[] { 10, 20 }, partitions.get(1));
+		assertArrayEquals(new long[] { 20, 26 }, partitions.get(2));
+	}
+
+	@Test
+	public void partition_shouldStartAtTheResumedId() {
+		List<long[]> partitions = PartitionedIndexer.partition(20, 20, 10);
+
+		assertEquals(1, partitions.size());
+		assertArrayEquals(new long[] { 20, 21 }, partitions.get(0));
+		assertTrue(PartitionedIndexer.partition(21, 20, 10).isEmpty());
+	}
+
+	@Test
+	public void index_shouldIndexAllEntitiesOfATypeInPartitionsAndReportTheProgressInOrder() {
+		int personNames = countPersonNames(0);
+		int maxId = getMaxPersonNameId();
+		List<Long> progress = new ArrayList<>();
+		Thread caller = Thread.currentThread();
+
+		indexer.purge(PersonName.class);
+		assertEquals(0, countIndexed(PersonName.class));
+		try {
+			long indexed = indexer.index(PersonName.class, 0, id -> {
+				assertEquals(caller, Thread.currentThread());
+				progress.add(id);
+			});
+
+			assertEquals(personNames, indexed);
+		}
+		finally {
+			restoreIndex();
+		}
+
+		assertEquals(personNames, countIndexed(PersonName.class));
+		List<Person> people = Context.getPersonService().getPeople("Hornblower", null);
+		assertTrue(people.stream().anyMatch(p -> p.getPersonId() == 2));
+		assertFalse(progress.isEmpty());
+		for (int i = 1; i < progress.size(); i++) {
+			assertTrue(progress.get(i - 1) < progress.get(i), progress.toString());
+		}
+		assertEquals(Long.valueOf(maxId + 1), progress.get(progress.size() - 1));
+	}
+
+	@Test
+	public void index_shouldOnlyIndexFromTheStartIdWithoutPurgingTheIndex() {
+		int personNames = countPersonNames(0);
+		int startId = getMaxPersonNameId() / 2;
+		List<Long> progress = new ArrayList<>();
+
+		// documents indexed before are kept when a rebuild resumes
+		indexer.index(PersonName.class, startId, progress::add);
+		assertEquals(personNames, countIndexed(PersonName.class));
+
+		indexer.purge(PersonName.class);
+		try {
+			long indexed = indexer.index(PersonName.class, startId, progress::add);
+
+			assertEquals(countPersonNames(startId), indexed);
+			assertEquals(countPersonNames(startId), countIndexed(PersonName.class));
+			assertTrue(progress.stream().allMatch(id -> id > startId), progress.toString());
+		}
+		finally {
+			restoreIndex();
+		}
+	}
+
+	@Test
+	public void supports_shouldOnlySupportTypesWithNumericIds() {
+		assertTrue(indexer.supports(PersonName.class));
+		assertFalse(indexer.supports(GlobalProperty.class));
+		assertThrows(DAOException.class, () -> indexer.index(GlobalProperty.class, 0, id -> {}));
+	}
+
+	private void restoreIndex() {
+		indexer.purge(PersonName.class);
+		indexer.index(PersonName.class, 0, id -> {});
+	}
+
+	private int countPersonNames(int fromId) {
+		return ((Number) sessionFactory.getCurrentSession()
+		        .createQuery("select count(*) from PersonName where personNameId >= :fromId")
+		        .setParameter("fromId", fromId).uniqueResult()).intValue();
+	}
+
+	private int getMaxPersonNameId() {
+		return ((Number) sessionFactory.getCurrentSession().createQuery("select max(personNameId) from PersonName")
+		        .uniqueResult()).intValue();
+	}
+
+	private int countIndexed(Class<?> type) {
+		FullTextSession session = Search.getFullTextSession(sessionFactory.getCurrentSession());
+		return session.createFullTextQuery(new MatchAllDocsQuery(), type).getResultSize();
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.db.hibernate.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.PurgeAllLuceneWork;
+import org.hibernate.search.spi.impl.PojoIndexedTypeIdentifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openmrs.Drug;
+import org.openmrs.PersonName;
+
+/**
+ * Tests {@link SearchIndexJournal}.
+ */
+public class SearchIndexJournalTest {
+
+	@TempDir
+	public Path directory;
+
+	@Test
+	public void append_shouldRecordTheTypeAndIdOfEachChange() throws IOException {
+		try (SearchIndexJournal journal = new SearchIndexJournal(directory)) {
+			journal.append(Arrays.asList(deletePersonName(5),
+			    new PurgeAllLuceneWork(new PojoIndexedTypeIdentifier(Drug.class))));
+		}
+
+		List<Path> files = list(SearchIndexJournal.SEGMENT_SUFFIX);
+		assertEquals(1, files.size());
+		assertEquals(Arrays.asList("org.openmrs.PersonName\t5", "org.openmrs.Drug\t"), Files.readAllLines(files.get(0),
+		    StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void markApplied_shouldDeleteTheSegmentsOnceAllTheirChangesAreApplied() throws IOException {
+		try (SearchIndexJournal journal = new SearchIndexJournal(directory)) {
+			long first = journal.append(Collections.singletonList(deletePersonName(1)));
+			long second = journal.append(Collections.singletonList(deletePersonName(2)));
+
+			journal.markApplied(first);
+			assertEquals(1, list(SearchIndexJournal.SEGMENT_SUFFIX).size());
+
+			journal.markApplied(second);
+			assertTrue(list(SearchIndexJournal.SEGMENT_SUFFIX).isEmpty());
+		}
+	}
+
+	@Test
+	public void keepPending_shouldRecordTheChangesInAPendingFile() throws IOException {
+		try (SearchIndexJournal journal = new SearchIndexJournal(directory)) {
+			journal.keepPending(Arrays.asList(deletePersonName(1), deletePersonName(2)));
+		}
+
+		List<Path> files = list(SearchIndexJournal.PENDING_SUFFIX);
+		assertEquals(1, files.size());
+		assertEquals(Arrays.asList("org.openmrs.PersonName\t1", "org.openmrs.PersonName\t2"), Files.readAllLines(
+		    files.get(0), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void SearchIndexJournal_shouldTurnTheSegmentsOfAPreviousServerIntoPendingFiles() throws IOException {
+		try (SearchIndexJournal journal = new SearchIndexJournal(directory)) {
+			journal.append(Collections.singletonList(deletePersonName(1)));
+		}
+
+		new SearchIndexJournal(directory).close();
+
+		assertTrue(list(SearchIndexJournal.SEGMENT_SUFFIX).isEmpty());
+		assertEquals(1, list(SearchIndexJournal.PENDING_SUFFIX).size());
+
+		SearchIndexJournal.deletePending(directory);
+		assertTrue(list(SearchIndexJournal.PENDING_SUFFIX).isEmpty());
+	}
+
+	private LuceneWork deletePersonName(int id) {
+		return new DeleteLuceneWork(id, String.valueOf(id), new PojoIndexedTypeIdentifier(PersonName.class));
+	}
+
+	private List<Path> list(String suffix) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(f -> f.toString().endsWith(suffix)).collect(Collectors.toList());
+		}
+	}
+}
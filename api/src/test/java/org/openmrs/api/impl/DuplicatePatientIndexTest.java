@@ -0,0 +1,60 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DuplicatePatientIndex}.
+ */
+public class DuplicatePatientIndexTest {
+	
+	private final Date birthdate = new GregorianCalendar(1975, 3, 8).getTime();
+	
+	@Test
+	public void toKey_shouldMatchNamesThatSoundAlike() {
+		long key = DuplicatePatientIndex.toKey("Horatio", "Hornblower", birthdate, "M");
+		
+		assertEquals(key, DuplicatePatientIndex.toKey("Horatyo", "Hornblauer", birthdate, "m"));
+		assertEquals(key, DuplicatePatientIndex.toKey(" horatio", "HORNBLOWER ", birthdate, "M"));
+		assertNotEquals(key, DuplicatePatientIndex.toKey("Hornblower", "Horatio", birthdate, "M"));
+		assertNotEquals(key, DuplicatePatientIndex.toKey("Jack", "Hornblower", birthdate, "M"));
+	}
+	
+	@Test
+	public void toKey_shouldNotMatchDifferentBirthdatesOrGenders() {
+		long key = DuplicatePatientIndex.toKey("Horatio", "Hornblower", birthdate, "M");
+		
+		assertNotEquals(key, DuplicatePatientIndex.toKey("Horatio", "Hornblower", new Date(), "M"));
+		assertNotEquals(key, DuplicatePatientIndex.toKey("Horatio", "Hornblower", birthdate, "F"));
+		assertNotEquals(key, DuplicatePatientIndex.toKey("Horatio", "Hornblower", birthdate, null));
+	}
+	
+	@Test
+	public void toKey_shouldNotIndexPatientsWithoutNamesOrBirthdate() {
+		assertEquals(0, DuplicatePatientIndex.toKey("Horatio", "Hornblower", null, "M"));
+		assertEquals(0, DuplicatePatientIndex.toKey("Horatio", " ", birthdate, "M"));
+		assertEquals(0, DuplicatePatientIndex.toKey(null, "Hornblower", birthdate, "M"));
+	}
+	
+	@Test
+	public void toKey_shouldEncodeNamesWithLettersOutsideOfTheEnglishAlphabet() {
+		long key = DuplicatePatientIndex.toKey("Émile", "Ødegård", birthdate, "M");
+		
+		assertNotEquals(0, key);
+		assertEquals(key, DuplicatePatientIndex.toKey("émile", "ødegård", birthdate, "M"));
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.api.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmrs.GlobalProperty;
+
+/**
+ * Tests {@link GlobalPropertyCache}.
+ */
+public class GlobalPropertyCacheTest {
+
+	private GlobalPropertyCache cache;
+
+	private Map<String, String> database;
+
+	private AtomicInteger loads;
+
+	private Function<String, String> loader;
+
+	@BeforeEach
+	public void setUp() {
+		cache = new GlobalPropertyCache();
+		database = new HashMap<>();
+		loads = new AtomicInteger();
+		loader = name -> {
+			loads.incrementAndGet();
+			return database.get(name);
+		};
+	}
+
+	@Test
+	public void get_shouldOnlyLoadAPropertyOnce() {
+		database.put("some.property", "value");
+
+		assertEquals("value", cache.get("some.property", loader));
+		assertEquals("value", cache.get("some.property", loader));
+
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void get_shouldCachePropertiesThatDoNotExist() {
+		assertNull(cache.get("missing.property", loader));
+		assertNull(cache.get("missing.property", loader));
+
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void get_shouldMatchPropertyNamesCaseInsensitively() {
+		database.put("some.property", "value");
+		cache.get("some.property", loader);
+
+		assertEquals("value", cache.get("SOME.Property", loader));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void globalPropertyChanged_shouldEvictTheProperty() {
+		database.put("some.property", "value");
+		cache.get("some.property", loader);
+
+		database.put("some.property", "new value");
+		cache.globalPropertyChanged(new GlobalProperty("some.property", "new value"));
+
+		assertEquals("new value", cache.get("some.property", loader));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void globalPropertyDeleted_shouldEvictTheProperty() {
+		database.put("some.property", "value");
+		cache.get("some.property", loader);
+
+		database.remove("some.property");
+		cache.globalPropertyDeleted("some.property");
+
+		assertNull(cache.get("some.property", loader));
+	}
+
+	@Test
+	public void get_shouldNotCacheAValueLoadedWhileThePropertyWasEvicted() {
+		cache.get("some.property", name -> {
+			cache.evict(name);
+			return "stale value";
+		});
+
+		database.put("some.property", "value");
+		assertEquals("value", cache.get("some.property", loader));
+	}
+
+	@Test
+	public void clear_shouldRemoveAllProperties() {
+		cache.get("some.property", loader);
+		cache.get("other.property", loader);
+
+		cache.clear();
+
+		assertEquals(0, cache.getSize());
+	}
+}
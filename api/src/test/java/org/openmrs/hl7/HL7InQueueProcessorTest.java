@@ -0,0 +1,152 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.hl7;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openmrs.Encounter;
+import org.openmrs.GlobalProperty;
+import org.openmrs.User;
+import org.openmrs.api.AdministrationService;
+import org.openmrs.api.context.Context;
+import org.openmrs.test.jupiter.BaseContextSensitiveTest;
+import org.openmrs.util.OpenmrsConstants;
+import org.springframework.test.context.transaction.TestTransaction;
+
+/**
+ * Tests methods in the {@link HL7InQueueProcessor}
+ */
+public class HL7InQueueProcessorTest extends BaseContextSensitiveTest {
+	
+	/**
+	 * @see HL7InQueueProcessor#processHL7InQueue()
+	 */
+	@Test
+	public void processHL7InQueue_shouldProcessTheQueueInBatchesIfABatchSizeIsConfigured() throws Exception {
+		executeDataSet("org/openmrs/hl7/include/ORUTest-initialData.xml");
+		Context.getAdministrationService().saveGlobalProperty(
+		    new GlobalProperty(OpenmrsConstants.GLOBAL_PROPERTY_HL7_PROCESSOR_BATCH_SIZE, "5"));
+		
+		HL7Service hl7Service = Context.getHL7Service();
+		assertEquals(2, hl7Service.getAllHL7InQueues().size());
+		
+		new HL7InQueueProcessor().processHL7InQueue();
+		
+		assertTrue(hl7Service.getAllHL7InQueues().isEmpty());
+		assertEquals(1, hl7Service.getAllHL7InArchives().size());
+		assertEquals(1, hl7Service.getAllHL7InErrors().size());
+	}
+	
+	/**
+	 * @see HL7InQueueProcessor#processHL7InQueue()
+	 */
+	@Test
+	public void processHL7InQueue_shouldProcessTheBatchesOnSeveralThreadsAsTheCurrentUser() throws Exception {
+		executeDataSet("org/openmrs/hl7/include/ORUTest-initialData.xml");
+		AdministrationService as = Context.getAdministrationService();
+		as.saveGlobalProperty(new GlobalProperty(OpenmrsConstants.GLOBAL_PROPERTY_HL7_PROCESSOR_BATCH_SIZE, "5"));
+		as.saveGlobalProperty(new GlobalProperty(OpenmrsConstants.GLOBAL_PROPERTY_HL7_PROCESSOR_WORKER_THREADS, "2"));
+		User user = Context.getAuthenticatedUser();
+		int encounters = Context.getEncounterService().getEncountersByPatientId(3).size();
+		
+		// the worker threads only see committed data
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		try {
+			new HL7InQueueProcessor().processHL7InQueue();
+			
+			HL7Service hl7Service = Context.getHL7Service();
+			assertTrue(hl7Service.getAllHL7InQueues().isEmpty());
+			assertEquals(1, hl7Service.getAllHL7InArchives().size());
+			assertEquals(1, hl7Service.getAllHL7InErrors().size());
+			List<Encounter> created = Context.getEncounterService().getEncountersByPatientId(3);
+			assertEquals(encounters + 1, created.size());
+			assertEquals(user, created.stream().max(Comparator.comparing(Encounter::getEncounterId)).get().getCreator());
+			assertEquals(user, Context.getAuthenticatedUser());
+		}
+		finally {
+			TestTransaction.start();
+			deleteAllData();
+		}
+	}
+	
+	/**
+	 * @see HL7InQueueProcessor#partitionByPatient(List,int)
+	 */
+	@Test
+	public void partitionByPatient_shouldKeepTheEntriesOfAPatientTogetherAndInOrder() {
+		List<HL7InQueue> hl7InQueues = Arrays.asList(newHL7InQueue(1, "3^^^^"), newHL7InQueue(2, "7^^^^"),
+		    newHL7InQueue(3, "3^^^^"), newHL7InQueue(4, "7^^^^"), newHL7InQueue(5, "3^^^^"));
+		
+		List<List<Integer>> partitions = HL7InQueueProcessor.partitionByPatient(hl7InQueues, 4);
+		
+		for (List<Integer> partition : partitions) {
+			if (partition.contains(1)) {
+				assertTrue(partition.containsAll(Arrays.asList(3, 5)));
+				assertTrue(partition.indexOf(1) < partition.indexOf(3) && partition.indexOf(3) < partition.indexOf(5));
+			}
+			if (partition.contains(2)) {
+				assertTrue(partition.indexOf(2) < partition.indexOf(4));
+			}
+		}
+		assertEquals(5, partitions.stream().mapToInt(List::size).sum());
+	}
+	
+	/**
+	 * @see HL7InQueueProcessor#partitionByPatient(List,int)
+	 */
+	@Test
+	public void partitionByPatient_shouldKeepTheEntriesOfAPatientTogetherIfTheIdentifierListIsFormattedDifferently() {
+		List<HL7InQueue> hl7InQueues = Arrays.asList(newHL7InQueue(1, "3"), newHL7InQueue(2, "3^^^OpenMRS^L"),
+		    newHL7InQueue(3, "3^^^^~123-4^^^NAT^N"), newHL7InQueue(4, "3^^^^"));
+		
+		List<List<Integer>> partitions = HL7InQueueProcessor.partitionByPatient(hl7InQueues, 16);
+		
+		assertEquals(1, partitions.size());
+		assertEquals(Arrays.asList(1, 2, 3, 4), partitions.get(0));
+	}
+	
+	/**
+	 * @see HL7InQueueProcessor#getPatientKey(String)
+	 */
+	@Test
+	public void getPatientKey_shouldReturnTheIdOfTheFirstPatientIdentifierOfThePidSegment() {
+		assertEquals("3", HL7InQueueProcessor.getPatientKey(newHL7Data("3^^^^")));
+		assertEquals("3", HL7InQueueProcessor.getPatientKey(newHL7Data("3^^^OpenMRS^L~123-4^^^NAT^N")));
+		assertEquals("3", HL7InQueueProcessor.getPatientKey(newHL7Data(" 3 ")));
+	}
+	
+	/**
+	 * @see HL7InQueueProcessor#getPatientKey(String)
+	 */
+	@Test
+	public void getPatientKey_shouldReturnAnEmptyStringForMessagesThatAreNotPipeEncoded() {
+		assertEquals("", HL7InQueueProcessor.getPatientKey("a malformed hl7 message"));
+		assertEquals("", HL7InQueueProcessor.getPatientKey(null));
+	}
+	
+	private HL7InQueue newHL7InQueue(Integer id, String patientIdentifiers) {
+		HL7InQueue hl7InQueue = new HL7InQueue();
+		hl7InQueue.setHL7InQueueId(id);
+		hl7InQueue.setHL7Data(newHL7Data(patientIdentifiers));
+		return hl7InQueue;
+	}
+	
+	private String newHL7Data(String patientIdentifiers) {
+		return "MSH|^~\\&|FORMENTRY|AMRS.ELD|HL7LISTENER|AMRS.ELD|20080226102656||ORU^R01|JqnfhKKtouEz8kzTk6Zo|P|2.5|1\r"
+		        + "PID|||" + patientIdentifiers + "||John3^Doe^||\r" + "PV1||O|1^Unknown Location\r";
+	}
+}
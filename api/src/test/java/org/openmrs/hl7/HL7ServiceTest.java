@@ -22,6 +22,7 @@ import static org.openmrs.util.OpenmrsUtil.deleteDirectory;
 import java.io.File;
 import java.io.IOException;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
@@ -107,6 +108,64 @@ public class HL7ServiceTest extends BaseContextSensitiveTest {
 		assertEquals(1, hl7service.getAllHL7InArchives().size());
 	}
 	
+	/**
+	 * @see HL7Service#getNextHL7InQueues(int)
+	 */
+	@Test
+	public void getNextHL7InQueues_shouldReturnPendingQueueItemsInTheOrderTheyWereReceived() {
+		executeDataSet("org/openmrs/hl7/include/ORUTest-initialData.xml");
+		
+		List<HL7InQueue> queueItems = Context.getHL7Service().getNextHL7InQueues(5);
+		
+		assertEquals(2, queueItems.size());
+		assertEquals(1, queueItems.get(0).getHL7InQueueId().intValue());
+		assertEquals(2, queueItems.get(1).getHL7InQueueId().intValue());
+	}
+	
+	/**
+	 * @see HL7Service#getNextHL7InQueues(int)
+	 */
+	@Test
+	public void getNextHL7InQueues_shouldReturnNoMoreThanTheGivenNumberOfQueueItems() {
+		executeDataSet("org/openmrs/hl7/include/ORUTest-initialData.xml");
+		
+		assertEquals(1, Context.getHL7Service().getNextHL7InQueues(1).size());
+	}
+	
+	/**
+	 * @see HL7Service#processHL7InQueues(List)
+	 */
+	@Test
+	public void processHL7InQueues_shouldCreateHL7InArchivesAfterSuccessfulParsing() throws HL7Exception {
+		executeDataSet("org/openmrs/hl7/include/ORUTest-initialData.xml");
+		
+		HL7Service hl7service = Context.getHL7Service();
+		HL7InQueue queueItem = hl7service.getHL7InQueue(1);
+		String hl7Data = queueItem.getHL7Data();
+		hl7service.processHL7InQueues(Collections.singletonList(queueItem));
+		
+		List<HL7InArchive> archives = hl7service.getAllHL7InArchives();
+		assertEquals(1, archives.size());
+		assertEquals(hl7Data, archives.get(0).getHL7Data());
+		assertEquals(0, hl7service.getAllHL7InErrors().size());
+		assertEquals(1, hl7service.getAllHL7InQueues().size());
+	}
+	
+	/**
+	 * @see HL7Service#processHL7InQueues(List)
+	 */
+	@Test
+	public void processHL7InQueues_shouldCreateHL7InErrorsForTheItemsThatFailedParsing() throws HL7Exception {
+		executeDataSet("org/openmrs/hl7/include/ORUTest-initialData.xml");
+		
+		HL7Service hl7service = Context.getHL7Service();
+		hl7service.processHL7InQueues(hl7service.getNextHL7InQueues(5));
+		
+		assertEquals(1, hl7service.getAllHL7InArchives().size());
+		assertEquals(1, hl7service.getAllHL7InErrors().size());
+		assertEquals(0, hl7service.getAllHL7InQueues().size());
+	}
+	
 	/**
 	 * @throws HL7Exception
 	 * @see HL7Service#processHL7InQueue(HL7InQueue)
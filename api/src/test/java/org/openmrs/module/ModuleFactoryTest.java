@@ -18,12 +18,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Properties;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openmrs.api.context.Context;
 import org.openmrs.test.jupiter.BaseContextSensitiveTest;
+import org.openmrs.util.OpenmrsClassLoader;
 
 public class ModuleFactoryTest extends BaseContextSensitiveTest {
 	
@@ -179,6 +184,76 @@ public class ModuleFactoryTest extends BaseContextSensitiveTest {
 		assertFalse(test3.isStarted());
 	}
 	
+	@Test
+	public void startModules_shouldStartModulesInParallelWhenMoreThanOneStartupThreadIsSet() {
+		ModuleFactory.unloadModule(ModuleFactory.getModuleById(MODULE1));
+		ModuleFactory.loadModules(getModuleFiles());
+		
+		Properties originalProperties = Context.getRuntimeProperties();
+		Properties properties = Context.getRuntimeProperties();
+		properties.setProperty(ModuleConstants.RUNTIMEPROPERTY_MODULE_STARTUP_THREADS, "3");
+		Context.setRuntimeProperties(properties);
+		try {
+			ModuleFactory.startModules();
+		}
+		finally {
+			Context.setRuntimeProperties(originalProperties);
+		}
+		
+		for (String moduleId : new String[] { MODULE1, MODULE2, MODULE3 }) {
+			Module module = ModuleFactory.getModuleById(moduleId);
+			assertTrue(module.isStarted(), moduleId);
+			assertNotNull(module.getStartupTime(), moduleId);
+		}
+		List<String> startupOrder = new ArrayList<>();
+		for (Module module : ModuleFactory.getStartedModulesInOrder()) {
+			startupOrder.add(module.getModuleId());
+		}
+		assertTrue(startupOrder.indexOf(MODULE1) < startupOrder.indexOf(MODULE2));
+		assertTrue(startupOrder.indexOf(MODULE1) < startupOrder.indexOf(MODULE3));
+	}
+	
+	@Test
+	public void getStartedModules_shouldReturnACopyWhichIsNotChangedWhenAModuleIsStopped() {
+		Module test1 = ModuleFactory.getModuleById(MODULE1);
+		ModuleFactory.startModule(test1);
+		Collection<Module> startedModules = ModuleFactory.getStartedModules();
+		Collection<ModuleClassLoader> classLoaders = ModuleFactory.getModuleClassLoaders();
+		
+		ModuleFactory.stopModule(test1);
+		
+		assertTrue(startedModules.contains(test1));
+		assertFalse(ModuleFactory.getStartedModules().contains(test1));
+		assertEquals(classLoaders.size() - 1, ModuleFactory.getModuleClassLoaders().size());
+	}
+	
+	@Test
+	public void startModule_shouldMakeClassesThatWereNotFoundBeforeLoadable() throws ClassNotFoundException {
+		ModuleFactory.unloadModule(ModuleFactory.getModuleById(MODULE1));
+		OpenmrsClassLoader classLoader = OpenmrsClassLoader.getInstance();
+		assertThrows(ClassNotFoundException.class, () -> classLoader.loadClass("org.openmrs.module.test1.Test1"));
+		assertThrows(ClassNotFoundException.class, () -> classLoader.loadClass("org.openmrs.module.test1.Test1"));
+		
+		ModuleFactory.startModule(loadModule(MODULE1_PATH, MODULE1, true));
+		
+		Class<?> test1Class = classLoader.loadClass("org.openmrs.module.test1.Test1");
+		assertEquals(MODULE1, ((ModuleClassLoader) test1Class.getClassLoader()).getModule().getModuleId());
+	}
+	
+	@Test
+	public void getModuleClassLoadersForPackage_shouldReturnACopyWhichIsNotChangedWhenAModuleIsStopped() {
+		ModuleClassLoader test1ClassLoader = ModuleFactory.getModuleClassLoader(MODULE1);
+		String providedPackage = test1ClassLoader.getProvidedPackages().iterator().next();
+		Set<ModuleClassLoader> classLoaders = ModuleFactory.getModuleClassLoadersForPackage(providedPackage);
+		assertTrue(classLoaders.contains(test1ClassLoader));
+		
+		ModuleFactory.stopModule(ModuleFactory.getModuleById(MODULE1));
+		
+		assertTrue(classLoaders.contains(test1ClassLoader));
+		assertFalse(ModuleFactory.getModuleClassLoadersForPackage(providedPackage).contains(test1ClassLoader));
+		classLoaders.clear();
+	}
+	
 	private Module loadModule(String location, String moduleName, boolean replace) {
 		String moduleLocation = ModuleUtil.class.getClassLoader().getResource(location).getPath();
 
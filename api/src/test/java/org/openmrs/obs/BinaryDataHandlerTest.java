@@ -46,7 +46,7 @@ public class BinaryDataHandlerTest extends BaseContextSensitiveTest {
 	@Test
     public void shouldReturnSupportedViews() {
         String[] actualViews = handler.getSupportedViews();
-        String[] expectedViews = { ComplexObsHandler.RAW_VIEW };
+        String[] expectedViews = { ComplexObsHandler.RAW_VIEW, ComplexObsHandler.CHANNEL_VIEW };
 
         assertArrayEquals(actualViews, expectedViews);
     }
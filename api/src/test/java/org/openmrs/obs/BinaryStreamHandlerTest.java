@@ -18,8 +18,10 @@ import static org.junit.jupiter.api.condition.OS.WINDOWS;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -49,7 +51,7 @@ public class BinaryStreamHandlerTest  extends BaseContextSensitiveTest {
     @Test
     public void shouldReturnSupportedViews() {
         String[] actualViews = handler.getSupportedViews();
-        String[] expectedViews = { ComplexObsHandler.RAW_VIEW };
+        String[] expectedViews = { ComplexObsHandler.RAW_VIEW, ComplexObsHandler.CHANNEL_VIEW };
 
         assertArrayEquals(actualViews, expectedViews);
     }
@@ -108,4 +110,21 @@ public class BinaryStreamHandlerTest  extends BaseContextSensitiveTest {
 			((InputStream) complexObs1.getComplexData().getData()).close();
 		}
 	}
+	
+	@Test
+	public void getObs_shouldReturnAChannelOnTheStoredFileForTheChannelView() throws IOException {
+		adminService.saveGlobalProperty(new GlobalProperty(OpenmrsConstants.GLOBAL_PROPERTY_COMPLEX_OBS_DIR,
+		        complexObsTestFolder.toAbsolutePath().toString()));
+		Obs obs = new Obs();
+		obs.setComplexData(new ComplexData("TestingComplexObsChannel", new ByteArrayInputStream("Teststring".getBytes())));
+		handler.saveObs(obs);
+		
+		ComplexData complexData = handler.getObs(obs, ComplexObsHandler.CHANNEL_VIEW).getComplexData();
+		
+		assertEquals("TestingComplexObsChannel", complexData.getTitle());
+		assertEquals(Long.valueOf(10), complexData.getLength());
+		try (ComplexDataChannel channel = (ComplexDataChannel) complexData.getData()) {
+			assertEquals("string", IOUtils.toString(channel.newInputStream(4, 100), StandardCharsets.UTF_8));
+		}
+	}
 }
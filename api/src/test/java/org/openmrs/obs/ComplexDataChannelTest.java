@@ -0,0 +1,102 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.obs;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link ComplexDataChannel}.
+ */
+public class ComplexDataChannelTest {
+	
+	@TempDir
+	public Path folder;
+	
+	private byte[] content;
+	
+	private Path file;
+	
+	@BeforeEach
+	public void setUp() throws IOException {
+		content = new byte[100_000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		file = folder.resolve("complex.dat");
+		Files.write(file, content);
+	}
+	
+	@Test
+	public void transferTo_shouldTransferTheRequestedRange() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ComplexDataChannel channel = ComplexDataChannel.open(file.toFile())) {
+			assertEquals(5000, channel.transferTo(1000, 5000, Channels.newChannel(out)));
+		}
+		
+		assertArrayEquals(Arrays.copyOfRange(content, 1000, 6000), out.toByteArray());
+	}
+	
+	@Test
+	public void transferTo_shouldStopAtTheEndOfTheFile() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ComplexDataChannel channel = ComplexDataChannel.open(file.toFile())) {
+			assertEquals(10, channel.transferTo(99_990, Long.MAX_VALUE, Channels.newChannel(out)));
+			assertEquals(0, channel.transferTo(200_000, 10, Channels.newChannel(out)));
+		}
+		
+		assertArrayEquals(Arrays.copyOfRange(content, 99_990, 100_000), out.toByteArray());
+	}
+	
+	@Test
+	public void map_shouldMapTheRequestedRange() throws IOException {
+		ByteBuffer buffer;
+		try (ComplexDataChannel channel = ComplexDataChannel.open(file.toFile())) {
+			buffer = channel.map(70_000, 50_000);
+		}
+		
+		byte[] mapped = new byte[buffer.remaining()];
+		buffer.get(mapped);
+		assertArrayEquals(Arrays.copyOfRange(content, 70_000, 100_000), mapped);
+	}
+	
+	@Test
+	public void map_shouldFailIfThePositionIsPastTheEndOfTheFile() throws IOException {
+		try (ComplexDataChannel channel = ComplexDataChannel.open(file.toFile())) {
+			assertEquals(0, channel.map(100_000, 10).remaining());
+			assertThrows(IllegalArgumentException.class, () -> channel.map(100_001, 0));
+			assertThrows(IllegalArgumentException.class, () -> channel.map(200_000, 10));
+			assertThrows(IllegalArgumentException.class, () -> channel.map(-1, 10));
+		}
+	}
+	
+	@Test
+	public void newInputStream_shouldReadTheRequestedRange() throws IOException {
+		try (ComplexDataChannel channel = ComplexDataChannel.open(file.toFile())) {
+			assertEquals(content.length, channel.size());
+			assertArrayEquals(Arrays.copyOfRange(content, 10, 20), IOUtils.toByteArray(channel.newInputStream(10, 10)));
+			assertArrayEquals(Arrays.copyOfRange(content, 0, 3), IOUtils.toByteArray(channel.newInputStream(0, 3)));
+		}
+	}
+}
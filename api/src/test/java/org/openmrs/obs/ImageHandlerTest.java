@@ -49,7 +49,7 @@ public class ImageHandlerTest extends BaseContextSensitiveTest {
 	@Test
 	public void shouldReturnSupportedViews() {
 		String[] actualViews = handler.getSupportedViews();
-		String[] expectedViews = { ComplexObsHandler.RAW_VIEW };
+		String[] expectedViews = { ComplexObsHandler.RAW_VIEW, ComplexObsHandler.CHANNEL_VIEW };
 		
 		assertArrayEquals(actualViews, expectedViews);
 	}
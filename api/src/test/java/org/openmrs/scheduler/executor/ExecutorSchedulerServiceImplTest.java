@@ -0,0 +1,149 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.scheduler.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmrs.scheduler.TaskDefinition;
+import org.openmrs.scheduler.db.SchedulerDAO;
+import org.openmrs.scheduler.tasks.AbstractTask;
+import org.openmrs.test.jupiter.BaseContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Tests methods in {@link ExecutorSchedulerServiceImpl} and {@link ExecutorSchedulerTask}
+ */
+public class ExecutorSchedulerServiceImplTest extends BaseContextSensitiveTest {
+	
+	private static final long WAIT_MS = 30000;
+	
+	private static CountDownLatch started;
+	
+	private static CountDownLatch release;
+	
+	@Autowired
+	private SchedulerDAO schedulerDAO;
+	
+	private ExecutorSchedulerServiceImpl schedulerService;
+	
+	@BeforeEach
+	public void setUp() {
+		schedulerService = new ExecutorSchedulerServiceImpl();
+		schedulerService.setSchedulerDAO(schedulerDAO);
+		schedulerService.setPoolSize(2);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		schedulerService.onShutdown();
+	}
+	
+	/**
+	 * @see ExecutorSchedulerTask#run()
+	 */
+	@Test
+	public void run_shouldSkipARunWhileThePreviousOneIsExecuting() throws Exception {
+		started = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+		ExecutorSchedulerTask schedulerTask = new ExecutorSchedulerTask(new BlockingTask(), null);
+		
+		Thread first = new Thread(schedulerTask);
+		first.start();
+		assertTrue(started.await(WAIT_MS, TimeUnit.MILLISECONDS));
+		assertTrue(schedulerTask.isRunning());
+		schedulerTask.run();
+		release.countDown();
+		first.join(WAIT_MS);
+		
+		TaskRunStatistics statistics = schedulerTask.getStatistics();
+		assertFalse(schedulerTask.isRunning());
+		assertEquals(1, statistics.getRuns());
+		assertEquals(1, statistics.getSkippedRuns());
+		assertEquals(0, statistics.getFailures());
+		assertNull(statistics.getLastFailure());
+	}
+	
+	/**
+	 * @see ExecutorSchedulerTask#run()
+	 */
+	@Test
+	public void run_shouldRecordFailedRuns() {
+		ExecutorSchedulerTask schedulerTask = new ExecutorSchedulerTask(new FailingTask(), null);
+		
+		schedulerTask.run();
+		schedulerTask.run();
+		
+		TaskRunStatistics statistics = schedulerTask.getStatistics();
+		assertEquals(2, statistics.getRuns());
+		assertEquals(2, statistics.getFailures());
+		assertNotNull(statistics.getLastFailure());
+		assertNotNull(statistics.getLastStartTime());
+	}
+	
+	/**
+	 * @see ExecutorSchedulerServiceImpl#scheduleTask(TaskDefinition)
+	 * @see ExecutorSchedulerServiceImpl#getTaskStatistics(Integer)
+	 */
+	@Test
+	public void scheduleTask_shouldKeepRunningATaskThatThrowsAnException() throws Exception {
+		TaskDefinition taskDefinition = new TaskDefinition();
+		taskDefinition.setName("failing task");
+		taskDefinition.setTaskClass(FailingTask.class.getName());
+		taskDefinition.setStartOnStartup(false);
+		taskDefinition.setRepeatInterval(1L);
+		schedulerService.saveTaskDefinition(taskDefinition);
+		
+		schedulerService.scheduleTask(taskDefinition);
+		long deadline = System.currentTimeMillis() + WAIT_MS;
+		while (schedulerService.getTaskStatistics(taskDefinition.getId()).getFailures() < 2
+		        && System.currentTimeMillis() < deadline) {
+			Thread.sleep(100);
+		}
+		
+		TaskRunStatistics statistics = schedulerService.getTaskStatistics(taskDefinition.getId());
+		assertTrue(statistics.getFailures() >= 2);
+		assertEquals(statistics.getRuns(), statistics.getFailures());
+		assertEquals(1, schedulerService.getScheduledTasks().size());
+		
+		schedulerService.shutdownTask(taskDefinition);
+		assertNull(schedulerService.getTaskStatistics(taskDefinition.getId()));
+		assertEquals("Not Running", schedulerService.getStatus(taskDefinition.getId()));
+	}
+	
+	public static class BlockingTask extends AbstractTask {
+		
+		@Override
+		public void execute() {
+			started.countDown();
+			try {
+				release.await(WAIT_MS, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException ignored) {}
+		}
+	}
+	
+	public static class FailingTask extends AbstractTask {
+		
+		@Override
+		public void execute() {
+			throw new IllegalStateException("expected failure");
+		}
+	}
+}
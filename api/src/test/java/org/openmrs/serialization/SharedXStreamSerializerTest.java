@@ -0,0 +1,113 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.beans.EventHandler;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openmrs.OpenmrsObject;
+
+import com.thoughtworks.xstream.XStream;
+
+public class SharedXStreamSerializerTest {
+	
+	/**
+	 * @see SharedXStreamSerializer#deserialize(String,Class)
+	 */
+	@Test
+	public void deserialize_shouldDeserializeWhatTheSimpleXStreamSerializerWrote() throws SerializationException {
+		Foo foo = new Foo("test", 1);
+		List<String> list = new ArrayList<>();
+		list.add("foo");
+		foo.setAttributeList(list);
+		String xml = new SimpleXStreamSerializer().serialize(foo);
+		
+		Foo read = new SharedXStreamSerializer().deserialize(xml, Foo.class);
+		
+		assertEquals("test", read.getAttributeString());
+		assertEquals(1, read.getAttributeInt());
+		assertEquals(list, read.getAttributeList());
+		assertEquals(xml, new SharedXStreamSerializer().serialize(read));
+	}
+	
+	/**
+	 * @see SharedXStreamSerializer#serialize(Object,java.io.Writer)
+	 * @see SharedXStreamSerializer#deserialize(java.io.Reader,Class)
+	 */
+	@Test
+	public void serialize_shouldStreamToAWriterAndBackFromAReader() throws SerializationException {
+		SharedXStreamSerializer serializer = new SharedXStreamSerializer();
+		StringWriter writer = new StringWriter();
+		
+		serializer.serialize(new Foo("streamed", 2), writer);
+		Foo read = serializer.deserialize(new StringReader(writer.toString()), Foo.class);
+		
+		assertEquals("streamed", read.getAttributeString());
+		assertEquals(2, read.getAttributeInt());
+	}
+	
+	/**
+	 * @see SharedXStreamSerializer#deserialize(String,Class)
+	 */
+	@Test
+	public void deserialize_shouldNotDeserializeProxies() {
+		String serialized = "<dynamic-proxy>" + "<interface>org.openmrs.OpenmrsObject</interface>"
+		        + "<handler class=\"java.beans.EventHandler\">" + "<target class=\"java.lang.ProcessBuilder\">"
+		        + "<command>" + "<string>someApp</string>" + "</command></target>" + "<action>start</action>" + "</handler>"
+		        + "</dynamic-proxy>";
+		
+		assertThrows(SerializationException.class,
+		    () -> new SharedXStreamSerializer().deserialize(serialized, OpenmrsObject.class));
+	}
+	
+	/**
+	 * @see SharedXStreamSerializer#deserialize(String,Class)
+	 */
+	@Test
+	public void deserialize_shouldNotDeserializeTypesThatAreNotAllowed() {
+		String serialized = "<java.lang.ProcessBuilder><command><string>someApp</string></command></java.lang.ProcessBuilder>";
+		
+		assertThrows(SerializationException.class,
+		    () -> new SharedXStreamSerializer().deserialize(serialized, ProcessBuilder.class));
+	}
+	
+	/**
+	 * @see SharedXStreamSerializer#serialize(Object)
+	 */
+	@Test
+	public void serialize_shouldNotSerializeProxies() {
+		EventHandler h = new EventHandler(new ProcessBuilder("someApp"), "start", null, null);
+		Object proxy = Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[] { OpenmrsObject.class }, h);
+		
+		assertThrows(SerializationException.class, () -> new SharedXStreamSerializer().serialize(proxy));
+	}
+	
+	/**
+	 * @see SharedXStreamSerializer#getSharedXStream()
+	 */
+	@Test
+	public void getSharedXStream_shouldReturnTheSameInstanceUntilTheClassLoaderChanges() {
+		XStream xstream = SharedXStreamSerializer.getSharedXStream();
+		
+		assertSame(xstream, SharedXStreamSerializer.getSharedXStream());
+		SharedXStreamSerializer.destroyInstance();
+		assertNotSame(xstream, SharedXStreamSerializer.getSharedXStream());
+	}
+}
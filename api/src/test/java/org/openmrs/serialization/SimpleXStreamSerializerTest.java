@@ -16,6 +16,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.beans.EventHandler;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -133,4 +135,22 @@ public class SimpleXStreamSerializerTest {
 		Object proxy = Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[] { OpenmrsObject.class }, h);
 		assertThrows(XStreamException.class, () -> new SimpleXStreamSerializer().serialize(proxy));
 	}
+	
+	/**
+	 * @see SimpleXStreamSerializer#serialize(Object,java.io.Writer)
+	 * @see SimpleXStreamSerializer#deserialize(java.io.Reader,Class)
+	 */
+	@Test
+	public void serialize_shouldWriteTheSameXmlAsSerializeAndReadItBack() throws SerializationException {
+		SimpleXStreamSerializer serializer = new SimpleXStreamSerializer();
+		Foo foo = new Foo("test", 1);
+		
+		StringWriter writer = new StringWriter();
+		serializer.serialize(foo, writer);
+		
+		assertEquals(serializer.serialize(foo), writer.toString());
+		Foo read = serializer.deserialize(new StringReader(writer.toString()), Foo.class);
+		assertEquals("test", read.getAttributeString());
+		assertEquals(1, read.getAttributeInt());
+	}
 }
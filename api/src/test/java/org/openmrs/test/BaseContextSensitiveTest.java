@@ -84,6 +84,7 @@ import org.openmrs.api.context.ContextAuthenticationException;
 import org.openmrs.api.context.ContextMockHelper;
 import org.openmrs.api.context.Credentials;
 import org.openmrs.api.context.UsernamePasswordCredentials;
+import org.openmrs.api.impl.NodeLocalCache;
 import org.openmrs.module.ModuleConstants;
 import org.openmrs.util.DatabaseUtil;
 import org.openmrs.util.OpenmrsClassLoader;
@@ -836,6 +837,9 @@ public abstract class BaseContextSensitiveTest extends AbstractJUnit4SpringConte
 			//Do the actual update/insert:
 			//insert new rows, update existing rows, and leave others alone
 			DatabaseOperation.REFRESH.execute(dbUnitConn, dataset);
+			
+			// the dataset may contain data held by node-local caches, which bypasses the service layer
+			clearNodeLocalCaches();
 		}
 		catch (DatabaseUnitException | SQLException e) {
 			throw new DatabaseUnitRuntimeException(e);
@@ -906,6 +910,20 @@ public abstract class BaseContextSensitiveTest extends AbstractJUnit4SpringConte
 		SessionFactory sf = (SessionFactory) applicationContext.getBean("sessionFactory");
 		sf.getCache().evictCollectionRegions();
 		sf.getCache().evictEntityRegions();
+		clearNodeLocalCaches();
+	}
+	
+	/**
+	 * Clears the caches of database data the services hold in memory, such as global property values
+	 * and the concept set hierarchy, needed whenever the data is changed without going through the
+	 * service layer
+	 * 
+	 * @since 2.6.0
+	 */
+	public void clearNodeLocalCaches() {
+		for (NodeLocalCache cache : applicationContext.getBeansOfType(NodeLocalCache.class).values()) {
+			cache.clear();
+		}
 	}
 	
 	/**
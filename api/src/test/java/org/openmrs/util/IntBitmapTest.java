@@ -0,0 +1,119 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link IntBitmap}.
+ */
+public class IntBitmapTest {
+
+	@Test
+	public void of_shouldIgnoreDuplicatesAndNulls() {
+		IntBitmap bitmap = IntBitmap.of(Arrays.asList(5, 3, null, 5, 70000));
+
+		assertEquals(3, bitmap.cardinality());
+		assertArrayEquals(new int[] { 3, 5, 70000 }, bitmap.toArray());
+	}
+
+	@Test
+	public void contains_shouldFindValuesInSparseAndDenseChunks() {
+		int[] values = new int[10000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i * 2;
+		}
+		IntBitmap bitmap = IntBitmap.of(values).or(IntBitmap.of(1_000_000, -1));
+
+		assertTrue(bitmap.contains(0));
+		assertTrue(bitmap.contains(19998));
+		assertFalse(bitmap.contains(19999));
+		assertTrue(bitmap.contains(1_000_000));
+		assertFalse(bitmap.contains(1_000_001));
+		assertTrue(bitmap.contains(-1));
+		assertEquals(10002, bitmap.cardinality());
+	}
+
+	@Test
+	public void setOperations_shouldMatchTheResultsOfSetsOfIntegers() {
+		Random random = new Random(42);
+		for (int round = 0; round < 20; round++) {
+			// alternate between sparse and dense chunks
+			int bound = round % 2 == 0 ? 1_000_000 : 150_000;
+			Set<Integer> a = randomSet(random, bound);
+			Set<Integer> b = randomSet(random, bound);
+			IntBitmap x = IntBitmap.of(a);
+			IntBitmap y = IntBitmap.of(b);
+
+			Set<Integer> union = new TreeSet<>(a);
+			union.addAll(b);
+			Set<Integer> intersection = new TreeSet<>(a);
+			intersection.retainAll(b);
+			Set<Integer> difference = new TreeSet<>(a);
+			difference.removeAll(b);
+
+			assertEquals(union, x.or(y).toSet());
+			assertEquals(intersection, x.and(y).toSet());
+			assertEquals(difference, x.andNot(y).toSet());
+			assertEquals(union.size(), x.or(y).cardinality());
+			assertEquals(IntBitmap.of(union), x.or(y));
+			assertEquals(IntBitmap.of(intersection), x.and(y));
+			assertEquals(IntBitmap.of(difference), x.andNot(y));
+		}
+	}
+
+	@Test
+	public void andNot_shouldReturnAnEmptyBitmapWhenSubtractingItself() {
+		IntBitmap bitmap = IntBitmap.of(1, 2, 3, 100000);
+
+		assertTrue(bitmap.andNot(bitmap).isEmpty());
+		assertEquals(IntBitmap.EMPTY, bitmap.andNot(bitmap));
+	}
+
+	@Test
+	public void equals_shouldCompareValues() {
+		assertEquals(IntBitmap.of(1, 2, 3), IntBitmap.of(3, 2, 1, 1));
+		assertEquals(IntBitmap.of(1, 2, 3).hashCode(), IntBitmap.of(3, 2, 1).hashCode());
+		assertNotEquals(IntBitmap.of(1, 2, 3), IntBitmap.of(1, 2));
+	}
+
+	@Test
+	public void stream_shouldReturnTheValuesInAscendingOrder() {
+		assertArrayEquals(new int[] { 1, 65536, 200000 }, IntBitmap.of(200000, 1, 65536).stream().toArray());
+	}
+
+	@Test
+	public void serialize_shouldKeepTheValues() {
+		IntBitmap bitmap = IntBitmap.of(randomSet(new Random(1), 100_000));
+
+		assertEquals(bitmap, SerializationUtils.clone(bitmap));
+	}
+
+	private Set<Integer> randomSet(Random random, int bound) {
+		Set<Integer> values = new TreeSet<>();
+		int size = random.nextInt(20000);
+		for (int i = 0; i < size; i++) {
+			values.add(random.nextInt(bound));
+		}
+		return values;
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openmrs.Patient;
+import org.openmrs.aop.AuthorizationAdvice;
+import org.openmrs.api.PatientService;
+import org.openmrs.api.context.Context;
+
+/**
+ * Benchmarks the privilege checks that run before every service method call, on their own and as
+ * part of a cheap service call
+ */
+@State(Scope.Benchmark)
+public class AuthorizationAdviceBenchmark extends BaseBenchmark {
+	
+	private final AuthorizationAdvice authorizationAdvice = new AuthorizationAdvice();
+	
+	private Method authorizedMethod;
+	
+	private Method unannotatedMethod;
+	
+	private Object[] args;
+	
+	private Object target;
+	
+	@Override
+	protected void setUpBenchmark() throws Exception {
+		authorizedMethod = PatientService.class.getMethod("getPatient", Integer.class);
+		unannotatedMethod = PatientService.class.getMethod("getDefaultIdentifierValidator");
+		args = new Object[] { 2 };
+		target = Context.getPatientService();
+	}
+	
+	/**
+	 * @see AuthorizationAdvice#before(Method, Object[], Object)
+	 */
+	@Benchmark
+	public void beforeAuthorizedMethod() throws Throwable {
+		authorizationAdvice.before(authorizedMethod, args, target);
+	}
+	
+	/**
+	 * @see AuthorizationAdvice#before(Method, Object[], Object)
+	 */
+	@Benchmark
+	public void beforeUnannotatedMethod() throws Throwable {
+		authorizationAdvice.before(unannotatedMethod, args, target);
+	}
+	
+	/**
+	 * A call through the service proxy for comparison, which includes all the advice and the
+	 * transaction around the method
+	 */
+	@Benchmark
+	public Patient getPatientThroughServiceProxy() {
+		return Context.getPatientService().getPatient(2);
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.api.context.Context;
+import org.openmrs.test.jupiter.BaseContextSensitiveTest;
+import org.springframework.test.context.TestContextManager;
+
+/**
+ * Superclass of all benchmarks. It starts the same spring context and in memory H2 database as the
+ * api tests, loads the standard test dataset and authenticates as the admin user before the first
+ * iteration of a benchmark.
+ * <p>
+ * Unlike in the tests nothing is rolled back, every service call runs in its own transaction just
+ * like it does in a running application, so benchmarks that write data should clean up after
+ * themselves where the written data would change the outcome of later invocations.
+ * <p>
+ * Benchmarks are run on a single thread because the openmrs session is bound to the thread that
+ * opened it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g" })
+public abstract class BaseBenchmark extends BaseContextSensitiveTest {
+	
+	/**
+	 * Starts the spring context the way the spring test framework would for a test class and sets
+	 * up the database, subclasses can override {@link #setUpBenchmark()} to load the objects they
+	 * need.
+	 *
+	 * @throws Exception
+	 */
+	@Setup(Level.Trial)
+	public void setUpContext() throws Exception {
+		new TestContextManager(getClass()).prepareTestInstance(this);
+		baseSetupWithStandardDataAndAuthentication();
+		setUpBenchmark();
+		Context.clearSession();
+	}
+	
+	/**
+	 * Discards the objects cached in the hibernate session by the previous iteration, so that an
+	 * iteration measures roughly what a single request would see.
+	 */
+	@Setup(Level.Iteration)
+	public void clearSession() {
+		Context.clearSession();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDownContext() throws Exception {
+		Context.logout();
+		closeSessionAfterEachClass();
+	}
+	
+	/**
+	 * Called once after the database has been set up, before the first iteration
+	 *
+	 * @throws Exception
+	 */
+	protected void setUpBenchmark() throws Exception {
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openmrs.ConceptSearchResult;
+import org.openmrs.api.ConceptService;
+import org.openmrs.api.context.Context;
+
+/**
+ * Benchmarks the concept search used by the concept autocomplete widgets
+ */
+@State(Scope.Benchmark)
+public class ConceptServiceBenchmark extends BaseBenchmark {
+	
+	@Param({ "CD4", "WEIGHT", "NO" })
+	public String phrase;
+	
+	private final List<Locale> locales = Arrays.asList(Locale.ENGLISH, Locale.UK, Locale.FRENCH);
+	
+	/**
+	 * @see ConceptService#getConcepts(String, List, boolean, List, List, List, List,
+	 *      org.openmrs.Concept, Integer, Integer)
+	 */
+	@Benchmark
+	public List<ConceptSearchResult> getConcepts() {
+		return Context.getConceptService().getConcepts(phrase, locales, false, null, null, null, null, null, 0, 20);
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.util.Date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openmrs.Encounter;
+import org.openmrs.Obs;
+import org.openmrs.api.EncounterService;
+import org.openmrs.api.context.Context;
+
+/**
+ * Benchmarks saving a new encounter with a couple of obs, the way form entry does
+ */
+@State(Scope.Benchmark)
+public class EncounterServiceBenchmark extends BaseBenchmark {
+	
+	private Encounter savedEncounter;
+	
+	/**
+	 * Purges the encounter and its obs again, so that the patient's encounters do not grow with
+	 * every invocation, and keeps the session from growing, which would make each flush slower than
+	 * the previous one
+	 */
+	@TearDown(Level.Invocation)
+	public void purgeSavedEncounter() {
+		if (savedEncounter != null) {
+			Context.getEncounterService().purgeEncounter(savedEncounter, true);
+			savedEncounter = null;
+		}
+		Context.clearSession();
+	}
+	
+	/**
+	 * @see EncounterService#saveEncounter(Encounter)
+	 */
+	@Benchmark
+	public Encounter saveEncounter() {
+		EncounterService encounterService = Context.getEncounterService();
+		Date now = new Date();
+		
+		Encounter encounter = new Encounter();
+		encounter.setPatient(Context.getPatientService().getPatient(7));
+		encounter.setLocation(Context.getLocationService().getLocation(1));
+		encounter.setEncounterType(encounterService.getEncounterType(1));
+		encounter.setEncounterDatetime(now);
+		encounter.addProvider(encounterService.getEncounterRole(1), Context.getProviderService().getProvider(1));
+		
+		Obs weight = new Obs(encounter.getPatient(), Context.getConceptService().getConcept(5089), now,
+		        encounter.getLocation());
+		weight.setValueNumeric(61.0);
+		encounter.addObs(weight);
+		
+		Obs cd4 = new Obs(encounter.getPatient(), Context.getConceptService().getConcept(5497), now,
+		        encounter.getLocation());
+		cd4.setValueNumeric(350.0);
+		encounter.addObs(cd4);
+		
+		savedEncounter = encounterService.saveEncounter(encounter);
+		return savedEncounter;
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.Person;
+import org.openmrs.api.ObsService;
+import org.openmrs.api.context.Context;
+
+/**
+ * Benchmarks the obs queries used to render a patient's observations
+ */
+@State(Scope.Benchmark)
+public class ObsServiceBenchmark extends BaseBenchmark {
+	
+	private List<Person> whom;
+	
+	private List<Concept> questions;
+	
+	private final List<String> sort = Collections.singletonList("obsDatetime");
+	
+	@Override
+	protected void setUpBenchmark() {
+		whom = Collections.singletonList(Context.getPersonService().getPerson(7));
+		questions = Collections.singletonList(Context.getConceptService().getConcept(5089));
+	}
+	
+	/**
+	 * @see ObsService#getObservations(List, List, List, List, List, List, List, Integer, Integer,
+	 *      java.util.Date, java.util.Date, boolean)
+	 */
+	@Benchmark
+	public List<Obs> getObservationsForPerson() {
+		return Context.getObsService().getObservations(whom, null, null, null, null, null, null, null, null, null,
+		    null, false);
+	}
+	
+	/**
+	 * @see ObsService#getObservations(List, List, List, List, List, List, List, Integer, Integer,
+	 *      java.util.Date, java.util.Date, boolean)
+	 */
+	@Benchmark
+	public List<Obs> getMostRecentObservationForPersonAndQuestion() {
+		return Context.getObsService().getObservations(whom, null, questions, null, null, null, sort, 1, null, null,
+		    null, false);
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.util.Date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openmrs.Order;
+import org.openmrs.TestOrder;
+import org.openmrs.api.OrderService;
+import org.openmrs.api.context.Context;
+
+/**
+ * Benchmarks placing a new test order, including the generation of its order number
+ */
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark extends BaseBenchmark {
+	
+	private Order savedOrder;
+	
+	/**
+	 * Purges the order again, the patient can only have one active order for the same concept
+	 */
+	@TearDown(Level.Invocation)
+	public void purgeSavedOrder() {
+		if (savedOrder != null) {
+			Context.getOrderService().purgeOrder(savedOrder);
+			savedOrder = null;
+		}
+		Context.clearSession();
+	}
+	
+	/**
+	 * @see OrderService#saveOrder(Order, org.openmrs.api.OrderContext)
+	 */
+	@Benchmark
+	public Order saveOrder() {
+		OrderService orderService = Context.getOrderService();
+		
+		Order order = new TestOrder();
+		order.setPatient(Context.getPatientService().getPatient(7));
+		order.setEncounter(Context.getEncounterService().getEncounter(3));
+		order.setConcept(Context.getConceptService().getConcept(5497));
+		order.setOrderer(Context.getProviderService().getProvider(1));
+		order.setCareSetting(orderService.getCareSetting(1));
+		order.setOrderType(orderService.getOrderType(2));
+		order.setDateActivated(new Date());
+		
+		savedOrder = orderService.saveOrder(order, null);
+		return savedOrder;
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openmrs.Patient;
+import org.openmrs.api.PatientService;
+import org.openmrs.api.context.Context;
+
+/**
+ * Benchmarks the patient search used by the find patient widgets
+ */
+@State(Scope.Benchmark)
+public class PatientServiceBenchmark extends BaseBenchmark {
+	
+	/**
+	 * A family name, a full name and an identifier from the standard test dataset
+	 */
+	@Param({ "Hornblower", "Horatio Hornblower", "6TS-4" })
+	public String query;
+	
+	/**
+	 * @see PatientService#getPatients(String)
+	 */
+	@Benchmark
+	public List<Patient> getPatients() {
+		return Context.getPatientService().getPatients(query);
+	}
+}
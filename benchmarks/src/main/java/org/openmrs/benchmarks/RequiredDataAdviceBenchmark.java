@@ -0,0 +1,91 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.benchmarks;
+
+import java.util.Date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openmrs.Concept;
+import org.openmrs.Encounter;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PersonAddress;
+import org.openmrs.PersonName;
+import org.openmrs.aop.RequiredDataAdvice;
+import org.openmrs.api.handler.SaveHandler;
+import org.openmrs.api.handler.VoidHandler;
+
+/**
+ * Benchmarks the walk over an object graph that the {@link RequiredDataAdvice} does before every
+ * save and void. The objects are built in memory so only the advice itself is measured.
+ */
+@State(Scope.Benchmark)
+public class RequiredDataAdviceBenchmark extends BaseBenchmark {
+	
+	private Patient patient;
+	
+	private Encounter encounter;
+	
+	@Override
+	protected void setUpBenchmark() {
+		patient = new Patient();
+		patient.setGender("F");
+		patient.setBirthdate(new Date());
+		patient.addName(new PersonName("Jane", null, "Doe"));
+		patient.addName(new PersonName("Janet", null, "Doe"));
+		PersonAddress address = new PersonAddress();
+		address.setCityVillage("Eldoret");
+		patient.addAddress(address);
+		patient.addIdentifier(new PatientIdentifier("101-6", null, null));
+		
+		Concept question = new Concept(5089);
+		encounter = new Encounter();
+		encounter.setPatient(patient);
+		encounter.setEncounterDatetime(new Date());
+		Obs group = new Obs(patient, new Concept(1238), new Date(), null);
+		for (int i = 0; i < 10; i++) {
+			Obs obs = new Obs(patient, question, new Date(), null);
+			obs.setValueNumeric((double) i);
+			group.addGroupMember(obs);
+			encounter.addObs(obs);
+		}
+		encounter.addObs(group);
+	}
+	
+	/**
+	 * @see RequiredDataAdvice#recursivelyHandle(Class, org.openmrs.OpenmrsObject, String)
+	 */
+	@Benchmark
+	public Patient recursivelyHandleSavePatient() {
+		RequiredDataAdvice.recursivelyHandle(SaveHandler.class, patient, null);
+		return patient;
+	}
+	
+	/**
+	 * @see RequiredDataAdvice#recursivelyHandle(Class, org.openmrs.OpenmrsObject, String)
+	 */
+	@Benchmark
+	public Encounter recursivelyHandleSaveEncounter() {
+		RequiredDataAdvice.recursivelyHandle(SaveHandler.class, encounter, null);
+		return encounter;
+	}
+	
+	/**
+	 * @see RequiredDataAdvice#recursivelyHandle(Class, org.openmrs.OpenmrsObject, String)
+	 */
+	@Benchmark
+	public Encounter recursivelyHandleVoidEncounter() {
+		RequiredDataAdvice.recursivelyHandle(VoidHandler.class, encounter, "benchmark");
+		return encounter;
+	}
+}